@@ -0,0 +1,29 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.api.service.cache;
+
+/**
+ * Implemented by the parameters of {@link Cached} methods which should not be used as cache key themselves,
+ * typically large objects where only a few fields identify the computed value.
+ */
+public interface CacheKeyProvider {
+
+    /**
+     * @return the object identifying this parameter in the cache, it must implement {@code equals} and
+     * {@code hashCode} and should be immutable.
+     */
+    Object getCacheKey();
+}
@@ -102,6 +102,24 @@ public interface LocalCache {
      */
     <T> T computeIfAbsent(Class<T> expectedClass, String key, Supplier<T> value);
 
+    /**
+     * Same as {@link #computeIfAbsent(Class, String, long, Supplier)} but with a structured key compared with
+     * {@code equals}/{@code hashCode}, it avoids to build a string key for each lookup.
+     * Implementations not supporting such keys use its {@code toString()} so it must be representative.
+     * These keys can't be evicted with {@link #evict(String)}.
+     *
+     * @param expectedClass : cached instance class.
+     * @param key : the cache key, must be unique accross the server.
+     * @param timeoutMs : duration of cache value.
+     * @param value : value provider.
+     * @param <T> class of cached instance.
+     * @return the cached or newly computed value.
+     */
+    default <T> T computeIfAbsentByKey(final Class<T> expectedClass, final Object key, final long timeoutMs,
+            final Supplier<T> value) {
+        return computeIfAbsent(expectedClass, String.valueOf(key), timeoutMs, value);
+    }
+
     /**
      * Remove a cached entry.
      * 
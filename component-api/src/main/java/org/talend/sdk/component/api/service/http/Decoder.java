@@ -15,6 +15,9 @@
  */
 package org.talend.sdk.component.api.service.http;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
 
 /**
@@ -28,4 +31,29 @@ public interface Decoder {
      * @return the instantiated payload respecting expectedType.
      */
     Object decode(byte[] value, Type expectedType);
+
+    /**
+     * Reads the payload directly from the response stream. The default implementation buffers the payload
+     * and delegates to {@link #decode(byte[], Type)}, decoders handling large payloads should override it.
+     *
+     * The stream is closed by the caller once the payload is decoded except if the result is a lazy
+     * {@link java.util.Iterator} which is also an {@link AutoCloseable}, it is then responsible to close it.
+     *
+     * @param value the payload stream.
+     * @param expectedType the user type.
+     * @return the instantiated payload respecting expectedType.
+     */
+    default Object decode(final InputStream value, final Type expectedType) {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final byte[] bytes = new byte[8192];
+        try {
+            int count;
+            while ((count = value.read(bytes)) >= 0) {
+                buffer.write(bytes, 0, count);
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return decode(buffer.toByteArray(), expectedType);
+    }
 }
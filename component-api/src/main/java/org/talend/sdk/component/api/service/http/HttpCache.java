@@ -0,0 +1,40 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.api.service.http;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the GET responses following the HTTP caching headers: fresh responses
+ * ({@code Cache-Control: max-age} or {@code Expires}) are served without calling the server, stale ones
+ * are revalidated with {@code If-None-Match}/{@code If-Modified-Since} when they have an {@code ETag} or a
+ * {@code Last-Modified} header. {@code no-store} and {@code private} responses are never cached.
+ */
+@Target({ TYPE, METHOD })
+@Retention(RUNTIME)
+public @interface HttpCache {
+
+    /**
+     * @return how long (ms) a response without freshness information is considered fresh,
+     * 0 means it is revalidated on each call.
+     */
+    long defaultMaxAge() default 0;
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.api.service.http;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Limits the requests sent to a server (the limits are shared by all the clients of the plugin
+ * targeting the same base URL with the same limits). Throttled responses (429 and 503) slow down the following
+ * requests and idempotent requests are retried, respecting the Retry-After header when the server sends it.
+ */
+@Target({ TYPE, METHOD })
+@Retention(RUNTIME)
+public @interface RateLimit {
+
+    /**
+     * @return the maximum number of requests per second, 0 means no rate limit.
+     */
+    double permitsPerSecond() default 0;
+
+    /**
+     * @return the number of requests which can be sent at once after an idle period.
+     */
+    int burst() default 1;
+
+    /**
+     * @return the maximum number of concurrent requests, 0 means unlimited.
+     */
+    int maxConcurrency() default 0;
+
+    /**
+     * @return should the rate be halved when the server throttles the requests and increased back progressively.
+     */
+    boolean adaptive() default true;
+
+    /**
+     * @return how many times a throttled request is retried before returning the error.
+     */
+    int retries() default 3;
+
+    /**
+     * @return the delay (ms) before retrying a throttled request without Retry-After header, doubled at each retry.
+     */
+    long backoff() default 1000;
+
+    /**
+     * @return should throttled non idempotent requests (POST, PATCH) be retried too,
+     * by default only GET, HEAD, OPTIONS, TRACE, PUT and DELETE requests are.
+     */
+    boolean retryNonIdempotent() default false;
+}
@@ -29,6 +29,8 @@ import org.talend.sdk.component.api.input.Producer;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.base.Delegated;
 import org.talend.sdk.component.runtime.base.LifecycleImpl;
+import org.talend.sdk.component.runtime.metrics.Counter;
+import org.talend.sdk.component.runtime.metrics.Metrics;
 import org.talend.sdk.component.runtime.record.RecordConverters;
 import org.talend.sdk.component.runtime.serialization.ContainerFinder;
 import org.talend.sdk.component.runtime.serialization.EnhancedObjectInputStream;
@@ -48,6 +50,8 @@ public class InputImpl extends LifecycleImpl implements Input, Delegated {
 
     private transient RecordBuilderFactory recordBuilderFactory;
 
+    private transient Counter records;
+
     public InputImpl(final String rootName, final String name, final String plugin, final Serializable instance) {
         super(instance, rootName, name, plugin);
     }
@@ -65,6 +69,7 @@ public class InputImpl extends LifecycleImpl implements Input, Delegated {
         if (record == null) {
             return null;
         }
+        records.increment();
         final Class<?> recordClass = record.getClass();
         if (recordClass.isPrimitive() || String.class == recordClass) {
             // mainly for tests, can be dropped while build is green
@@ -86,6 +91,10 @@ public class InputImpl extends LifecycleImpl implements Input, Delegated {
         next = findMethods(Producer.class).findFirst().get();
         converters = new RecordConverters();
         registry = new RecordConverters.MappingMetaRegistry();
+        records = Metrics
+                .registry()
+                .counter("talend_component_input_records_total", "plugin", plugin(), "family", rootName(),
+                        "component", name());
     }
 
     private Jsonb jsonb() {
@@ -0,0 +1,103 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.metrics;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableCollection;
+import static java.util.Collections.unmodifiableMap;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * In memory registry, counters and histograms are lock-free, gauges are sampled when read.
+ */
+public class DefaultMetricsRegistry implements MetricsRegistry {
+
+    private final ConcurrentMap<MetricId, Metric> metrics = new ConcurrentHashMap<>();
+
+    @Override
+    public Counter counter(final String name, final String... tags) {
+        return find(Counter.class, name, tags, LongCounter::new);
+    }
+
+    @Override
+    public Histogram histogram(final String name, final String... tags) {
+        return find(Histogram.class, name, tags, LogLinearHistogram::new);
+    }
+
+    @Override
+    public Gauge gauge(final String name, final LongSupplier value, final String... tags) {
+        final MetricId id = new MetricId(name, toMap(tags));
+        return Gauge.class.cast(metrics.compute(id, (k, previous) -> {
+            if (previous != null && !Gauge.class.isInstance(previous)) {
+                throw new IllegalArgumentException("Metric " + name + id.tags + " is not a Gauge");
+            }
+            return new LongGauge(k.name, k.tags, value);
+        }));
+    }
+
+    @Override
+    public Collection<Metric> getMetrics() {
+        return unmodifiableCollection(metrics.values());
+    }
+
+    @Override
+    public void remove(final String tag, final String value) {
+        metrics.keySet().removeIf(id -> value.equals(id.tags.get(tag)));
+    }
+
+    private <T extends Metric> T find(final Class<T> type, final String name, final String[] tags,
+            final BiFunction<String, Map<String, String>, T> factory) {
+        final MetricId id = new MetricId(name, toMap(tags));
+        final Metric metric = metrics.computeIfAbsent(id, k -> factory.apply(k.name, k.tags));
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric " + name + id.tags + " is not a " + type.getSimpleName());
+        }
+        return type.cast(metric);
+    }
+
+    private static Map<String, String> toMap(final String[] tags) {
+        if (tags == null || tags.length == 0) {
+            return emptyMap();
+        }
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags must be key/value pairs");
+        }
+        final Map<String, String> map = new TreeMap<>();
+        for (int i = 0; i < tags.length; i += 2) {
+            map.put(tags[i], String.valueOf(tags[i + 1]));
+        }
+        return unmodifiableMap(map);
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class MetricId {
+
+        private final String name;
+
+        private final Map<String, String> tags;
+    }
+}
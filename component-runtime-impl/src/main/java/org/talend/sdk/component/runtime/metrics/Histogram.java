@@ -0,0 +1,36 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.metrics;
+
+/**
+ * Distribution of positive values (durations, sizes...).
+ */
+public interface Histogram extends Metric {
+
+    void record(long value);
+
+    long getCount();
+
+    long getSum();
+
+    long getMax();
+
+    /**
+     * @param percentile the percentile between 0 and 100.
+     * @return the (approximated) value at this percentile, 0 if nothing was recorded.
+     */
+    long getValueAtPercentile(double percentile);
+}
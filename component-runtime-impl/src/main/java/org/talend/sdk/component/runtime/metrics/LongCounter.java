@@ -0,0 +1,44 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+class LongCounter implements Counter {
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final Map<String, String> tags;
+
+    private final LongAdder count = new LongAdder();
+
+    @Override
+    public void add(final long value) {
+        count.add(value);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.metrics;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.function.LongSupplier;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entry point of the metrics, the registry is the first {@link MetricsRegistry} found with the
+ * {@link ServiceLoader} or the default lock-free in memory registry.
+ * Setting the system property {@code talend.component.runtime.metrics.active} to {@code false} disables it.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Metrics {
+
+    public static MetricsRegistry registry() {
+        return Holder.REGISTRY;
+    }
+
+    private static MetricsRegistry load() {
+        if (!Boolean.parseBoolean(System.getProperty("talend.component.runtime.metrics.active", "true"))) {
+            return new NoopMetricsRegistry();
+        }
+        final Iterator<MetricsRegistry> registries =
+                ServiceLoader.load(MetricsRegistry.class, Metrics.class.getClassLoader()).iterator();
+        return registries.hasNext() ? registries.next() : new DefaultMetricsRegistry();
+    }
+
+    private static class Holder {
+
+        private static final MetricsRegistry REGISTRY = load();
+    }
+
+    private static class NoopMetricsRegistry implements MetricsRegistry {
+
+        private final NoopMetric metric = new NoopMetric();
+
+        @Override
+        public Counter counter(final String name, final String... tags) {
+            return metric;
+        }
+
+        @Override
+        public Histogram histogram(final String name, final String... tags) {
+            return metric;
+        }
+
+        @Override
+        public Gauge gauge(final String name, final LongSupplier value, final String... tags) {
+            return metric;
+        }
+
+        @Override
+        public Collection<Metric> getMetrics() {
+            return emptyList();
+        }
+    }
+
+    private static class NoopMetric implements Counter, Histogram, Gauge {
+
+        @Override
+        public String getName() {
+            return "noop";
+        }
+
+        @Override
+        public Map<String, String> getTags() {
+            return emptyMap();
+        }
+
+        @Override
+        public void add(final long value) {
+            // no-op
+        }
+
+        @Override
+        public void record(final long value) {
+            // no-op
+        }
+
+        @Override
+        public long getCount() {
+            return 0;
+        }
+
+        @Override
+        public long getSum() {
+            return 0;
+        }
+
+        @Override
+        public long getMax() {
+            return 0;
+        }
+
+        @Override
+        public long getValueAtPercentile(final double percentile) {
+            return 0;
+        }
+
+        @Override
+        public long getValue() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.metrics;
+
+import java.util.Collection;
+import java.util.function.LongSupplier;
+
+/**
+ * Metrics SPI, an implementation can be provided with the {@link java.util.ServiceLoader} mechanism
+ * (see {@link Metrics#registry()}).
+ *
+ * Lookups are not free so hot paths should keep the returned metric instead of looking it up for each event.
+ */
+public interface MetricsRegistry {
+
+    /**
+     * @param name the metric name.
+     * @param tags the tags as key/value pairs.
+     * @return the counter for this name and tags, created if needed.
+     */
+    Counter counter(String name, String... tags);
+
+    /**
+     * @param name the metric name.
+     * @param tags the tags as key/value pairs.
+     * @return the histogram for this name and tags, created if needed.
+     */
+    Histogram histogram(String name, String... tags);
+
+    /**
+     * @param name the metric name.
+     * @param value the supplier of the value, called each time the metrics are read.
+     * @param tags the tags as key/value pairs.
+     * @return the gauge for this name and tags, it replaces a previously registered gauge since it is bound to
+     * its value source.
+     */
+    Gauge gauge(String name, LongSupplier value, String... tags);
+
+    Collection<Metric> getMetrics();
+
+    /**
+     * Removes the metrics having this tag value, for example the metrics of an undeployed plugin.
+     *
+     * @param tag the tag name.
+     * @param value the tag value.
+     */
+    default void remove(final String tag, final String value) {
+        // no-op
+    }
+}
@@ -57,6 +57,8 @@ import org.talend.sdk.component.api.processor.Output;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.base.Delegated;
 import org.talend.sdk.component.runtime.base.LifecycleImpl;
+import org.talend.sdk.component.runtime.metrics.Counter;
+import org.talend.sdk.component.runtime.metrics.Metrics;
 import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
 import org.talend.sdk.component.runtime.record.RecordConverters;
 import org.talend.sdk.component.runtime.serialization.ContainerFinder;
@@ -92,6 +94,8 @@ public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated
 
     private transient Collection<Object> records;
 
+    private transient Counter processedRecords;
+
     private Map<String, String> internalConfiguration;
 
     private RecordConverters.MappingMetaRegistry mappings;
@@ -116,6 +120,10 @@ public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated
             beforeGroup = findMethods(BeforeGroup.class).collect(toList());
             afterGroup = findMethods(AfterGroup.class).collect(toList());
             process = findMethods(ElementListener.class).findFirst().orElse(null);
+            processedRecords = Metrics
+                    .registry()
+                    .counter("talend_component_processor_records_total", "plugin", plugin(), "family", rootName(),
+                            "component", name());
 
             // IMPORTANT: ensure you call only once the create(....), see studio integration (mojo)
             parameterBuilderProcess = process == null ? emptyList()
@@ -255,6 +263,7 @@ public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated
 
     @Override
     public void onNext(final InputFactory inputFactory, final OutputFactory outputFactory) {
+        processedRecords.increment();
         if (process == null) {
             // todo: handle @Input there too? less likely it becomes useful
             records.add(doConvertInput(expectedRecordType, inputFactory.read(Branches.DEFAULT_BRANCH)));
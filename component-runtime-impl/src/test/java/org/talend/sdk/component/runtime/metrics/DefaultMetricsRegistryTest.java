@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class DefaultMetricsRegistryTest {
+
+    @Test
+    void counter() {
+        final DefaultMetricsRegistry registry = new DefaultMetricsRegistry();
+        final Counter counter = registry.counter("records_total", "plugin", "test", "component", "input");
+        IntStream.range(0, 100).parallel().forEach(i -> counter.increment());
+        assertEquals(100, counter.getCount());
+        // tags are not ordered
+        assertSame(counter, registry.counter("records_total", "component", "input", "plugin", "test"));
+        assertEquals(1, registry.getMetrics().size());
+        assertThrows(IllegalArgumentException.class, () -> registry.histogram("records_total", "plugin", "test",
+                "component", "input"));
+    }
+
+    @Test
+    void removeByTag() {
+        final DefaultMetricsRegistry registry = new DefaultMetricsRegistry();
+        registry.counter("records_total", "plugin", "a").increment();
+        registry.counter("records_total", "plugin", "b").increment();
+        registry.histogram("duration");
+        registry.remove("plugin", "a");
+        assertEquals(2, registry.getMetrics().size());
+        assertEquals(0, registry.counter("records_total", "plugin", "a").getCount());
+        assertEquals(1, registry.counter("records_total", "plugin", "b").getCount());
+    }
+
+    @Test
+    void gauge() {
+        final DefaultMetricsRegistry registry = new DefaultMetricsRegistry();
+        final AtomicLong queued = new AtomicLong(2);
+        final Gauge gauge = registry.gauge("queued", queued::get, "pool", "shared");
+        assertEquals(2, gauge.getValue());
+        queued.set(5);
+        assertEquals(5, gauge.getValue());
+        // a new registration replaces the previous source
+        assertEquals(1, registry.gauge("queued", () -> 1, "pool", "shared").getValue());
+        assertEquals(1, registry.getMetrics().size());
+        assertThrows(IllegalArgumentException.class, () -> {
+            registry.counter("records_total");
+            registry.gauge("records_total", () -> 1);
+        });
+    }
+
+    @Test
+    void histogram() {
+        final Histogram histogram = new DefaultMetricsRegistry().histogram("duration");
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        IntStream.rangeClosed(1, 1000).forEach(histogram::record);
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500500, histogram.getSum());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(1000, histogram.getValueAtPercentile(100));
+        assertRelativeError(500, histogram.getValueAtPercentile(50));
+        assertRelativeError(990, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    void buckets() {
+        IntStream.range(0, 16).forEach(i -> assertEquals(i, LogLinearHistogram.indexOf(i)));
+        assertEquals(Long.MAX_VALUE, LogLinearHistogram.highestValueOf(LogLinearHistogram.indexOf(Long.MAX_VALUE)));
+        for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            final long highest = LogLinearHistogram.highestValueOf(LogLinearHistogram.indexOf(value));
+            assertTrue(highest >= value, value + " > " + highest);
+            assertEquals(LogLinearHistogram.indexOf(value), LogLinearHistogram.indexOf(highest));
+        }
+    }
+
+    private void assertRelativeError(final long expected, final long actual) {
+        assertTrue(Math.abs(expected - actual) <= expected * 0.0625, expected + " vs " + actual);
+    }
+}
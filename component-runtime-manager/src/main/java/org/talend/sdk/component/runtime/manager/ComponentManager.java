@@ -28,6 +28,7 @@ import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
+import static lombok.AccessLevel.PRIVATE;
 import static org.apache.xbean.finder.archive.FileArchive.decode;
 import static org.talend.sdk.component.classloader.ConfigurableClassLoader.NESTED_MAVEN_REPOSITORY;
 import static org.talend.sdk.component.runtime.base.lang.exception.InvocationExceptionWrapper.toRuntimeException;
@@ -73,6 +74,7 @@ import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -132,6 +134,7 @@ import org.talend.sdk.component.api.service.injector.Injector;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.api.standalone.DriverRunner;
 import org.talend.sdk.component.classloader.ConfigurableClassLoader;
+import org.talend.sdk.component.classloader.SharedArchiveStore;
 import org.talend.sdk.component.classloader.ThreadHelper;
 import org.talend.sdk.component.container.Container;
 import org.talend.sdk.component.container.ContainerListener;
@@ -170,6 +173,7 @@ import org.talend.sdk.component.runtime.manager.util.LazyMap;
 import org.talend.sdk.component.runtime.manager.xbean.KnownClassesFilter;
 import org.talend.sdk.component.runtime.manager.xbean.NestedJarArchive;
 import org.talend.sdk.component.runtime.manager.xbean.registry.EnrichedPropertyEditorRegistry;
+import org.talend.sdk.component.runtime.metrics.Metrics;
 import org.talend.sdk.component.runtime.output.ProcessorImpl;
 import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
 import org.talend.sdk.component.runtime.serialization.LightContainer;
@@ -362,6 +366,9 @@ public class ComponentManager implements AutoCloseable {
 
     private final DefaultServiceProvider defaultServiceProvider;
 
+    // null when plugins are eagerly created
+    private final PluginActivation activation;
+
     public ComponentManager(final File m2) {
         this(m2.toPath());
     }
@@ -444,6 +451,7 @@ public class ComponentManager implements AutoCloseable {
                         .parentClassesFilter(isContainerClass)
                         .classesFilter(isContainerClass.negate())
                         .supportsResourceDependencies(true)
+                        .archiveStore(ofNullable(getArchiveStore()).map(SharedArchiveStore::new).orElse(null))
                         .create();
         this.container = new ContainerManager(ContainerManager.DependenciesResolutionConfiguration
                 .builder()
@@ -465,6 +473,10 @@ public class ComponentManager implements AutoCloseable {
                         .orElseGet(() -> super.resolve(path));
             }
         };
+        this.activation = Boolean.getBoolean("talend.component.manager.plugins.lazy")
+                ? new PluginActivation(Long.getLong("talend.component.manager.plugins.lazy.idleTimeout", 0L),
+                        id -> this.container.find(id).ifPresent(Container::close))
+                : null;
         this.container.registerListener(new Updater(dependenciesResource));
         if (!Boolean.getBoolean("talend.component.manager.jmx.skip")) {
             ofNullable(jmxNamePattern)
@@ -523,6 +535,16 @@ public class ComponentManager implements AutoCloseable {
         return Locale::getDefault;
     }
 
+    /**
+     * @return the directory used to share the nested plugin archives between JVM instead of loading them in memory,
+     * null to keep them in memory.
+     */
+    protected Path getArchiveStore() {
+        return ofNullable(System.getProperty("talend.component.manager.classloader.archive.store"))
+                .map(PathFactory::get)
+                .orElse(null);
+    }
+
     private Path resolve(final String artifact) {
         return container.resolve(artifact);
     }
@@ -780,13 +802,34 @@ public class ComponentManager implements AutoCloseable {
 
     private Optional<Object> findComponentInternal(final String plugin, final String name,
             final ComponentType componentType, final int version, final Map<String, String> configuration) {
-        if (container.findAll().isEmpty()) {
+        if (availablePlugins().isEmpty()) {
             autoDiscoverPlugins(false, true);
         }
-        return find(pluginContainer -> Stream
-                .of(findInstance(plugin, name, componentType, version, configuration, pluginContainer)))
-                        .filter(Objects::nonNull)
-                        .findFirst();
+        if (activation == null) {
+            return find(pluginContainer -> Stream
+                    .of(findInstance(plugin, name, componentType, version, configuration, pluginContainer)))
+                            .filter(Objects::nonNull)
+                            .findFirst();
+        }
+        activation.activateFamily(plugin);
+        return container
+                .findAll()
+                .stream()
+                .map(pluginContainer -> {
+                    // leased until the instance is tracked, it can't be unloaded while being created
+                    final Runnable release = activation.lease(pluginContainer.getId()).orElse(() -> {
+                    });
+                    try {
+                        return ofNullable(
+                                findInstance(plugin, name, componentType, version, configuration, pluginContainer))
+                                        .map(instance -> activation.track(pluginContainer.getId(), instance));
+                    } finally {
+                        release.run();
+                    }
+                })
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .findFirst();
     }
 
     public void autoDiscoverPlugins(final boolean callers, final boolean classpath) {
@@ -867,50 +910,148 @@ public class ComponentManager implements AutoCloseable {
     }
 
     public boolean hasPlugin(final String plugin) {
-        return container.find(plugin).isPresent();
+        return container.find(plugin).isPresent() || (activation != null && activation.isPending(plugin));
     }
 
     public Optional<Container> findPlugin(final String plugin) {
-        return container.find(plugin);
+        if (activation == null) {
+            return container.find(plugin);
+        }
+        final Optional<Container> existing = container.find(plugin);
+        if (existing.isPresent()) {
+            activation.touch(plugin);
+            return existing;
+        }
+        return activation.activate(plugin);
+    }
+
+    /**
+     * Looks up a plugin and keeps it loaded until the lease is closed. It only matters when plugins are activated
+     * on demand: an idle plugin is unloaded only when it has no lease.
+     *
+     * @param plugin the plugin identifier.
+     * @return the lease on the plugin container if it exists.
+     */
+    public Optional<PluginLease> leasePlugin(final String plugin) {
+        if (activation == null) {
+            return container.find(plugin).map(it -> new PluginLease(it, () -> {
+            }));
+        }
+        return activation.lease(plugin).flatMap(release -> {
+            final Optional<Container> leased = container.find(plugin);
+            if (!leased.isPresent()) {
+                release.run();
+            }
+            return leased.map(it -> new PluginLease(it, release));
+        });
+    }
+
+    /**
+     * Looks up the plugin defining an action - activating it if needed - and keeps it loaded until the lease
+     * is closed.
+     *
+     * @param family the action family.
+     * @param type the action type.
+     * @param action the action name.
+     * @return the lease on the plugin container defining this action if it exists.
+     */
+    public Optional<PluginLease> leaseAction(final String family, final String type, final String action) {
+        if (activation != null) {
+            activation.activateFamily(family);
+        }
+        return container
+                .findAll()
+                .stream()
+                .filter(it -> ofNullable(it.get(ContainerComponentRegistry.class))
+                        .map(registry -> registry
+                                .getServices()
+                                .stream()
+                                .flatMap(service -> service.getActions().stream())
+                                .anyMatch(meta -> family.equals(meta.getFamily()) && type.equals(meta.getType())
+                                        && action.equals(meta.getAction())))
+                        .orElse(false))
+                .findFirst()
+                .flatMap(it -> leasePlugin(it.getId()));
     }
 
     public synchronized String addPlugin(final String pluginRootFile) {
-        final Optional<Container> pl = findPlugin(pluginRootFile);
+        final Optional<Container> pl = container.find(pluginRootFile);
         if (pl.isPresent()) {
             return pl.get().getId();
         }
-        final String id = this.container
-                .builder(pluginRootFile)
-                .withCustomizer(createContainerCustomizer(pluginRootFile))
-                .withAdditionalClasspath(findAdditionalClasspathFor(container.buildAutoIdFromName(pluginRootFile)))
-                .create()
-                .getId();
-        info("Adding plugin: " + pluginRootFile + ", as " + id);
-        return id;
+        final String autoId = container.buildAutoIdFromName(pluginRootFile);
+        if (activation != null && activation.isPending(autoId)) {
+            return autoId;
+        }
+        return registerPlugin(autoId, pluginRootFile,
+                () -> this.container
+                        .builder(pluginRootFile)
+                        .withCustomizer(createContainerCustomizer(pluginRootFile))
+                        .withAdditionalClasspath(
+                                findAdditionalClasspathFor(container.buildAutoIdFromName(pluginRootFile)))
+                        .create());
     }
 
     public String addWithLocationPlugin(final String location, final String pluginRootFile) {
-        final String id = this.container
-                .builder(pluginRootFile)
-                .withCustomizer(createContainerCustomizer(location))
-                .withAdditionalClasspath(findAdditionalClasspathFor(container.buildAutoIdFromName(location)))
-                .create()
-                .getId();
-        info("Adding plugin: " + pluginRootFile + ", as " + id);
-        return id;
+        return registerPlugin(container.buildAutoIdFromName(pluginRootFile), pluginRootFile,
+                () -> this.container
+                        .builder(pluginRootFile)
+                        .withCustomizer(createContainerCustomizer(location))
+                        .withAdditionalClasspath(findAdditionalClasspathFor(container.buildAutoIdFromName(location)))
+                        .create());
     }
 
     protected String addPlugin(final String forcedId, final String pluginRootFile) {
-        final String id = this.container
-                .builder(forcedId, pluginRootFile)
-                .withCustomizer(createContainerCustomizer(forcedId))
-                .withAdditionalClasspath(findAdditionalClasspathFor(forcedId))
-                .create()
-                .getId();
-        info("Adding plugin: " + pluginRootFile + ", as " + id);
+        return registerPlugin(forcedId, pluginRootFile,
+                () -> this.container
+                        .builder(forcedId, pluginRootFile)
+                        .withCustomizer(createContainerCustomizer(forcedId))
+                        .withAdditionalClasspath(findAdditionalClasspathFor(forcedId))
+                        .create());
+    }
+
+    private String registerPlugin(final String id, final String pluginRootFile, final Supplier<Container> factory) {
+        final Supplier<Container> timedFactory = () -> {
+            final long start = System.nanoTime();
+            try {
+                return factory.get();
+            } finally {
+                Metrics
+                        .registry()
+                        .histogram("talend_component_plugin_deploy_duration_ms")
+                        .record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        };
+        if (activation == null) {
+            final String createdId = timedFactory.get().getId();
+            info("Adding plugin: " + pluginRootFile + ", as " + createdId);
+            return createdId;
+        }
+        activation.register(id, indexFamilies(pluginRootFile), timedFactory);
+        info("Adding plugin: " + pluginRootFile + ", as " + id + " (on demand)");
         return id;
     }
 
+    private Collection<String> indexFamilies(final String pluginRootFile) {
+        final Path resolved = container.resolve(pluginRootFile);
+        if (java.nio.file.Files.exists(resolved)) {
+            return PluginActivation.indexFamilies(resolved);
+        }
+        // nested plugin (bundled in the runtime classpath)
+        final InputStream nested = Thread
+                .currentThread()
+                .getContextClassLoader()
+                .getResourceAsStream(NESTED_MAVEN_REPOSITORY + pluginRootFile);
+        if (nested == null) {
+            return emptyList();
+        }
+        try (final InputStream stream = nested) {
+            return PluginActivation.indexFamilies(stream);
+        } catch (final IOException e) {
+            return emptyList();
+        }
+    }
+
     private Collection<Artifact> findAdditionalClasspathFor(final String pluginId) {
         return classpathContributors
                 .stream()
@@ -920,6 +1061,9 @@ public class ComponentManager implements AutoCloseable {
     }
 
     public void removePlugin(final String id) {
+        if (activation != null) {
+            activation.remove(id);
+        }
         container.find(id).ifPresent(Container::close);
         info("Removed plugin: " + id);
     }
@@ -930,6 +1074,9 @@ public class ComponentManager implements AutoCloseable {
 
     @Override
     public void close() {
+        if (activation != null) {
+            activation.close();
+        }
         container.close();
         propertyEditorRegistry.close();
     }
@@ -955,7 +1102,11 @@ public class ComponentManager implements AutoCloseable {
     }
 
     public List<String> availablePlugins() {
-        return container.findAll().stream().map(Container::getId).collect(toList());
+        final List<String> plugins = container.findAll().stream().map(Container::getId).collect(toList());
+        if (activation != null) {
+            activation.getPendingPlugins().stream().filter(it -> !plugins.contains(it)).forEach(plugins::add);
+        }
+        return plugins;
     }
 
     protected void containerServices(final Container container, final Map<Class<?>, Object> services) {
@@ -1135,6 +1286,20 @@ public class ComponentManager implements AutoCloseable {
         private final String value;
     }
 
+    @RequiredArgsConstructor(access = PRIVATE)
+    public static class PluginLease implements AutoCloseable {
+
+        @Getter
+        private final Container container;
+
+        private final Runnable release;
+
+        @Override
+        public void close() {
+            release.run();
+        }
+    }
+
     @RequiredArgsConstructor
     private class Updater implements ContainerListener {
 
@@ -1682,6 +1847,7 @@ public class ComponentManager implements AutoCloseable {
                             log.warn(e.getMessage(), e);
                         }
                     });
+            Metrics.registry().remove("plugin", container.getId());
         }
 
         private void doInvoke(final String container, final Object instance, final Class<? extends Annotation> marker) {
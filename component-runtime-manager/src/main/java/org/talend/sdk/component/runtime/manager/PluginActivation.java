@@ -0,0 +1,448 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager;
+
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.apache.xbean.asm9.ClassReader.SKIP_CODE;
+import static org.apache.xbean.asm9.ClassReader.SKIP_DEBUG;
+import static org.apache.xbean.asm9.ClassReader.SKIP_FRAMES;
+import static org.apache.xbean.asm9.Opcodes.ASM9;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.jar.JarInputStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+
+import org.apache.xbean.asm9.AnnotationVisitor;
+import org.apache.xbean.asm9.ClassReader;
+import org.apache.xbean.asm9.ClassVisitor;
+import org.apache.xbean.asm9.MethodVisitor;
+import org.apache.xbean.asm9.Type;
+import org.talend.sdk.component.api.component.Components;
+import org.talend.sdk.component.api.input.Emitter;
+import org.talend.sdk.component.api.input.PartitionMapper;
+import org.talend.sdk.component.api.processor.Processor;
+import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.api.standalone.DriverRunner;
+import org.talend.sdk.component.container.Container;
+import org.talend.sdk.component.runtime.base.Delegated;
+import org.talend.sdk.component.runtime.input.Input;
+import org.talend.sdk.component.runtime.input.Mapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * On demand activation of the plugins: a plugin is registered with a lightweight index (the families it defines,
+ * read from the bytecode without loading any class) and its container - classloader, services, components - is
+ * only created when one of its components or the plugin itself is looked up.
+ *
+ * If an idle timeout is set, plugins not accessed for this duration, without any lease and without any live
+ * component instance (including the inputs created by a mapper) are closed (to reclaim their classloader) and go
+ * back to the pending state.
+ */
+@Slf4j
+class PluginActivation implements AutoCloseable {
+
+    private static final Collection<String> FAMILY_ANNOTATIONS = Stream
+            .of(Components.class, PartitionMapper.class, Emitter.class, Processor.class, DriverRunner.class)
+            .map(Type::getDescriptor)
+            .collect(toSet());
+
+    private static final String ACTION_ANNOTATIONS_PREFIX =
+            "L" + Service.class.getPackage().getName().replace('.', '/') + '/';
+
+    private final Map<String, PendingPlugin> pending = new ConcurrentHashMap<>();
+
+    private final Map<String, ActivePlugin> active = new ConcurrentHashMap<>();
+
+    private final long idleTimeout;
+
+    private final Consumer<String> closer;
+
+    private final ScheduledExecutorService unloader;
+
+    PluginActivation(final long idleTimeout, final Consumer<String> closer) {
+        this.idleTimeout = idleTimeout;
+        this.closer = closer;
+        if (idleTimeout > 0) {
+            unloader = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread thread = new Thread(r, PluginActivation.class.getName() + "-unloader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final long period = Math.max(1000, idleTimeout / 2);
+            unloader.scheduleWithFixedDelay(this::unloadIdlePlugins, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            unloader = null;
+        }
+    }
+
+    synchronized void register(final String id, final Collection<String> families,
+            final Supplier<Container> factory) {
+        if (pending.containsKey(id) || active.containsKey(id)) { // same contract as the eager mode
+            throw new IllegalArgumentException("Container '" + id + "' already exists");
+        }
+        pending.put(id, new PendingPlugin(id, families, factory));
+        log.debug("Registered plugin {} (families={}) for on demand activation", id, families);
+    }
+
+    boolean isPending(final String id) {
+        return pending.containsKey(id);
+    }
+
+    Collection<String> getPendingPlugins() {
+        return new ArrayList<>(pending.keySet());
+    }
+
+    synchronized void remove(final String id) {
+        pending.remove(id);
+        active.remove(id);
+    }
+
+    /**
+     * Activates the plugins defining this family or, if none is indexed with it,
+     * the plugins we were not able to index.
+     *
+     * @param family the family to look up.
+     */
+    void activateFamily(final String family) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<String> candidates =
+                pending.values().stream().filter(it -> it.families.contains(family)).map(it -> it.id).collect(toList());
+        if (candidates.isEmpty()) {
+            candidates =
+                    pending.values().stream().filter(it -> it.families.isEmpty()).map(it -> it.id).collect(toList());
+        }
+        candidates.forEach(id -> {
+            try {
+                activate(id);
+            } catch (final RuntimeException re) { // don't prevent other plugins to be looked up
+                log.error("Can't activate plugin {}: {}", id, re.getMessage(), re);
+            }
+        });
+    }
+
+    synchronized Optional<Container> activate(final String id) {
+        final PendingPlugin plugin = pending.get(id);
+        if (plugin == null) {
+            return empty();
+        }
+        log.info("Activating plugin {}", id);
+        final Container container = plugin.factory.get(); // if it fails, stays pending
+        pending.remove(id);
+        active.put(id, new ActivePlugin(plugin));
+        return ofNullable(container);
+    }
+
+    void touch(final String id) {
+        ofNullable(active.get(id)).ifPresent(it -> it.lastAccess = System.currentTimeMillis());
+    }
+
+    /**
+     * Marks a plugin as in use (activating it if needed), it is not unloaded until the lease is released.
+     *
+     * @param id the plugin identifier.
+     * @return the lease release callback (only the first call is effective) if the plugin exists.
+     */
+    synchronized Optional<Runnable> lease(final String id) {
+        if (pending.containsKey(id)) {
+            activate(id);
+        }
+        final ActivePlugin plugin = active.get(id);
+        if (plugin == null) {
+            return empty();
+        }
+        plugin.lastAccess = System.currentTimeMillis();
+        plugin.leases.incrementAndGet();
+        final AtomicBoolean released = new AtomicBoolean();
+        return of(() -> {
+            if (released.compareAndSet(false, true)) {
+                plugin.lastAccess = System.currentTimeMillis();
+                plugin.leases.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Tracks a component instance, the plugin is not unloaded while it is referenced.
+     * A mapper is wrapped to also track the mappers and inputs it creates since they can outlive it.
+     *
+     * @param id the plugin identifier.
+     * @param instance the component instance.
+     * @return the instance to use.
+     */
+    Object track(final String id, final Object instance) {
+        doTrack(id, instance);
+        if (Mapper.class.isInstance(instance)) {
+            return new TrackedMapper(Mapper.class.cast(instance), created -> doTrack(id, created));
+        }
+        return instance;
+    }
+
+    private void doTrack(final String id, final Object instance) {
+        ofNullable(active.get(id)).ifPresent(it -> {
+            it.lastAccess = System.currentTimeMillis();
+            synchronized (it.instances) {
+                it.instances.add(new WeakReference<>(instance));
+            }
+        });
+    }
+
+    synchronized void unloadIdlePlugins() {
+        final long now = System.currentTimeMillis();
+        new ArrayList<>(active.entrySet()).forEach(entry -> {
+            final ActivePlugin plugin = entry.getValue();
+            final boolean inUse;
+            synchronized (plugin.instances) {
+                plugin.instances.removeIf(it -> it.get() == null);
+                inUse = !plugin.instances.isEmpty();
+            }
+            if (inUse || plugin.leases.get() > 0 || now - plugin.lastAccess < idleTimeout) {
+                return;
+            }
+            log.info("Unloading idle plugin {}", entry.getKey());
+            active.remove(entry.getKey());
+            try {
+                closer.accept(entry.getKey());
+            } catch (final RuntimeException re) {
+                log.warn(re.getMessage(), re);
+            }
+            pending.put(entry.getKey(), plugin.plugin);
+        });
+    }
+
+    @Override
+    public void close() {
+        if (unloader != null) {
+            unloader.shutdownNow();
+        }
+        pending.clear();
+        active.clear();
+    }
+
+    /**
+     * @param module the plugin module (jar or exploded folder).
+     * @return the families declared in this module, empty if it can't be indexed.
+     */
+    static Collection<String> indexFamilies(final Path module) {
+        final Collection<String> families = new HashSet<>();
+        try {
+            if (Files.isDirectory(module)) {
+                final List<Path> classes;
+                try (final Stream<Path> files = Files.walk(module)) {
+                    classes = files.filter(it -> it.getFileName().toString().endsWith(".class")).collect(toList());
+                }
+                for (final Path clazz : classes) {
+                    visit(Files.readAllBytes(clazz), families);
+                }
+            } else if (Files.exists(module)) {
+                try (final InputStream stream = Files.newInputStream(module)) {
+                    families.addAll(indexFamilies(stream));
+                }
+            }
+        } catch (final IOException e) {
+            log.debug("Can't index {}: {}", module, e.getMessage());
+        }
+        return families;
+    }
+
+    /**
+     * @param jar the plugin jar stream, it is not closed.
+     * @return the families declared in this jar.
+     */
+    static Collection<String> indexFamilies(final InputStream jar) throws IOException {
+        final Collection<String> families = new HashSet<>();
+        final JarInputStream stream = new JarInputStream(jar);
+        final byte[] buffer = new byte[8192];
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(buffer.length);
+        ZipEntry entry;
+        while ((entry = stream.getNextEntry()) != null) {
+            if (entry.isDirectory() || !entry.getName().endsWith(".class")) {
+                continue;
+            }
+            out.reset();
+            int read;
+            while ((read = stream.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            visit(out.toByteArray(), families);
+        }
+        return families;
+    }
+
+    private static void visit(final byte[] bytecode, final Collection<String> families) {
+        try {
+            new ClassReader(bytecode).accept(new ClassVisitor(ASM9) {
+
+                @Override
+                public AnnotationVisitor visitAnnotation(final String descriptor, final boolean visible) {
+                    if (!FAMILY_ANNOTATIONS.contains(descriptor)) {
+                        return null;
+                    }
+                    return familyVisitor(families);
+                }
+
+                @Override
+                public MethodVisitor visitMethod(final int access, final String name, final String method,
+                        final String signature, final String[] exceptions) {
+                    return new MethodVisitor(ASM9) {
+
+                        @Override
+                        public AnnotationVisitor visitAnnotation(final String descriptor, final boolean visible) {
+                            // actions (@Action, @HealthCheck, ...) so an action lookup activates its plugin
+                            if (!descriptor.startsWith(ACTION_ANNOTATIONS_PREFIX)) {
+                                return null;
+                            }
+                            return familyVisitor(families);
+                        }
+                    };
+                }
+            }, SKIP_CODE | SKIP_DEBUG | SKIP_FRAMES);
+        } catch (final RuntimeException re) { // unsupported bytecode, ignore this class
+            log.debug(re.getMessage(), re);
+        }
+    }
+
+    private static AnnotationVisitor familyVisitor(final Collection<String> families) {
+        return new AnnotationVisitor(ASM9) {
+
+            @Override
+            public void visit(final String name, final Object value) {
+                if ("family".equals(name) && String.class.isInstance(value) && !String.class.cast(value).isEmpty()) {
+                    families.add(String.class.cast(value));
+                }
+            }
+        };
+    }
+
+    @RequiredArgsConstructor
+    private static class PendingPlugin {
+
+        private final String id;
+
+        private final Collection<String> families;
+
+        private final Supplier<Container> factory;
+    }
+
+    @RequiredArgsConstructor
+    private static class TrackedMapper implements Mapper, Delegated, Serializable {
+
+        private final Mapper mapper;
+
+        private final transient Consumer<Object> tracker;
+
+        @Override
+        public long assess() {
+            return mapper.assess();
+        }
+
+        @Override
+        public List<Mapper> split(final long desiredSize) {
+            return mapper.split(desiredSize).stream().map(it -> {
+                tracker.accept(it);
+                return new TrackedMapper(it, tracker);
+            }).collect(toList());
+        }
+
+        @Override
+        public Input create() {
+            final Input input = mapper.create();
+            tracker.accept(input);
+            return input;
+        }
+
+        @Override
+        public boolean isStream() {
+            return mapper.isStream();
+        }
+
+        @Override
+        public String plugin() {
+            return mapper.plugin();
+        }
+
+        @Override
+        public String rootName() {
+            return mapper.rootName();
+        }
+
+        @Override
+        public String name() {
+            return mapper.name();
+        }
+
+        @Override
+        public void start() {
+            mapper.start();
+        }
+
+        @Override
+        public void stop() {
+            mapper.stop();
+        }
+
+        @Override
+        public Object getDelegate() {
+            return Delegated.class.isInstance(mapper) ? Delegated.class.cast(mapper).getDelegate() : mapper;
+        }
+
+        // the tracking only makes sense in this JVM
+        Object writeReplace() throws ObjectStreamException {
+            return mapper;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class ActivePlugin {
+
+        private final PendingPlugin plugin;
+
+        private final Collection<WeakReference<Object>> instances = new ArrayList<>();
+
+        private final AtomicInteger leases = new AtomicInteger();
+
+        private volatile long lastAccess = System.currentTimeMillis();
+    }
+}
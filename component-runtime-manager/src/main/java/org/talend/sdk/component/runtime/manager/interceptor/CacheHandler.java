@@ -15,13 +15,10 @@
  */
 package org.talend.sdk.component.runtime.manager.interceptor;
 
-import static java.util.stream.Collectors.joining;
-
 import java.lang.reflect.Method;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiFunction;
-import java.util.stream.Stream;
 
 import org.talend.sdk.component.api.service.cache.Cached;
 import org.talend.sdk.component.api.service.cache.LocalCache;
@@ -42,19 +39,12 @@ public class CacheHandler implements InterceptorHandler {
 
     @Override
     public Object invoke(final Method method, final Object[] args) {
-        final String key = toKey(method, args);
-        final long timeout = timeouts.computeIfAbsent(method, m -> findAnnotation(m, Cached.class).get().timeout());
-        return cache.computeIfAbsent(Object.class, key, timeout, () -> invoker.apply(method, args));
-    }
-
-    // assumes toString() and hashCode() of params are representative
-    private String toKey(final Method method, final Object[] args) {
-        return method.getDeclaringClass().getName() + "#" + method.getName() + "("
-                + (args == null ? ""
-                        : Stream
-                                .of(args)
-                                .map(s -> String.valueOf(s) + "/" + (s == null ? 0 : s.hashCode()))
-                                .collect(joining(",")))
-                + ")";
+        Long timeout = timeouts.get(method);
+        if (timeout == null) {
+            timeout = timeouts.computeIfAbsent(method, m -> findAnnotation(m, Cached.class).get().timeout());
+        }
+        return cache
+                .computeIfAbsentByKey(Object.class, new MethodCacheKey(method, args), timeout,
+                        () -> invoker.apply(method, args));
     }
 }
@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.interceptor;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.talend.sdk.component.api.service.cache.CacheKeyProvider;
+
+/**
+ * Key of a {@link org.talend.sdk.component.api.service.cache.Cached} invocation: the method and its parameters,
+ * compared with their {@code equals} and with a hash computed once.
+ */
+final class MethodCacheKey {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Method method;
+
+    private final Object[] args;
+
+    private final int hash;
+
+    MethodCacheKey(final Method method, final Object[] args) {
+        this.method = method;
+        this.args = toKeys(args);
+        this.hash = 31 * method.hashCode() + Arrays.deepHashCode(this.args);
+    }
+
+    // args are only copied when a parameter provides its own key
+    private static Object[] toKeys(final Object[] args) {
+        if (args == null) {
+            return NO_ARGS;
+        }
+        Object[] keys = args;
+        for (int i = 0; i < args.length; i++) {
+            if (CacheKeyProvider.class.isInstance(args[i])) {
+                if (keys == args) {
+                    keys = args.clone();
+                }
+                keys[i] = CacheKeyProvider.class.cast(args[i]).getCacheKey();
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final MethodCacheKey other = MethodCacheKey.class.cast(o);
+        return hash == other.hash && method.equals(other.method) && Arrays.deepEquals(args, other.args);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    // string key of the caches not supporting structured keys, assumes toString() of params is representative
+    @Override
+    public String toString() {
+        return method.getDeclaringClass().getName() + "#" + method.getName() + Arrays.deepToString(args) + "/" + hash;
+    }
+}
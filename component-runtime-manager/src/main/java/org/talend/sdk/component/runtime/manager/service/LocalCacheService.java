@@ -15,43 +15,67 @@
  */
 package org.talend.sdk.component.runtime.manager.service;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import javax.annotation.PreDestroy;
 
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.service.cache.LocalCache;
 import org.talend.sdk.component.api.service.configuration.Configuration;
+import org.talend.sdk.component.runtime.metrics.Counter;
+import org.talend.sdk.component.runtime.metrics.Metrics;
 import org.talend.sdk.component.runtime.serialization.SerializableService;
 
 import lombok.Data;
 
 /**
  * Implementation of LocalCache with in memory concurrent map.
+ *
+ * When the cache is full the least recently used entry is evicted: entries are tracked in segmented
+ * access ordered lists to not serialize all the reads on a single lock. Timeouts are handled by a timer wheel
+ * using a single scheduled task per cache and concurrent misses of the same key compute the value once.
  */
 public class LocalCacheService implements LocalCache, Serializable {
 
+    private static final int SEGMENTS = 16;
+
+    private static final long TICK_MS = 10;
+
+    private static final int WHEEL_SIZE = 4096;
+
     /** plugin name for this cache */
     private final String plugin;
 
     private final Supplier<Long> timer;
 
-    private final ConcurrentMap<String, ElementImpl> cache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, ElementImpl> cache = new ConcurrentHashMap<>();
+
+    // single-flight loading, concurrent misses of a key wait for the same computation
+    private final transient ConcurrentMap<Object, CompletableFuture<ElementImpl>> loading =
+            new ConcurrentHashMap<>();
+
+    private final transient Segment[] segments = new Segment[SEGMENTS];
+
+    private final transient ExpirationWheel wheel = new ExpirationWheel();
 
     @Configuration("talend.component.manager.services.cache.eviction")
     private Supplier<CacheConfiguration> configuration;
@@ -59,11 +83,24 @@ public class LocalCacheService implements LocalCache, Serializable {
     // scheduler we use to evict tokens
     private transient Supplier<ScheduledExecutorService> threadServiceGetter;
 
+    private final transient Counter hits;
+
+    private final transient Counter misses;
+
     public LocalCacheService(final String plugin, final Supplier<Long> timer,
             final Supplier<ScheduledExecutorService> threadServiceGetter) {
         this.plugin = plugin;
         this.timer = timer;
         this.threadServiceGetter = threadServiceGetter;
+        this.hits = Metrics
+                .registry()
+                .counter("talend_component_local_cache_requests_total", "plugin", plugin, "result", "hit");
+        this.misses = Metrics
+                .registry()
+                .counter("talend_component_local_cache_requests_total", "plugin", plugin, "result", "miss");
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment();
+        }
     }
 
     /**
@@ -76,10 +113,10 @@ public class LocalCacheService implements LocalCache, Serializable {
         final String realKey = internalKey(key);
 
         // use compute to be able to call release.
-        cache.compute(realKey, (String oldKey, ElementImpl oldElement) -> {
-            if (oldElement != null && oldElement.canBeEvict()) {
+        cache.computeIfPresent(realKey, (Object oldKey, ElementImpl oldElement) -> {
+            if (oldElement.canBeEvict()) {
                 // ok to evict, so do release.
-                oldElement.release();
+                release(oldElement);
                 return null;
             }
             return oldElement;
@@ -91,10 +128,10 @@ public class LocalCacheService implements LocalCache, Serializable {
         final String realKey = internalKey(key);
 
         // use compute to be able to call release.
-        cache.compute(realKey, (String oldKey, ElementImpl oldElement) -> {
-            if (oldElement != null && (Objects.equals(oldElement.getValue(), expected) || oldElement.canBeEvict())) {
+        cache.computeIfPresent(realKey, (Object oldKey, ElementImpl oldElement) -> {
+            if (Objects.equals(oldElement.getValue(), expected) || oldElement.canBeEvict()) {
                 // ok to evit, so do release.
-                oldElement.release();
+                release(oldElement);
                 return null;
             }
             return oldElement;
@@ -105,27 +142,25 @@ public class LocalCacheService implements LocalCache, Serializable {
     @Override
     public <T> T computeIfAbsent(final Class<T> expectedClass, final String key, final Predicate<Element> toRemove,
             final long timeoutMs, final Supplier<T> value) {
+        return doComputeIfAbsent(expectedClass, internalKey(key), toRemove, timeoutMs, value);
+    }
 
-        final Integer maxSize = this.getConfigValue(CacheConfiguration::getDefaultMaxSize, -1);
-        if (maxSize > 0 && this.cache.size() >= maxSize) {
-            this.clean(); // clean before add one element.
-            if (this.cache.size() >= maxSize) {
-                synchronized (this.cache) {
-                    while (this.cache.size() >= maxSize) {
-                        final String keyToRemove = this.cache.keySet().iterator().next();
-                        this.cache.remove(keyToRemove);
-                    }
-                }
-            }
-        }
-
-        final ScheduledFuture<?> task = timeoutMs > 0 ? this.evictionTask(key, timeoutMs) : null;
-
-        final long endOfValidity = this.calcEndOfValidity(timeoutMs);
-        final ElementImpl element =
-                this.addToMap(key, () -> new ElementImpl(value, toRemove, endOfValidity, task, this.timer));
+    // the key is used as is, no string to build, these keys are local to this cache
+    @Override
+    public <T> T computeIfAbsentByKey(final Class<T> expectedClass, final Object key, final long timeoutMs,
+            final Supplier<T> value) {
+        return doComputeIfAbsent(expectedClass, key, null, timeoutMs, value);
+    }
 
-        return element.getValue(expectedClass);
+    private <T> T doComputeIfAbsent(final Class<T> expectedClass, final Object key, final Predicate<Element> toRemove,
+            final long timeoutMs, final Supplier<T> value) {
+        final ElementImpl cached = cache.get(key);
+        if (cached != null && !cached.mustBeRemoved()) {
+            hits.increment();
+            segmentFor(key).touch(cached);
+            return cached.getValue(expectedClass);
+        }
+        return load(key, toRemove, timeoutMs, value).getValue(expectedClass);
     }
 
     @Override
@@ -142,10 +177,52 @@ public class LocalCacheService implements LocalCache, Serializable {
         return this.computeIfAbsent(expectedClass, key, null, timeoutMs, value);
     }
 
-    private ElementImpl addToMap(final String key, final Supplier<ElementImpl> builder) {
-        final String internalKey = internalKey(key);
-        return cache.compute(internalKey, (String k, ElementImpl old) -> //
-        old == null || old.mustBeRemoved() ? builder.get() : old);
+    private ElementImpl load(final Object key, final Predicate<Element> toRemove, final long timeoutMs,
+            final Supplier<?> value) {
+        final CompletableFuture<ElementImpl> flight = new CompletableFuture<>();
+        final CompletableFuture<ElementImpl> existing = loading.putIfAbsent(key, flight);
+        if (existing != null) {
+            hits.increment();
+            try {
+                return existing.join();
+            } catch (final CompletionException ce) {
+                if (RuntimeException.class.isInstance(ce.getCause())) {
+                    throw RuntimeException.class.cast(ce.getCause());
+                }
+                if (Error.class.isInstance(ce.getCause())) {
+                    throw Error.class.cast(ce.getCause());
+                }
+                throw ce;
+            }
+        }
+        try {
+            final ElementImpl current = cache.get(key);
+            if (current != null && !current.mustBeRemoved()) { // loaded while we were acquiring the flight
+                hits.increment();
+                flight.complete(current);
+                return current;
+            }
+            misses.increment();
+            final ElementImpl created =
+                    new ElementImpl(key, value, toRemove, this.calcEndOfValidity(timeoutMs), this.timer);
+            makeRoom();
+            // track it before it is visible to let concurrent evictions untrack it
+            segmentFor(key).add(created);
+            if (timeoutMs > 0) {
+                wheel.add(created);
+            }
+            final ElementImpl previous = cache.put(key, created);
+            if (previous != null) {
+                release(previous);
+            }
+            flight.complete(created);
+            return created;
+        } catch (final RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, flight);
+        }
     }
 
     @Override
@@ -156,7 +233,8 @@ public class LocalCacheService implements LocalCache, Serializable {
 
     @PreDestroy
     public void release() {
-        this.cache.forEach((String k, ElementImpl e) -> e.release());
+        this.wheel.stop();
+        this.cache.forEach((Object k, ElementImpl e) -> release(e));
         this.cache.clear();
     }
 
@@ -169,40 +247,73 @@ public class LocalCacheService implements LocalCache, Serializable {
     }
 
     public void clean() {
-        Stream<Entry<String, ElementImpl>> elements = //
-                this.cache
-                        .entrySet() //
-                        .stream() //
-                        .filter(e -> e.getValue().mustBeRemoved());
-
         final int maxEviction = this.getConfigValue(CacheConfiguration::getMaxDeletionPerEvictionRun, -1);
-        if (maxEviction > 0) {
-            elements = elements.limit(maxEviction);
+        int evicted = 0;
+        for (final ElementImpl element : this.cache.values()) {
+            if (maxEviction > 0 && evicted >= maxEviction) {
+                break;
+            }
+            if (element.mustBeRemoved() && remove(element, false)) {
+                evicted++;
+            }
         }
-        final List<String> removableElements = elements.map(Entry::getKey).collect(Collectors.toList());// materialize
-                                                                                                        // before
-                                                                                                        // actually
-                                                                                                        // removing it
-        removableElements.forEach(this.cache::remove);
     }
 
-    private ScheduledExecutorService getThreadService() {
-        return this.threadServiceGetter.get();
+    // evicts the least recently used entries until there is room for a new one
+    private void makeRoom() {
+        final int maxSize = this.getConfigValue(CacheConfiguration::getDefaultMaxSize, -1);
+        while (maxSize > 0 && this.cache.size() >= maxSize) {
+            Segment oldest = null;
+            long oldestAccess = Long.MAX_VALUE;
+            for (final Segment segment : segments) {
+                final ElementImpl tail = segment.tail;
+                if (tail != null && tail.lastAccess < oldestAccess) {
+                    oldest = segment;
+                    oldestAccess = tail.lastAccess;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            final ElementImpl victim = oldest.pollTail();
+            if (victim != null) {
+                remove(victim, false);
+            }
+        }
+    }
+
+    private void expire(final ElementImpl element) {
+        remove(element, true);
+    }
+
+    private boolean remove(final ElementImpl element, final boolean checkEviction) {
+        final boolean[] removed = new boolean[1];
+        cache.computeIfPresent(element.key, (Object k, ElementImpl current) -> {
+            if (current == element && (!checkEviction || current.canBeEvict())) {
+                release(current);
+                removed[0] = true;
+                return null;
+            }
+            return current;
+        });
+        return removed[0];
     }
 
     /**
-     * Schedule an eviction task for a key.
-     * 
-     * @param key : key to evict from cache.
-     * @param delayMillis : delay in millis before triggered.
-     * @return result of task.
+     * Untrack a removed object.
      */
-    private ScheduledFuture<?> evictionTask(final String key, final long delayMillis) {
-        return this
-                .getThreadService()
-                .schedule(() -> this.evict(key), //
-                        delayMillis, //
-                        TimeUnit.MILLISECONDS); //
+    private void release(final ElementImpl element) {
+        segmentFor(element.key).remove(element);
+        wheel.remove(element);
+    }
+
+    private Segment segmentFor(final Object key) {
+        final int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private ScheduledExecutorService getThreadService() {
+        return this.threadServiceGetter.get();
     }
 
     private <T> T getConfigValue(final Function<CacheConfiguration, T> getter, final T defaultValue) {
@@ -232,11 +343,232 @@ public class LocalCacheService implements LocalCache, Serializable {
         private int defaultMaxSize;
     }
 
+    /**
+     * Access ordered list of a part of the entries (most recently used first).
+     */
+    private static class Segment {
+
+        private ElementImpl head;
+
+        private volatile ElementImpl tail;
+
+        private synchronized void add(final ElementImpl element) {
+            element.lastAccess = System.nanoTime();
+            element.linked = true;
+            linkFirst(element);
+        }
+
+        private synchronized void touch(final ElementImpl element) {
+            element.lastAccess = System.nanoTime();
+            if (!element.linked || head == element) {
+                return;
+            }
+            unlink(element);
+            linkFirst(element);
+        }
+
+        private synchronized void remove(final ElementImpl element) {
+            if (element.linked) {
+                unlink(element);
+                element.linked = false;
+            }
+        }
+
+        private synchronized ElementImpl pollTail() {
+            final ElementImpl element = tail;
+            if (element != null) {
+                unlink(element);
+                element.linked = false;
+            }
+            return element;
+        }
+
+        private void linkFirst(final ElementImpl element) {
+            element.previous = null;
+            element.next = head;
+            if (head != null) {
+                head.previous = element;
+            }
+            head = element;
+            if (tail == null) {
+                tail = element;
+            }
+        }
+
+        private void unlink(final ElementImpl element) {
+            if (element.previous != null) {
+                element.previous.next = element.next;
+            } else {
+                head = element.next;
+            }
+            if (element.next != null) {
+                element.next.previous = element.previous;
+            } else {
+                tail = element.previous;
+            }
+            element.previous = null;
+            element.next = null;
+        }
+    }
+
+    /**
+     * Hashed timer wheel: timed entries are put in the bucket of their deadline (by ticks of {@link #TICK_MS})
+     * and a single task is scheduled for the next non empty bucket. Entries expiring after a full rotation
+     * wait in an overflow set redistributed at each rotation.
+     */
+    private class ExpirationWheel {
+
+        private static final int NONE = -1;
+
+        private static final int OVERFLOW = -2;
+
+        private final List<Set<ElementImpl>> buckets = new ArrayList<>(WHEEL_SIZE);
+
+        private final Set<ElementImpl> overflow = newIdentitySet();
+
+        private long lastTick = -1;
+
+        private int size;
+
+        private ScheduledFuture<?> pending;
+
+        private long pendingTick;
+
+        private ExpirationWheel() {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                buckets.add(newIdentitySet());
+            }
+        }
+
+        private synchronized void add(final ElementImpl element) {
+            if (size == 0) {
+                lastTick = timer.get() / TICK_MS;
+            }
+            place(element);
+            size++;
+            final long tick = element.bucket == OVERFLOW ? nextRotation() : element.tick;
+            if (pending == null || tick < pendingTick) {
+                fireAt(tick);
+            }
+        }
+
+        private synchronized void remove(final ElementImpl element) {
+            if (element.bucket == NONE) {
+                return;
+            }
+            if (element.bucket == OVERFLOW) {
+                overflow.remove(element);
+            } else {
+                buckets.get(element.bucket).remove(element);
+            }
+            element.bucket = NONE;
+            size--;
+        }
+
+        private synchronized void stop() {
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+            buckets.forEach(bucket -> drain(bucket, null));
+            drain(overflow, null);
+            size = 0;
+        }
+
+        private void advance() {
+            final List<ElementImpl> expired = new ArrayList<>();
+            synchronized (this) {
+                pending = null;
+                final long current = timer.get() / TICK_MS;
+                if (current - lastTick >= WHEEL_SIZE) { // all the buckets are due
+                    buckets.forEach(bucket -> drain(bucket, expired));
+                    lastTick = current;
+                    cascade();
+                } else {
+                    while (lastTick < current) {
+                        lastTick++;
+                        drain(buckets.get((int) (lastTick % WHEEL_SIZE)), expired);
+                        if (lastTick % WHEEL_SIZE == 0) {
+                            cascade();
+                        }
+                    }
+                }
+                size -= expired.size();
+                scheduleNext();
+            }
+            // outside the lock, the removal goes through the map
+            expired.forEach(LocalCacheService.this::expire);
+        }
+
+        private void scheduleNext() {
+            if (size == 0) {
+                return;
+            }
+            for (long tick = lastTick + 1; tick <= lastTick + WHEEL_SIZE; tick++) {
+                if (!buckets.get((int) (tick % WHEEL_SIZE)).isEmpty()
+                        || (tick % WHEEL_SIZE == 0 && !overflow.isEmpty())) {
+                    fireAt(tick);
+                    return;
+                }
+            }
+        }
+
+        private void cascade() {
+            if (overflow.isEmpty()) {
+                return;
+            }
+            final List<ElementImpl> elements = new ArrayList<>(overflow);
+            overflow.clear();
+            elements.forEach(this::place);
+        }
+
+        private void place(final ElementImpl element) {
+            final long deadline = (element.getLastValidityTimestamp() + TICK_MS - 1) / TICK_MS;
+            element.tick = Math.max(deadline, lastTick + 1);
+            if (element.tick - lastTick >= WHEEL_SIZE) {
+                element.bucket = OVERFLOW;
+                overflow.add(element);
+            } else {
+                element.bucket = (int) (element.tick % WHEEL_SIZE);
+                buckets.get(element.bucket).add(element);
+            }
+        }
+
+        private void drain(final Set<ElementImpl> bucket, final List<ElementImpl> expired) {
+            for (final ElementImpl element : bucket) {
+                element.bucket = NONE;
+                if (expired != null) {
+                    expired.add(element);
+                }
+            }
+            bucket.clear();
+        }
+
+        private long nextRotation() {
+            return (lastTick / WHEEL_SIZE + 1) * WHEEL_SIZE;
+        }
+
+        private void fireAt(final long tick) {
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            pendingTick = tick;
+            pending = getThreadService()
+                    .schedule(this::advance, Math.max(0, tick * TICK_MS - timer.get()), MILLISECONDS);
+        }
+
+        private Set<ElementImpl> newIdentitySet() {
+            return Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+    }
+
     /**
      * Wrapper for each cached object.
      */
     private static class ElementImpl implements Element {
 
+        private final Object key;
+
         /** cached object */
         private final Object value;
 
@@ -246,17 +578,28 @@ public class LocalCacheService implements LocalCache, Serializable {
         /** give time object can be release (infinity if < 0) */
         private final long endOfValidity;
 
-        /** scheduled task to remove object if nedeed (to cancel if removed before) */
-        private final ScheduledFuture<?> removedTask;
-
         private final Supplier<Long> serviceTimer;
 
-        public <T> ElementImpl(final Supplier<T> value, final Predicate<Element> canBeRemoved, final long endOfValidity,
-                final ScheduledFuture<?> removedTask, final Supplier<Long> timer) {
+        // access order, guarded by the segment
+        private ElementImpl previous;
+
+        private ElementImpl next;
+
+        private boolean linked;
+
+        private volatile long lastAccess;
+
+        // expiration, guarded by the wheel
+        private int bucket = ExpirationWheel.NONE;
+
+        private long tick;
+
+        public <T> ElementImpl(final Object key, final Supplier<T> value, final Predicate<Element> canBeRemoved,
+                final long endOfValidity, final Supplier<Long> timer) {
+            this.key = key;
             this.value = value.get();
             this.canBeRemoved = canBeRemoved;
             this.endOfValidity = endOfValidity;
-            this.removedTask = removedTask;
             this.serviceTimer = timer;
         }
 
@@ -283,15 +626,6 @@ public class LocalCacheService implements LocalCache, Serializable {
             return this.canBeRemoved == null || this.canBeRemoved.test(this);
         }
 
-        /**
-         * Release this object because removed.
-         */
-        public synchronized void release() {
-            if (this.removedTask != null) {
-                this.removedTask.cancel(false);
-            }
-        }
-
         @Override
         public boolean equals(final Object o) { // consider only value
             if (this == o) {
@@ -0,0 +1,313 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http;
+
+import static java.util.Locale.ROOT;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Serves the GET requests from a {@link HttpResponseCache} when the cached response is fresh,
+ * revalidates it with a conditional request when it is stale, and stores the cacheable responses.
+ */
+@RequiredArgsConstructor
+class CachingHttpTransport implements HttpTransport {
+
+    private final HttpTransport delegate;
+
+    private final HttpResponseCache cache;
+
+    private final long defaultMaxAge;
+
+    @Override
+    public Exchange open(final String method, final String url, final byte[] payload) throws IOException {
+        final Exchange exchange = delegate.open(method, url, payload);
+        if (!"GET".equalsIgnoreCase(method)) {
+            return exchange;
+        }
+        return new CachingExchange(exchange);
+    }
+
+    @RequiredArgsConstructor
+    private class CachingExchange implements Exchange {
+
+        private final Exchange delegate;
+
+        @Override
+        public String getMethod() {
+            return delegate.getMethod();
+        }
+
+        @Override
+        public String getUrl() {
+            return delegate.getUrl();
+        }
+
+        @Override
+        public Map<String, List<String>> getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public byte[] getPayload() {
+            return delegate.getPayload();
+        }
+
+        @Override
+        public Exchange withHeader(final String name, final String value) {
+            delegate.withHeader(name, value);
+            return this;
+        }
+
+        @Override
+        public Exchange withReadTimeout(final int timeout) {
+            delegate.withReadTimeout(timeout);
+            return this;
+        }
+
+        @Override
+        public Exchange withConnectionTimeout(final int timeout) {
+            delegate.withConnectionTimeout(timeout);
+            return this;
+        }
+
+        @Override
+        public Exchange withoutFollowRedirects() {
+            delegate.withoutFollowRedirects();
+            return this;
+        }
+
+        @Override
+        public RawResponse execute() throws IOException {
+            // the key is computed once configured, the request headers are part of it
+            final String key = cache.key(getUrl(), getHeaders());
+            final HttpResponseCache.Entry entry = prepare(key);
+            if (entry != null && entry.isFresh(System.currentTimeMillis())) {
+                cache.onHit();
+                return entry.toResponse();
+            }
+            return handle(key, entry, delegate.execute());
+        }
+
+        @Override
+        public CompletionStage<RawResponse> executeAsync() {
+            final String key = cache.key(getUrl(), getHeaders());
+            final HttpResponseCache.Entry entry = prepare(key);
+            if (entry != null && entry.isFresh(System.currentTimeMillis())) {
+                cache.onHit();
+                return CompletableFuture.completedFuture(entry.toResponse());
+            }
+            return delegate.executeAsync().thenApply(response -> {
+                try {
+                    return handle(key, entry, response);
+                } catch (final IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+
+        @Override
+        public void abort() {
+            delegate.abort();
+        }
+
+        private HttpResponseCache.Entry prepare(final String key) {
+            final HttpResponseCache.Entry entry = cache.get(key);
+            if (entry == null || entry.isFresh(System.currentTimeMillis())) {
+                return entry;
+            }
+            if (!entry.canRevalidate()) {
+                return null;
+            }
+            if (entry.getEtag() != null) {
+                delegate.withHeader("If-None-Match", entry.getEtag());
+            }
+            if (entry.getLastModified() != null) {
+                delegate.withHeader("If-Modified-Since", entry.getLastModified());
+            }
+            return entry;
+        }
+
+        private RawResponse handle(final String key, final HttpResponseCache.Entry entry,
+                final RawResponse response) throws IOException {
+            final long now = System.currentTimeMillis();
+            if (entry != null && response.status() == 304) {
+                cache.onRevalidation();
+                final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                headers.putAll(entry.getHeaders());
+                response.headers().forEach((name, values) -> {
+                    if (!"Content-Length".equalsIgnoreCase(name)) {
+                        headers.put(name, values);
+                    }
+                });
+                final HttpResponseCache.Entry refreshed = new HttpResponseCache.Entry(entry.getStatus(), headers,
+                        entry.getBody(), now, computeExpiresAt(headers, now),
+                        first(headers, "ETag", entry.getEtag()),
+                        first(headers, "Last-Modified", entry.getLastModified()));
+                cache.put(key, refreshed);
+                return refreshed.toResponse();
+            }
+            cache.onMiss();
+            if (response.status() != 200 || !isCacheable(response)) {
+                return response;
+            }
+            final int length = response.contentLength();
+            if (length > cache.getMaxEntryBytes()) {
+                return response;
+            }
+            final InputStream stream = response.body();
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(length, 256));
+            final byte[] chunk = new byte[8192];
+            int read;
+            while ((read = stream.read(chunk)) >= 0) {
+                buffer.write(chunk, 0, read);
+                if (buffer.size() > cache.getMaxEntryBytes()) { // too big, give the rest of the stream to the caller
+                    return new BufferedResponse(response,
+                            new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), stream));
+                }
+            }
+            stream.close();
+            final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            headers.putAll(response.headers());
+            final HttpResponseCache.Entry stored = new HttpResponseCache.Entry(200, headers, buffer.toByteArray(), now,
+                    computeExpiresAt(headers, now), first(headers, "ETag", null),
+                    first(headers, "Last-Modified", null));
+            cache.put(key, stored);
+            return stored.toResponse();
+        }
+
+        private boolean isCacheable(final RawResponse response) {
+            final String cacheControl = response.header("Cache-Control");
+            if (cacheControl != null) {
+                final String value = cacheControl.toLowerCase(ROOT);
+                if (value.contains("no-store") || value.contains("private")) {
+                    return false;
+                }
+            }
+            final String vary = response.header("Vary");
+            if (vary != null && vary.trim().equals("*")) {
+                return false;
+            }
+            return defaultMaxAge > 0 || response.header("ETag") != null || response.header("Last-Modified") != null
+                    || response.header("Expires") != null
+                    || (cacheControl != null && cacheControl.toLowerCase(ROOT).contains("max-age"));
+        }
+
+        private long computeExpiresAt(final Map<String, List<String>> headers, final long now) {
+            final String cacheControl = first(headers, "Cache-Control", null);
+            if (cacheControl != null) {
+                long maxAge = -1;
+                for (final String directive : cacheControl.toLowerCase(ROOT).split(",")) {
+                    final String trimmed = directive.trim();
+                    if ("no-cache".equals(trimmed) || trimmed.startsWith("no-cache=")) {
+                        return -1;
+                    }
+                    if (trimmed.startsWith("max-age=")) {
+                        try {
+                            maxAge = Long.parseLong(trimmed.substring("max-age=".length()).replace("\"", ""));
+                        } catch (final NumberFormatException nfe) {
+                            return -1;
+                        }
+                    }
+                }
+                if (maxAge >= 0) {
+                    return now + maxAge * 1000;
+                }
+            }
+            final String expires = first(headers, "Expires", null);
+            if (expires != null) {
+                final long expiresAt = parseDate(expires);
+                if (expiresAt < 0) { // invalid dates (like "0") mean already expired
+                    return -1;
+                }
+                final long date = parseDate(first(headers, "Date", null));
+                return now + Math.max(0, expiresAt - (date < 0 ? now : date));
+            }
+            return defaultMaxAge > 0 ? now + defaultMaxAge : -1;
+        }
+
+        private long parseDate(final String value) {
+            if (value == null) {
+                return -1;
+            }
+            try {
+                return ZonedDateTime
+                        .parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                        .toInstant()
+                        .toEpochMilli();
+            } catch (final DateTimeParseException e) {
+                return -1;
+            }
+        }
+
+        private String first(final Map<String, List<String>> headers, final String name, final String defaultValue) {
+            final List<String> values = headers.get(name);
+            return values == null || values.isEmpty() ? defaultValue : values.get(0);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class BufferedResponse implements RawResponse {
+
+        private final RawResponse delegate;
+
+        private final InputStream body;
+
+        @Override
+        public int status() {
+            return delegate.status();
+        }
+
+        @Override
+        public String header(final String name) {
+            return delegate.header(name);
+        }
+
+        @Override
+        public Map<String, List<String>> headers() {
+            return delegate.headers();
+        }
+
+        @Override
+        public int contentLength() {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public InputStream body() {
+            return body;
+        }
+
+        @Override
+        public InputStream errorBody() {
+            return delegate.errorBody();
+        }
+    }
+}
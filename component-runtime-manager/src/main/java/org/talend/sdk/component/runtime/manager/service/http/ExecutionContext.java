@@ -16,34 +16,27 @@
 package org.talend.sdk.component.runtime.manager.service.http;
 
 import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.toMap;
 
-import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Type;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.TreeMap;
 import java.util.function.BiFunction;
 
-import org.talend.sdk.component.api.service.http.Configurer;
 import org.talend.sdk.component.api.service.http.Decoder;
 import org.talend.sdk.component.api.service.http.HttpException;
+import org.talend.sdk.component.api.service.http.RateLimit;
 import org.talend.sdk.component.api.service.http.Response;
 import org.talend.sdk.component.runtime.manager.service.http.codec.CodecMatcher;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
-import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
 @Data
 @AllArgsConstructor
 public class ExecutionContext implements BiFunction<String, Object[], Object> {
@@ -56,78 +49,140 @@ public class ExecutionContext implements BiFunction<String, Object[], Object> {
 
     private final Map<String, Decoder> decoders;
 
+    private final HttpTransport transport;
+
+    // the method returns a CompletionStage of the response
+    private final boolean async;
+
+    // resolved when the method is parsed, null if the requests are not limited
+    private final RateLimit rateLimit;
+
     public Object apply(final String base, final Object[] params) {
-        HttpURLConnection urlConnection = null;
+        final HttpTransport.Exchange exchange;
         try {
-            final HttpRequest request = requestCreator.apply(base, params);
-            final String queryParams = String.join("&", request.getQueryParams());
-            final URL url = new URL(request.getUrl() + (queryParams.isEmpty() ? "" : "?" + queryParams));
-            urlConnection = HttpURLConnection.class.cast(url.openConnection());
-            urlConnection.setRequestMethod(request.getMethodType());
-            request.getHeaders().forEach(urlConnection::setRequestProperty);
-
-            final Optional<byte[]> requestBody = request.getBody();
-
-            final DefaultConnection connection = new DefaultConnection(urlConnection, requestBody.orElse(null), true);
-            if (request.getConfigurer() != null) {
-                request.getConfigurer().configure(connection, request.getConfigurationOptions());
-            }
-            connection.postConfigure();
-
-            if (requestBody.isPresent()) {
-                urlConnection.setDoOutput(true);
-                try (final BufferedOutputStream outputStream =
-                        new BufferedOutputStream(urlConnection.getOutputStream())) {
-                    outputStream.write(requestBody.orElse(null));
-                    outputStream.flush();
+            exchange = open(base, params);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        if (async) {
+            return exchange.executeAsync().toCompletableFuture().whenComplete((response, error) -> {
+                if (error != null) {
+                    exchange.abort();
                 }
-            }
-            final int responseCode = urlConnection.getResponseCode();
-            final CodecMatcher<Decoder> decoderMatcher = new CodecMatcher<>();
-            final String contentType = urlConnection.getHeaderField("content-type");
-            final byte[] error;
-            final byte[] response;
+            }).thenApply(this::toResult);
+        }
+        try {
+            return toResult(exchange.execute());
+        } catch (final IOException e) { // it fails, release the resources, otherwise we want to be pooled
+            exchange.abort();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Releases a response which is not returned to the caller, a retried throttled response for example.
+     *
+     * @param response the dropped response.
+     */
+    static void discard(final Response<?> response) {
+        final Object body;
+        if (InputStreamResponse.class.isInstance(response)) {
+            body = InputStreamResponse.class.cast(response).inputStream;
+        } else if (DecodedResponse.class.isInstance(response)) { // lazy iterators hold the stream
+            body = DecodedResponse.class.cast(response).body;
+        } else {
+            return;
+        }
+        if (AutoCloseable.class.isInstance(body)) {
             try {
-                final InputStream inputStream = urlConnection.getInputStream();
-                if (getResponseType() == InputStream.class) {
-                    if (isResponse()) {
-                        return new InputStreamResponse(responseCode, PassthroughDecoder.INSTANCE,
-                                headers(urlConnection), null, inputStream);
-                    }
-                    return inputStream;
-                }
-                response = slurp(inputStream, urlConnection.getContentLength());
-                if (!isResponse()) {
-                    return byte[].class == getResponseType() ? response
-                            : decoderMatcher.select(getDecoders(), contentType).decode(response, getResponseType());
-                }
-                return new ResponseImpl(responseCode,
-                        byte[].class == getResponseType() ? PassthroughDecoder.INSTANCE
-                                : decoderMatcher.select(getDecoders(), contentType),
-                        headers(urlConnection), null, response, getResponseType());
-            } catch (final IOException e) {
-                error = ofNullable(urlConnection.getErrorStream())
-                        .map(s -> slurp(s, -1))
-                        .orElseGet(() -> ofNullable(e.getMessage())
-                                .map(s -> s.getBytes(StandardCharsets.UTF_8))
-                                .orElse(null));
-                final Response<Object> errorResponse = new ResponseImpl(responseCode,
-                        byte[].class == getResponseType() ? PassthroughDecoder.INSTANCE
-                                : decoderMatcher.select(getDecoders(), contentType),
-                        headers(urlConnection), error, null, getResponseType());
+                AutoCloseable.class.cast(body).close();
+            } catch (final Exception e) {
+                // no-op, the response is dropped anyway
+            }
+        }
+    }
 
+    private HttpTransport.Exchange open(final String base, final Object[] params) throws IOException {
+        final HttpRequest request = requestCreator.apply(base, params);
+        final Optional<byte[]> requestBody = request.getBody();
+        final HttpTransport.Exchange exchange = transport
+                .open(request.getMethodType(), HttpRequestCreator.withQuery(request.getUrl(), request.getQueryParams()),
+                        requestBody.orElse(null));
+        request.getHeaders().forEach(exchange::withHeader);
+        if (request.getConfigurer() != null) {
+            request.getConfigurer().configure(exchange, request.getConfigurationOptions());
+        }
+        return exchange;
+    }
+
+    private Object toResult(final HttpTransport.RawResponse rawResponse) {
+        final int responseCode = rawResponse.status();
+        final CodecMatcher<Decoder> decoderMatcher = new CodecMatcher<>();
+        final String contentType = rawResponse.header("content-type");
+        final byte[] error;
+        try {
+            final InputStream inputStream = rawResponse.body();
+            if (getResponseType() == InputStream.class) {
                 if (isResponse()) {
-                    return errorResponse;
+                    return new InputStreamResponse(responseCode, PassthroughDecoder.INSTANCE, rawResponse.headers(),
+                            null, inputStream);
                 }
-
-                throw new HttpException(errorResponse);
+                return inputStream;
             }
-
+            if (byte[].class == getResponseType()) {
+                final byte[] response = slurp(inputStream, rawResponse.contentLength());
+                if (!isResponse()) {
+                    return response;
+                }
+                return new ResponseImpl(responseCode, PassthroughDecoder.INSTANCE, rawResponse.headers(), null,
+                        response, getResponseType());
+            }
+            // decode while reading to not buffer the whole payload
+            final Decoder decoder = decoderMatcher.select(getDecoders(), contentType);
+            if (!isResponse()) {
+                return decode(decoder, inputStream);
+            }
+            Object body = null;
+            RuntimeException failure = null;
+            try {
+                body = decode(decoder, inputStream);
+            } catch (final RuntimeException re) { // thrown when the body is read as before
+                failure = re;
+            }
+            return new DecodedResponse<>(responseCode, decoder, rawResponse.headers(), body, failure);
         } catch (final IOException e) {
-            if (urlConnection != null) { // it fails, release the resources, otherwise we want to be pooled
-                urlConnection.disconnect();
+            error = ofNullable(rawResponse.errorBody())
+                    .map(s -> slurp(s, -1))
+                    .orElseGet(() -> ofNullable(e.getMessage())
+                            .map(s -> s.getBytes(StandardCharsets.UTF_8))
+                            .orElse(null));
+            final Response<Object> errorResponse = new ResponseImpl(responseCode,
+                    byte[].class == getResponseType() ? PassthroughDecoder.INSTANCE
+                            : decoderMatcher.select(getDecoders(), contentType),
+                    rawResponse.headers(), error, null, getResponseType());
+
+            if (isResponse()) {
+                return errorResponse;
+            }
+
+            throw new HttpException(errorResponse);
+        }
+    }
+
+    private Object decode(final Decoder decoder, final InputStream inputStream) {
+        boolean lazy = false;
+        try {
+            final Object result = decoder.decode(inputStream, getResponseType());
+            lazy = Iterator.class.isInstance(result) && AutoCloseable.class.isInstance(result);
+            return result;
+        } finally {
+            if (!lazy) { // a lazy result closes the stream itself
+                try {
+                    inputStream.close();
+                } catch (final IOException e) {
+                    throw new IllegalStateException(e);
+                }
             }
-            throw new IllegalStateException(e);
         }
     }
 
@@ -145,76 +200,6 @@ public class ExecutionContext implements BiFunction<String, Object[], Object> {
         return responseBuffer.toByteArray();
     }
 
-    private Map<String, List<String>> headers(final HttpURLConnection urlConnection) {
-        return urlConnection
-                .getHeaderFields()
-                .keySet()
-                .stream()
-                .filter(Objects::nonNull)
-                .collect(toMap(e -> e, urlConnection.getHeaderFields()::get, (k, v) -> {
-                    log.warn("Duplicated header key: merging arbitrarily {} vs {}, check peer configuration.", k, v);
-                    return k;
-                }, () -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER)));
-    }
-
-    @AllArgsConstructor
-    private static class DefaultConnection implements Configurer.Connection {
-
-        private final HttpURLConnection urlConnection;
-
-        private final byte[] payload;
-
-        private boolean followRedirects;
-
-        @Override
-        public String getMethod() {
-            return urlConnection.getRequestMethod();
-        }
-
-        @Override
-        public String getUrl() {
-            return urlConnection.getURL().toExternalForm();
-        }
-
-        @Override
-        public Map<String, List<String>> getHeaders() {
-            return urlConnection.getHeaderFields();
-        }
-
-        @Override
-        public byte[] getPayload() {
-            return payload;
-        }
-
-        @Override
-        public Configurer.Connection withHeader(final String name, final String value) {
-            urlConnection.addRequestProperty(name, value);
-            return this;
-        }
-
-        @Override
-        public Configurer.Connection withReadTimeout(final int timeout) {
-            urlConnection.setReadTimeout(timeout);
-            return this;
-        }
-
-        @Override
-        public Configurer.Connection withConnectionTimeout(final int timeout) {
-            urlConnection.setConnectTimeout(timeout);
-            return this;
-        }
-
-        @Override
-        public Configurer.Connection withoutFollowRedirects() {
-            followRedirects = false;
-            return this;
-        }
-
-        private void postConfigure() {
-            urlConnection.setInstanceFollowRedirects(followRedirects);
-        }
-    }
-
     private static class PassthroughDecoder implements Decoder {
 
         private static final Decoder INSTANCE = new PassthroughDecoder();
@@ -275,6 +260,28 @@ public class ExecutionContext implements BiFunction<String, Object[], Object> {
         }
     }
 
+    private static class DecodedResponse<T> extends BaseResponse<T> {
+
+        private final T body;
+
+        private final RuntimeException failure;
+
+        private DecodedResponse(final int status, final Decoder decoder, final Map<String, List<String>> headers,
+                final T body, final RuntimeException failure) {
+            super(status, decoder, headers, null);
+            this.body = body;
+            this.failure = failure;
+        }
+
+        @Override
+        public T body() {
+            if (failure != null) {
+                throw failure;
+            }
+            return body;
+        }
+    }
+
     private static class ResponseImpl<T> extends BaseResponse<T> {
 
         private final byte[] responseBody;
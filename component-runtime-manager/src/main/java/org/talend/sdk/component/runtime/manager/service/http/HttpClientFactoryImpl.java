@@ -15,6 +15,8 @@
  */
 package org.talend.sdk.component.runtime.manager.service.http;
 
+import static java.util.Optional.ofNullable;
+import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Stream.of;
@@ -26,25 +28,39 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 import javax.json.bind.Jsonb;
 
 import org.talend.sdk.component.api.service.http.HttpClient;
 import org.talend.sdk.component.api.service.http.HttpClientFactory;
+import org.talend.sdk.component.api.service.http.HttpException;
+import org.talend.sdk.component.api.service.http.RateLimit;
 import org.talend.sdk.component.api.service.http.Request;
+import org.talend.sdk.component.api.service.http.Response;
 import org.talend.sdk.component.runtime.manager.proxy.SerializationHandlerReplacer;
 import org.talend.sdk.component.runtime.manager.reflect.Copiable;
 import org.talend.sdk.component.runtime.manager.reflect.ReflectionService;
+import org.talend.sdk.component.runtime.metrics.Histogram;
+import org.talend.sdk.component.runtime.metrics.Metrics;
 import org.talend.sdk.component.runtime.reflect.Defaults;
 import org.talend.sdk.component.runtime.serialization.SerializableService;
 
 import lombok.AllArgsConstructor;
+import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
@@ -59,6 +75,12 @@ public class HttpClientFactoryImpl implements HttpClientFactory, Serializable {
 
     private final Map<Class<?>, Object> services;
 
+    // shared by all the clients of the plugin, keyed by server and limits
+    private final ConcurrentMap<RateLimiterKey, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    // shared by all the @HttpCache clients of the plugin, created on first use
+    private final AtomicReference<HttpResponseCache> responseCache = new AtomicReference<>();
+
     public static <T> Collection<String> createErrors(final Class<T> api) {
         final Collection<String> errors = new ArrayList<>();
         final Collection<Method> methods =
@@ -82,8 +104,10 @@ public class HttpClientFactoryImpl implements HttpClientFactory, Serializable {
             throw new IllegalArgumentException(api + " is not an interface");
         }
         validate(api);
-        final HttpHandler handler =
-                new HttpHandler(api.getName(), plugin, new RequestParser(reflections, jsonb, services));
+        final HttpHandler handler = new HttpHandler(api.getName(), plugin,
+                new RequestParser(reflections, jsonb, services, findTransport(api.getClassLoader()),
+                        this::getResponseCache),
+                rateLimiters);
         final T instance = api
                 .cast(Proxy
                         .newProxyInstance(api.getClassLoader(),
@@ -96,6 +120,26 @@ public class HttpClientFactoryImpl implements HttpClientFactory, Serializable {
         return instance;
     }
 
+    private HttpTransport findTransport(final ClassLoader loader) {
+        final Iterator<HttpTransport> transports = ServiceLoader.load(HttpTransport.class, loader).iterator();
+        return transports.hasNext() ? transports.next() : HttpURLConnectionTransport.INSTANCE;
+    }
+
+    private HttpResponseCache getResponseCache() {
+        final HttpResponseCache existing = responseCache.get();
+        if (existing != null) {
+            return existing;
+        }
+        final long maxBytes = Long.getLong("talend.component.manager.http.cache.maxBytes", 16 * 1024 * 1024);
+        final Path directory = ofNullable(System.getProperty("talend.component.manager.http.cache.directory"))
+                .map(it -> Paths.get(it).resolve(plugin.replaceAll("[^a-zA-Z0-9._-]", "_")))
+                .orElse(null);
+        final long maxDiskBytes =
+                Long.getLong("talend.component.manager.http.cache.directory.maxBytes", 256 * 1024 * 1024);
+        responseCache.compareAndSet(null, new HttpResponseCache(maxBytes, directory, maxDiskBytes));
+        return responseCache.get();
+    }
+
     private <T> void validate(final Class<T> api) {
         final Collection<String> errors = createErrors(api);
         if (!errors.isEmpty()) {
@@ -120,14 +164,19 @@ public class HttpClientFactoryImpl implements HttpClientFactory, Serializable {
 
         private final RequestParser requestParser;
 
+        private final ConcurrentMap<RateLimiterKey, RateLimiter> rateLimiters;
+
         private volatile Map<Class<?>, Object> jaxbContexts;
 
         private volatile ConcurrentMap<Method, ExecutionContext> invokers;
 
+        // resolved once per method, the registry lookup is not free
+        private volatile ConcurrentMap<Method, Histogram> durations;
+
         @Override
         public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
             if (Copiable.class == method.getDeclaringClass()) {
-                final HttpHandler httpHandler = new HttpHandler(proxyType, plugin, requestParser);
+                final HttpHandler httpHandler = new HttpHandler(proxyType, plugin, requestParser, rateLimiters);
                 httpHandler.base = base;
                 return Proxy
                         .newProxyInstance(proxy.getClass().getClassLoader(), proxy.getClass().getInterfaces(),
@@ -165,13 +214,103 @@ public class HttpClientFactoryImpl implements HttpClientFactory, Serializable {
             if (invokers == null) {
                 synchronized (this) {
                     if (invokers == null) {
+                        durations = new ConcurrentHashMap<>();
                         invokers = new ConcurrentHashMap<>();
                         jaxbContexts = new ConcurrentHashMap<>();
                     }
                 }
             }
 
-            return invokers.computeIfAbsent(method, this.requestParser::parse).apply(this.base, args);
+            final ExecutionContext context = invokers.computeIfAbsent(method, this.requestParser::parse);
+            final RateLimit rateLimit = context.getRateLimit();
+            final RateLimiter limiter = rateLimit == null ? null
+                    : rateLimiters
+                            .computeIfAbsent(new RateLimiterKey(
+                                    context.getRequestCreator().findServer(this.base, args), rateLimit),
+                                    k -> new RateLimiter(rateLimit));
+            final boolean retriable =
+                    limiter != null && limiter.isRetriable(context.getRequestCreator().findMethod(args));
+            final Histogram duration = durations
+                    .computeIfAbsent(method, m -> Metrics
+                            .registry()
+                            .histogram("talend_component_http_client_duration_ms", "plugin", plugin, "client",
+                                    m.getDeclaringClass().getSimpleName() + '.' + m.getName()));
+            final long start = System.nanoTime();
+            if (context.isAsync()) {
+                final CompletableFuture<Object> result = limiter == null
+                        ? CompletableFuture.class.cast(context.apply(this.base, args))
+                        : executeAsync(limiter, retriable, context, args, 0);
+                return result
+                        .whenComplete((value, error) -> duration
+                                .record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+            }
+            try {
+                return limiter == null ? context.apply(this.base, args) : execute(limiter, retriable, context, args);
+            } finally {
+                duration.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        }
+
+        private Object execute(final RateLimiter limiter, final boolean retriable, final ExecutionContext context,
+                final Object[] args) {
+            for (int attempt = 0;; attempt++) {
+                limiter.acquire().join();
+                final Object result;
+                try {
+                    result = context.apply(this.base, args);
+                } catch (final HttpException he) {
+                    if (onResponse(limiter, retriable, he.getResponse(), attempt)) {
+                        continue;
+                    }
+                    throw he;
+                } finally {
+                    limiter.release();
+                }
+                if (Response.class.isInstance(result)
+                        && onResponse(limiter, retriable, Response.class.cast(result), attempt)) {
+                    ExecutionContext.discard(Response.class.cast(result));
+                    continue;
+                }
+                return result;
+            }
+        }
+
+        private CompletableFuture<Object> executeAsync(final RateLimiter limiter, final boolean retriable,
+                final ExecutionContext context, final Object[] args, final int attempt) {
+            return limiter.acquire().thenCompose(ready -> {
+                final CompletableFuture<Object> call;
+                try {
+                    call = CompletableFuture.class.cast(context.apply(this.base, args));
+                } catch (final RuntimeException re) {
+                    limiter.release();
+                    throw re;
+                }
+                return call.handle((result, error) -> {
+                    limiter.release();
+                    final Throwable cause =
+                            CompletionException.class.isInstance(error) && error.getCause() != null ? error.getCause()
+                                    : error;
+                    final Response<?> response = HttpException.class.isInstance(cause)
+                            ? HttpException.class.cast(cause).getResponse()
+                            : (Response.class.isInstance(result) ? Response.class.cast(result) : null);
+                    if (response != null && onResponse(limiter, retriable, response, attempt)) {
+                        ExecutionContext.discard(response);
+                        return executeAsync(limiter, retriable, context, args, attempt + 1);
+                    }
+                    final CompletableFuture<Object> done = new CompletableFuture<>();
+                    if (error != null) {
+                        done.completeExceptionally(cause);
+                    } else {
+                        done.complete(result);
+                    }
+                    return done;
+                }).thenCompose(identity());
+            });
+        }
+
+        private boolean onResponse(final RateLimiter limiter, final boolean retriable, final Response<?> response,
+                final int attempt) {
+            return limiter.onResponse(response.status(), response.headers(), attempt, retriable);
         }
 
         Object writeReplace() throws ObjectStreamException {
@@ -189,4 +328,12 @@ public class HttpClientFactoryImpl implements HttpClientFactory, Serializable {
         }
     }
 
+    // limiters are shared per server and limits, two clients with different limits don't share their limiter
+    @Data
+    private static class RateLimiterKey {
+
+        private final String server;
+
+        private final RateLimit rateLimit;
+    }
 }
@@ -15,6 +15,7 @@
  */
 package org.talend.sdk.component.runtime.manager.service.http;
 
+import java.net.URI;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
@@ -34,8 +35,14 @@ public class HttpRequestCreator implements BiFunction<String, Object[], HttpRequ
 
     private final Function<Object[], String> baseProvider;
 
-    private final String pathTemplate;
+    // reused by the calls of the thread, a call re-entering the client while building a URL gets its own builder
+    private static final ThreadLocal<StringBuilder> BUILDERS = new ThreadLocal<>();
 
+    private static final int MAX_REUSED_CAPACITY = 8192;
+
+    private final PathTemplate pathTemplate;
+
+    // only used with @Url since the template is then only known at call time
     private final BiFunction<String, Object[], String> pathProvider;
 
     private final Function<Object[], Collection<String>> queryParamsProvider;
@@ -55,22 +62,98 @@ public class HttpRequestCreator implements BiFunction<String, Object[], HttpRequ
                 payloadProvider, params, null);
     }
 
+    /**
+     * @param base the client base.
+     * @param params the method parameters.
+     * @return the server (scheme and authority) the request targets.
+     */
+    String findServer(final String base, final Object[] params) {
+        final String url = urlProvide != null ? urlProvide.apply(params)
+                : (baseProvider != null ? baseProvider.apply(params) : base);
+        try {
+            final URI uri = URI.create(String.valueOf(url));
+            if (uri.getScheme() != null && uri.getRawAuthority() != null) {
+                return uri.getScheme() + "://" + uri.getRawAuthority();
+            }
+        } catch (final IllegalArgumentException iae) {
+            // use the raw value
+        }
+        return String.valueOf(url);
+    }
+
+    /**
+     * @param params the method parameters.
+     * @return the HTTP method of the request.
+     */
+    String findMethod(final Object[] params) {
+        return httpMethodProvider.apply(params);
+    }
+
+    /**
+     * @param url the request URL.
+     * @param queryParams the encoded query parameters ({@code name=value}).
+     * @return the URL with its query.
+     */
+    static String withQuery(final String url, final Collection<String> queryParams) {
+        if (queryParams.isEmpty()) {
+            return url;
+        }
+        final StringBuilder builder = borrow();
+        try {
+            builder.append(url);
+            char separator = '?';
+            for (final String query : queryParams) {
+                builder.append(separator).append(query);
+                separator = '&';
+            }
+            return builder.toString();
+        } finally {
+            release(builder);
+        }
+    }
+
     private String buildUrl(final String base, final Object[] params) {
-        if (urlProvide == null) {
-            final String path = pathProvider.apply(pathTemplate, params);
-            final String realBase = this.baseProvider != null ? this.baseProvider.apply(params) : base;
-            return this.appendPaths(realBase, path);
+        if (urlProvide != null) {
+            return pathProvider.apply(urlProvide.apply(params), params);
+        }
+        final String realBase = this.baseProvider != null ? this.baseProvider.apply(params) : base;
+        if (pathTemplate.isEmpty()) {
+            return realBase;
+        }
+        final StringBuilder builder = borrow();
+        try {
+            builder.ensureCapacity(realBase.length() + pathTemplate.estimateLength() + 1);
+            builder.append(realBase);
+            final int junction = builder.length();
+            pathTemplate.appendTo(builder, params);
+            if (builder.length() > junction) { // same joining rules than for plain strings
+                final boolean baseSlash = junction > 0 && builder.charAt(junction - 1) == '/';
+                final boolean pathSlash = builder.charAt(junction) == '/';
+                if (baseSlash && pathSlash) {
+                    builder.deleteCharAt(junction);
+                } else if (!baseSlash && !pathSlash && junction > 0) {
+                    builder.insert(junction, '/');
+                }
+            }
+            return builder.toString();
+        } finally {
+            release(builder);
         }
-        return pathProvider.apply(urlProvide.apply(params), params);
     }
 
-    private String appendPaths(final String p1, final String p2) {
-        if (p1.endsWith("/") && p2.startsWith("/")) {
-            return p1 + p2.substring(1);
+    private static StringBuilder borrow() {
+        final StringBuilder builder = BUILDERS.get();
+        if (builder == null) {
+            return new StringBuilder(128);
         }
-        if (p1.endsWith("/") || p1.isEmpty() || p2.startsWith("/") || p2.isEmpty()) {
-            return p1 + p2;
+        BUILDERS.set(null);
+        return builder;
+    }
+
+    private static void release(final StringBuilder builder) {
+        if (builder.capacity() <= MAX_REUSED_CAPACITY) {
+            builder.setLength(0);
+            BUILDERS.set(builder);
         }
-        return p1 + "/" + p2;
     }
 }
@@ -0,0 +1,327 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.talend.sdk.component.runtime.metrics.Counter;
+import org.talend.sdk.component.runtime.metrics.Metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores the cacheable responses of the {@link org.talend.sdk.component.api.service.http.HttpCache} clients.
+ * The memory is bounded in bytes (least recently used entries are evicted), evicted entries are spilled on disk
+ * if a directory is configured.
+ */
+@Slf4j
+class HttpResponseCache {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, .75f, true);
+
+    private final LinkedHashMap<String, Long> diskEntries = new LinkedHashMap<>(16, .75f, true);
+
+    @Getter
+    private final long maxEntryBytes;
+
+    private final long maxBytes;
+
+    private final Path directory;
+
+    private final long maxDiskBytes;
+
+    private long weight;
+
+    private long diskWeight;
+
+    private final Counter hits =
+            Metrics.registry().counter("talend_component_http_client_cache_requests_total", "result", "hit");
+
+    private final Counter revalidations =
+            Metrics.registry().counter("talend_component_http_client_cache_requests_total", "result", "revalidated");
+
+    private final Counter misses =
+            Metrics.registry().counter("talend_component_http_client_cache_requests_total", "result", "miss");
+
+    HttpResponseCache(final long maxBytes, final Path directory, final long maxDiskBytes) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = Math.max(0, maxBytes / 4);
+        this.directory = directory;
+        this.maxDiskBytes = maxDiskBytes;
+    }
+
+    void onHit() {
+        hits.increment();
+    }
+
+    void onRevalidation() {
+        revalidations.increment();
+    }
+
+    void onMiss() {
+        misses.increment();
+    }
+
+    /**
+     * @param url the request URL.
+     * @param headers the request headers, requests only share a response if they send the same headers.
+     * @return the cache key.
+     */
+    String key(final String url, final Map<String, List<String>> headers) {
+        final StringBuilder builder = new StringBuilder(url);
+        new TreeMap<>(headers)
+                .forEach((name, values) -> builder.append('\n').append(name).append('=').append(values));
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(builder.toString().getBytes(UTF_8));
+            final StringBuilder out = new StringBuilder(hash.length * 2);
+            for (final byte b : hash) {
+                out.append(HEX[b >> 4 & 15]).append(HEX[b & 15]);
+            }
+            return out.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    Entry get(final String key) {
+        synchronized (entries) {
+            final Entry entry = entries.get(key);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        final Entry fromDisk = load(key);
+        if (fromDisk != null) {
+            put(key, fromDisk);
+        }
+        return fromDisk;
+    }
+
+    void put(final String key, final Entry entry) {
+        if (entry.getBody().length > maxEntryBytes) {
+            return;
+        }
+        final List<Map.Entry<String, Entry>> evicted = new ArrayList<>();
+        synchronized (entries) {
+            final Entry previous = entries.put(key, entry);
+            weight += entry.getWeight() - (previous == null ? 0 : previous.getWeight());
+            final Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (weight > maxBytes && entries.size() > 1 && iterator.hasNext()) {
+                final Map.Entry<String, Entry> next = iterator.next();
+                weight -= next.getValue().getWeight();
+                evicted.add(next);
+                iterator.remove();
+            }
+        }
+        evicted.forEach(it -> spill(it.getKey(), it.getValue())); // outside the lock, it does I/O
+    }
+
+    private void spill(final String key, final Entry entry) {
+        if (directory == null) {
+            return;
+        }
+        final Path file = directory.resolve(key);
+        try {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream(entry.getWeight());
+            entry.writeTo(new DataOutputStream(buffer));
+            Files.createDirectories(directory);
+            final Path tmp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(tmp, buffer.toByteArray());
+            try {
+                Files.move(tmp, file, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, REPLACE_EXISTING);
+            }
+            final List<String> deleted = new ArrayList<>();
+            synchronized (diskEntries) {
+                final Long previous = diskEntries.put(key, (long) buffer.size());
+                diskWeight += buffer.size() - (previous == null ? 0 : previous);
+                final Iterator<Map.Entry<String, Long>> iterator = diskEntries.entrySet().iterator();
+                while (diskWeight > maxDiskBytes && diskEntries.size() > 1 && iterator.hasNext()) {
+                    final Map.Entry<String, Long> next = iterator.next();
+                    diskWeight -= next.getValue();
+                    deleted.add(next.getKey());
+                    iterator.remove();
+                }
+            }
+            for (final String it : deleted) {
+                Files.deleteIfExists(directory.resolve(it));
+            }
+        } catch (final IOException e) {
+            log.warn("Can't spill cached response {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Entry load(final String key) {
+        if (directory == null) {
+            return null;
+        }
+        synchronized (diskEntries) {
+            if (diskEntries.remove(key) == null) { // only the files of this instance are trusted
+                return null;
+            }
+        }
+        final Path file = directory.resolve(key);
+        try (final DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            final Entry entry = Entry.readFrom(in);
+            synchronized (diskEntries) {
+                diskWeight -= Files.size(file);
+            }
+            Files.deleteIfExists(file); // back in memory
+            return entry;
+        } catch (final IOException e) {
+            log.warn("Can't read cached response {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * A stored response.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static class Entry {
+
+        private final int status;
+
+        private final Map<String, List<String>> headers;
+
+        private final byte[] body;
+
+        private final long storedAt;
+
+        // -1 when it must always be revalidated
+        private final long expiresAt;
+
+        private final String etag;
+
+        private final String lastModified;
+
+        boolean isFresh(final long now) {
+            return now < expiresAt;
+        }
+
+        boolean canRevalidate() {
+            return etag != null || lastModified != null;
+        }
+
+        int getWeight() {
+            return body.length + 512; // headers and bookkeeping, rough but constant
+        }
+
+        HttpTransport.RawResponse toResponse() {
+            return new HttpTransport.RawResponse() {
+
+                @Override
+                public int status() {
+                    return status;
+                }
+
+                @Override
+                public String header(final String name) {
+                    final List<String> values = headers.get(name);
+                    return values == null || values.isEmpty() ? null : values.get(0);
+                }
+
+                @Override
+                public Map<String, List<String>> headers() {
+                    return headers;
+                }
+
+                @Override
+                public int contentLength() {
+                    return body.length;
+                }
+
+                @Override
+                public InputStream body() {
+                    return new ByteArrayInputStream(body);
+                }
+
+                @Override
+                public InputStream errorBody() {
+                    return null;
+                }
+            };
+        }
+
+        private void writeTo(final DataOutputStream out) throws IOException {
+            out.writeInt(status);
+            out.writeLong(storedAt);
+            out.writeLong(expiresAt);
+            out.writeUTF(etag == null ? "" : etag);
+            out.writeUTF(lastModified == null ? "" : lastModified);
+            out.writeInt(headers.size());
+            for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeInt(header.getValue().size());
+                for (final String value : header.getValue()) {
+                    out.writeUTF(value == null ? "" : value);
+                }
+            }
+            out.writeInt(body.length);
+            out.write(body);
+            out.flush();
+        }
+
+        private static Entry readFrom(final DataInputStream in) throws IOException {
+            final int status = in.readInt();
+            final long storedAt = in.readLong();
+            final long expiresAt = in.readLong();
+            final String etag = in.readUTF();
+            final String lastModified = in.readUTF();
+            final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            final int headerCount = in.readInt();
+            for (int i = 0; i < headerCount; i++) {
+                final String name = in.readUTF();
+                final int valueCount = in.readInt();
+                final List<String> values = new ArrayList<>(valueCount);
+                for (int j = 0; j < valueCount; j++) {
+                    values.add(in.readUTF());
+                }
+                headers.put(name, values);
+            }
+            final byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            return new Entry(status, headers, body, storedAt, expiresAt, etag.isEmpty() ? null : etag,
+                    lastModified.isEmpty() ? null : lastModified);
+        }
+    }
+}
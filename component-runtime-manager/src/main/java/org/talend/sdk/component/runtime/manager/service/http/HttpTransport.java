@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+import org.talend.sdk.component.api.service.http.Configurer;
+
+/**
+ * The layer actually sending the requests of the {@link org.talend.sdk.component.api.service.http.Request} clients.
+ * Implementations are looked up with a {@link java.util.ServiceLoader} in the client classloader,
+ * {@link HttpURLConnectionTransport} is used when none is registered.
+ */
+public interface HttpTransport {
+
+    /**
+     * @param method the HTTP method.
+     * @param url the full URL (including the query).
+     * @param payload the request body if any.
+     * @return a request ready to be configured and sent.
+     * @throws IOException if the request can't be created.
+     */
+    Exchange open(String method, String url, byte[] payload) throws IOException;
+
+    /**
+     * A request being prepared, the {@link Configurer} customizes it before it is sent.
+     */
+    interface Exchange extends Configurer.Connection {
+
+        /**
+         * Sends the request and waits for the response.
+         *
+         * @return the response.
+         * @throws IOException if the exchange fails.
+         */
+        RawResponse execute() throws IOException;
+
+        /**
+         * Sends the request without blocking the caller.
+         *
+         * @return the future response, it fails with an {@link IllegalStateException} if the exchange fails.
+         */
+        CompletionStage<RawResponse> executeAsync();
+
+        /**
+         * Releases the resources of a failed exchange.
+         */
+        void abort();
+    }
+
+    /**
+     * The response before decoding.
+     */
+    interface RawResponse {
+
+        int status();
+
+        /**
+         * @param name the header name (case insensitive).
+         * @return the first value of the header or null.
+         */
+        String header(String name);
+
+        /**
+         * @return the headers, case insensitive.
+         */
+        Map<String, List<String>> headers();
+
+        /**
+         * @return the body length if known, -1 otherwise.
+         */
+        int contentLength();
+
+        /**
+         * @return the body.
+         * @throws IOException if the response is an error, the body is then available with {@link #errorBody()}.
+         */
+        InputStream body() throws IOException;
+
+        /**
+         * @return the error body if any, null otherwise.
+         */
+        InputStream errorBody();
+    }
+}
@@ -0,0 +1,207 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http;
+
+import static java.util.stream.Collectors.toMap;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Default transport, connections are pooled by the JVM keep-alive cache
+ * ({@code http.keepAlive} and {@code http.maxConnections} system properties).
+ * Asynchronous calls run in a shared pool sized with {@code talend.component.manager.http.async.threads}.
+ */
+@Slf4j
+public class HttpURLConnectionTransport implements HttpTransport {
+
+    public static final HttpTransport INSTANCE = new HttpURLConnectionTransport();
+
+    @Override
+    public Exchange open(final String method, final String url, final byte[] payload) throws IOException {
+        final HttpURLConnection connection = HttpURLConnection.class.cast(new URL(url).openConnection());
+        connection.setRequestMethod(method);
+        return new URLConnectionExchange(connection, payload);
+    }
+
+    @RequiredArgsConstructor
+    private static class URLConnectionExchange implements Exchange {
+
+        private final HttpURLConnection urlConnection;
+
+        private final byte[] payload;
+
+        private boolean followRedirects = true;
+
+        @Override
+        public String getMethod() {
+            return urlConnection.getRequestMethod();
+        }
+
+        @Override
+        public String getUrl() {
+            return urlConnection.getURL().toExternalForm();
+        }
+
+        @Override
+        public Map<String, List<String>> getHeaders() {
+            return urlConnection.getRequestProperties();
+        }
+
+        @Override
+        public byte[] getPayload() {
+            return payload;
+        }
+
+        @Override
+        public Exchange withHeader(final String name, final String value) {
+            urlConnection.addRequestProperty(name, value);
+            return this;
+        }
+
+        @Override
+        public Exchange withReadTimeout(final int timeout) {
+            urlConnection.setReadTimeout(timeout);
+            return this;
+        }
+
+        @Override
+        public Exchange withConnectionTimeout(final int timeout) {
+            urlConnection.setConnectTimeout(timeout);
+            return this;
+        }
+
+        @Override
+        public Exchange withoutFollowRedirects() {
+            followRedirects = false;
+            return this;
+        }
+
+        @Override
+        public RawResponse execute() throws IOException {
+            urlConnection.setInstanceFollowRedirects(followRedirects);
+            if (payload != null) {
+                urlConnection.setDoOutput(true);
+                try (final BufferedOutputStream outputStream =
+                        new BufferedOutputStream(urlConnection.getOutputStream())) {
+                    outputStream.write(payload);
+                    outputStream.flush();
+                }
+            }
+            return new URLConnectionResponse(urlConnection, urlConnection.getResponseCode());
+        }
+
+        @Override
+        public CompletionStage<RawResponse> executeAsync() {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return execute();
+                } catch (final IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, AsyncPool.EXECUTOR);
+        }
+
+        @Override
+        public void abort() {
+            urlConnection.disconnect();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class URLConnectionResponse implements RawResponse {
+
+        private final HttpURLConnection urlConnection;
+
+        private final int status;
+
+        @Override
+        public int status() {
+            return status;
+        }
+
+        @Override
+        public String header(final String name) {
+            return urlConnection.getHeaderField(name);
+        }
+
+        @Override
+        public Map<String, List<String>> headers() {
+            return urlConnection
+                    .getHeaderFields()
+                    .keySet()
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .collect(toMap(e -> e, urlConnection.getHeaderFields()::get, (k, v) -> {
+                        log
+                                .warn("Duplicated header key: merging arbitrarily {} vs {}, check peer configuration.",
+                                        k, v);
+                        return k;
+                    }, () -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER)));
+        }
+
+        @Override
+        public int contentLength() {
+            return urlConnection.getContentLength();
+        }
+
+        @Override
+        public InputStream body() throws IOException {
+            return urlConnection.getInputStream();
+        }
+
+        @Override
+        public InputStream errorBody() {
+            return urlConnection.getErrorStream();
+        }
+    }
+
+    // lazy holder, most clients never use asynchronous calls
+    private static class AsyncPool {
+
+        private static final ExecutorService EXECUTOR = create();
+
+        private static ExecutorService create() {
+            final int threads = Math.max(1, Integer.getInteger("talend.component.manager.http.async.threads", 16));
+            final AtomicInteger counter = new AtomicInteger();
+            final ThreadPoolExecutor executor =
+                    new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), r -> {
+                        final Thread thread = new Thread(r, "talend-component-http-async-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link org.talend.sdk.component.api.service.http.Request} path compiled once per method:
+ * the literal segments and, between them, the slots of the {@link org.talend.sdk.component.api.service.http.Path}
+ * parameters. Placeholders without parameter are kept as literals.
+ */
+class PathTemplate {
+
+    private final String[] literals;
+
+    private final int[] slots;
+
+    private final boolean[] encode;
+
+    private final int literalsLength;
+
+    private PathTemplate(final String[] literals, final int[] slots, final boolean[] encode) {
+        this.literals = literals;
+        this.slots = slots;
+        this.encode = encode;
+        int length = 0;
+        for (final String literal : literals) {
+            length += literal.length();
+        }
+        this.literalsLength = length;
+    }
+
+    /**
+     * @param template the path with its {@code {name}} placeholders.
+     * @param parameters the path parameters per name, the value is the parameter index.
+     * @param encodedParameters the names of the parameters to encode.
+     * @return the compiled template.
+     */
+    static PathTemplate compile(final String template, final Map<String, Integer> parameters,
+            final Set<String> encodedParameters) {
+        final List<String> literals = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        int from = 0;
+        while (from < template.length()) {
+            final int start = template.indexOf('{', from);
+            final int end = start < 0 ? -1 : template.indexOf('}', start + 1);
+            if (end < 0) {
+                literal.append(template, from, template.length());
+                break;
+            }
+            final String name = template.substring(start + 1, end);
+            literal.append(template, from, start);
+            if (parameters.containsKey(name)) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                names.add(name);
+            } else {
+                literal.append(template, start, end + 1);
+            }
+            from = end + 1;
+        }
+        literals.add(literal.toString());
+
+        final int[] slots = new int[names.size()];
+        final boolean[] encode = new boolean[names.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = parameters.get(names.get(i));
+            encode[i] = encodedParameters.contains(names.get(i));
+        }
+        return new PathTemplate(literals.toArray(new String[0]), slots, encode);
+    }
+
+    boolean isEmpty() {
+        return slots.length == 0 && literalsLength == 0;
+    }
+
+    /**
+     * @return a capacity hint for the builders receiving this path.
+     */
+    int estimateLength() {
+        return literalsLength + 16 * slots.length;
+    }
+
+    void appendTo(final StringBuilder builder, final Object[] args) {
+        builder.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            final String value = String.valueOf(args[slots[i]]);
+            builder.append(encode[i] ? RequestParser.pathEncode(value) : value).append(literals[i + 1]);
+        }
+    }
+}
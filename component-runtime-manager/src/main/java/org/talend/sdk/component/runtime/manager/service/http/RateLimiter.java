@@ -0,0 +1,209 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http;
+
+import static java.util.Locale.ROOT;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toSet;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Stream;
+
+import org.talend.sdk.component.api.service.http.RateLimit;
+
+/**
+ * Adaptive token bucket and concurrency limit shared by the requests sent to a base URL.
+ * Throttled responses halve the rate (if adaptive) and block all the requests until the Retry-After delay
+ * (or an exponential backoff) elapsed, successful responses increase the rate back progressively.
+ */
+class RateLimiter {
+
+    private static final Collection<String> IDEMPOTENT_METHODS =
+            Stream.of("GET", "HEAD", "OPTIONS", "TRACE", "PUT", "DELETE").collect(toSet());
+
+    private final double maxRate;
+
+    private final int burst;
+
+    private final int maxConcurrency;
+
+    private final boolean adaptive;
+
+    private final int retries;
+
+    private final long backoff;
+
+    private final boolean retryNonIdempotent;
+
+    private final Queue<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+
+    private double rate;
+
+    private long nextFree = Long.MIN_VALUE / 2;
+
+    private long blockedUntil = Long.MIN_VALUE / 2;
+
+    private int inFlight;
+
+    RateLimiter(final RateLimit config) {
+        this.maxRate = Math.max(0, config.permitsPerSecond());
+        this.burst = Math.max(1, config.burst());
+        this.maxConcurrency = Math.max(0, config.maxConcurrency());
+        this.adaptive = config.adaptive();
+        this.retries = Math.max(0, config.retries());
+        this.backoff = Math.max(0, config.backoff());
+        this.retryNonIdempotent = config.retryNonIdempotent();
+        this.rate = maxRate;
+    }
+
+    /**
+     * @return a future completed when the request can be sent, {@link #release()} must be called once it is done.
+     */
+    CompletableFuture<Void> acquire() {
+        return acquireSlot().thenCompose(ignored -> delay(reserve()));
+    }
+
+    void release() {
+        if (maxConcurrency == 0) {
+            return;
+        }
+        final CompletableFuture<Void> next;
+        synchronized (this) {
+            next = waiters.poll();
+            if (next == null) {
+                inFlight--;
+            }
+        }
+        if (next != null) { // the slot is handed over
+            next.complete(null);
+        }
+    }
+
+    /**
+     * @param method the HTTP method of the request.
+     * @return true if a throttled request with this method can be retried.
+     */
+    boolean isRetriable(final String method) {
+        return retryNonIdempotent || (method != null && IDEMPOTENT_METHODS.contains(method.toUpperCase(ROOT)));
+    }
+
+    /**
+     * @param status the response status.
+     * @param headers the response headers.
+     * @param attempt the number of retries already done for this request.
+     * @param retriable can the request be sent again, see {@link #isRetriable(String)}.
+     * @return true if the request was throttled and should be retried.
+     */
+    boolean onResponse(final int status, final Map<String, List<String>> headers, final int attempt,
+            final boolean retriable) {
+        if (status != 429 && status != 503) {
+            if (adaptive) {
+                synchronized (this) {
+                    rate = Math.min(maxRate, rate + maxRate / 20);
+                }
+            }
+            return false;
+        }
+        final long retryAfter = findRetryAfter(headers);
+        final long wait = retryAfter >= 0 ? retryAfter : backoff << Math.min(attempt, 16);
+        synchronized (this) {
+            if (adaptive && maxRate > 0) {
+                rate = Math.max(maxRate / 64, rate / 2);
+            }
+            blockedUntil = Math.max(blockedUntil, System.nanoTime() + MILLISECONDS.toNanos(wait));
+        }
+        return retriable && attempt < retries;
+    }
+
+    private CompletableFuture<Void> acquireSlot() {
+        if (maxConcurrency == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        synchronized (this) {
+            if (inFlight < maxConcurrency) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+            final CompletableFuture<Void> waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+            return waiter;
+        }
+    }
+
+    // returns how long (ns) the request must wait before being sent
+    private synchronized long reserve() {
+        final long now = System.nanoTime();
+        final long start = Math.max(now, blockedUntil);
+        if (rate <= 0) {
+            return start - now;
+        }
+        final long interval = (long) (SECONDS.toNanos(1) / rate);
+        final long slot = Math.max(nextFree, start - (burst - 1) * interval);
+        nextFree = slot + interval;
+        return Math.max(slot, start) - now;
+    }
+
+    private static CompletableFuture<Void> delay(final long nanos) {
+        if (nanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        final CompletableFuture<Void> delayed = new CompletableFuture<>();
+        Timer.INSTANCE.schedule(() -> delayed.complete(null), nanos, NANOSECONDS);
+        return delayed;
+    }
+
+    // Retry-After is either a number of seconds or an HTTP date
+    static long findRetryAfter(final Map<String, List<String>> headers) {
+        final List<String> values = headers == null ? null : headers.get("Retry-After");
+        if (values == null || values.isEmpty() || values.get(0) == null) {
+            return -1;
+        }
+        final String value = values.get(0).trim();
+        try {
+            return Math.max(0, Long.parseLong(value) * 1000);
+        } catch (final NumberFormatException nfe) {
+            try {
+                final long date =
+                        ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+                return Math.max(0, date - System.currentTimeMillis());
+            } catch (final DateTimeParseException dtpe) {
+                return -1;
+            }
+        }
+    }
+
+    // lazy holder, only created when a request must be delayed
+    private static class Timer {
+
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "talend-component-http-rate-limiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -19,10 +19,7 @@ import static java.util.Arrays.stream;
 import static java.util.Collections.emptyMap;
 import static java.util.Locale.ROOT;
 import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
-import static java.util.stream.Stream.empty;
-import static java.util.stream.Stream.of;
 import static org.talend.sdk.component.runtime.base.lang.exception.InvocationExceptionWrapper.toRuntimeException;
 
 import java.io.UnsupportedEncodingException;
@@ -34,18 +31,22 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.stream.Stream;
+import java.util.function.Supplier;
 
 import javax.json.bind.Jsonb;
 
@@ -58,11 +59,13 @@ import org.talend.sdk.component.api.service.http.Decoder;
 import org.talend.sdk.component.api.service.http.Encoder;
 import org.talend.sdk.component.api.service.http.Header;
 import org.talend.sdk.component.api.service.http.Headers;
+import org.talend.sdk.component.api.service.http.HttpCache;
 import org.talend.sdk.component.api.service.http.HttpMethod;
 import org.talend.sdk.component.api.service.http.Path;
 import org.talend.sdk.component.api.service.http.Query;
 import org.talend.sdk.component.api.service.http.QueryFormat;
 import org.talend.sdk.component.api.service.http.QueryParams;
+import org.talend.sdk.component.api.service.http.RateLimit;
 import org.talend.sdk.component.api.service.http.Request;
 import org.talend.sdk.component.api.service.http.Response;
 import org.talend.sdk.component.api.service.http.Url;
@@ -122,14 +125,39 @@ public class RequestParser {
 
     private volatile CodecMatcher<Encoder> codecMatcher = new CodecMatcher<>();
 
+    private final HttpTransport transport;
+
+    private final Supplier<HttpResponseCache> responseCache;
+
     public RequestParser(final ReflectionService reflections, final Jsonb jsonb, final Map<Class<?>, Object> services) {
-        this(new ReflectionInstanceCreator(reflections, services), jsonb);
+        this(reflections, jsonb, services, HttpURLConnectionTransport.INSTANCE);
+    }
+
+    public RequestParser(final ReflectionService reflections, final Jsonb jsonb, final Map<Class<?>, Object> services,
+            final HttpTransport transport) {
+        this(new ReflectionInstanceCreator(reflections, services), jsonb, transport, null);
+    }
+
+    RequestParser(final ReflectionService reflections, final Jsonb jsonb, final Map<Class<?>, Object> services,
+            final HttpTransport transport, final Supplier<HttpResponseCache> responseCache) {
+        this(new ReflectionInstanceCreator(reflections, services), jsonb, transport, responseCache);
     }
 
     public RequestParser(final InstanceCreator instanceCreator, final Jsonb jsonb) {
+        this(instanceCreator, jsonb, HttpURLConnectionTransport.INSTANCE);
+    }
+
+    public RequestParser(final InstanceCreator instanceCreator, final Jsonb jsonb, final HttpTransport transport) {
+        this(instanceCreator, jsonb, transport, null);
+    }
+
+    RequestParser(final InstanceCreator instanceCreator, final Jsonb jsonb, final HttpTransport transport,
+            final Supplier<HttpResponseCache> responseCache) {
         this.instanceCreator = instanceCreator;
         this.jsonpEncoder = new JsonpEncoder(jsonb);
         this.jsonpDecoder = new JsonpDecoder(jsonb);
+        this.transport = transport;
+        this.responseCache = responseCache;
     }
 
     /**
@@ -204,10 +232,11 @@ public class RequestParser {
             }
         }
 
-        final boolean isResponse = method.getReturnType() == Response.class;
-        final Type responseType =
-                isResponse ? ParameterizedType.class.cast(method.getGenericReturnType()).getActualTypeArguments()[0]
-                        : method.getReturnType();
+        final boolean async = isAsync(method.getReturnType());
+        final Type returnType = async ? unwrapAsync(method.getGenericReturnType()) : method.getGenericReturnType();
+        final boolean isResponse = toRawType(returnType) == Response.class;
+        final Type responseType = isResponse ? ParameterizedType.class.cast(returnType).getActualTypeArguments()[0]
+                : (toRawType(returnType) == Iterator.class ? returnType : toRawType(returnType));
         final Integer httpMethodIndex = httpMethod;
         final Function<Object[], String> httpMethodProvider = params -> httpMethodIndex == null ? request.method()
                 : ofNullable(params[httpMethodIndex]).map(String::valueOf).orElse(request.method());
@@ -220,9 +249,42 @@ public class RequestParser {
             pathTemplate = pathTemplate.substring(0, pathTemplate.length() - 1);
         }
 
-        return new ExecutionContext(new HttpRequestCreator(httpMethodProvider, urlProvider, baseProvider, pathTemplate,
-                pathProvider, queryParamsProvider, headersProvider, payloadProvider, configurerInstance,
-                configurerOptionsProvider), responseType, isResponse, decoders);
+        return new ExecutionContext(new HttpRequestCreator(httpMethodProvider, urlProvider, baseProvider,
+                pathProvider.compile(pathTemplate), pathProvider, queryParamsProvider, headersProvider,
+                payloadProvider, configurerInstance,
+                configurerOptionsProvider), responseType, isResponse, decoders, findTransport(method), async,
+                ofNullable(method.getAnnotation(RateLimit.class))
+                        .orElseGet(() -> method.getDeclaringClass().getAnnotation(RateLimit.class)));
+    }
+
+    private HttpTransport findTransport(final Method method) {
+        final HttpCache httpCache = ofNullable(method.getAnnotation(HttpCache.class))
+                .orElseGet(() -> method.getDeclaringClass().getAnnotation(HttpCache.class));
+        if (httpCache == null || responseCache == null) {
+            return transport;
+        }
+        return new CachingHttpTransport(transport, responseCache.get(), httpCache.defaultMaxAge());
+    }
+
+    private static boolean isAsync(final Class<?> returnType) {
+        return returnType == CompletionStage.class || returnType == CompletableFuture.class;
+    }
+
+    private static Type unwrapAsync(final Type type) {
+        if (!ParameterizedType.class.isInstance(type)) {
+            throw new IllegalArgumentException("Missing the response type of " + type);
+        }
+        return ParameterizedType.class.cast(type).getActualTypeArguments()[0];
+    }
+
+    private static Class<?> toRawType(final Type type) {
+        if (Class.class.isInstance(type)) {
+            return Class.class.cast(type);
+        }
+        if (ParameterizedType.class.isInstance(type)) {
+            return toRawType(ParameterizedType.class.cast(type).getRawType());
+        }
+        throw new IllegalArgumentException("Unsupported response type: " + type);
     }
 
     private BiFunction<String, Object[], Optional<byte[]>> buildPayloadProvider(final Map<String, Encoder> encoders,
@@ -261,6 +323,9 @@ public class RequestParser {
             cType = Class.class.cast(type);
         } else if (ParameterizedType.class.isInstance(type)) {
             final ParameterizedType pt = ParameterizedType.class.cast(type);
+            if (Class.class.isInstance(pt.getRawType()) && isAsync(Class.class.cast(pt.getRawType()))) {
+                return toClassType(pt.getActualTypeArguments()[0]);
+            }
             if (pt.getRawType() == Response.class && pt.getActualTypeArguments().length == 1
                     && Class.class.isInstance(pt.getActualTypeArguments()[0])) {
                 cType = Class.class.cast(pt.getActualTypeArguments()[0]);
@@ -270,6 +335,19 @@ public class RequestParser {
         return cType;
     }
 
+    static String pathEncode(final String value) {
+        String result = componentEncode(PATH_RESERVED_CHARACTERS, value);
+        // URLEncoder will encode '+' to %2B but will turn ' ' into '+'
+        // We need to retain '+' and encode ' ' as %20
+        if (result.indexOf('+') != -1) {
+            result = result.replace("+", "%20");
+        }
+        if (result.contains("%2B")) {
+            result = result.replace("%2B", "+");
+        }
+        return result;
+    }
+
     private static String queryEncode(final String value) {
         return componentEncode(QUERY_RESERVED_CHARACTERS, value);
     }
@@ -378,9 +456,12 @@ public class RequestParser {
 
         private final QueryFormat format;
 
+        private final String prefix;
+
         private QueryEncodable(final String name, final boolean encode, final QueryFormat format) {
             super(name, encode);
             this.format = format;
+            this.prefix = name + '=';
         }
     }
 
@@ -390,49 +471,65 @@ public class RequestParser {
 
         @Override
         public Collection<String> apply(final Object[] args) {
-
-            return queries.entrySet().stream().flatMap(entry -> {
-                if (entry.getValue().getName().isEmpty()) {
-                    final Map<String, ?> queryParams =
-                            args[entry.getKey()] == null ? emptyMap() : Map.class.cast(args[entry.getKey()]);
-                    if (entry.getValue().isEncode()) {
-                        return queryParams
-                                .entrySet()
-                                .stream()
-                                .filter(q -> q.getValue() != null)
-                                .flatMap(it -> mapValues(entry.getValue(), it.getKey(), it.getValue()));
+            final List<String> result = new ArrayList<>(queries.size());
+            for (final Map.Entry<Integer, QueryEncodable> entry : queries.entrySet()) {
+                final QueryEncodable config = entry.getValue();
+                final Object value = args[entry.getKey()];
+                if (value == null) {
+                    continue;
+                }
+                if (!config.getName().isEmpty()) {
+                    addValues(result, config, config.prefix, value);
+                    continue;
+                }
+                for (final Map.Entry<?, ?> query : ((Map<?, ?>) value).entrySet()) {
+                    if (!config.isEncode()) {
+                        result.add(query.getKey() + "=" + query.getValue());
+                    } else if (query.getValue() != null) {
+                        addValues(result, config, query.getKey() + "=", query.getValue());
                     }
-                    return queryParams.entrySet().stream();
                 }
-                return ofNullable(args[entry.getKey()])
-                        .map(v -> mapValues(entry.getValue(), entry.getValue().getName(), v))
-                        .orElse(null);
-            }).filter(Objects::nonNull).map(kv -> kv.getKey() + "=" + kv.getValue()).collect(toList());
+            }
+            return result;
         }
 
-        private Stream<AbstractMap.SimpleEntry<String, String>> mapValues(final QueryEncodable config, final String key,
-                final Object v) {
-            if (Collection.class.isInstance(v)) {
-                final Stream<String> collection = ((Collection<?>) v)
-                        .stream()
-                        .filter(Objects::nonNull)
-                        .map(String::valueOf)
-                        .map(q -> config.isEncode() ? queryEncode(q) : q);
-                switch (config.format) {
-                case MULTI:
-                    return collection.map(q -> new AbstractMap.SimpleEntry<>(key, q));
-                case CSV:
-                    return of(new AbstractMap.SimpleEntry<>(key, String.join(",", collection.collect(toList()))));
-                default:
-                    throw new IllegalArgumentException("Unsupported formatting: " + config);
+        private void addValues(final Collection<String> result, final QueryEncodable config, final String prefix,
+                final Object value) {
+            if (!Collection.class.isInstance(value)) {
+                result.add(prefix + encode(config, value));
+                return;
+            }
+            switch (config.format) {
+            case MULTI:
+                for (final Object item : (Collection<?>) value) {
+                    if (item != null) {
+                        result.add(prefix + encode(config, item));
+                    }
+                }
+                break;
+            case CSV:
+                final StringBuilder builder = new StringBuilder(prefix);
+                boolean first = true;
+                for (final Object item : (Collection<?>) value) {
+                    if (item == null) {
+                        continue;
+                    }
+                    if (!first) {
+                        builder.append(',');
+                    }
+                    builder.append(encode(config, item));
+                    first = false;
                 }
+                result.add(builder.toString());
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported formatting: " + config);
             }
+        }
 
-            String value = String.valueOf(v);
-            if (config.isEncode()) {
-                value = queryEncode(value);
-            }
-            return of(new AbstractMap.SimpleEntry<>(key, value));
+        private String encode(final QueryEncodable config, final Object value) {
+            final String string = String.valueOf(value);
+            return config.isEncode() ? queryEncode(string) : string;
         }
     }
 
@@ -442,21 +539,31 @@ public class RequestParser {
 
         @Override
         public Map<String, String> apply(final Object[] args) {
-
-            return headers.entrySet().stream().flatMap(entry -> {
-                if (entry.getValue().isEmpty()) {
-                    return args[entry.getKey()] == null ? empty()
-                            : ((Map<String, String>) args[entry.getKey()]).entrySet().stream();
+            final Map<String, String> result = new LinkedHashMap<>();
+            for (final Map.Entry<Integer, String> entry : headers.entrySet()) {
+                final Object value = args[entry.getKey()];
+                if (value == null) {
+                    continue;
                 }
-                return ofNullable(args[entry.getKey()])
-                        .map(v -> of(new AbstractMap.SimpleEntry<>(entry.getValue(), String.valueOf(v))))
-                        .orElse(null);
-            })
-                    .filter(Objects::nonNull)
-                    .filter(e -> e.getValue() != null) // ignore null values
-                    .collect(toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> {
-                        throw new IllegalArgumentException("conflictings keys: " + a + '/' + b);
-                    }, LinkedHashMap::new));
+                if (!entry.getValue().isEmpty()) {
+                    put(result, entry.getValue(), String.valueOf(value));
+                    continue;
+                }
+                for (final Map.Entry<String, String> header : ((Map<String, String>) value).entrySet()) {
+                    put(result, header.getKey(), header.getValue());
+                }
+            }
+            return result;
+        }
+
+        private void put(final Map<String, String> headers, final String name, final String value) {
+            if (value == null) { // ignore null values
+                return;
+            }
+            final String existing = headers.putIfAbsent(name, value);
+            if (existing != null) {
+                throw new IllegalArgumentException("conflictings keys: " + existing + '/' + value);
+            }
         }
     }
 
@@ -489,17 +596,19 @@ public class RequestParser {
             return out;
         }
 
-        private static String pathEncode(final String value) {
-            String result = componentEncode(PATH_RESERVED_CHARACTERS, value);
-            // URLEncoder will encode '+' to %2B but will turn ' ' into '+'
-            // We need to retain '+' and encode ' ' as %20
-            if (result.indexOf('+') != -1) {
-                result = result.replace("+", "%20");
-            }
-            if (result.contains("%2B")) {
-                result = result.replace("%2B", "+");
-            }
-            return result;
+        /**
+         * @param pathTemplate the method path.
+         * @return the path compiled against the path parameters of the method.
+         */
+        private PathTemplate compile(final String pathTemplate) {
+            final Map<String, Integer> parameters = new HashMap<>();
+            final Set<String> encoded = new HashSet<>();
+            pathParams.forEach((index, param) -> {
+                if (parameters.putIfAbsent(param.name, index) == null && param.encode) {
+                    encoded.add(param.name);
+                }
+            });
+            return PathTemplate.compile(pathTemplate, parameters, encoded);
         }
 
         @Override
@@ -16,6 +16,7 @@
 package org.talend.sdk.component.runtime.manager.service.http.codec;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.lang.reflect.Type;
 import java.util.Map;
 
@@ -34,16 +35,16 @@ public class JAXBDecoder implements Decoder {
 
     @Override
     public Object decode(final byte[] value, final Type expectedType) {
+        return decode(new ByteArrayInputStream(value), expectedType);
+    }
+
+    @Override
+    public Object decode(final InputStream value, final Type expectedType) {
         try {
             final Class key = Class.class.cast(expectedType);
-            return jaxbContexts
-                    .get(key)
-                    .createUnmarshaller()
-                    .unmarshal(new StreamSource(new ByteArrayInputStream(value)), key)
-                    .getValue();
+            return jaxbContexts.get(key).createUnmarshaller().unmarshal(new StreamSource(value), key).getValue();
         } catch (final JAXBException e) {
             throw new IllegalArgumentException(e);
         }
-
     }
 }
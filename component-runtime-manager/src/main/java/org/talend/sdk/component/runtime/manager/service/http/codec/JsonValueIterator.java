@@ -0,0 +1,208 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http.codec;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.json.bind.Jsonb;
+
+/**
+ * Lazily maps the items of a JSON array or the values of a new line delimited JSON (NDJSON) payload,
+ * only the current item is kept in memory.
+ */
+class JsonValueIterator implements Iterator<Object>, AutoCloseable {
+
+    private final Jsonb jsonb;
+
+    private final Type itemType;
+
+    private final Reader reader;
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    private int pending = -1;
+
+    private boolean started;
+
+    private boolean array;
+
+    private boolean done;
+
+    private boolean ready;
+
+    private Object next;
+
+    JsonValueIterator(final Jsonb jsonb, final InputStream stream, final Type itemType) {
+        this.jsonb = jsonb;
+        this.itemType = itemType;
+        this.reader = new BufferedReader(new InputStreamReader(stream, UTF_8));
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!ready && !done) {
+            try {
+                if (readItem()) {
+                    next = jsonb.fromJson(buffer.toString(), itemType);
+                    ready = true;
+                } else {
+                    close();
+                }
+            } catch (final IOException e) {
+                close();
+                throw new IllegalStateException(e);
+            } catch (final RuntimeException re) {
+                close();
+                throw re;
+            }
+        }
+        return ready;
+    }
+
+    @Override
+    public Object next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ready = false;
+        final Object value = next;
+        next = null;
+        return value;
+    }
+
+    @Override
+    public void close() {
+        if (done) {
+            return;
+        }
+        done = true;
+        try {
+            reader.close();
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // reads the next item text in the buffer, returns false at the end of the payload
+    private boolean readItem() throws IOException {
+        int c = readNonWhitespace();
+        if (!started) {
+            started = true;
+            if (c == '[') {
+                array = true;
+                c = readNonWhitespace();
+            }
+        }
+        if (array) {
+            if (c == ',') {
+                c = readNonWhitespace();
+            }
+            if (c == ']') {
+                return false;
+            }
+            if (c < 0) {
+                throw new IllegalStateException("Unexpected end of the JSON array");
+            }
+        } else if (c < 0) {
+            return false;
+        }
+
+        buffer.setLength(0);
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        for (; c >= 0; c = read()) {
+            if (inString) {
+                buffer.append((char) c);
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                    if (depth == 0) {
+                        return true;
+                    }
+                }
+                continue;
+            }
+            switch (c) {
+            case '"':
+                inString = true;
+                buffer.append((char) c);
+                break;
+            case '{':
+            case '[':
+                depth++;
+                buffer.append((char) c);
+                break;
+            case '}':
+            case ']':
+                if (depth == 0) { // end of the enclosing array after a scalar
+                    pending = c;
+                    return true;
+                }
+                buffer.append((char) c);
+                if (--depth == 0) {
+                    return true;
+                }
+                break;
+            case ',':
+                if (depth == 0) {
+                    pending = c;
+                    return true;
+                }
+                buffer.append((char) c);
+                break;
+            default:
+                if (depth == 0 && Character.isWhitespace(c)) {
+                    return true;
+                }
+                buffer.append((char) c);
+            }
+        }
+        if (depth > 0 || inString) {
+            throw new IllegalStateException("Unexpected end of the JSON payload");
+        }
+        return true;
+    }
+
+    private int readNonWhitespace() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c >= 0 && Character.isWhitespace(c));
+        return c;
+    }
+
+    private int read() throws IOException {
+        if (pending >= 0) {
+            final int c = pending;
+            pending = -1;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -16,7 +16,10 @@
 package org.talend.sdk.component.runtime.manager.service.http.codec;
 
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Iterator;
 
 import javax.json.bind.Jsonb;
 
@@ -31,10 +34,24 @@ public class JsonpDecoder implements Decoder {
 
     @Override
     public Object decode(final byte[] value, final Type expectedType) {
+        return decode(new ByteArrayInputStream(value), expectedType);
+    }
+
+    /**
+     * Binds the payload while it is read, {@code Iterator<T>} lazily maps the items of a JSON array
+     * or of a new line delimited JSON payload.
+     */
+    @Override
+    public Object decode(final InputStream value, final Type expectedType) {
+        if (ParameterizedType.class.isInstance(expectedType)
+                && ParameterizedType.class.cast(expectedType).getRawType() == Iterator.class) {
+            return new JsonValueIterator(jsonb, value,
+                    ParameterizedType.class.cast(expectedType).getActualTypeArguments()[0]);
+        }
         if (!Class.class.isInstance(expectedType)) {
             throw new IllegalArgumentException("Unsupported type: " + expectedType);
         }
         final Class<?> clazz = Class.class.cast(expectedType);
-        return jsonb.fromJson(new ByteArrayInputStream(value), clazz);
+        return jsonb.fromJson(value, clazz);
     }
 }
@@ -63,6 +63,7 @@ import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.configuration.LocalConfiguration;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.container.Container;
+import org.talend.sdk.component.runtime.input.Input;
 import org.talend.sdk.component.runtime.input.Mapper;
 import org.talend.sdk.component.runtime.manager.ComponentManager.AllServices;
 import org.talend.sdk.component.runtime.manager.asm.PluginGenerator;
@@ -160,6 +161,51 @@ class ComponentManagerTest {
         }
     }
 
+    @Test
+    void lazyPlugins(@TempDir final File temporaryFolder) throws IOException, InterruptedException {
+        final File pluginFolder = new File(temporaryFolder, "test-plugins_" + UUID.randomUUID().toString());
+        pluginFolder.mkdirs();
+        final File chain = pluginGenerator.createChainPlugin(pluginFolder, "plugin.jar");
+        final File actions = pluginGenerator.createPlugin(pluginFolder, "actions.jar");
+        DynamicContainerFinder.SERVICES.put(RecordBuilderFactory.class, new RecordBuilderFactoryImpl("plugin"));
+        final String jvd = System.getProperty("java.version.date"); // java 11
+        System.clearProperty("java.version.date");
+        System.setProperty("talend.component.manager.plugins.lazy", "true");
+        System.setProperty("talend.component.manager.plugins.lazy.idleTimeout", "1");
+        try (final ComponentManager manager =
+                new ComponentManager(new File("target/test-dependencies"), "META-INF/test/dependencies", null)) {
+            final String chainId = manager.addPlugin(chain.getAbsolutePath());
+            final String actionsId = manager.addPlugin(actions.getAbsolutePath());
+            assertFalse(manager.getContainer().find(actionsId).isPresent());
+
+            // an action lookup activates the plugin defining it
+            try (final ComponentManager.PluginLease lease = manager
+                    .leaseAction("proc", "user", "actions.jarAction")
+                    .orElseThrow(IllegalStateException::new)) {
+                assertEquals(actionsId, lease.getContainer().getId());
+            }
+
+            // the mapper is dropped but the input still uses the plugin
+            final Input input = manager
+                    .findMapper("config", "injected", 1, emptyMap())
+                    .orElseThrow(IllegalStateException::new)
+                    .create();
+            System.gc();
+            Thread.sleep(2500); // the unloader runs every second
+            assertTrue(manager.getContainer().find(chainId).isPresent());
+            assertFalse(manager.getContainer().find(actionsId).isPresent()); // idle and released
+            assertNotNull(input.next());
+        } finally { // clean temp files
+            System.clearProperty("talend.component.manager.plugins.lazy");
+            System.clearProperty("talend.component.manager.plugins.lazy.idleTimeout");
+            DynamicContainerFinder.SERVICES.clear();
+            doCleanup(pluginFolder);
+            if (jvd != null) {
+                System.setProperty("java.version.date", jvd);
+            }
+        }
+    }
+
     @Test
     void testInstance() throws InterruptedException {
         final ComponentManager[] managers = new ComponentManager[60];
@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.talend.sdk.component.runtime.manager.asm.PluginGenerator;
+
+class PluginActivationTest {
+
+    @Test
+    void indexFamilies(@TempDir final Path temporaryFolder) throws IOException {
+        final File plugin = new PluginGenerator().createPlugin(temporaryFolder.toFile(), "plugin.jar");
+        final Collection<String> families = PluginActivation.indexFamilies(plugin.toPath());
+        // components and actions
+        assertEquals(asList("comp", "proc"), families.stream().sorted().collect(toList()));
+    }
+
+    @Test
+    void activateOnDemand() {
+        final AtomicInteger created = new AtomicInteger();
+        try (final PluginActivation activation = new PluginActivation(0, id -> {
+        })) {
+            activation.register("indexed", singletonList("comp"), () -> {
+                created.incrementAndGet();
+                return null;
+            });
+            activation.register("unknown", emptyList(), () -> {
+                created.incrementAndGet();
+                return null;
+            });
+            assertTrue(activation.isPending("indexed"));
+            assertEquals(0, created.get());
+
+            activation.activateFamily("comp");
+            assertEquals(1, created.get());
+            assertFalse(activation.isPending("indexed"));
+            assertTrue(activation.isPending("unknown"));
+
+            // not indexed family, fallback on the plugins without index
+            activation.activateFamily("other");
+            assertEquals(2, created.get());
+            assertTrue(activation.getPendingPlugins().isEmpty());
+        }
+    }
+
+    @Test
+    void failedActivationStaysPending() {
+        try (final PluginActivation activation = new PluginActivation(0, id -> {
+        })) {
+            activation.register("failing", singletonList("comp"), () -> {
+                throw new IllegalStateException("boom");
+            });
+            assertThrows(IllegalStateException.class, () -> activation.activate("failing"));
+            assertTrue(activation.isPending("failing"));
+        }
+    }
+
+    @Test
+    void rejectDuplicates() {
+        try (final PluginActivation activation = new PluginActivation(0, id -> {
+        })) {
+            activation.register("plugin", singletonList("comp"), () -> null);
+            assertThrows(IllegalArgumentException.class,
+                    () -> activation.register("plugin", singletonList("comp"), () -> null));
+        }
+    }
+
+    @Test
+    void unloadIdleAndReactivate() throws InterruptedException {
+        final AtomicInteger created = new AtomicInteger();
+        final Collection<String> closed = new CopyOnWriteArrayList<>();
+        try (final PluginActivation activation = new PluginActivation(1, closed::add)) {
+            activation.register("plugin", singletonList("comp"), () -> {
+                created.incrementAndGet();
+                return null;
+            });
+            final Runnable release = activation.lease("plugin").orElseThrow(IllegalStateException::new);
+            assertEquals(1, created.get());
+
+            // leased so never unloaded even if idle
+            Thread.sleep(10);
+            activation.unloadIdlePlugins();
+            assertTrue(closed.isEmpty());
+            assertFalse(activation.isPending("plugin"));
+
+            release.run();
+            release.run(); // released only once
+            Thread.sleep(10);
+            activation.unloadIdlePlugins();
+            assertEquals(singletonList("plugin"), closed);
+            assertTrue(activation.isPending("plugin"));
+
+            // next lookup activates it again
+            activation.activateFamily("comp");
+            assertEquals(2, created.get());
+            assertFalse(activation.isPending("plugin"));
+        }
+    }
+}
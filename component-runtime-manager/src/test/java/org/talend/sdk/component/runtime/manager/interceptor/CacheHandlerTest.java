@@ -0,0 +1,129 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.interceptor;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.service.cache.CacheKeyProvider;
+import org.talend.sdk.component.api.service.cache.Cached;
+import org.talend.sdk.component.api.service.cache.LocalCache;
+import org.talend.sdk.component.runtime.manager.service.LocalCacheService;
+
+import lombok.RequiredArgsConstructor;
+
+class CacheHandlerTest {
+
+    @Test
+    void structuredKeys() throws NoSuchMethodException {
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        final LocalCacheService cache =
+                new LocalCacheService("CacheHandlerTest", System::currentTimeMillis, () -> executor);
+        try {
+            final AtomicInteger calls = new AtomicInteger();
+            final CacheHandler handler = new CacheHandler((m, args) -> calls.incrementAndGet(), cache);
+            final Method method = CacheHandlerTest.class.getDeclaredMethod("cached", Object.class);
+
+            assertEquals(1, handler.invoke(method, new Object[] { new Criteria("a", "payload1") }));
+            assertEquals(1, handler.invoke(method, new Object[] { new Criteria("a", "payload2") }));
+            assertEquals(2, handler.invoke(method, new Object[] { new Criteria("b", "payload1") }));
+            assertEquals(3, handler.invoke(method, new Object[] { asList("x", "y") }));
+            assertEquals(3, handler.invoke(method, new Object[] { asList("x", "y") }));
+            assertEquals(4, handler.invoke(method, new Object[] { new String[] { "x" } }));
+            assertEquals(4, handler.invoke(method, new Object[] { new String[] { "x" } }));
+        } finally {
+            cache.release();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void stringKeysFallback() throws NoSuchMethodException {
+        final Map<String, Object> values = new HashMap<>();
+        final LocalCache cache = new LocalCache() { // only string keys
+
+            @Override
+            public <T> T computeIfAbsent(final Class<T> expectedClass, final String key,
+                    final Predicate<Element> toRemove, final long timeoutMs, final Supplier<T> value) {
+                return expectedClass.cast(values.computeIfAbsent(key, k -> value.get()));
+            }
+
+            @Override
+            public <T> T computeIfAbsent(final Class<T> expectedClass, final String key,
+                    final Predicate<Element> toRemove, final Supplier<T> value) {
+                return computeIfAbsent(expectedClass, key, toRemove, -1, value);
+            }
+
+            @Override
+            public <T> T computeIfAbsent(final Class<T> expectedClass, final String key, final long timeoutMs,
+                    final Supplier<T> value) {
+                return computeIfAbsent(expectedClass, key, null, timeoutMs, value);
+            }
+
+            @Override
+            public <T> T computeIfAbsent(final Class<T> expectedClass, final String key, final Supplier<T> value) {
+                return computeIfAbsent(expectedClass, key, null, -1, value);
+            }
+
+            @Override
+            public void evict(final String key) {
+                values.remove(key);
+            }
+
+            @Override
+            public void evictIfValue(final String key, final Object expected) {
+                values.remove(key, expected);
+            }
+        };
+        final AtomicInteger calls = new AtomicInteger();
+        final CacheHandler handler = new CacheHandler((m, args) -> calls.incrementAndGet(), cache);
+        final Method method = CacheHandlerTest.class.getDeclaredMethod("cached", Object.class);
+
+        assertEquals(1, handler.invoke(method, new Object[] { new Criteria("a", "payload1") }));
+        assertEquals(1, handler.invoke(method, new Object[] { new Criteria("a", "payload2") }));
+        assertEquals(2, handler.invoke(method, new Object[] { new String[] { "x" } }));
+        assertEquals(2, handler.invoke(method, new Object[] { new String[] { "x" } }));
+        assertEquals(2, values.size());
+    }
+
+    @Cached
+    Object cached(final Object criteria) {
+        return null;
+    }
+
+    @RequiredArgsConstructor
+    private static class Criteria implements CacheKeyProvider {
+
+        private final String id;
+
+        private final String payload;
+
+        @Override
+        public Object getCacheKey() {
+            return id;
+        }
+    }
+}
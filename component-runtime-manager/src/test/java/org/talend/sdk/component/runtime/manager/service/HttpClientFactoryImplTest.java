@@ -20,8 +20,11 @@ import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.talend.sdk.component.api.service.http.QueryFormat.MULTI;
@@ -34,10 +37,17 @@ import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.json.bind.JsonbBuilder;
@@ -54,12 +64,14 @@ import org.talend.sdk.component.api.service.http.ConfigurerOption;
 import org.talend.sdk.component.api.service.http.Decoder;
 import org.talend.sdk.component.api.service.http.Encoder;
 import org.talend.sdk.component.api.service.http.Header;
+import org.talend.sdk.component.api.service.http.HttpCache;
 import org.talend.sdk.component.api.service.http.HttpClient;
 import org.talend.sdk.component.api.service.http.HttpException;
 import org.talend.sdk.component.api.service.http.HttpMethod;
 import org.talend.sdk.component.api.service.http.Path;
 import org.talend.sdk.component.api.service.http.Query;
 import org.talend.sdk.component.api.service.http.QueryParams;
+import org.talend.sdk.component.api.service.http.RateLimit;
 import org.talend.sdk.component.api.service.http.Request;
 import org.talend.sdk.component.api.service.http.Response;
 import org.talend.sdk.component.api.service.http.Url;
@@ -178,6 +190,35 @@ class HttpClientFactoryImplTest {
         }
     }
 
+    @Test
+    void requestAsync() throws Exception {
+        final HttpServer server = createTestServer(HttpURLConnection.HTTP_OK);
+        try {
+            server.start();
+            final ComplexOk ok = newDefaultFactory().create(ComplexOk.class, null);
+            ok.base("http://localhost:" + server.getAddress().getPort() + "/api");
+
+            final String expected = "POST@" + "Authorization=token/" + "Connection=keep-alive/" + "Content-length=4/"
+                    + "Content-type=application/x-www-form-urlencoded@" + "/api?q=search+yes@" + "test";
+            final Response<Payload> response = ok
+                    .main4Async(new Payload("test"), "token", 1, "search yes")
+                    .toCompletableFuture()
+                    .get(1, TimeUnit.MINUTES);
+            assertEquals(HttpURLConnection.HTTP_OK, response.status());
+            assertEquals(expected, response.body().value);
+
+            final Collection<CompletableFuture<Payload>> concurrent = IntStream
+                    .range(0, 8)
+                    .mapToObj(i -> ok.main4AsyncPayload(new Payload("test"), "token", i, "search yes"))
+                    .collect(toList());
+            for (final CompletableFuture<Payload> payload : concurrent) {
+                assertEquals(expected, payload.get(1, TimeUnit.MINUTES).value);
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
     @Test
     void requestDefault() throws IOException {
         final HttpServer server = createTestServer(HttpURLConnection.HTTP_OK);
@@ -266,6 +307,125 @@ class HttpClientFactoryImplTest {
         }
     }
 
+    @Test
+    void streamedJsonItems() throws IOException {
+        final HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/").setHandler(httpExchange -> {
+            httpExchange.getResponseHeaders().set("content-type", "application/json;charset=UTF-8");
+            final String path = httpExchange.getRequestURI().getPath();
+            final byte[] bytes = (path.endsWith("array")
+                    ? "[{\"value\":\"a\"}, {\"value\":\"b,]}\\\\\\\"\"},{\"value\":null}]"
+                    : "{\"value\":\"a\"}\n{\"value\":\"b\"}\n").getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, bytes.length);
+            httpExchange.getResponseBody().write(bytes);
+            httpExchange.close();
+        });
+
+        try {
+            server.start();
+            final StreamedJson client = newDefaultFactory().create(StreamedJson.class, null);
+            client.base("http://localhost:" + server.getAddress().getPort() + "/api");
+
+            final Iterator<Payload> array = client.array();
+            assertEquals("a", array.next().getValue());
+            assertEquals("b,]}\\\"", array.next().getValue());
+            assertNull(array.next().getValue());
+            assertFalse(array.hasNext());
+
+            final Response<Iterator<Payload>> ndjson = client.ndjson();
+            assertEquals(HttpURLConnection.HTTP_OK, ndjson.status());
+            final List<String> values = new ArrayList<>();
+            ndjson.body().forEachRemaining(it -> values.add(it.getValue()));
+            assertEquals(asList("a", "b"), values);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void retryThrottledRequests() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/").setHandler(httpExchange -> {
+            final byte[] bytes = "ok".getBytes(StandardCharsets.UTF_8);
+            if (calls.incrementAndGet() % 2 == 1) {
+                httpExchange.getResponseHeaders().set("Retry-After", "0");
+                httpExchange.sendResponseHeaders(429, -1);
+            } else {
+                httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, bytes.length);
+                httpExchange.getResponseBody().write(bytes);
+            }
+            httpExchange.close();
+        });
+
+        try {
+            server.start();
+            final Throttled client = newDefaultFactory().create(Throttled.class, null);
+            client.base("http://localhost:" + server.getAddress().getPort() + "/api");
+
+            assertEquals("ok", client.get());
+            assertEquals(2, calls.get());
+
+            final Response<String> response = client.getAsync().toCompletableFuture().get(1, TimeUnit.MINUTES);
+            assertEquals(HttpURLConnection.HTTP_OK, response.status());
+            assertEquals("ok", response.body());
+            assertEquals(4, calls.get());
+
+            // not idempotent so the throttled response is returned
+            assertEquals(429, client.post().status());
+            assertEquals(5, calls.get());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void cacheResponses() throws Exception {
+        final AtomicInteger freshCalls = new AtomicInteger();
+        final AtomicInteger revalidations = new AtomicInteger();
+        final HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/api/fresh").setHandler(httpExchange -> {
+            freshCalls.incrementAndGet();
+            final byte[] bytes = "fresh".getBytes(StandardCharsets.UTF_8);
+            httpExchange.getResponseHeaders().set("Cache-Control", "max-age=60");
+            httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, bytes.length);
+            httpExchange.getResponseBody().write(bytes);
+            httpExchange.close();
+        });
+        server.createContext("/api/etag").setHandler(httpExchange -> {
+            httpExchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            httpExchange.getResponseHeaders().set("ETag", "\"v1\"");
+            if ("\"v1\"".equals(httpExchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                revalidations.incrementAndGet();
+                httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_MODIFIED, -1);
+            } else {
+                final byte[] bytes = "tagged".getBytes(StandardCharsets.UTF_8);
+                httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, bytes.length);
+                httpExchange.getResponseBody().write(bytes);
+            }
+            httpExchange.close();
+        });
+
+        try {
+            server.start();
+            final Cached client = newDefaultFactory().create(Cached.class, null);
+            client.base("http://localhost:" + server.getAddress().getPort() + "/api");
+
+            assertEquals("fresh", client.fresh());
+            assertEquals("fresh", client.fresh());
+            assertEquals(1, freshCalls.get());
+
+            assertEquals("tagged", client.etag());
+            assertEquals(0, revalidations.get());
+            final Response<String> revalidated = client.etagAsync().toCompletableFuture().get(1, TimeUnit.MINUTES);
+            assertEquals(HttpURLConnection.HTTP_OK, revalidated.status());
+            assertEquals("tagged", revalidated.body());
+            assertEquals(1, revalidations.get());
+        } finally {
+            server.stop(0);
+        }
+    }
+
     @Test
     void decoderWithServices() throws IOException {
         final HttpServer server = createTestServer(HttpURLConnection.HTTP_OK);
@@ -617,6 +777,16 @@ class HttpClientFactoryImplTest {
         Response<Payload> main4Response(Payload ok, @Header("Authorization") String auth, @Path("id") int id,
                 @Query("q") String q);
 
+        @Request
+        @Codec(decoder = PayloadCodec.class, encoder = PayloadCodec.class)
+        CompletionStage<Response<Payload>> main4Async(Payload ok, @Header("Authorization") String auth,
+                @Path("id") int id, @Query("q") String q);
+
+        @Request
+        @Codec(decoder = PayloadCodec.class, encoder = PayloadCodec.class)
+        CompletableFuture<Payload> main4AsyncPayload(Payload ok, @Header("Authorization") String auth,
+                @Path("id") int id, @Query("q") String q);
+
         default Payload defaultMain1(Payload ok, String q) {
             return main4(ok, "token", 1, q);
         }
@@ -681,6 +851,41 @@ class HttpClientFactoryImplTest {
         Response<XmlRecord> main(@Header("content-type") String contentType, XmlRecord payload);
     }
 
+    @RateLimit(permitsPerSecond = 100, maxConcurrency = 2, retries = 1)
+    public interface Throttled extends HttpClient {
+
+        @Request
+        String get();
+
+        @Request
+        CompletionStage<Response<String>> getAsync();
+
+        @Request(method = "POST")
+        Response<String> post();
+    }
+
+    @HttpCache
+    public interface Cached extends HttpClient {
+
+        @Request(path = "fresh")
+        String fresh();
+
+        @Request(path = "etag")
+        String etag();
+
+        @Request(path = "etag")
+        CompletionStage<Response<String>> etagAsync();
+    }
+
+    public interface StreamedJson extends HttpClient {
+
+        @Request(path = "array")
+        Iterator<Payload> array();
+
+        @Request(path = "ndjson")
+        Response<Iterator<Payload>> ndjson();
+    }
+
     public interface ResponseJson extends HttpClient {
 
         @Request(method = "POST")
@@ -18,14 +18,19 @@ package org.talend.sdk.component.runtime.manager.service;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
@@ -291,6 +296,53 @@ class LocalCacheServiceTest {
         Assertions.assertEquals(10, this.cacheSize());
     }
 
+    @Test
+    void evictLeastRecentlyUsed() {
+        this.defaultMaxSize = 3;
+        cache.computeIfAbsent(String.class, "k1", () -> "v1");
+        cache.computeIfAbsent(String.class, "k2", () -> "v2");
+        cache.computeIfAbsent(String.class, "k3", () -> "v3");
+        assertEquals("v1", cache.computeIfAbsent(String.class, "k1", () -> "other")); // k2 is now the oldest
+
+        cache.computeIfAbsent(String.class, "k4", () -> "v4");
+        Assertions.assertEquals(3, this.cacheSize());
+        assertEquals("v1", cache.computeIfAbsent(String.class, "k1", () -> "renewed"));
+        assertEquals("v3", cache.computeIfAbsent(String.class, "k3", () -> "renewed"));
+        assertEquals("renewed", cache.computeIfAbsent(String.class, "k2", () -> "renewed"));
+    }
+
+    @Test
+    void singleFlight() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch computed = new CountDownLatch(1);
+        final AtomicInteger computations = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(pool.submit(() -> cache.computeIfAbsent(String.class, "shared", () -> {
+                    computations.incrementAndGet();
+                    started.countDown();
+                    try {
+                        computed.await(1, TimeUnit.MINUTES);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "value";
+                })));
+            }
+            started.await(1, TimeUnit.MINUTES);
+            Thread.sleep(100); // let the other callers miss
+            computed.countDown();
+            for (final Future<String> result : results) {
+                assertEquals("value", result.get(1, TimeUnit.MINUTES));
+            }
+            assertEquals(1, computations.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
     private boolean isCacheEmpty() {
         return this.internalCacheMap().isEmpty();
     }
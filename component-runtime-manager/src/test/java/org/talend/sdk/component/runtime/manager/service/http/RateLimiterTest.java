@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.service.http.RateLimit;
+
+class RateLimiterTest {
+
+    @Test
+    void paceRequests() {
+        final RateLimiter limiter = new RateLimiter(Paced.class.getAnnotation(RateLimit.class));
+        final long start = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            limiter.acquire().join();
+            limiter.release();
+        }
+        // burst of 2 then 4 requests spaced by 50ms
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 150);
+    }
+
+    @Test
+    void limitConcurrency() {
+        final RateLimiter limiter = new RateLimiter(Concurrent.class.getAnnotation(RateLimit.class));
+        assertTrue(limiter.acquire().isDone());
+        final CompletableFuture<Void> second = limiter.acquire();
+        assertFalse(second.isDone());
+        limiter.release();
+        assertTrue(second.isDone());
+    }
+
+    @Test
+    void retryThrottled() {
+        final RateLimiter limiter = new RateLimiter(Concurrent.class.getAnnotation(RateLimit.class));
+        assertFalse(limiter.onResponse(200, emptyMap(), 0, true));
+        assertTrue(limiter.onResponse(429, singletonMap("Retry-After", singletonList("0")), 0, true));
+        assertFalse(limiter.onResponse(503, emptyMap(), 1, true));
+        assertFalse(limiter.onResponse(503, emptyMap(), 0, false));
+    }
+
+    @Test
+    void retryIdempotentOnly() {
+        final RateLimiter limiter = new RateLimiter(Concurrent.class.getAnnotation(RateLimit.class));
+        assertTrue(limiter.isRetriable("GET"));
+        assertTrue(limiter.isRetriable("put"));
+        assertFalse(limiter.isRetriable("POST"));
+        assertFalse(limiter.isRetriable("PATCH"));
+        assertTrue(new RateLimiter(Unsafe.class.getAnnotation(RateLimit.class)).isRetriable("POST"));
+    }
+
+    @Test
+    void retryAfter() {
+        assertEquals(-1, RateLimiter.findRetryAfter(emptyMap()));
+        assertEquals(2000, RateLimiter.findRetryAfter(singletonMap("Retry-After", singletonList("2"))));
+        assertEquals(0, RateLimiter
+                .findRetryAfter(singletonMap("Retry-After", singletonList("Wed, 21 Oct 2015 07:28:00 GMT"))));
+        assertEquals(-1, RateLimiter.findRetryAfter(singletonMap("Retry-After", singletonList("soon"))));
+    }
+
+    @RateLimit(permitsPerSecond = 20, burst = 2)
+    public static class Paced {
+    }
+
+    @RateLimit(maxConcurrency = 1, retries = 1, backoff = 0)
+    public static class Concurrent {
+    }
+
+    @RateLimit(retryNonIdempotent = true)
+    public static class Unsafe {
+    }
+}
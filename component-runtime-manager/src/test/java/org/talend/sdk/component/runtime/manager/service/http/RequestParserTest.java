@@ -15,11 +15,13 @@
  */
 package org.talend.sdk.component.runtime.manager.service.http;
 
+import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.json.bind.Jsonb;
@@ -35,6 +37,7 @@ import org.talend.sdk.component.api.service.http.Encoder;
 import org.talend.sdk.component.api.service.http.Header;
 import org.talend.sdk.component.api.service.http.Path;
 import org.talend.sdk.component.api.service.http.Query;
+import org.talend.sdk.component.api.service.http.QueryFormat;
 import org.talend.sdk.component.api.service.http.QueryParams;
 import org.talend.sdk.component.api.service.http.Request;
 import org.talend.sdk.component.api.service.http.UseConfigurer;
@@ -57,6 +60,37 @@ class RequestParserTest {
         return 3;
     }
 
+    @Request(path = "/{id}/items/{id}/{unknown}")
+    String template(@Path("id") String id, @Query(value = "tags", format = QueryFormat.CSV) List<String> tags,
+            @Query("q") String query) {
+        return "";
+    }
+
+    @Test
+    void compiledTemplate() throws NoSuchMethodException {
+        final RequestParser parser = new RequestParser(new InstanceCreator() {
+
+            @Override
+            public <T> T buildNew(Class<? extends T> realClass) {
+                return null;
+            }
+        }, JsonbBuilder.create());
+        final HttpRequestCreator creator = parser
+                .parse(RequestParserTest.class.getDeclaredMethod("template", String.class, List.class, String.class))
+                .getRequestCreator();
+
+        final HttpRequest request =
+                creator.apply("http://base/", new Object[] { "a b", asList("x", null, "y z"), "a&b" });
+        assertEquals("http://base/a%20b/items/a%20b/{unknown}", request.getUrl());
+        assertEquals(asList("tags=x,y+z", "q=a%26b"), request.getQueryParams());
+        assertEquals("http://base/a%20b/items/a%20b/{unknown}?tags=x,y+z&q=a%26b",
+                HttpRequestCreator.withQuery(request.getUrl(), request.getQueryParams()));
+
+        // the builders are reused, a second call must not see the first one
+        assertEquals("http://other/1/items/1/{unknown}",
+                creator.apply("http://other", new Object[] { "1", null, null }).getUrl());
+    }
+
     @Test
     void parse() throws NoSuchMethodException {
         final Jsonb jsonb = JsonbBuilder.create();
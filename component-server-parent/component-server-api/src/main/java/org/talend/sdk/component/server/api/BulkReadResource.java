@@ -16,6 +16,7 @@
 package org.talend.sdk.component.server.api;
 
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static org.eclipse.microprofile.openapi.annotations.enums.SchemaType.OBJECT;
 
 import java.util.concurrent.CompletionStage;
 
@@ -23,9 +24,11 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.parameters.RequestBody;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
@@ -40,9 +43,11 @@ public interface BulkReadResource {
 
     @POST
     @Operation(description = "Takes a request aggregating N other endpoint requests and responds all results "
-            + "in a normalized HTTP response representation.")
+            + "in a normalized HTTP response representation. "
+            + "Requests are executed concurrently and the results are streamed in the request order.")
     @APIResponse(responseCode = "200", description = "The request payloads.",
-            content = @Content(mediaType = APPLICATION_JSON))
-    CompletionStage<BulkResponses> bulk(@RequestBody(description = "the action parameters as a flat map of strings",
+            content = @Content(mediaType = APPLICATION_JSON,
+                    schema = @Schema(type = OBJECT, implementation = BulkResponses.class)))
+    CompletionStage<StreamingOutput> bulk(@RequestBody(description = "the action parameters as a flat map of strings",
             required = true, content = @Content(mediaType = APPLICATION_JSON)) final BulkRequests requests);
 }
@@ -0,0 +1,50 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.api;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static org.eclipse.microprofile.openapi.annotations.enums.SchemaType.OBJECT;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Response;
+
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.talend.sdk.component.server.front.model.Readiness;
+
+@Path("health")
+@Tag(name = "Health", description = "Endpoint giving the state of the instance, intended for the load balancers.")
+public interface HealthResource {
+
+    @GET
+    @Path("readiness")
+    @Produces(APPLICATION_JSON)
+    @Operation(operationId = "getReadiness",
+            description = "Returns whether the instance can serve requests, "
+                    + "if the startup warm-up is active the instance is ready once the metadata are precomputed.")
+    @APIResponse(responseCode = "200", description = "The instance is ready.",
+            content = @Content(mediaType = APPLICATION_JSON,
+                    schema = @Schema(type = OBJECT, implementation = Readiness.class)))
+    @APIResponse(responseCode = "503", description = "The instance is warming up.",
+            content = @Content(mediaType = APPLICATION_JSON,
+                    schema = @Schema(type = OBJECT, implementation = Readiness.class)))
+    Response readiness();
+}
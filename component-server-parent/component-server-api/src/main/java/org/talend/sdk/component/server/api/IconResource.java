@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.api;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+import static javax.ws.rs.core.MediaType.APPLICATION_OCTET_STREAM;
+import static org.eclipse.microprofile.openapi.annotations.enums.ParameterIn.PATH;
+import static org.eclipse.microprofile.openapi.annotations.enums.SchemaType.OBJECT;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Response;
+
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.talend.sdk.component.server.front.model.error.ErrorPayload;
+
+@Path("icon")
+@Tag(name = "Icon", description = "Endpoints related to icons access.")
+public interface IconResource {
+
+    @GET
+    @Path("{hash}")
+    @Produces({ APPLICATION_JSON, APPLICATION_OCTET_STREAM })
+    @Operation(description = "Returns an icon by its content hash (links of the component index). "
+            + "The content of a hash never changes so the response can be cached forever.")
+    @APIResponse(responseCode = "200", description = "The icon in binary form.",
+            content = @Content(mediaType = APPLICATION_OCTET_STREAM))
+    @APIResponse(responseCode = "404", description = "The icon is not found",
+            content = @Content(mediaType = APPLICATION_JSON,
+                    schema = @Schema(type = OBJECT, implementation = ErrorPayload.class)))
+    Response icon(@PathParam("hash") @Parameter(name = "hash", description = "the icon content hash (sha-256).",
+            in = PATH) String hash);
+}
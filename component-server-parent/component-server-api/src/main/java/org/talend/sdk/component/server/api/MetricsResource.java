@@ -0,0 +1,42 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.api;
+
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+@Path("metrics")
+@Tag(name = "Metrics", description = "Endpoint exposing the server and component runtime metrics.")
+public interface MetricsResource {
+
+    @GET
+    @Produces(TEXT_PLAIN)
+    @Operation(operationId = "getMetrics",
+            description = "Returns the metrics (endpoint latencies, action durations, caches, plugin deployments, "
+                    + "component records...) in the Prometheus text format.")
+    @APIResponse(responseCode = "200", description = "The metrics.", content = @Content(mediaType = TEXT_PLAIN))
+    @APIResponse(responseCode = "404", description = "The metrics are disabled.")
+    StreamingOutput metrics();
+}
@@ -75,6 +75,41 @@ public class RequestForwarder {
 
     public CompletionStage<Response> forward(final InputStream payload, final Function<Response, Response> customizer,
             final String removePath) {
+        return customize(decorate(invoke(payload, removePath)), customizer);
+    }
+
+    /**
+     * Same as {@link #forward()} but the upstream payload is piped to the client instead of being loaded in memory,
+     * to use for the payloads which are neither rewritten nor cached.
+     *
+     * @return the streamed response.
+     */
+    public CompletionStage<Response> stream() {
+        return stream(null, null, null);
+    }
+
+    public CompletionStage<Response> stream(final String removePath) {
+        return stream(null, null, removePath);
+    }
+
+    public CompletionStage<Response> stream(final InputStream payload, final Function<Response, Response> customizer) {
+        return stream(payload, customizer, null);
+    }
+
+    public CompletionStage<Response> stream(final InputStream payload, final Function<Response, Response> customizer,
+            final String removePath) {
+        return customize(invoke(payload, removePath).thenApply(Responses::stream), customizer);
+    }
+
+    private CompletionStage<Response> customize(final CompletionStage<Response> response,
+            final Function<Response, Response> customizer) {
+        if (customizer != null) {
+            return response.thenApply(customizer);
+        }
+        return response;
+    }
+
+    private CompletionStage<Response> invoke(final InputStream payload, final String removePath) {
         WebTarget target =
                 client.path(removePath != null ? uriInfo.getPath().replace(removePath, "") : uriInfo.getPath());
         for (final Map.Entry<String, List<String>> query : uriInfo.getQueryParameters().entrySet()) {
@@ -84,16 +119,9 @@ public class RequestForwarder {
         final MediaType[] types = headers.getAcceptableMediaTypes().toArray(emptyMediaTypesArray);
         final CompletionStageRxInvoker invoker =
                 target.request(types).headers(MultivaluedMap.class.cast(requestHeaders)).rx();
-        final CompletionStage<Response> response;
         if (payload != null) {
-            response = invoker.method(request.getMethod(), entity(payload, MediaType.APPLICATION_JSON_TYPE));
-        } else {
-            response = invoker.method(request.getMethod());
-        }
-        final CompletionStage<Response> decorated = decorate(response);
-        if (customizer != null) {
-            return decorated.thenApply(customizer);
+            return invoker.method(request.getMethod(), entity(payload, MediaType.APPLICATION_JSON_TYPE));
         }
-        return decorated;
+        return invoker.method(request.getMethod());
     }
 }
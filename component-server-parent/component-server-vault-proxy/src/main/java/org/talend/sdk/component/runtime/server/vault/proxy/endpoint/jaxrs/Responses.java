@@ -18,20 +18,52 @@ package org.talend.sdk.component.runtime.server.vault.proxy.endpoint.jaxrs;
 import static java.util.Locale.ROOT;
 import static lombok.AccessLevel.PRIVATE;
 
+import java.io.InputStream;
 import java.util.concurrent.CompletionStage;
 
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import lombok.NoArgsConstructor;
 
 @NoArgsConstructor(access = PRIVATE)
 public class Responses {
 
+    private static final int BUFFER_SIZE = 8192;
+
     public static CompletionStage<Response> decorate(final CompletionStage<Response> source) {
         return source.thenApply(Responses::decorate);
     }
 
     public static Response decorate(final Response source) {
+        return copyHeaders(source).entity(loadInMemory(source)).build();
+    }
+
+    /**
+     * @param source the upstream response.
+     * @return a response piping the upstream payload by chunks, the upstream response is closed once written.
+     */
+    public static Response stream(final Response source) {
+        final Response.ResponseBuilder builder = copyHeaders(source);
+        if (!source.hasEntity()) {
+            source.close();
+            return builder.build();
+        }
+        final InputStream upstream = source.readEntity(InputStream.class);
+        return builder.entity((StreamingOutput) output -> {
+            try (final InputStream stream = upstream) {
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = stream.read(buffer)) >= 0) {
+                    output.write(buffer, 0, read);
+                }
+            } finally {
+                source.close();
+            }
+        }).build();
+    }
+
+    private static Response.ResponseBuilder copyHeaders(final Response source) {
         final Response.ResponseBuilder builder = Response.status(source.getStatus());
         source
                 .getStringHeaders()
@@ -39,7 +71,7 @@ public class Responses {
                 .stream()
                 .filter(it -> !isBlacklistedHeader(it.getKey()))
                 .forEach(e -> builder.header(e.getKey(), String.join(",", e.getValue())));
-        return builder.entity(loadInMemory(source)).build();
+        return builder;
     }
 
     // to be cache friendly
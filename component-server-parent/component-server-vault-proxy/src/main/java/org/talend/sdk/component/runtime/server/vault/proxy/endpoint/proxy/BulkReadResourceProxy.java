@@ -46,7 +46,7 @@ public class BulkReadResourceProxy {
     @Produces(APPLICATION_JSON)
     public CompletionStage<Response> bulk(final InputStream payload) {
         return forwarder
-                .forward(payload,
+                .stream(payload,
                         response -> Response
                                 .fromResponse(response)
                                 .header("Talend-Vault-Cache", "false")
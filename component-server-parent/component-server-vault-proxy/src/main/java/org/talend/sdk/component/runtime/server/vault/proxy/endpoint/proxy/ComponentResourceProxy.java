@@ -91,7 +91,7 @@ public class ComponentResourceProxy {
     @Path("dependency/{id}")
     @Produces(MediaType.APPLICATION_OCTET_STREAM)
     public CompletionStage<Response> getDependency() {
-        return handler.forward();
+        return handler.stream(); // jars can be big and are not cached
     }
 
     @GET
@@ -53,14 +53,14 @@ public class MetricsResourceProxy {
     @Produces(MediaType.TEXT_PLAIN)
     public CompletionStage<Response> getText(@Context final SecurityContext securityContext,
             @Context final UriInfo uriInfo) {
-        return forwarder.forward("proxy/");
+        return forwarder.stream("proxy/");
     }
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<Response> getJson(@Context final SecurityContext securityContext,
             @Context final UriInfo uriInfo) {
-        return forwarder.forward("proxy/");
+        return forwarder.stream("proxy/");
     }
 
     @GET
@@ -68,7 +68,7 @@ public class MetricsResourceProxy {
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<Response> getJson(@PathParam("registry") final String registry,
             @Context final SecurityContext securityContext, @Context final UriInfo uriInfo) {
-        return forwarder.forward("proxy/");
+        return forwarder.stream("proxy/");
     }
 
     @GET
@@ -76,7 +76,7 @@ public class MetricsResourceProxy {
     @Produces(MediaType.TEXT_PLAIN)
     public CompletionStage<Response> getText(@PathParam("registry") final String registry,
             @Context final SecurityContext securityContext, @Context final UriInfo uriInfo) {
-        return forwarder.forward("proxy/");
+        return forwarder.stream("proxy/");
     }
 
     @GET
@@ -85,7 +85,7 @@ public class MetricsResourceProxy {
     public CompletionStage<Response> getJson(@PathParam("registry") final String registry,
             @PathParam("metric") final String name, @Context final SecurityContext securityContext,
             @Context final UriInfo uriInfo) {
-        return forwarder.forward("proxy/");
+        return forwarder.stream("proxy/");
     }
 
     @GET
@@ -94,7 +94,7 @@ public class MetricsResourceProxy {
     public CompletionStage<Response> getText(@PathParam("registry") final String registry,
             @PathParam("metric") final String name, @Context final SecurityContext securityContext,
             @Context final UriInfo uriInfo) {
-        return forwarder.forward("proxy/");
+        return forwarder.stream("proxy/");
     }
 
     @OPTIONS
@@ -103,7 +103,7 @@ public class MetricsResourceProxy {
     public CompletionStage<Response> getMetadata(@PathParam("registry") final String registry,
             @PathParam("metric") final String name, @Context final SecurityContext securityContext,
             @Context final UriInfo uriInfo) {
-        return forwarder.forward("proxy/");
+        return forwarder.stream("proxy/");
     }
 
     @OPTIONS
@@ -111,7 +111,7 @@ public class MetricsResourceProxy {
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<Response> getMetadata(@PathParam("registry") final String registry,
             @Context final SecurityContext securityContext, @Context final UriInfo uriInfo) {
-        return forwarder.forward("proxy/");
+        return forwarder.stream("proxy/");
     }
 
 }
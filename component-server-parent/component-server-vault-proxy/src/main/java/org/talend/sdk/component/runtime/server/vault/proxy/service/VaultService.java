@@ -31,12 +31,12 @@ import java.time.Clock;
 import java.util.Base64;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -64,6 +64,7 @@ import javax.ws.rs.core.Response;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.talend.sdk.component.runtime.server.vault.proxy.configuration.Documentation;
 import org.talend.sdk.component.runtime.server.vault.proxy.service.http.Http;
+import org.talend.sdk.component.runtime.server.vault.proxy.service.jcache.CacheConfigurationFactory;
 import org.talend.sdk.component.server.front.model.ErrorDictionary;
 import org.talend.sdk.component.server.front.model.error.ErrorPayload;
 
@@ -129,6 +130,42 @@ public class VaultService {
     @ConfigProperty(name = "talend.vault.cache.service.decipher.skip.regex", defaultValue = "vault\\:v[0-9]+\\:.*")
     private String passthroughRegex;
 
+    @Inject
+    @Documentation("Maximum number of values sent to vault in a single decrypt call, "
+            + "values missing in the cache for concurrent requests of the same tenant are deciphered together.")
+    @ConfigProperty(name = "talend.vault.cache.service.decipher.batch.maxSize", defaultValue = "128")
+    private Integer decipherBatchMaxSize;
+
+    @Inject
+    @Documentation("How long (in ms) to wait for other requests to join a decrypt call before sending it, "
+            + "`0` sends it immediately but still shares the values being deciphered between the requests.")
+    @ConfigProperty(name = "talend.vault.cache.service.decipher.batch.maxDelay", defaultValue = "2")
+    private Long decipherBatchMaxDelay;
+
+    @Inject
+    @Documentation("Should the frequently used values be deciphered again before they expire from the cache.")
+    @ConfigProperty(name = "talend.vault.cache.service.refreshAhead.active", defaultValue = "true")
+    private Boolean refreshAheadActive;
+
+    @Inject
+    @Documentation("How often (in ms) the cached values close to their expiry are refreshed.")
+    @ConfigProperty(name = "talend.vault.cache.service.refreshAhead.period", defaultValue = "30000")
+    private Long refreshAheadPeriod;
+
+    @Inject
+    @Documentation("The fraction of the cache expiry after which a frequently used value is refreshed.")
+    @ConfigProperty(name = "talend.vault.cache.service.refreshAhead.ratio", defaultValue = "0.8")
+    private Double refreshAheadRatio;
+
+    @Inject
+    @Documentation("Minimum number of accesses to a cached value since the previous refresh check "
+            + "for it to be refreshed.")
+    @ConfigProperty(name = "talend.vault.cache.service.refreshAhead.minAccesses", defaultValue = "2")
+    private Integer refreshAheadMinAccesses;
+
+    @Inject
+    private CacheConfigurationFactory cacheConfiguration;
+
     @Inject
     private Cache<String, DecryptedValue> cache;
 
@@ -137,10 +174,16 @@ public class VaultService {
 
     private final AtomicReference<Authentication> authToken = new AtomicReference<>();
 
+    private final AtomicReference<CompletableFuture<Authentication>> pendingAuth = new AtomicReference<>();
+
     private ScheduledExecutorService scheduledExecutorService;
 
     private Pattern compiledPassthroughRegex;
 
+    private MicroBatcher<DecryptBatch, DecryptResult> batcher;
+
+    private RefreshAheadTracker refreshAhead;
+
     @PostConstruct
     private void init() {
         compiledPassthroughRegex = Pattern.compile(passthroughRegex);
@@ -170,8 +213,12 @@ public class VaultService {
 
     private CompletionStage<List<DecryptedValue>> doDecipher(final Collection<String> values, final long currentTime,
             final HttpHeaders headers) {
+        final String tenant = headers.getHeaderString("x-talend-tenant-id");
         final Map<String, Optional<DecryptedValue>> alreadyCached =
                 new HashSet<>(values).stream().collect(toMap(identity(), it -> ofNullable(cache.get(it))));
+        if (refreshAhead != null) {
+            alreadyCached.keySet().forEach(it -> refreshAhead.onAccess(it, tenant));
+        }
         final Collection<String> missing = alreadyCached
                 .entrySet()
                 .stream()
@@ -183,31 +230,13 @@ public class VaultService {
         }
         return getOrRequestAuth()
                 .thenCompose(auth -> ofNullable(auth.getAuth()).map(Auth::getClientToken).map(clientToken -> {
-                    WebTarget path = vault.path(decryptEndpoint);
-                    if (decryptEndpoint.contains("x-talend-tenant-id")) {
-                        path = path
-                                .resolveTemplate("x-talend-tenant-id",
-                                        ofNullable(headers.getHeaderString("x-talend-tenant-id"))
-                                                .orElseThrow(() -> new WebApplicationException(Response
-                                                        .status(Response.Status.BAD_REQUEST)
-                                                        .entity("{\"message\":\"No header x-talend-tenant-id\"}")
-                                                        .build())));
-                    }
-                    return path
-                            .request(APPLICATION_JSON_TYPE)
-                            .header("X-Vault-Token", clientToken)
-                            .rx()
-                            .post(entity(new DecryptRequest(
-                                    missing.stream().map(it -> new DecryptInput(it, null, null)).collect(toList())),
-                                    APPLICATION_JSON_TYPE), DecryptResponse.class)
-                            .toCompletableFuture()
+                    final WebTarget path = findDecryptPath(tenant);
+                    return batcher
+                            .submit(path.getUri().toString(), new DecryptBatch(path, clientToken, currentTime), missing)
                             .thenApply(decrypted -> {
-                                final Collection<DecryptResult> results = decrypted.getData().getBatchResults();
-                                if (results.isEmpty()) {
-                                    throw new WebApplicationException(Response.Status.FORBIDDEN);
-                                }
-                                final List<String> errors = results
+                                final List<String> errors = missing
                                         .stream()
+                                        .map(decrypted::get)
                                         .map(DecryptResult::getError)
                                         .filter(Objects::nonNull)
                                         .collect(toList());
@@ -219,16 +248,10 @@ public class VaultService {
                                             .build());
                                 }
 
-                                final Iterator<String> keyIterator = missing.iterator();
-                                final Map<String, DecryptedValue> decryptedResults = results
+                                // already cached by the batch, see sendDecryptBatch
+                                final Map<String, DecryptedValue> decryptedResults = missing
                                         .stream()
-                                        .map(it -> new String(Base64.getDecoder().decode(it.getPlaintext()),
-                                                StandardCharsets.UTF_8))
-                                        .collect(toMap(it -> keyIterator.next(),
-                                                it -> new DecryptedValue(it, currentTime)));
-
-                                cache.putAll(decryptedResults);
-
+                                        .collect(toMap(identity(), it -> toValue(decrypted.get(it), currentTime)));
                                 return values
                                         .stream()
                                         .map(it -> decryptedResults
@@ -237,7 +260,10 @@ public class VaultService {
                             })
                             .exceptionally(e -> { // we don't cache failure for now since it is not supposed to
                                                   // happen
-                                final Throwable cause = e.getCause();
+                                final Throwable cause =
+                                        CompletionException.class.isInstance(e) && e.getCause() != null
+                                                ? e.getCause()
+                                                : e;
                                 String debug = "";
                                 if (WebApplicationException.class.isInstance(cause)) {
                                     final WebApplicationException wae = WebApplicationException.class.cast(cause);
@@ -273,6 +299,89 @@ public class VaultService {
                 }).orElseThrow(() -> new WebApplicationException(Response.Status.FORBIDDEN)));
     }
 
+    private WebTarget findDecryptPath(final String tenant) {
+        final WebTarget path = vault.path(decryptEndpoint);
+        if (!decryptEndpoint.contains("x-talend-tenant-id")) {
+            return path;
+        }
+        return path
+                .resolveTemplate("x-talend-tenant-id",
+                        ofNullable(tenant)
+                                .orElseThrow(() -> new WebApplicationException(Response
+                                        .status(Response.Status.BAD_REQUEST)
+                                        .entity("{\"message\":\"No header x-talend-tenant-id\"}")
+                                        .build())));
+    }
+
+    // deciphers again the hot values close to their expiry so the requests using them never wait for vault
+    private void refreshAhead() {
+        final long now = clock.millis();
+        final long refreshAge = (long) (cacheConfiguration.expiry() * refreshAheadRatio);
+        refreshAhead
+                .collect(now, refreshAge, refreshAheadMinAccesses,
+                        key -> ofNullable(cache.get(key)).map(DecryptedValue::getCreated).orElse(-1L))
+                .forEach((tenant, ciphers) -> refresh(tenant, ciphers, now));
+    }
+
+    private void refresh(final String tenant, final Collection<String> ciphers, final long currentTime) {
+        log.debug("[refresh] {} values to decipher again", ciphers.size());
+        final CompletionStage<Map<String, DecryptResult>> decrypted;
+        try {
+            decrypted = getOrRequestAuth().thenCompose(auth -> {
+                if (auth == null || auth.getAuth() == null) {
+                    throw new IllegalStateException("Not authenticated to vault");
+                }
+                final WebTarget path = findDecryptPath(tenant);
+                return batcher
+                        .submit(path.getUri().toString(), new DecryptBatch(path, auth.getAuth().getClientToken(),
+                                currentTime), ciphers);
+            });
+        } catch (final RuntimeException re) {
+            log.warn("Can't refresh cached values: {}", re.getMessage());
+            return;
+        }
+        // the batch updates the cached values in place (restarting their expiry), the failed ones are kept until
+        // they expire
+        decrypted.exceptionally(e -> {
+            log.warn("Can't refresh cached values: {}", e.getMessage());
+            return null;
+        });
+    }
+
+    // sends the ciphers missing in the cache of concurrent requests at once, see MicroBatcher
+    private CompletionStage<List<DecryptResult>> sendDecryptBatch(final DecryptBatch batch,
+            final List<String> ciphers) {
+        log.debug("[sendDecryptBatch] {} values to decipher", ciphers.size());
+        return batch.path
+                .request(APPLICATION_JSON_TYPE)
+                .header("X-Vault-Token", batch.clientToken)
+                .rx()
+                .post(entity(
+                        new DecryptRequest(ciphers.stream().map(it -> new DecryptInput(it, null, null)).collect(toList())),
+                        APPLICATION_JSON_TYPE), DecryptResponse.class)
+                .thenApply(decrypted -> {
+                    // same order than the inputs
+                    final List<DecryptResult> results = decrypted.getData().getBatchResults();
+                    if (results.isEmpty()) {
+                        throw new WebApplicationException(Response.Status.FORBIDDEN);
+                    }
+                    // cached before the batch completes and leaves the in-flight ones so a concurrent request
+                    // either joins the batch or finds the values in the cache
+                    for (int i = 0; i < Math.min(ciphers.size(), results.size()); i++) {
+                        final DecryptResult result = results.get(i);
+                        if (result.getError() == null && result.getPlaintext() != null) {
+                            cache.put(ciphers.get(i), toValue(result, batch.currentTime));
+                        }
+                    }
+                    return results;
+                });
+    }
+
+    private DecryptedValue toValue(final DecryptResult result, final long currentTime) {
+        return new DecryptedValue(new String(Base64.getDecoder().decode(result.getPlaintext()), StandardCharsets.UTF_8),
+                currentTime);
+    }
+
     public void init(@Observes @Initialized(ApplicationScoped.class) final ServletContext init) {
         scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
 
@@ -293,6 +402,13 @@ public class VaultService {
             }
         });
         // note: by default we start without the token so no: scheduledExecutorService.submit(this::getOrRequestAuth);
+        batcher = new MicroBatcher<>(Math.max(1, decipherBatchMaxSize), decipherBatchMaxDelay,
+                scheduledExecutorService, this::sendDecryptBatch);
+        if (refreshAheadActive && refreshAheadPeriod > 0) {
+            refreshAhead = new RefreshAheadTracker(cacheConfiguration.maxSize());
+            scheduledExecutorService
+                    .scheduleAtFixedRate(this::refreshAhead, refreshAheadPeriod, refreshAheadPeriod, MILLISECONDS);
+        }
     }
 
     @PreDestroy
@@ -311,7 +427,7 @@ public class VaultService {
             authInfo.setClientToken(value);
             authInfo.setLeaseDuration(Long.MAX_VALUE);
             authInfo.setRenewable(false);
-            return completedFuture(new Authentication(authInfo, Long.MAX_VALUE));
+            return completedFuture(new Authentication(authInfo, Long.MAX_VALUE, Long.MAX_VALUE));
         }).orElseGet(() -> {
             final String role = of(this.role.get()).filter(this::isReloadableConfigSet).orElse(null);
             if (role == null) {
@@ -321,13 +437,44 @@ public class VaultService {
                         .entity(new ErrorPayload(ErrorDictionary.UNEXPECTED, "Vault not reachable"))
                         .build());
             }
-            return ofNullable(authToken.get())
-                    .filter(auth -> (auth.getExpiresAt() - clock.millis()) <= refreshDelayMargin) // is expired
-                    .map(CompletableFuture::completedFuture)
-                    .orElseGet(() -> doAuth(role).toCompletableFuture());
+            final Authentication current = authToken.get();
+            final long now = clock.millis();
+            if (current == null || current.getExpiresAt() <= now) {
+                return refreshAuth(role);
+            }
+            if (current.getRefreshAt() <= now) { // background refresh missed, renew but keep using the valid token
+                refreshAuth(role);
+            }
+            return completedFuture(current);
         });
     }
 
+    // a single authentication at a time, concurrent callers share it
+    private CompletableFuture<Authentication> refreshAuth(final String role) {
+        final CompletableFuture<Authentication> pending = new CompletableFuture<>();
+        final CompletableFuture<Authentication> existing = pendingAuth.get();
+        if (existing != null) {
+            return existing;
+        }
+        if (!pendingAuth.compareAndSet(null, pending)) {
+            return ofNullable(pendingAuth.get()).orElseGet(() -> refreshAuth(role));
+        }
+        try {
+            doAuth(role).whenComplete((authentication, error) -> {
+                pendingAuth.compareAndSet(pending, null);
+                if (error != null) {
+                    pending.completeExceptionally(error);
+                } else {
+                    pending.complete(authentication);
+                }
+            });
+        } catch (final RuntimeException re) {
+            pendingAuth.compareAndSet(pending, null);
+            pending.completeExceptionally(re);
+        }
+        return pending;
+    }
+
     private CompletionStage<Authentication> doAuth(final String role) {
         log.info("Authenticating to vault");
         return vault
@@ -351,12 +498,15 @@ public class VaultService {
                         log.info("Authenticated to vault");
                     }
 
-                    final long validityMargin = TimeUnit.SECONDS.toMillis(token.getAuth().getLeaseDuration());
-                    final long nextRefresh = clock.millis() + validityMargin - refreshDelayMargin;
-                    final Authentication authentication = new Authentication(token.getAuth(), nextRefresh);
+                    final long validity = TimeUnit.SECONDS.toMillis(token.getAuth().getLeaseDuration());
+                    // renew before the expiry, if the lease is shorter than the margin renew at half of it
+                    final long refreshIn = validity > refreshDelayMargin ? validity - refreshDelayMargin : validity / 2;
+                    final long now = clock.millis();
+                    final Authentication authentication =
+                            new Authentication(token.getAuth(), now + refreshIn, now + validity);
                     authToken.set(authentication);
                     if (!scheduledExecutorService.isShutdown() && token.getAuth().isRenewable()) {
-                        scheduledExecutorService.schedule(() -> doAuth(role), nextRefresh, MILLISECONDS);
+                        scheduledExecutorService.schedule(() -> refreshAuth(role), refreshIn, MILLISECONDS);
                     }
                     return authentication;
                 })
@@ -402,7 +552,7 @@ public class VaultService {
                         }
                     }
                     log.error("Failed to authenticate to vault, retrying, debug='" + debug + "'", e);
-                    scheduledExecutorService.schedule(() -> doAuth(role), refreshDelayOnFailure, MILLISECONDS);
+                    scheduledExecutorService.schedule(() -> refreshAuth(role), refreshDelayOnFailure, MILLISECONDS);
                     return null;
                 });
     }
@@ -454,7 +604,7 @@ public class VaultService {
     public static class DecryptData {
 
         @JsonbProperty("batch_results")
-        private Collection<DecryptResult> batchResults;
+        private List<DecryptResult> batchResults;
     }
 
     @Data
@@ -492,9 +642,21 @@ public class VaultService {
 
         private final Auth auth;
 
+        private final long refreshAt;
+
         private final long expiresAt;
     }
 
+    @RequiredArgsConstructor
+    private static class DecryptBatch {
+
+        private final WebTarget path;
+
+        private final String clientToken;
+
+        private final long currentTime;
+    }
+
     @RequiredArgsConstructor
     private static class EntryWithIndex<T> {
 
@@ -62,7 +62,14 @@ public class CacheConfigurationFactory {
                         new FactoryBuilder.SingletonFactory<>(listener), null, false, false));
     }
 
-    int maxSize() {
+    public int maxSize() {
         return maxCacheSize;
     }
+
+    /**
+     * @return the time to live of the cached values in milliseconds.
+     */
+    public long expiry() {
+        return SECONDS.toMillis(cacheExpiry);
+    }
 }
@@ -15,6 +15,8 @@
  */
 package org.talend.sdk.component.runtime.server.vault.proxy.service.jcache;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
 import java.io.IOException;
 import java.io.StringReader;
 import java.net.URI;
@@ -24,6 +26,10 @@ import java.util.Properties;
 import javax.cache.Cache;
 import javax.cache.CacheManager;
 import javax.cache.Caching;
+import javax.cache.configuration.CompleteConfiguration;
+import javax.cache.configuration.MutableConfiguration;
+import javax.cache.expiry.Duration;
+import javax.cache.expiry.ModifiedExpiryPolicy;
 import javax.cache.spi.CachingProvider;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Disposes;
@@ -81,9 +87,14 @@ public class JCacheSetup {
     @ApplicationScoped
     public Cache<String, DecryptedValue> cache(final CacheManager manager) {
         final CacheSizeManager<String, DecryptedValue> listener = new CacheSizeManager<>(cacheConfiguration.maxSize());
+        final MutableConfiguration<String, DecryptedValue> configuration = new MutableConfiguration<>(
+                CompleteConfiguration.class.cast(cacheConfiguration.createConfiguration(listener)));
+        // refreshed ahead values are updated in place, the update must restart their expiry
+        configuration
+                .setExpiryPolicyFactory(
+                        ModifiedExpiryPolicy.factoryOf(new Duration(MILLISECONDS, cacheConfiguration.expiry())));
         final Cache<String, DecryptedValue> cache = manager
-                .createCache("org.talend.sdk.component.runtime.server.vault.DECRYPTED_VALUES",
-                        cacheConfiguration.createConfiguration(listener));
+                .createCache("org.talend.sdk.component.runtime.server.vault.DECRYPTED_VALUES", configuration);
         listener.accept(cache);
         return cache;
     }
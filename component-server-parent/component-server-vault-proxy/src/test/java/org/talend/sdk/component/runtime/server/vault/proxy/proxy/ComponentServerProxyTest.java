@@ -23,9 +23,12 @@ import static java.util.stream.Collectors.joining;
 import static javax.ws.rs.client.Entity.entity;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static javax.ws.rs.core.MediaType.APPLICATION_OCTET_STREAM_TYPE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.talend.sdk.component.runtime.server.vault.proxy.service.http.Http.Type.TALEND_COMPONENT_KIT;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
@@ -35,6 +38,7 @@ import javax.ws.rs.client.Client;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
 
 import org.apache.meecrowave.Meecrowave;
 import org.apache.meecrowave.junit5.MonoMeecrowaveConfig;
@@ -190,6 +194,30 @@ class ComponentServerProxyTest {
                         .collect(joining("\n")));
     }
 
+    @Test
+    void streamedDependency() throws IOException {
+        final int size = 3 * 1024 * 1024 + 7;
+        final Response response = base()
+                .path("api/v1/component/dependency/{id}")
+                .resolveTemplate("id", "test:dep:1.0")
+                .queryParam("size", size)
+                .request(APPLICATION_OCTET_STREAM_TYPE)
+                .get();
+        assertEquals(200, response.getStatus());
+        long total = 0;
+        try (final InputStream stream = response.readEntity(InputStream.class)) {
+            final byte[] buffer = new byte[1024];
+            int read;
+            while ((read = stream.read(buffer)) >= 0) {
+                for (int i = 0; i < read; i++) {
+                    assertEquals((byte) ((total + i) / 1024), buffer[i]);
+                }
+                total += read;
+            }
+        }
+        assertEquals(size, total);
+    }
+
     private WebTarget base() {
         return client.target("http://localhost:" + serverConfig.getHttpPort());
     }
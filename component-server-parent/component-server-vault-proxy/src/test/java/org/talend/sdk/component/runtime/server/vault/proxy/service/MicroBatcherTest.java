@@ -0,0 +1,111 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.server.vault.proxy.service;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.jupiter.api.Test;
+
+class MicroBatcherTest {
+
+    @Test
+    void coalesceConcurrentCalls() {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final Collection<List<String>> calls = new ArrayList<>();
+            final MicroBatcher<String, String> batcher =
+                    new MicroBatcher<>(10, 100, scheduler, (context, items) -> {
+                        synchronized (calls) {
+                            calls.add(items);
+                        }
+                        return completedFuture(items.stream().map(it -> context + it).collect(toList()));
+                    });
+            final CompletableFuture<Map<String, String>> first = batcher.submit("t1", ">", asList("a", "b"));
+            final CompletableFuture<Map<String, String>> second = batcher.submit("t1", "?", asList("b", "c"));
+            final CompletableFuture<Map<String, String>> other = batcher.submit("t2", "#", asList("a"));
+            assertFalse(first.isDone());
+
+            assertEquals(">a", first.join().get("a"));
+            assertEquals(">b", first.join().get("b"));
+            assertEquals(">b", second.join().get("b")); // shared with the first call
+            assertEquals(">c", second.join().get("c")); // context of the batch creator
+            assertEquals("#a", other.join().get("a"));
+            assertEquals(2, calls.size());
+            assertEquals(asList("a", "b", "c"), calls.iterator().next());
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void flushWhenFull() {
+        final Collection<List<String>> calls = new ArrayList<>();
+        final MicroBatcher<String, String> batcher = new MicroBatcher<>(2, 60000, null, (context, items) -> {
+            calls.add(items);
+            return completedFuture(items);
+        });
+        // no scheduler means no delay, each submission is sent right away (but still by chunks of 2)
+        assertEquals("c", batcher.submit("t", "", asList("a", "b", "c")).join().get("c"));
+        assertEquals(asList(asList("a", "b"), asList("c")), calls);
+    }
+
+    @Test
+    void propagateFailures() {
+        final MicroBatcher<String, String> batcher = new MicroBatcher<>(10, 0, null, (context, items) -> {
+            final CompletableFuture<List<String>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IllegalStateException("vault is down"));
+            return failed;
+        });
+        final CompletionException error =
+                assertThrows(CompletionException.class, () -> batcher.submit("t", "", asList("a")).join());
+        assertEquals("vault is down", error.getCause().getMessage());
+    }
+
+    @Test
+    void inFlightUntilSent() {
+        final Collection<CompletableFuture<List<String>>> calls = new ArrayList<>();
+        final MicroBatcher<String, String> batcher = new MicroBatcher<>(10, 0, null, (context, items) -> {
+            final CompletableFuture<List<String>> response = new CompletableFuture<>();
+            calls.add(response);
+            return response;
+        });
+        final CompletableFuture<Map<String, String>> first = batcher.submit("t", "", asList("a"));
+        final CompletableFuture<Map<String, String>> second = batcher.submit("t", "", asList("a"));
+        assertEquals(1, calls.size()); // joined the pending call
+
+        calls.iterator().next().complete(asList("1"));
+        assertEquals("1", first.join().get("a"));
+        assertEquals("1", second.join().get("a"));
+
+        // released once sent, a new submission triggers a new call
+        batcher.submit("t", "", asList("a"));
+        assertEquals(2, calls.size());
+    }
+}
@@ -38,6 +38,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.talend.sdk.component.server.front.model.ActionItem;
 import org.talend.sdk.component.server.front.model.ActionList;
@@ -111,6 +112,19 @@ public class ComponentServerMock {
         return out;
     }
 
+    @GET
+    @Path("component/dependency/{id}")
+    @Produces(MediaType.APPLICATION_OCTET_STREAM)
+    public StreamingOutput dependency(@PathParam("id") final String id, @QueryParam("size") final int size) {
+        return output -> {
+            final byte[] chunk = new byte[1024];
+            for (int i = 0; i < size; i += chunk.length) {
+                Arrays.fill(chunk, (byte) (i / chunk.length));
+                output.write(chunk, 0, Math.min(chunk.length, size - i));
+            }
+        };
+    }
+
     @POST
     @Path("bulk")
     public BulkResponses execute(final BulkRequests requests) {
@@ -140,6 +140,46 @@ public class ComponentServerConfiguration {
     @ConfigProperty(name = "talend.component.server.cache.maxSize", defaultValue = "1000")
     private Integer maxCacheSize;
 
+    @Inject
+    @Documentation("Should the serialized responses of the cached metadata endpoints (index, detail) be cached too. "
+            + "When active, the JSON payload and its gzip variant are kept in memory, responses get a strong `ETag` "
+            + "derived from the deployed plugins and conditional requests (`If-None-Match`) are answered with a "
+            + "`304` without computing the model.")
+    @ConfigProperty(name = "talend.component.server.cache.response.active", defaultValue = "true")
+    private Boolean responseCacheActive;
+
+    @Inject
+    @Documentation("Maximum estimated size (in bytes) of the values a front cache (one per cached method) can store, "
+            + "the least recently used entries are evicted when it is exceeded.")
+    @ConfigProperty(name = "talend.component.server.cache.maxBytes", defaultValue = "33554432")
+    private Long maxCacheBytes;
+
+    @Inject
+    @Documentation("Overrides `talend.component.server.cache.maxBytes` per cached method, "
+            + "it uses the properties format where the key is the method name, "
+            + "for example `getIndex = 67108864`.")
+    @ConfigProperty(name = "talend.component.server.cache.maxBytesPerCache")
+    private Optional<String> maxCacheBytesPerCache;
+
+    @Inject
+    @Documentation("Maximum size (in bytes, identity and gzip variants) of the serialized responses kept in memory, "
+            + "the least recently used entries are evicted when it is exceeded.")
+    @ConfigProperty(name = "talend.component.server.cache.response.maxBytes", defaultValue = "67108864")
+    private Long responseCacheMaxBytes;
+
+    @Inject
+    @Documentation("Size (in bytes) from which a serialized response is stored off-heap (direct memory) "
+            + "instead of in the heap, a negative value disables the off-heap storage.")
+    @ConfigProperty(name = "talend.component.server.cache.response.offHeapThreshold", defaultValue = "-1")
+    private Integer responseCacheOffHeapThreshold;
+
+    @Inject
+    @Documentation("If set, the serialized responses are also stored (gzipped) in this directory. "
+            + "Entries are scoped by a fingerprint of the deployed plugins so a restart with the same plugins "
+            + "starts with a warm cache, the entries of other fingerprints are deleted.")
+    @ConfigProperty(name = "talend.component.server.cache.response.disk.location")
+    private Optional<String> responseCacheDiskLocation;
+
     @Inject
     @Documentation("Should the lastUpdated timestamp value of `/environment` "
             + "endpoint be updated with server start time.")
@@ -162,6 +202,29 @@ public class ComponentServerConfiguration {
             defaultValue = "en*=en\nfr*=fr\nzh*=zh_CN\nja*=ja\nde*=de")
     private String localeMapping;
 
+    @Inject
+    @Documentation("Should the metadata (component index and details, configuration types, actions) be precomputed "
+            + "for all the languages of `talend.component.server.locale.mapping` at startup and after a deployment. "
+            + "When active, `/health/readiness` only reports the instance as ready once the startup warm-up is done.")
+    @ConfigProperty(name = "talend.component.server.warmup.active", defaultValue = "false")
+    private Boolean warmupActive;
+
+    @Inject
+    @Documentation("Number of threads used to warm up the metadata caches.")
+    @ConfigProperty(name = "talend.component.server.warmup.threads", defaultValue = "4")
+    private Integer warmupThreads;
+
+    @Inject
+    @Documentation("`Accept` header the warmed up entries are cached for, the cached metadata are keyed by request "
+            + "so only the requests sending the same `Accept` and `Accept-Encoding` headers use them.")
+    @ConfigProperty(name = "talend.component.server.warmup.accept", defaultValue = "application/json")
+    private String warmupAccept;
+
+    @Inject
+    @Documentation("`Accept-Encoding` header the warmed up entries are cached for, none if not set.")
+    @ConfigProperty(name = "talend.component.server.warmup.acceptEncoding")
+    private Optional<String> warmupAcceptEncoding;
+
     @Inject
     @Documentation("Should the plugins be un-deployed and re-deployed.")
     @ConfigProperty(name = "talend.component.server.plugins.reloading.active", defaultValue = "false")
@@ -186,6 +249,116 @@ public class ComponentServerConfiguration {
     @ConfigProperty(name = "talend.component.server.plugins.reloading.marker")
     private Optional<String> pluginsReloadFileMarker;
 
+    @Inject
+    @Documentation("When plugins re-loading is enabled, should only the added, removed or changed plugins - "
+            + "compared by the sha-256 digest of their artifact - be re-deployed. In this mode only the related "
+            + "cache entries are invalidated instead of all of them.")
+    @ConfigProperty(name = "talend.component.server.plugins.reloading.incremental", defaultValue = "false")
+    private Boolean pluginsReloadIncremental;
+
+    @Inject
+    @Documentation("Should the server run a class data sharing (AppCDS) training. When active, once plugins are "
+            + "deployed, all their classes are loaded and the server exits. Combined with "
+            + "`-XX:ArchiveClassesAtExit=/path/to/archive.jsa` (Java >= 13) it produces a dynamic archive which can "
+            + "then be used with `-XX:SharedArchiveFile=/path/to/archive.jsa` to reduce the startup time.")
+    @ConfigProperty(name = "talend.component.server.cds.training.active", defaultValue = "false")
+    private Boolean cdsTrainingActive;
+
+    @Inject
+    @Documentation("If set, the list of the classes loaded during the class data sharing training is dumped "
+            + "in this file (one class per line).")
+    @ConfigProperty(name = "talend.component.server.cds.training.classlist")
+    private Optional<String> cdsTrainingClassList;
+
+    @Inject
+    @Documentation("Should the server exit once the class data sharing training is done. "
+            + "It is required to let the JVM dump the archive.")
+    @ConfigProperty(name = "talend.component.server.cds.training.exit", defaultValue = "true")
+    private Boolean cdsTrainingExit;
+
+    @Inject
+    @Documentation("If set, a local directory where plugin archives are stored by content (sha-256). "
+            + "Nested plugin dependencies are then read from there instead of being loaded in memory and "
+            + "dependency downloads are served from there. It is intended to be shared by the server instances "
+            + "of a host running the same plugins.")
+    @ConfigProperty(name = "talend.component.server.archive.store")
+    private Optional<String> archiveStore;
+
+    @Inject
+    @Documentation("How actions are executed: `caller` executes them in the HTTP thread (no isolation nor timeout), "
+            + "`shared` uses a single bounded pool and `family` uses a bounded pool - a bulkhead - per component "
+            + "family so a slow connector can't exhaust the threads used by the others.")
+    @ConfigProperty(name = "talend.component.server.actions.executor.isolation", defaultValue = "caller")
+    private String actionsIsolation;
+
+    @Inject
+    @Documentation("Number of threads of an action pool (when isolation is not `caller`).")
+    @ConfigProperty(name = "talend.component.server.actions.executor.threads", defaultValue = "8")
+    private Integer actionsThreads;
+
+    @Inject
+    @Documentation("Number of actions which can wait for a thread in an action pool, "
+            + "once reached the server responds with a HTTP 503.")
+    @ConfigProperty(name = "talend.component.server.actions.executor.queue", defaultValue = "64")
+    private Integer actionsQueueSize;
+
+    @Inject
+    @Documentation("Default timeout (in ms) of an action execution when isolation is not `caller`, "
+            + "a negative or null value means no timeout.")
+    @ConfigProperty(name = "talend.component.server.actions.executor.timeout", defaultValue = "-1")
+    private Long actionsTimeout;
+
+    @Inject
+    @Documentation("Timeout per action type (in ms) using the properties format, "
+            + "for example `healthcheck=5000` and `suggestions=10000` on two lines.")
+    @ConfigProperty(name = "talend.component.server.actions.executor.timeouts")
+    private Optional<String> actionsTimeouts;
+
+    @Inject
+    @Documentation("Comma separated list of action types (`suggestions`, `dynamic_values`, `schema`...) for which "
+            + "concurrent identical invocations - same action, deciphered parameters, language and tenant - "
+            + "are coalesced: only one execution happens and all callers share its result.")
+    @ConfigProperty(name = "talend.component.server.actions.coalescing.types")
+    private Optional<String> actionsCoalescingTypes;
+
+    @Inject
+    @Documentation("Number of threads executing the sub-requests of a bulk request concurrently, "
+            + "when all threads are busy the sub-requests are executed in the calling thread. "
+            + "A negative or null value executes them sequentially in the calling thread.")
+    @ConfigProperty(name = "talend.component.server.bulk.threads", defaultValue = "8")
+    private Integer bulkThreads;
+
+    @Inject
+    @Documentation("Maximum number of in-flight multiplexed requests (`requestId` frame header) per WebSocket "
+            + "session, once reached the session messages are no more read until a request completes.")
+    @ConfigProperty(name = "talend.component.server.websocket.multiplexing.concurrency", defaultValue = "8")
+    private Integer webSocketMultiplexingConcurrency;
+
+    @Inject
+    @Documentation("Number of threads executing the multiplexed WebSocket requests of all sessions.")
+    @ConfigProperty(name = "talend.component.server.websocket.multiplexing.threads", defaultValue = "16")
+    private Integer webSocketMultiplexingThreads;
+
+    @Inject
+    @Documentation("Size (in bytes) from which a multiplexed WebSocket response payload is gzipped "
+            + "when the request frame has the `accept-compression: gzip` header.")
+    @ConfigProperty(name = "talend.component.server.websocket.multiplexing.compressionThreshold",
+            defaultValue = "1024")
+    private Integer webSocketMultiplexingCompressionThreshold;
+
+    @Inject
+    @Documentation("Timeout (in ms) of a multiplexed WebSocket request, once reached an error response is sent "
+            + "and the request does not count anymore in the session concurrency. "
+            + "A negative or null value means no timeout.")
+    @ConfigProperty(name = "talend.component.server.websocket.multiplexing.timeout", defaultValue = "60000")
+    private Long webSocketMultiplexingTimeout;
+
+    @Inject
+    @Documentation("Should the metrics (endpoint latencies, action durations, caches, plugin deployments...) "
+            + "be collected and exposed in the Prometheus format on `/api/v1/metrics`.")
+    @ConfigProperty(name = "talend.component.server.metrics.active", defaultValue = "true")
+    private Boolean metricsActive;
+
     @PostConstruct
     private void init() {
         if (logRequests != null && logRequests) {
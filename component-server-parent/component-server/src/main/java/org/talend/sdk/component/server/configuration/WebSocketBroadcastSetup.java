@@ -18,13 +18,20 @@ package org.talend.sdk.component.server.configuration;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static java.util.Locale.ENGLISH;
+import static java.util.Optional.ofNullable;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -34,9 +41,21 @@ import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import javax.enterprise.context.Dependent;
 import javax.enterprise.inject.Instance;
@@ -92,6 +111,7 @@ import org.talend.sdk.component.server.front.memory.SimpleServletConfig;
 
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 // ensure any JAX-RS command can use websockets
@@ -102,6 +122,12 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
 
     private static final String EOM = "^@";
 
+    private static final String REQUEST_ID = "requestId";
+
+    private static final String COMPRESSION = "compression";
+
+    private static final String ACCEPT_COMPRESSION = "accept-compression";
+
     @Inject
     private Bus bus;
 
@@ -111,6 +137,13 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
     @Inject
     private Instance<Application> applications;
 
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    private ThreadPoolExecutor multiplexingExecutor;
+
+    private ScheduledExecutorService multiplexingTimer;
+
     @Override
     public void contextInitialized(final ServletContextEvent sce) {
         final ServerContainer container =
@@ -144,6 +177,24 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
                 new ServiceListGeneratorServlet(registry, bus));
         webSocketRegistry.controller = controller;
 
+        final int threads = Math.max(1, configuration.getWebSocketMultiplexingThreads());
+        final AtomicInteger threadCounter = new AtomicInteger();
+        multiplexingExecutor = new ThreadPoolExecutor(threads, threads, 1, MINUTES, new LinkedBlockingQueue<>(), r -> {
+            final Thread thread = new Thread(r, "talend-component-server-websocket-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        multiplexingExecutor.allowCoreThreadTimeOut(true);
+        multiplexingTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "talend-component-server-websocket-timeout");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final Multiplexing multiplexing = new Multiplexing(multiplexingExecutor, multiplexingTimer,
+                Math.max(1, configuration.getWebSocketMultiplexingConcurrency()),
+                configuration.getWebSocketMultiplexingCompressionThreshold(),
+                configuration.getWebSocketMultiplexingTimeout());
+
         Stream
                 .concat(factory
                         .getClassResourceInfo()
@@ -174,7 +225,7 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
                                                                 ori.getConsumeTypes().iterator().next().toString()));
                                             }
                                             return (T) new JAXRSEndpoint(appBase, controller, servletContext,
-                                                    ori.getHttpMethod(), uri, headers);
+                                                    ori.getHttpMethod(), uri, headers, multiplexing);
                                         }
                                     })
                                     .build();
@@ -189,7 +240,7 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
                                                     throws InstantiationException {
 
                                                 return (T) new JAXRSEndpoint(appBase, controller, servletContext, "GET",
-                                                        "/", emptyMap());
+                                                        "/", emptyMap(), multiplexing);
                                             }
                                         })
                                         .build()))
@@ -204,6 +255,30 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
                 });
     }
 
+    @Override
+    public void contextDestroyed(final ServletContextEvent sce) {
+        if (multiplexingExecutor != null) {
+            multiplexingExecutor.shutdownNow();
+        }
+        if (multiplexingTimer != null) {
+            multiplexingTimer.shutdownNow();
+        }
+    }
+
+    @Data
+    private static class Multiplexing {
+
+        private final ExecutorService executor;
+
+        private final ScheduledExecutorService timer;
+
+        private final int concurrency;
+
+        private final int compressionThreshold;
+
+        private final long timeout;
+    }
+
     @Data
     @EqualsAndHashCode(callSuper = false)
     private static class JAXRSEndpoint extends Endpoint {
@@ -220,6 +295,8 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
 
         private final Map<String, List<String>> baseHeaders;
 
+        private final Multiplexing multiplexing;
+
         @Override
         public void onOpen(final Session session, final EndpointConfig endpointConfig) {
             log.debug("Opened session {}", session.getId());
@@ -285,6 +362,13 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
                     path = uri;
                 }
 
+                final List<String> requestIds = headers.get(REQUEST_ID);
+                if (requestIds != null && !requestIds.isEmpty()) {
+                    multiplex(session, requestIds.iterator().next(), method.toUpperCase(ENGLISH), headers, path,
+                            queryString, message);
+                    return;
+                }
+
                 try {
                     final InMemoryRequest request = new InMemoryRequest(method.toUpperCase(ENGLISH), headers, path,
                             appBase + path, appBase, queryString, 8080, context, new WebSocketInputStream(message),
@@ -331,6 +415,85 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
             log.debug("Closed session {}", session.getId());
         }
 
+        // the request is executed asynchronously and its response is sent as a single frame with the same requestId
+        private void multiplex(final Session session, final String requestId, final String method,
+                final Map<String, List<String>> headers, final String path, final String queryString,
+                final InputStream message) {
+            final byte[] payload;
+            try {
+                payload = readPayload(message, isGzip(headers.get(COMPRESSION)));
+            } catch (final IOException ioe) {
+                throw new IllegalStateException(ioe);
+            }
+
+            final Semaphore permits = Semaphore.class
+                    .cast(session
+                            .getUserProperties()
+                            .computeIfAbsent(Semaphore.class.getName(),
+                                    k -> new Semaphore(multiplexing.getConcurrency())));
+            try { // blocks the reading of this session until a request completes
+                permits.acquire();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            // the permit is released when the response is sent, an asynchronous response completes after invoke()
+            final MultiplexedExchange exchange = new MultiplexedExchange(session, requestId,
+                    isGzip(headers.get(ACCEPT_COMPRESSION)) ? multiplexing.getCompressionThreshold() : -1, permits);
+            if (multiplexing.getTimeout() > 0) { // a response never completed must not block the session
+                exchange.timeoutTask = multiplexing
+                        .getTimer()
+                        .schedule(() -> exchange.timeout(multiplexing.getTimeout()), multiplexing.getTimeout(),
+                                MILLISECONDS);
+            }
+            try {
+                multiplexing.getExecutor().execute(() -> {
+                    try {
+                        final InMemoryRequest request = new InMemoryRequest(method, headers, path, appBase + path,
+                                appBase, queryString, 8080, context,
+                                new MemoryInputStream(new ByteArrayInputStream(payload)), session::getUserPrincipal,
+                                controller);
+                        final InMemoryResponse response = exchange.newResponse();
+                        request.setResponse(response);
+                        controller.invoke(request, response);
+                    } catch (final Throwable t) {
+                        exchange.fail(t);
+                    }
+                });
+            } catch (final RejectedExecutionException ree) {
+                exchange.fail(ree);
+            }
+        }
+
+        private static boolean isGzip(final List<String> values) {
+            return values != null && values.stream().anyMatch(it -> it.toLowerCase(ENGLISH).contains("gzip"));
+        }
+
+        // multiplexed frames are read until the end of the websocket message since a gzip payload can contain EOM
+        private static byte[] readPayload(final InputStream message, final boolean gzip) throws IOException {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = message.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            final byte[] bytes = out.toByteArray();
+            final int length = bytes.length >= 2 && bytes[bytes.length - 2] == '^' && bytes[bytes.length - 1] == '@'
+                    ? bytes.length - 2
+                    : bytes.length;
+            if (!gzip) {
+                return length == bytes.length ? bytes : Arrays.copyOf(bytes, length);
+            }
+            out.reset();
+            try (final InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes, 0, length))) {
+                while ((read = in.read(buffer)) >= 0) {
+                    out.write(buffer, 0, read);
+                }
+            }
+            return out.toByteArray();
+        }
+
         @Override
         public void onError(final Session session, final Throwable throwable) {
             log.warn("Error for session {}", session.getId(), throwable);
@@ -355,6 +518,130 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
         }
     }
 
+    @RequiredArgsConstructor
+    private static class MultiplexedExchange {
+
+        private final Session session;
+
+        private final String requestId;
+
+        private final int compressionThreshold;
+
+        private final Semaphore permits;
+
+        private final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+
+        private final AtomicBoolean sent = new AtomicBoolean();
+
+        private volatile ScheduledFuture<?> timeoutTask;
+
+        private volatile int status = HttpServletResponse.SC_OK;
+
+        private volatile Map<String, List<String>> headers = emptyMap();
+
+        private InMemoryResponse newResponse() {
+            return new InMemoryResponse(session::isOpen, () -> {
+                // no-op, the response is sent once complete
+            }, bytes -> {
+                synchronized (payload) {
+                    payload.write(bytes, 0, bytes.length);
+                }
+            }, (responseStatus, responseHeaders) -> {
+                status = responseStatus;
+                headers = responseHeaders;
+                return "";
+            }) {
+
+                @Override
+                protected void onClosed() {
+                    send();
+                }
+            };
+        }
+
+        private void fail(final Throwable error) {
+            if (sent.get()) {
+                log.warn("Multiplexed request {} failed after its response was sent: {}", requestId,
+                        error.getMessage(), error);
+                return;
+            }
+            log.error("Multiplexed request {} failed: {}", requestId, error.getMessage(), error);
+            sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Request execution failed.");
+        }
+
+        private void timeout(final long duration) {
+            if (!sent.get()) {
+                log.warn("Multiplexed request {} did not complete after {}ms", requestId, duration);
+                sendError(HttpServletResponse.SC_GATEWAY_TIMEOUT, "Request execution timed out.");
+            }
+        }
+
+        private void sendError(final int errorStatus, final String description) {
+            if (sent.compareAndSet(false, true)) {
+                doSend(errorStatus, singletonMap(HttpHeaders.CONTENT_TYPE, singletonList("application/json")),
+                        ("{\"code\":\"UNEXPECTED\",\"description\":\"" + description + "\"}")
+                                .getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        private void send() {
+            if (!sent.compareAndSet(false, true)) {
+                return;
+            }
+            final byte[] body;
+            synchronized (payload) {
+                body = payload.toByteArray();
+            }
+            doSend(status, headers, body);
+        }
+
+        private void doSend(final int responseStatus, final Map<String, List<String>> responseHeaders,
+                final byte[] payloadBytes) {
+            ofNullable(timeoutTask).ifPresent(it -> it.cancel(false));
+            try {
+                byte[] body = payloadBytes;
+                final boolean compressed = compressionThreshold >= 0 && body.length > compressionThreshold;
+                if (compressed) {
+                    body = gzip(body);
+                }
+
+                final StringBuilder top = new StringBuilder("MESSAGE\r\n");
+                top.append(REQUEST_ID).append(": ").append(requestId).append("\r\n");
+                top.append("status: ").append(responseStatus).append("\r\n");
+                if (compressed) {
+                    top.append(COMPRESSION).append(": gzip\r\n");
+                }
+                responseHeaders
+                        .forEach((k, v) -> top.append(k).append(": ").append(String.join(",", v)).append("\r\n"));
+                top.append("\r\n");
+
+                final byte[] head = top.toString().getBytes(StandardCharsets.UTF_8);
+                final byte[] eom = EOM.getBytes(StandardCharsets.UTF_8);
+                final byte[] frame = new byte[head.length + body.length + eom.length];
+                System.arraycopy(head, 0, frame, 0, head.length);
+                System.arraycopy(body, 0, frame, head.length, body.length);
+                System.arraycopy(eom, 0, frame, head.length + body.length, eom.length);
+                synchronized (session) { // concurrent responses must not interleave their frames
+                    if (session.isOpen()) {
+                        session.getBasicRemote().sendBinary(ByteBuffer.wrap(frame));
+                    }
+                }
+            } catch (final IOException | RuntimeException e) {
+                log.warn("Can't send response of request {} for session {}", requestId, session.getId(), e);
+            } finally { // sent only once so released only once
+                permits.release();
+            }
+        }
+
+        private static byte[] gzip(final byte[] bytes) throws IOException {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(32, bytes.length / 4));
+            try (final GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(bytes);
+            }
+            return out.toByteArray();
+        }
+    }
+
     private static class WebSocketInputStream extends MemoryInputStream {
 
         private int previous = Integer.MAX_VALUE;
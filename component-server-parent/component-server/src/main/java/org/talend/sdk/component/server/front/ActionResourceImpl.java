@@ -26,7 +26,9 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Predicate;
@@ -35,6 +37,7 @@ import java.util.stream.Stream;
 import javax.cache.annotation.CacheDefaults;
 import javax.cache.annotation.CacheResult;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
@@ -52,10 +55,14 @@ import org.talend.sdk.component.server.front.model.ActionItem;
 import org.talend.sdk.component.server.front.model.ActionList;
 import org.talend.sdk.component.server.front.model.ErrorDictionary;
 import org.talend.sdk.component.server.front.model.error.ErrorPayload;
+import org.talend.sdk.component.server.service.ActionExecutor;
+import org.talend.sdk.component.server.service.ComponentManagerService;
 import org.talend.sdk.component.server.service.ExtensionComponentMetadataManager;
 import org.talend.sdk.component.server.service.LocaleMapper;
 import org.talend.sdk.component.server.service.PropertiesService;
+import org.talend.sdk.component.server.service.event.DeployedComponent;
 import org.talend.sdk.component.server.service.httpurlconnection.IgnoreNetAuthenticator;
+import org.talend.sdk.component.server.service.httpurlconnection.NetAuthenticatorController;
 import org.talend.sdk.component.server.service.jcache.FrontCacheKeyGenerator;
 import org.talend.sdk.component.server.service.jcache.FrontCacheResolver;
 import org.talend.sdk.components.vault.client.VaultClient;
@@ -90,6 +97,29 @@ public class ActionResourceImpl implements ActionResource {
     @Inject
     private VaultClient vault;
 
+    @Inject
+    private FrontCacheResolver cacheResolver;
+
+    @Inject
+    private ActionExecutor actionExecutor;
+
+    @Inject
+    private ComponentManagerService componentManagerService;
+
+    @Inject
+    private NetAuthenticatorController netAuthenticatorController;
+
+    public void clearCache(@Observes final DeployedComponent deployedComponent) {
+        if (deployedComponent.isIncremental()) {
+            // families parameter is the second one, no family means all families so it is impacted
+            final Predicate<Object[]> impacted = FrontCacheResolver.references(deployedComponent.getIdentifiers());
+            cacheResolver
+                    .evict(ActionResourceImpl.class, "getIndex",
+                            parameters -> parameters.length < 2 || !String[].class.isInstance(parameters[1])
+                                    || String[].class.cast(parameters[1]).length == 0 || impacted.test(parameters));
+        }
+    }
+
     @Override
     public CompletionStage<Response> execute(final String family, final String type, final String action,
             final String lang, final Map<String, String> params) {
@@ -129,39 +159,48 @@ public class ActionResourceImpl implements ActionResource {
 
     private CompletableFuture<Response> doExecuteLocalAction(final String family, final String type,
             final String action, final String lang, final Map<String, String> params) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (action == null) {
-                throw new WebApplicationException(Response
-                        .status(Response.Status.BAD_REQUEST)
-                        .entity(new ErrorPayload(ErrorDictionary.ACTION_MISSING, "Action can't be null"))
-                        .build());
-            }
-            final ServiceMeta.ActionMeta actionMeta = actionDao.findBy(family, type, action);
-            if (actionMeta == null) {
-                throw new WebApplicationException(Response
-                        .status(Response.Status.NOT_FOUND)
-                        .entity(new ErrorPayload(ErrorDictionary.ACTION_MISSING, "No action with id '" + action + "'"))
-                        .build());
-            }
+        if (action == null) {
+            return failed(new WebApplicationException(Response
+                    .status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorPayload(ErrorDictionary.ACTION_MISSING, "Action can't be null"))
+                    .build()));
+        }
+        // activates the plugin if it is lazily deployed and keeps it loaded while the action runs
+        final Optional<ComponentManager.PluginLease> lease = manager.leaseAction(family, type, action);
+        final ServiceMeta.ActionMeta actionMeta = actionDao.findBy(family, type, action);
+        if (actionMeta == null) {
+            lease.ifPresent(ComponentManager.PluginLease::close);
+            return failed(new WebApplicationException(Response
+                    .status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorPayload(ErrorDictionary.ACTION_MISSING, "No action with id '" + action + "'"))
+                    .build()));
+        }
+        // read the request state there since the action can be executed in another thread,
+        // check org.talend.sdk.component.server.service.ComponentManagerService.readCurrentLocale if you change it
+        final Locale locale = localeMapper.mapLocale(lang);
+        String tenant;
+        try {
+            tenant = headers.getHeaderString("x-talend-tenant-id");
+        } catch (Exception e) {
+            log.debug("[doExecuteLocalAction] context not applicable: {}", e.getMessage());
+            tenant = null;
+        }
+        final String tenantId = tenant;
+        final CompletableFuture<Response> execution = actionExecutor.execute(family, type, () -> {
             try {
                 final Map<String, String> runtimeParams = ofNullable(params).map(HashMap::new).orElseGet(HashMap::new);
-                runtimeParams.put("$lang", localeMapper.mapLocale(lang).getLanguage());
-                String tenant;
-                try {
-                    tenant = headers.getHeaderString("x-talend-tenant-id");
-                } catch (Exception e) {
-                    log.debug("[doExecuteLocalAction] context not applicable: {}", e.getMessage());
-                    tenant = null;
-                }
-                final Map<String, String> deciphered = vault.decrypt(runtimeParams, tenant);
-                final Object result = actionMeta.getInvoker().apply(deciphered);
+                runtimeParams.put("$lang", locale.getLanguage());
+                final Map<String, String> deciphered = vault.decrypt(runtimeParams, tenantId);
+                final Object result = actionExecutor
+                        .coalesce(family, type, action, tenantId, deciphered,
+                                () -> componentManagerService.withLocale(locale, () -> invoke(actionMeta, deciphered)));
                 return Response.ok(result).type(APPLICATION_JSON_TYPE).build();
-            } catch (final RuntimeException re) {
-                return onError(re);
+            } catch (final Throwable t) { // errors too, otherwise the request never completes
+                return onError(t);
             }
-            // synchronous, if needed we can move to async with timeout later but currently we don't want.
-            // check org.talend.sdk.component.server.service.ComponentManagerService.readCurrentLocale if you change it
-        }, Runnable::run).exceptionally(e -> {
+        });
+        execution.whenComplete((response, error) -> lease.ifPresent(ComponentManager.PluginLease::close));
+        return execution.exceptionally(e -> {
             final Throwable cause;
             if (ExecutionException.class.isInstance(e.getCause())) {
                 cause = e.getCause().getCause();
@@ -197,6 +236,22 @@ public class ActionResourceImpl implements ActionResource {
         });
     }
 
+    private Object invoke(final ServiceMeta.ActionMeta actionMeta, final Map<String, String> parameters) {
+        try {
+            return netAuthenticatorController.skipping(() -> actionMeta.getInvoker().apply(parameters));
+        } catch (final RuntimeException re) {
+            throw re;
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private CompletableFuture<Response> failed(final WebApplicationException error) {
+        final CompletableFuture<Response> result = new CompletableFuture<>();
+        result.completeExceptionally(new CompletionException(error));
+        return result;
+    }
+
     private Response onError(final Throwable re) {
         log.warn(re.getMessage(), re);
         if (WebApplicationException.class.isInstance(re.getCause())) {
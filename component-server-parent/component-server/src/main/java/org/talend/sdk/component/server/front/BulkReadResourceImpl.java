@@ -22,10 +22,12 @@ import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.Principal;
 import java.util.Collection;
@@ -33,21 +35,26 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.json.bind.Jsonb;
 import javax.servlet.ServletContext;
-import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.HttpMethod;
-import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import org.apache.cxf.Bus;
@@ -55,6 +62,7 @@ import org.apache.cxf.transport.http.DestinationRegistry;
 import org.apache.cxf.transport.servlet.ServletController;
 import org.apache.cxf.transport.servlet.servicelist.ServiceListGeneratorServlet;
 import org.talend.sdk.component.server.api.BulkReadResource;
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
 import org.talend.sdk.component.server.front.cxf.CxfExtractor;
 import org.talend.sdk.component.server.front.memory.InMemoryRequest;
 import org.talend.sdk.component.server.front.memory.InMemoryResponse;
@@ -72,7 +80,23 @@ import lombok.extern.slf4j.Slf4j;
 @ApplicationScoped
 public class BulkReadResourceImpl implements BulkReadResource {
 
-    private static final CompletableFuture[] EMPTY_PROMISES = new CompletableFuture[0];
+    private static final byte[] RESPONSES_START = "{\"responses\":[".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] RESPONSES_END = "]}".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] HEADERS_START = "{\"headers\":".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] RESPONSE_START = ",\"response\":".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] STATUS_START = ",\"status\":".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    // ascii form of each byte value, indexed by value - Byte.MIN_VALUE
+    private static final byte[][] BYTES = IntStream
+            .rangeClosed(Byte.MIN_VALUE, Byte.MAX_VALUE)
+            .mapToObj(it -> Integer.toString(it).getBytes(StandardCharsets.US_ASCII))
+            .toArray(byte[][]::new);
 
     @Inject
     private CxfExtractor cxf;
@@ -100,6 +124,11 @@ public class BulkReadResourceImpl implements BulkReadResource {
     @ComponentServer
     private Jsonb defaultMapper;
 
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    private ThreadPoolExecutor executor;
+
     private ServletController controller;
 
     private final String appPrefix = "/api/v1";
@@ -127,11 +156,29 @@ public class BulkReadResourceImpl implements BulkReadResource {
         controller = new ServletController(registry,
                 new SimpleServletConfig(servletContext, "Talend Component Kit Bulk Transport"),
                 new ServiceListGeneratorServlet(registry, bus));
+
+        final int threads = configuration.getBulkThreads() == null ? 0 : configuration.getBulkThreads();
+        if (threads > 0) {
+            final AtomicInteger counter = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES, new SynchronousQueue<>(), r -> {
+                final Thread thread = new Thread(r, "talend-component-server-bulk-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.allowCoreThreadTimeOut(true);
+        }
+    }
+
+    @PreDestroy
+    private void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
     }
 
     @Override
-    public CompletionStage<BulkResponses> bulk(final BulkRequests requests) {
-        final Collection<CompletableFuture<BulkResponses.Result>> responses =
+    public CompletionStage<StreamingOutput> bulk(final BulkRequests requests) {
+        final List<CompletableFuture<BulkResponses.Result>> responses =
                 ofNullable(requests.getRequests()).map(Collection::stream).orElseGet(Stream::empty).map(request -> {
                     if (isBlacklisted(request)) {
                         return completedFuture(forbiddenInBulkModeResponse);
@@ -140,23 +187,63 @@ public class BulkReadResourceImpl implements BulkReadResource {
                             || request.getPath().contains("?")) {
                         return completedFuture(invalidResponse);
                     }
-                    return doExecute(request, uriInfo);
+                    return doExecute(request, uriInfo).exceptionally(this::onError);
                 }).collect(toList());
-        return CompletableFuture
-                .allOf(responses.toArray(EMPTY_PROMISES))
-                .handle((ignored, error) -> new BulkResponses(responses.stream().map(it -> {
-                    try {
-                        return it.get();
-                    } catch (final InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        throw new IllegalStateException(e);
-                    } catch (final ExecutionException e) {
-                        throw new WebApplicationException(Response
-                                .serverError()
-                                .entity(new ErrorPayload(ErrorDictionary.UNEXPECTED, e.getMessage()))
-                                .build());
-                    }
-                }).collect(toList())));
+        // the sub-requests run concurrently, the results are written in the request order as soon as they are
+        // available and their payloads are copied as they are (no BulkResponses instance serialized by JSON-B)
+        final StreamingOutput output = out -> {
+            final OutputStream stream = new BufferedOutputStream(out, 8192);
+            stream.write(RESPONSES_START);
+            for (int i = 0; i < responses.size(); i++) {
+                if (i > 0) {
+                    stream.write(',');
+                }
+                writeResult(stream, responses.get(i).join());
+                stream.flush();
+            }
+            stream.write(RESPONSES_END);
+            stream.flush();
+        };
+        // the container thread is released until the first result is available
+        return responses.isEmpty() ? completedFuture(output) : responses.get(0).thenApply(first -> output);
+    }
+
+    // same layout than the JSON-B serialization of BulkResponses.Result (lexicographical order, binary as bytes)
+    private void writeResult(final OutputStream stream, final BulkResponses.Result result) throws IOException {
+        stream.write(HEADERS_START);
+        if (result.getHeaders() == null) {
+            stream.write(NULL);
+        } else {
+            stream.write(defaultMapper.toJson(result.getHeaders()).getBytes(StandardCharsets.UTF_8));
+        }
+        stream.write(RESPONSE_START);
+        final byte[] payload = result.getResponse();
+        if (payload == null) {
+            stream.write(NULL);
+        } else {
+            stream.write('[');
+            for (int i = 0; i < payload.length; i++) {
+                if (i > 0) {
+                    stream.write(',');
+                }
+                stream.write(BYTES[payload[i] - Byte.MIN_VALUE]);
+            }
+            stream.write(']');
+        }
+        stream.write(STATUS_START);
+        stream.write(Integer.toString(result.getStatus()).getBytes(StandardCharsets.US_ASCII));
+        stream.write('}');
+    }
+
+    private BulkResponses.Result onError(final Throwable failure) {
+        final Throwable error =
+                CompletionException.class.isInstance(failure) && failure.getCause() != null ? failure.getCause()
+                        : failure;
+        log.error(error.getMessage(), error);
+        return new BulkResponses.Result(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(), emptyMap(),
+                defaultMapper
+                        .toJson(new ErrorPayload(ErrorDictionary.UNEXPECTED, error.getMessage()))
+                        .getBytes(StandardCharsets.UTF_8));
     }
 
     private boolean isBlacklisted(final BulkRequests.Request request) {
@@ -208,16 +295,17 @@ public class BulkReadResourceImpl implements BulkReadResource {
             return "";
         });
         request.setResponse(response);
-        try {
-            controller.invoke(request, response);
-        } catch (final ServletException e) {
-            result.setStatus(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
-            result
-                    .setResponse(defaultMapper
-                            .toJson(new ErrorPayload(ErrorDictionary.UNEXPECTED, e.getMessage()))
-                            .getBytes(StandardCharsets.UTF_8));
-            promise.complete(result);
-            throw new IllegalStateException(e);
+        final Runnable invocation = () -> {
+            try {
+                controller.invoke(request, response);
+            } catch (final Throwable t) { // errors too, the item must always complete
+                promise.completeExceptionally(t);
+            }
+        };
+        if (executor == null) {
+            invocation.run();
+        } else {
+            executor.execute(invocation);
         }
         return promise;
     }
@@ -15,6 +15,7 @@
  */
 package org.talend.sdk.component.server.front;
 
+import static java.nio.file.StandardOpenOption.READ;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
@@ -26,10 +27,13 @@ import static org.talend.sdk.component.server.front.model.ErrorDictionary.DESIGN
 import static org.talend.sdk.component.server.front.model.ErrorDictionary.PLUGIN_MISSING;
 
 import java.io.BufferedInputStream;
-import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -38,8 +42,6 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -72,6 +74,7 @@ import org.talend.sdk.component.server.api.ComponentResource;
 import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
 import org.talend.sdk.component.server.dao.ComponentDao;
 import org.talend.sdk.component.server.dao.ComponentFamilyDao;
+import org.talend.sdk.component.server.front.base.internal.InvertedIndex;
 import org.talend.sdk.component.server.front.base.internal.RequestKey;
 import org.talend.sdk.component.server.front.model.ComponentDetail;
 import org.talend.sdk.component.server.front.model.ComponentDetailList;
@@ -100,6 +103,7 @@ import org.talend.sdk.component.server.service.jcache.FrontCacheResolver;
 import org.talend.sdk.component.spi.component.ComponentExtension;
 import org.talend.sdk.components.vault.client.VaultClient;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -107,7 +111,11 @@ import lombok.extern.slf4j.Slf4j;
 @CacheDefaults(cacheResolverFactory = FrontCacheResolver.class, cacheKeyGenerator = FrontCacheKeyGenerator.class)
 public class ComponentResourceImpl implements ComponentResource {
 
-    private final ConcurrentMap<RequestKey, ComponentIndices> indicesPerRequest = new ConcurrentHashMap<>();
+    private Map<RequestKey, ComponentIndices> indicesPerRequest;
+
+    private Map<String, CompiledQuery> compiledQueries;
+
+    private InvertedIndex invertedIndex;
 
     @Inject
     private ComponentManager manager;
@@ -155,12 +163,18 @@ public class ComponentResourceImpl implements ComponentResource {
     @Inject
     private VaultClient vault;
 
+    @Inject
+    private FrontCacheResolver cacheResolver;
+
     private final Map<String, Function<ComponentIndex, Object>> componentEvaluators = new HashMap<>();
 
     @PostConstruct
     private void setupRuntime() {
         log.info("Initializing " + getClass());
 
+        indicesPerRequest = caches.newLru(configuration.getMaxCacheSize());
+        compiledQueries = caches.newLru(configuration.getMaxCacheSize());
+
         // preload some highly used data
         getIndex("en", false, null);
 
@@ -184,7 +198,17 @@ public class ComponentResourceImpl implements ComponentResource {
     }
 
     public void clearCache(@Observes final DeployedComponent deployedComponent) {
+        synchronized (this) {
+            invertedIndex = null;
+        }
         indicesPerRequest.clear();
+        if (deployedComponent.isIncremental()) {
+            final Predicate<Object[]> impacted = FrontCacheResolver.references(deployedComponent.getIdentifiers());
+            Stream
+                    .of("getDependencies", "getDependency", "familyIcon", "icon", "getDetail")
+                    .forEach(method -> cacheResolver.evict(ComponentResourceImpl.class, method, impacted));
+            cacheResolver.evict(ComponentResourceImpl.class, "getIndex", parameters -> true);
+        }
     }
 
     @Override
@@ -230,13 +254,7 @@ public class ComponentResourceImpl implements ComponentResource {
             if (!Files.exists(file)) {
                 return onMissingJar(id);
             }
-            streamProvider = () -> {
-                try {
-                    return Files.newInputStream(file);
-                } catch (final IOException e) {
-                    throw new IllegalStateException(e);
-                }
-            };
+            return transfer(file);
         } else { // just try to resolve it locally, note we would need to ensure some security here
             final Artifact artifact = Artifact.from(id);
             if (virtualDependenciesService.isVirtual(id)) {
@@ -249,13 +267,7 @@ public class ComponentResourceImpl implements ComponentResource {
                 if (!Files.exists(file)) {
                     return onMissingJar(id);
                 }
-                streamProvider = () -> {
-                    try {
-                        return Files.newInputStream(file);
-                    } catch (final IOException e) {
-                        throw new IllegalStateException(e);
-                    }
-                };
+                return transfer(file);
             }
         }
         return output -> {
@@ -272,26 +284,80 @@ public class ComponentResourceImpl implements ComponentResource {
         };
     }
 
+    // lets the JDK move the bytes (no heap buffer copy), from the shared store when the file was stored at deployment
+    private StreamingOutput transfer(final Path file) {
+        return output -> {
+            final Path source =
+                    componentManagerService.getArchiveStore().flatMap(store -> store.find(file)).orElse(file);
+            try (final FileChannel channel = FileChannel.open(source, READ)) {
+                final WritableByteChannel target = Channels.newChannel(output);
+                final long size = channel.size();
+                long position = 0;
+                while (position < size) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+            }
+        };
+    }
+
     @Override
     @CacheResult
     public ComponentIndices getIndex(final String language, final boolean includeIconContent, final String query) {
         final Locale locale = localeMapper.mapLocale(language);
-        caches.evictIfNeeded(indicesPerRequest, configuration.getMaxCacheSize() - 1);
-        return indicesPerRequest.computeIfAbsent(new RequestKey(locale, includeIconContent, query), k -> {
-            final Predicate<ComponentIndex> filter = queryLanguageCompiler.compile(query, componentEvaluators);
-            return new ComponentIndices(Stream
-                    .concat(findDeployedComponents(includeIconContent, locale), virtualComponents
-                            .getDetails()
-                            .stream()
-                            .map(detail -> new ComponentIndex(detail.getId(), detail.getDisplayName(),
-                                    detail.getId().getFamily(), new Icon(detail.getIcon(), null, null),
-                                    new Icon(virtualComponents.getFamilyIconFor(detail.getId().getFamilyId()), null,
-                                            null),
-                                    detail.getVersion(), singletonList(detail.getId().getFamily()), detail.getLinks(),
-                                    detail.getMetadata())))
-                    .filter(filter)
-                    .collect(toList()));
-        });
+        final RequestKey key = new RequestKey(locale, includeIconContent, query);
+        final ComponentIndices cached = indicesPerRequest.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final CompiledQuery compiledQuery = compiledQueries
+                .computeIfAbsent(query == null ? "" : query,
+                        q -> new CompiledQuery(queryLanguageCompiler.compile(q, componentEvaluators),
+                                queryLanguageCompiler.extractRequiredEqualities(q)));
+        // use the inverted index to avoid to build the components which can't match
+        final Predicate<String> candidates = compiledQuery.equalities.isEmpty() ? id -> true
+                : getInvertedIndex()
+                        .candidates(compiledQuery.equalities)
+                        .map(ids -> (Predicate<String>) ids::contains)
+                        .orElse(id -> true);
+        final ComponentIndices indices = new ComponentIndices(Stream
+                .concat(findDeployedComponents(includeIconContent, locale, candidates),
+                        findVirtualComponents(candidates))
+                .filter(compiledQuery.predicate)
+                .collect(toList()));
+        indicesPerRequest.put(key, indices);
+        return indices;
+    }
+
+    private Stream<ComponentIndex> findVirtualComponents(final Predicate<String> candidates) {
+        return virtualComponents
+                .getDetails()
+                .stream()
+                .filter(detail -> candidates.test(detail.getId().getId()))
+                .map(detail -> new ComponentIndex(detail.getId(), detail.getDisplayName(), detail.getId().getFamily(),
+                        new Icon(detail.getIcon(), null, null),
+                        new Icon(virtualComponents.getFamilyIconFor(detail.getId().getFamilyId()), null, null),
+                        detail.getVersion(), singletonList(detail.getId().getFamily()), detail.getLinks(),
+                        detail.getMetadata()));
+    }
+
+    // built lazily from the deployed components, reset when they change
+    private synchronized InvertedIndex getInvertedIndex() {
+        if (invertedIndex == null) {
+            final InvertedIndex index = new InvertedIndex();
+            Stream
+                    .concat(findDeployedComponents(false, Locale.ENGLISH, id -> true),
+                            findVirtualComponents(id -> true))
+                    .forEach(component -> componentEvaluators.forEach((attribute, evaluator) -> {
+                        final Object value = evaluator.apply(component);
+                        if (Map.class.isInstance(value)) {
+                            index.addMap(component.getId().getId(), attribute, Map.class.cast(value));
+                        } else {
+                            index.add(component.getId().getId(), attribute, value);
+                        }
+                    }));
+            invertedIndex = index;
+        }
+        return invertedIndex;
     }
 
     @Override
@@ -480,7 +546,8 @@ public class ComponentResourceImpl implements ComponentResource {
         return new ComponentDetailList(details);
     }
 
-    private Stream<ComponentIndex> findDeployedComponents(final boolean includeIconContent, final Locale locale) {
+    private Stream<ComponentIndex> findDeployedComponents(final boolean includeIconContent, final Locale locale,
+            final Predicate<String> candidates) {
         return manager
                 .find(c -> c
                         .execute(() -> c.get(ContainerComponentRegistry.class).getComponents().values().stream())
@@ -489,18 +556,21 @@ public class ComponentResourceImpl implements ComponentResource {
                                         .getPartitionMappers()
                                         .values()
                                         .stream()
+                                        .filter(mapper -> candidates.test(mapper.getId()))
                                         .map(mapper -> toComponentIndex(c, locale, c.getId(), mapper,
                                                 c.get(ComponentManager.OriginalId.class), includeIconContent)),
                                         component
                                                 .getProcessors()
                                                 .values()
                                                 .stream()
+                                                .filter(proc -> candidates.test(proc.getId()))
                                                 .map(proc -> toComponentIndex(c, locale, c.getId(), proc,
                                                         c.get(ComponentManager.OriginalId.class), includeIconContent)),
                                         component
                                                 .getDriverRunners()
                                                 .values()
                                                 .stream()
+                                                .filter(runner -> candidates.test(runner.getId()))
                                                 .map(runner -> toComponentIndex(c, locale, c.getId(), runner,
                                                         c.get(ComponentManager.OriginalId.class), includeIconContent)))
                                 .flatMap(Function.identity())));
@@ -582,9 +652,21 @@ public class ComponentResourceImpl implements ComponentResource {
                         !includeIcon ? null : (iconContent == null ? null : iconContent.getBytes())),
                 new Icon(familyIcon, iconFamilyContent == null ? null : iconFamilyContent.getType(),
                         !includeIcon ? null : (iconFamilyContent == null ? null : iconFamilyContent.getBytes())),
-                meta.getVersion(), categories, singletonList(new Link("Detail",
-                        "/component/details?identifiers=" + meta.getId(), MediaType.APPLICATION_JSON)),
-                meta.getMetadata());
+                meta.getVersion(), categories, toLinks(meta, iconContent, iconFamilyContent), meta.getMetadata());
+    }
+
+    // icons are referenced by their content hash to be cacheable forever (see IconResource)
+    private List<Link> toLinks(final ComponentFamilyMeta.BaseMeta meta, final IconResolver.Icon icon,
+            final IconResolver.Icon familyIcon) {
+        final List<Link> links = new ArrayList<>(3);
+        links.add(new Link("Detail", "/component/details?identifiers=" + meta.getId(), MediaType.APPLICATION_JSON));
+        if (icon != null && icon.getHash() != null) {
+            links.add(new Link("Icon", "/icon/" + icon.getHash(), icon.getType()));
+        }
+        if (familyIcon != null && familyIcon.getHash() != null) {
+            links.add(new Link("Family Icon", "/icon/" + familyIcon.getHash(), familyIcon.getType()));
+        }
+        return links;
     }
 
     private String normalizeCategory(final String category) {
@@ -602,4 +684,12 @@ public class ComponentResourceImpl implements ComponentResource {
                 .entity(new ErrorPayload(PLUGIN_MISSING, "No file found for: " + id))
                 .build());
     }
+
+    @RequiredArgsConstructor
+    private static class CompiledQuery {
+
+        private final Predicate<ComponentIndex> predicate;
+
+        private final List<Map.Entry<String, String>> equalities;
+    }
 }
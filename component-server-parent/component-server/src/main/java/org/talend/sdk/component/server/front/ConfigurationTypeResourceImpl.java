@@ -114,6 +114,9 @@ public class ConfigurationTypeResourceImpl implements ConfigurationTypeResource
     @Inject
     private VaultClient vault;
 
+    @Inject
+    private FrontCacheResolver cacheResolver;
+
     private final Map<String, Function<ConfigTypeNode, Object>> configNodeEvaluators = new HashMap<>();
 
     @PostConstruct
@@ -133,6 +136,12 @@ public class ConfigurationTypeResourceImpl implements ConfigurationTypeResource
 
     public void clearCache(@Observes final DeployedComponent deployedComponent) {
         indicesPerRequest.clear();
+        if (deployedComponent.isIncremental()) {
+            cacheResolver.evict(ConfigurationTypeResourceImpl.class, "getRepositoryModel", parameters -> true);
+            cacheResolver
+                    .evict(ConfigurationTypeResourceImpl.class, "getDetail",
+                            FrontCacheResolver.references(deployedComponent.getIdentifiers()));
+        }
     }
 
     @Override
@@ -50,6 +50,7 @@ import javax.annotation.PostConstruct;
 import javax.cache.annotation.CacheDefaults;
 import javax.cache.annotation.CacheResult;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.ws.rs.WebApplicationException;
@@ -67,6 +68,7 @@ import org.talend.sdk.component.server.front.model.ErrorDictionary;
 import org.talend.sdk.component.server.front.model.error.ErrorPayload;
 import org.talend.sdk.component.server.service.ExtensionComponentMetadataManager;
 import org.talend.sdk.component.server.service.LocaleMapper;
+import org.talend.sdk.component.server.service.event.DeployedComponent;
 import org.talend.sdk.component.server.service.jcache.FrontCacheKeyGenerator;
 import org.talend.sdk.component.server.service.jcache.FrontCacheResolver;
 
@@ -97,6 +99,9 @@ public class DocumentationResourceImpl implements DocumentationResource {
     @Inject
     private ExtensionComponentMetadataManager virtualComponents;
 
+    @Inject
+    private FrontCacheResolver cacheResolver;
+
     private Path i18nBase;
 
     @PostConstruct
@@ -107,6 +112,14 @@ public class DocumentationResourceImpl implements DocumentationResource {
                         .replace("${home}", System.getProperty("meecrowave.home", "")));
     }
 
+    public void clearCache(@Observes final DeployedComponent deployedComponent) {
+        if (deployedComponent.isIncremental()) {
+            cacheResolver
+                    .evict(DocumentationResourceImpl.class, "getDocumentation",
+                            FrontCacheResolver.references(deployedComponent.getIdentifiers()));
+        }
+    }
+
     @Override
     @CacheResult
     public DocumentationContent getDocumentation(final String id, final String language,
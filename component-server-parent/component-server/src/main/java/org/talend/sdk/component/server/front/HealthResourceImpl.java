@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.core.Response;
+
+import org.talend.sdk.component.server.api.HealthResource;
+import org.talend.sdk.component.server.front.model.Readiness;
+import org.talend.sdk.component.server.service.WarmupService;
+
+@ApplicationScoped
+public class HealthResourceImpl implements HealthResource {
+
+    @Inject
+    private WarmupService warmupService;
+
+    @Override
+    public Response readiness() {
+        final Readiness readiness = warmupService.getReadiness();
+        return Response
+                .status(readiness.getStatus() == Readiness.Status.UP ? Response.Status.OK
+                        : Response.Status.SERVICE_UNAVAILABLE)
+                .entity(readiness)
+                .type(APPLICATION_JSON_TYPE)
+                .header("Cache-Control", "no-store")
+                .build();
+    }
+}
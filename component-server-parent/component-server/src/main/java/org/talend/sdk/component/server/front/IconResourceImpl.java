@@ -0,0 +1,56 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.talend.sdk.component.server.api.IconResource;
+import org.talend.sdk.component.server.front.model.ErrorDictionary;
+import org.talend.sdk.component.server.front.model.error.ErrorPayload;
+import org.talend.sdk.component.server.service.IconResolver;
+
+@ApplicationScoped
+public class IconResourceImpl implements IconResource {
+
+    // the content of a hash never changes
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    @Inject
+    private IconResolver iconResolver;
+
+    @Override
+    public Response icon(final String hash) {
+        return iconResolver
+                .findByHash(hash)
+                .map(icon -> Response
+                        .ok(icon.getBytes())
+                        .type(icon.getType())
+                        .tag(new EntityTag(hash))
+                        .header(HttpHeaders.CACHE_CONTROL, IMMUTABLE)
+                        .build())
+                .orElseGet(() -> Response
+                        .status(Response.Status.NOT_FOUND)
+                        .entity(new ErrorPayload(ErrorDictionary.ICON_MISSING, "No icon for hash: " + hash))
+                        .type(APPLICATION_JSON_TYPE)
+                        .build());
+    }
+}
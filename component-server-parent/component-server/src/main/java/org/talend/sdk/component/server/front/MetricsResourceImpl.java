@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.talend.sdk.component.runtime.metrics.Counter;
+import org.talend.sdk.component.runtime.metrics.Gauge;
+import org.talend.sdk.component.runtime.metrics.Histogram;
+import org.talend.sdk.component.runtime.metrics.Metric;
+import org.talend.sdk.component.runtime.metrics.Metrics;
+import org.talend.sdk.component.server.api.MetricsResource;
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
+
+@ApplicationScoped
+public class MetricsResourceImpl implements MetricsResource {
+
+    private static final double[] QUANTILES = { 0.5, 0.9, 0.99 };
+
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    @Override
+    public StreamingOutput metrics() {
+        if (!Boolean.TRUE.equals(configuration.getMetricsActive())) {
+            throw new WebApplicationException(Response.Status.NOT_FOUND);
+        }
+        final Map<String, List<Metric>> metrics = Metrics
+                .registry()
+                .getMetrics()
+                .stream()
+                .collect(groupingBy(Metric::getName, TreeMap::new, toList()));
+        return output -> {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            for (final Map.Entry<String, List<Metric>> family : metrics.entrySet()) {
+                final String name = family.getKey();
+                writer.write("# TYPE " + name + ' ' + toType(family.getValue().get(0)) + '\n');
+                for (final Metric metric : family.getValue()) {
+                    if (Histogram.class.isInstance(metric)) {
+                        writeHistogram(writer, Histogram.class.cast(metric));
+                    } else if (Counter.class.isInstance(metric)) {
+                        writeSample(writer, name, metric.getTags(), null, Counter.class.cast(metric).getCount());
+                    } else if (Gauge.class.isInstance(metric)) {
+                        writeSample(writer, name, metric.getTags(), null, Gauge.class.cast(metric).getValue());
+                    }
+                }
+            }
+            writer.flush();
+        };
+    }
+
+    private String toType(final Metric metric) {
+        if (Histogram.class.isInstance(metric)) {
+            return "summary";
+        }
+        return Gauge.class.isInstance(metric) ? "gauge" : "counter";
+    }
+
+    private void writeHistogram(final Writer writer, final Histogram histogram) throws IOException {
+        for (final double quantile : QUANTILES) {
+            writeSample(writer, histogram.getName(), histogram.getTags(), Double.toString(quantile),
+                    histogram.getValueAtPercentile(quantile * 100));
+        }
+        writeSample(writer, histogram.getName() + "_sum", histogram.getTags(), null, histogram.getSum());
+        writeSample(writer, histogram.getName() + "_count", histogram.getTags(), null, histogram.getCount());
+    }
+
+    private void writeSample(final Writer writer, final String name, final Map<String, String> tags,
+            final String quantile, final long value) throws IOException {
+        writer.write(name);
+        if (!tags.isEmpty() || quantile != null) {
+            writer.write('{');
+            boolean first = true;
+            for (final Map.Entry<String, String> tag : tags.entrySet()) {
+                if (!first) {
+                    writer.write(',');
+                }
+                first = false;
+                writeLabel(writer, tag.getKey(), tag.getValue());
+            }
+            if (quantile != null) {
+                if (!first) {
+                    writer.write(',');
+                }
+                writeLabel(writer, "quantile", quantile);
+            }
+            writer.write('}');
+        }
+        writer.write(' ');
+        writer.write(Long.toString(value));
+        writer.write('\n');
+    }
+
+    private void writeLabel(final Writer writer, final String name, final String value) throws IOException {
+        writer.write(name);
+        writer.write("=\"");
+        writer
+                .write(value
+                        .replace("\\", "\\\\")
+                        .replace("\"", "\\\"")
+                        .replace("\n", "\\n"));
+        writer.write('"');
+    }
+}
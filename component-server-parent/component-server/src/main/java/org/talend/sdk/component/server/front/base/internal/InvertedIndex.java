@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front.base.internal;
+
+import static java.util.Collections.emptySet;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Maps the (stringified) attribute values of the indexed items to the item identifiers,
+ * attribute names use the query language syntax ({@code name} or {@code map[key]}).
+ */
+public class InvertedIndex {
+
+    private final Map<String, Map<String, Set<String>>> postings = new HashMap<>();
+
+    public void add(final String id, final String attribute, final Object value) {
+        postings
+                .computeIfAbsent(attribute, k -> new HashMap<>())
+                .computeIfAbsent(String.valueOf(value), k -> new HashSet<>())
+                .add(id);
+    }
+
+    public void addMap(final String id, final String attribute, final Map<?, ?> values) {
+        values.forEach((key, value) -> add(id, attribute + '[' + key + ']', value));
+    }
+
+    /**
+     * @param equalities the attribute values the items must have.
+     * @return the identifiers of the items matching all the equalities, empty if the index can't prune the items.
+     */
+    public Optional<Set<String>> candidates(final Collection<Map.Entry<String, String>> equalities) {
+        Set<String> candidates = null;
+        for (final Map.Entry<String, String> equality : equalities) {
+            if ("null".equals(equality.getValue())) { // missing values are not indexed
+                continue;
+            }
+            final Map<String, Set<String>> values = postings.get(equality.getKey());
+            if (values == null) {
+                if (equality.getKey().indexOf('[') > 0) { // no item has this map key
+                    return Optional.of(emptySet());
+                }
+                continue;
+            }
+            final Set<String> ids = values.getOrDefault(equality.getValue(), emptySet());
+            if (candidates == null) {
+                candidates = new HashSet<>(ids);
+            } else {
+                candidates.retainAll(ids);
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+        }
+        return Optional.ofNullable(candidates);
+    }
+}
@@ -43,9 +43,6 @@ public class RequestKey {
         if (o == null || getClass() != o.getClass()) {
             return false;
         }
-        if (!super.equals(o)) {
-            return false;
-        }
         final RequestKey that = RequestKey.class.cast(o);
         return Objects.equals(locale, that.locale) && Objects.equals(includeIconContent, that.includeIconContent)
                 && Objects.equals(query, that.query);
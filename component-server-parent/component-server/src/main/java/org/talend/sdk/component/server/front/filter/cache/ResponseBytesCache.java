@@ -0,0 +1,451 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front.filter.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.reverseOrder;
+import static java.util.Optional.ofNullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.talend.sdk.component.container.Container;
+import org.talend.sdk.component.runtime.metrics.Counter;
+import org.talend.sdk.component.runtime.metrics.Metrics;
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
+import org.talend.sdk.component.server.service.ComponentManagerService;
+import org.talend.sdk.component.server.service.event.DeployedComponent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the serialized (JSON) payload of the cached metadata endpoints and its gzip variant,
+ * entries are only valid for the current plugins deployment which is also what the ETag are built from
+ * (an incremental deployment only evicts the entries of the impacted identifiers and the indices).
+ *
+ * The memory tier is bounded by a number of entries and a size in bytes (least recently used entries are evicted),
+ * large payloads can be stored off-heap and all payloads can be persisted on disk to survive restarts.
+ */
+@Slf4j
+@ApplicationScoped
+public class ResponseBytesCache {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final Pattern KEY_SEPARATORS = Pattern.compile("[/?&=\\[\\], ]+");
+
+    private static final Pattern FAMILY_FILTER = Pattern.compile("[?&]family=\\[[^\\]]");
+
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    @Inject
+    private ComponentManagerService componentManagerService;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, .75f, true);
+
+    private long weight;
+
+    private final AtomicReference<Version> version = new AtomicReference<>();
+
+    private Path diskLocation;
+
+    private final Counter hits =
+            Metrics.registry().counter("talend_component_server_response_cache_requests_total", "result", "hit");
+
+    private final Counter diskHits =
+            Metrics.registry().counter("talend_component_server_response_cache_requests_total", "result", "disk");
+
+    private final Counter misses =
+            Metrics.registry().counter("talend_component_server_response_cache_requests_total", "result", "miss");
+
+    @PostConstruct
+    private void init() {
+        diskLocation = configuration.getResponseCacheDiskLocation().map(Paths::get).orElse(null);
+    }
+
+    public boolean isActive() {
+        return configuration.getResponseCacheActive() != null && configuration.getResponseCacheActive();
+    }
+
+    public void clear(@Observes final DeployedComponent deployedComponent) {
+        // incremental deployments are fired before being published so the unimpacted entries are kept
+        switchVersion(deployedComponent.getTimestamp(), deployedComponent.isIncremental()
+                ? key -> isImpacted(key, deployedComponent.getIdentifiers())
+                : key -> true);
+    }
+
+    /**
+     * @param key the request key (path and query).
+     * @param identifiers the identifiers impacted by an incremental deployment.
+     * @return true if the response can depend on one of the identifiers (indices aggregate all the families so only
+     * the action ones filtered by unimpacted families are not impacted).
+     */
+    static boolean isImpacted(final String key, final Collection<String> identifiers) {
+        if (Stream.of(KEY_SEPARATORS.split(key)).anyMatch(identifiers::contains)) {
+            return true;
+        }
+        final int queryStart = key.indexOf('?');
+        final String path = queryStart < 0 ? key : key.substring(0, queryStart);
+        return path.endsWith("index") && !(path.endsWith("action/index") && FAMILY_FILTER.matcher(key).find());
+    }
+
+    private void evictMemory(final Predicate<String> keys) { // callers hold the entries lock
+        final Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, Entry> entry = iterator.next();
+            if (keys.test(entry.getKey())) {
+                weight -= entry.getValue().getWeight();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * @param key the request key (path and query).
+     * @return the strong ETag (quoted) of the identity response for this request in the current deployment.
+     */
+    public String etag(final String key) {
+        return etag(getVersion(), key);
+    }
+
+    private String etag(final Version current, final String key) {
+        return '"' + hash(current.value + '\n' + key).substring(0, 32) + '"';
+    }
+
+    public Entry get(final String key) {
+        final Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null) {
+            hits.increment();
+            return entry;
+        }
+        final Version current = getVersion();
+        final Entry fromDisk = loadFromDisk(key, current);
+        if (fromDisk == null) {
+            misses.increment();
+            return null;
+        }
+        diskHits.increment();
+        store(key, fromDisk, current);
+        return fromDisk;
+    }
+
+    /**
+     * @param key the request key (path and query).
+     * @param etag the ETag the payload was computed for, it is not cached if the deployment changed since.
+     * @param payload the serialized response.
+     */
+    public void put(final String key, final String etag, final byte[] payload) {
+        final Version current = getVersion();
+        if (!etag.equals(etag(current, key))) {
+            return;
+        }
+        final byte[] gzip = gzip(payload);
+        if (store(key, newEntry(payload, gzip), current)) {
+            saveOnDisk(key, gzip, current);
+        }
+    }
+
+    private Entry newEntry(final byte[] identity, final byte[] gzip) {
+        final int threshold = configuration.getResponseCacheOffHeapThreshold();
+        if (threshold >= 0 && identity.length >= threshold) {
+            return new OffHeapEntry(toDirectBuffer(identity), toDirectBuffer(gzip));
+        }
+        return new HeapEntry(identity, gzip);
+    }
+
+    // the version check and the eviction of a version switch share the lock so no outdated entry can be stored
+    private boolean store(final String key, final Entry entry, final Version expectedVersion) {
+        final int maxEntries = configuration.getMaxCacheSize();
+        final long maxBytes = configuration.getResponseCacheMaxBytes();
+        synchronized (entries) {
+            if (version.get() != expectedVersion) {
+                return false;
+            }
+            final Entry previous = entries.put(key, entry);
+            weight += entry.getWeight() - (previous == null ? 0 : previous.getWeight());
+            final Iterator<Entry> iterator = entries.values().iterator();
+            while ((entries.size() > maxEntries || weight > maxBytes) && entries.size() > 1 && iterator.hasNext()) {
+                weight -= iterator.next().getWeight();
+                iterator.remove();
+            }
+        }
+        return true;
+    }
+
+    private Entry loadFromDisk(final String key, final Version current) {
+        final Path file = findDiskFile(key, current);
+        if (file == null || !Files.exists(file)) {
+            return null;
+        }
+        try {
+            final byte[] gzip = Files.readAllBytes(file);
+            return newEntry(gunzip(gzip), gzip);
+        } catch (final IOException e) {
+            log.warn("Can't read cached response {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void saveOnDisk(final String key, final byte[] gzip, final Version current) {
+        final Path file = findDiskFile(key, current);
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            final Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.write(tmp, gzip);
+            try {
+                Files.move(tmp, file, ATOMIC_MOVE, REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, REPLACE_EXISTING);
+            }
+        } catch (final IOException e) {
+            log.warn("Can't store cached response {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Path findDiskFile(final String key, final Version current) {
+        if (diskLocation == null) {
+            return null;
+        }
+        return diskLocation.resolve(current.fingerprint).resolve(hash(key));
+    }
+
+    private Version getVersion() {
+        // entries of the previous deployment are no more valid
+        return switchVersion(componentManagerService.findLastUpdated().getTime(), key -> true);
+    }
+
+    /**
+     * The only place the version changes: the version is compared and set under the entries lock
+     * and the outdated entries evicted with it.
+     *
+     * @param lastUpdated the deployment date the version must account for.
+     * @param outdated the entries to evict if the version changes.
+     * @return the current version.
+     */
+    private Version switchVersion(final long lastUpdated, final Predicate<String> outdated) {
+        while (true) {
+            final Version current = version.get();
+            if (current != null && current.lastUpdated >= lastUpdated) {
+                return current;
+            }
+            final String pluginsHash = componentManagerService.manager().getContainer().getPluginsHash();
+            final Version newVersion =
+                    new Version(lastUpdated, pluginsHash + '-' + lastUpdated, fingerprint(pluginsHash));
+            synchronized (entries) {
+                if (!version.compareAndSet(current, newVersion)) {
+                    continue;
+                }
+                evictMemory(outdated);
+            }
+            if (diskLocation != null) { // files are named from the key hash, they can't be evicted per identifier
+                deleteOtherFingerprints(newVersion.fingerprint);
+            }
+            return newVersion;
+        }
+    }
+
+    // unlike the ETag version it does not depend on the server start so it can be reused after a restart
+    private String fingerprint(final String pluginsHash) {
+        final StringBuilder builder = new StringBuilder(pluginsHash);
+        componentManagerService
+                .manager()
+                .getContainer()
+                .findAll()
+                .stream()
+                .sorted(comparing(Container::getId))
+                .forEach(container -> builder
+                        .append('\n')
+                        .append(container.getId())
+                        .append('@')
+                        .append(ofNullable(container.getLastModifiedTimestamp()).map(Date::getTime).orElse(0L)));
+        return hash(builder.toString());
+    }
+
+    private void deleteOtherFingerprints(final String fingerprint) {
+        if (!Files.isDirectory(diskLocation)) {
+            return;
+        }
+        try (final Stream<Path> children = Files.list(diskLocation)) {
+            children.filter(it -> !fingerprint.equals(it.getFileName().toString())).forEach(this::delete);
+        } catch (final IOException e) {
+            log.warn("Can't clean cached responses in {}: {}", diskLocation, e.getMessage());
+        }
+    }
+
+    private void delete(final Path root) {
+        try (final Stream<Path> files = Files.walk(root)) {
+            files.sorted(reverseOrder()).forEach(it -> {
+                try {
+                    Files.delete(it);
+                } catch (final IOException e) {
+                    log.debug("Can't delete {}: {}", it, e.getMessage());
+                }
+            });
+        } catch (final IOException e) {
+            log.debug("Can't delete {}: {}", root, e.getMessage());
+        }
+    }
+
+    private static ByteBuffer toDirectBuffer(final byte[] bytes) {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static byte[] gzip(final byte[] payload) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(32, payload.length / 4));
+        try (final GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(payload);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(final byte[] payload) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length * 4);
+        try (final InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = gzip.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static String hash(final String value) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(UTF_8));
+            final StringBuilder out = new StringBuilder(hash.length * 2);
+            for (final byte b : hash) {
+                out.append(HEX[b >> 4 & 15]).append(HEX[b & 15]);
+            }
+            return out.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A cached response, identity and gzip variants.
+     */
+    public abstract static class Entry {
+
+        /**
+         * @param gzip should the gzip variant be used.
+         * @return the size of the variant in bytes.
+         */
+        public abstract int getLength(boolean gzip);
+
+        /**
+         * @param out where to write the variant.
+         * @param gzip should the gzip variant be written.
+         * @throws IOException if the write fails.
+         */
+        public abstract void writeTo(OutputStream out, boolean gzip) throws IOException;
+
+        long getWeight() {
+            return getLength(false) + getLength(true);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class HeapEntry extends Entry {
+
+        private final byte[] identity;
+
+        private final byte[] gzip;
+
+        @Override
+        public int getLength(final boolean gzip) {
+            return (gzip ? this.gzip : identity).length;
+        }
+
+        @Override
+        public void writeTo(final OutputStream out, final boolean gzip) throws IOException {
+            out.write(gzip ? this.gzip : identity);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class OffHeapEntry extends Entry {
+
+        private final ByteBuffer identity;
+
+        private final ByteBuffer gzip;
+
+        @Override
+        public int getLength(final boolean gzip) {
+            return (gzip ? this.gzip : identity).remaining();
+        }
+
+        @Override
+        public void writeTo(final OutputStream out, final boolean gzip) throws IOException {
+            // duplicate to not share the position between concurrent writers
+            Channels.newChannel(out).write((gzip ? this.gzip : identity).duplicate());
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Version {
+
+        private final long lastUpdated;
+
+        private final String value;
+
+        private final String fingerprint;
+    }
+}
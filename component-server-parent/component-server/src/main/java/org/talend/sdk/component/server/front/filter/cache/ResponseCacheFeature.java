@@ -0,0 +1,207 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front.filter.cache;
+
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toSet;
+import static javax.ws.rs.core.HttpHeaders.ACCEPT_ENCODING;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_ENCODING;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
+import static javax.ws.rs.core.HttpHeaders.ETAG;
+import static javax.ws.rs.core.HttpHeaders.IF_NONE_MATCH;
+import static javax.ws.rs.core.HttpHeaders.VARY;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import javax.annotation.Priority;
+import javax.cache.annotation.CacheResult;
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Serves the cached metadata endpoints (methods using {@link CacheResult} and returning a model)
+ * from their serialized bytes and handles conditional requests.
+ */
+@Provider
+@Dependent
+public class ResponseCacheFeature implements DynamicFeature {
+
+    @Inject
+    private ResponseBytesCache cache;
+
+    @Override
+    public void configure(final ResourceInfo resourceInfo, final FeatureContext context) {
+        if (!cache.isActive()) {
+            return;
+        }
+        final Method method = resourceInfo.getResourceMethod();
+        if (method == null || Response.class.isAssignableFrom(method.getReturnType())
+                || StreamingOutput.class.isAssignableFrom(method.getReturnType())
+                || !isCached(resourceInfo.getResourceClass(), method)) {
+            return;
+        }
+        context.register(new CacheFilter(cache), Priorities.USER);
+    }
+
+    private boolean isCached(final Class<?> resource, final Method method) {
+        if (method.isAnnotationPresent(CacheResult.class)) {
+            return true;
+        }
+        try {
+            return resource
+                    .getMethod(method.getName(), method.getParameterTypes())
+                    .isAnnotationPresent(CacheResult.class);
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @Priority(Priorities.USER)
+    @RequiredArgsConstructor
+    private static class CacheFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+        private static final String KEY = CacheFilter.class.getName() + ".key";
+
+        private static final String ETAG_VALUE = CacheFilter.class.getName() + ".etag";
+
+        private final ResponseBytesCache cache;
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext) {
+            if (!HttpMethod.GET.equals(requestContext.getMethod())) {
+                return;
+            }
+            final String key = toKey(requestContext);
+            final String etag = cache.etag(key);
+            final String gzipEtag = toGzipEtag(etag);
+            final Collection<String> ifNoneMatch = ofNullable(requestContext.getHeaderString(IF_NONE_MATCH))
+                    .map(it -> Stream.of(it.split(",")).map(String::trim).collect(toSet()))
+                    .orElseGet(Collections::emptySet);
+            if (ifNoneMatch.contains(etag) || ifNoneMatch.contains(gzipEtag)) {
+                requestContext.abortWith(notModified(etag));
+                return;
+            }
+
+            final ResponseBytesCache.Entry entry = cache.get(key);
+            if (entry != null && ifNoneMatch.contains("*")) { // only a cached representation is known to exist
+                requestContext.abortWith(notModified(etag));
+                return;
+            }
+            if (entry != null) {
+                final boolean gzip = acceptsGzip(requestContext);
+                final Response.ResponseBuilder response = Response
+                        .ok((StreamingOutput) out -> entry.writeTo(out, gzip), APPLICATION_JSON_TYPE)
+                        .header(CONTENT_LENGTH, entry.getLength(gzip))
+                        .header(ETAG, gzip ? gzipEtag : etag)
+                        .header(VARY, ACCEPT_ENCODING);
+                if (gzip) {
+                    response.header(CONTENT_ENCODING, "gzip");
+                }
+                requestContext.abortWith(response.build());
+                return;
+            }
+            requestContext.setProperty(KEY, key);
+            requestContext.setProperty(ETAG_VALUE, etag);
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext,
+                final ContainerResponseContext responseContext) {
+            final Object etag = requestContext.getProperty(ETAG_VALUE);
+            if (etag == null || responseContext.getStatus() != Response.Status.OK.getStatusCode()) {
+                requestContext.removeProperty(KEY);
+                return;
+            }
+            responseContext.getHeaders().putSingle(ETAG, etag);
+            responseContext.getHeaders().putSingle(VARY, ACCEPT_ENCODING);
+        }
+
+        @Override
+        public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+            final Object key = context.getProperty(KEY);
+            if (key == null) {
+                context.proceed();
+                return;
+            }
+            final OutputStream original = context.getOutputStream();
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            context.setOutputStream(buffer);
+            try {
+                context.proceed();
+            } finally {
+                context.setOutputStream(original);
+            }
+            final byte[] payload = buffer.toByteArray();
+            cache.put(String.valueOf(key), String.valueOf(context.getProperty(ETAG_VALUE)), payload);
+            original.write(payload);
+        }
+
+        private Response notModified(final String etag) {
+            return Response.notModified().header(ETAG, etag).header(VARY, ACCEPT_ENCODING).build();
+        }
+
+        private boolean acceptsGzip(final ContainerRequestContext requestContext) {
+            final String acceptEncoding = requestContext.getHeaderString(ACCEPT_ENCODING);
+            return acceptEncoding != null && Stream
+                    .of(acceptEncoding.split(","))
+                    .map(it -> it.trim().toLowerCase(Locale.ROOT))
+                    .anyMatch(it -> "gzip".equals(it)
+                            || (it.startsWith("gzip;") && !it.matches("gzip;\\s*q=0(\\.0*)?")));
+        }
+
+        private String toGzipEtag(final String etag) {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+
+        private String toKey(final ContainerRequestContext requestContext) {
+            return requestContext.getUriInfo().getPath() + '?'
+                    + requestContext
+                            .getUriInfo()
+                            .getQueryParameters()
+                            .entrySet()
+                            .stream()
+                            .sorted(Map.Entry.comparingByKey())
+                            .map(it -> it.getKey() + '=' + it.getValue())
+                            .collect(joining("&"));
+        }
+    }
+}
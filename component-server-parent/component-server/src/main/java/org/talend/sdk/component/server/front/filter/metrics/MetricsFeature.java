@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front.filter.metrics;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.ext.Provider;
+
+import org.talend.sdk.component.runtime.metrics.Counter;
+import org.talend.sdk.component.runtime.metrics.Histogram;
+import org.talend.sdk.component.runtime.metrics.Metrics;
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Measures the latency and counts the responses (per status) of each endpoint.
+ */
+@Provider
+@Dependent
+public class MetricsFeature implements DynamicFeature {
+
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    @Override
+    public void configure(final ResourceInfo resourceInfo, final FeatureContext context) {
+        final Method method = resourceInfo.getResourceMethod();
+        if (method == null || !Boolean.TRUE.equals(configuration.getMetricsActive())) {
+            return;
+        }
+        final String className = resourceInfo.getResourceClass().getSimpleName();
+        final int proxy = className.indexOf("$$");
+        final String endpoint = (proxy > 0 ? className.substring(0, proxy) : className) + '.' + method.getName();
+        context
+                .register(new MetricsFilter(endpoint,
+                        Metrics.registry().histogram("talend_component_server_request_duration_ms", "endpoint",
+                                endpoint)),
+                        Priorities.AUTHENTICATION);
+    }
+
+    @Priority(Priorities.AUTHENTICATION)
+    @RequiredArgsConstructor
+    private static class MetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+        private static final String START = MetricsFilter.class.getName() + ".start";
+
+        private final String endpoint;
+
+        private final Histogram duration;
+
+        // an endpoint only returns a few statuses, resolved once per status
+        private final ConcurrentMap<Integer, Counter> requests = new ConcurrentHashMap<>();
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext) {
+            requestContext.setProperty(START, System.nanoTime());
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext,
+                final ContainerResponseContext responseContext) {
+            final Object start = requestContext.getProperty(START);
+            if (start == null) {
+                return;
+            }
+            duration.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - Long.class.cast(start)));
+            requests
+                    .computeIfAbsent(responseContext.getStatus(),
+                            status -> Metrics
+                                    .registry()
+                                    .counter("talend_component_server_requests_total", "endpoint", endpoint,
+                                            "status", Integer.toString(status)))
+                    .increment();
+        }
+    }
+}
@@ -226,6 +226,11 @@ public class InMemoryResponse implements HttpServletResponse {
             protected void beforeClose() throws IOException {
                 onClose(this);
             }
+
+            @Override
+            protected void afterClose() {
+                onClosed();
+            }
         };
     }
 
@@ -305,6 +310,10 @@ public class InMemoryResponse implements HttpServletResponse {
         // no-op
     }
 
+    protected void onClosed() {
+        // no-op
+    }
+
     private static class ServletByteArrayOutputStream extends ServletOutputStream {
 
         private static final int BUFFER_SIZE = 1024 * 8;
@@ -378,12 +387,17 @@ public class InMemoryResponse implements HttpServletResponse {
             beforeClose();
             doFlush();
             closed = true;
+            afterClose();
         }
 
         protected void beforeClose() throws IOException {
             // no-op
         }
 
+        protected void afterClose() {
+            // no-op
+        }
+
         private void doFlush() {
             final byte[] array = outputStream.toByteArray();
             final boolean written = array.length > 0 || !headerWritten;
@@ -15,7 +15,9 @@
  */
 package org.talend.sdk.component.server.lang;
 
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentMap;
 
@@ -38,4 +40,20 @@ public class MapCache {
             }
         }
     }
+
+    /**
+     * @param maxSize the maximum number of entries.
+     * @param <A> the key type.
+     * @param <B> the value type.
+     * @return a thread safe map evicting the least recently used entries once the max size is reached.
+     */
+    public <A, B> Map<A, B> newLru(final int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<A, B>(16, .75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<A, B> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
 }
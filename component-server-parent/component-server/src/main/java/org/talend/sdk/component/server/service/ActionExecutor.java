@@ -0,0 +1,404 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service;
+
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+
+import org.talend.sdk.component.runtime.metrics.Counter;
+import org.talend.sdk.component.runtime.metrics.Histogram;
+import org.talend.sdk.component.runtime.metrics.Metrics;
+import org.talend.sdk.component.runtime.metrics.MetricsRegistry;
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
+import org.talend.sdk.component.server.front.model.ErrorDictionary;
+import org.talend.sdk.component.server.front.model.error.ErrorPayload;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executes the actions in bounded pools (bulkheads) - or in the caller thread - with an optional timeout.
+ */
+@Slf4j
+@ApplicationScoped
+public class ActionExecutor {
+
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    private Map<String, Long> timeouts;
+
+    private boolean callerThread;
+
+    private boolean perFamily;
+
+    private ScheduledExecutorService timer;
+
+    private Collection<String> coalescedTypes;
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    // action duration per family and type, the registry lookup is not free so it is done once
+    private final ConcurrentMap<String, ConcurrentMap<String, Histogram>> durations = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    private void init() {
+        final String isolation = configuration.getActionsIsolation().trim();
+        switch (isolation) {
+        case "caller":
+            callerThread = true;
+            break;
+        case "shared":
+            break;
+        case "family":
+            perFamily = true;
+            break;
+        default:
+            throw new IllegalArgumentException("Unsupported action isolation: '" + isolation + "'");
+        }
+        timeouts = configuration.getActionsTimeouts().map(value -> {
+            final Properties properties = new Properties();
+            try (final StringReader reader = new StringReader(value)) {
+                properties.load(reader);
+            } catch (final IOException e) {
+                throw new IllegalArgumentException(e);
+            }
+            return properties
+                    .stringPropertyNames()
+                    .stream()
+                    .collect(toMap(it -> it, it -> Long.parseLong(properties.getProperty(it).trim())));
+        }).orElseGet(ConcurrentHashMap::new);
+        coalescedTypes = configuration
+                .getActionsCoalescingTypes()
+                .map(value -> Stream.of(value.split(",")).map(String::trim).filter(it -> !it.isEmpty()))
+                .orElseGet(Stream::empty)
+                .collect(toSet());
+        if (!callerThread) {
+            timer = Executors
+                    .newSingleThreadScheduledExecutor(newThreadFactory("talend-component-server-action-timer"));
+        }
+    }
+
+    @PreDestroy
+    private void destroy() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+        bulkheads.values().forEach(Bulkhead::close);
+        bulkheads.clear();
+    }
+
+    public Collection<Bulkhead> getBulkheads() {
+        return bulkheads.values();
+    }
+
+    /**
+     * @param family the family of the action.
+     * @param type the type of the action.
+     * @param action the action execution.
+     * @param <T> the result type.
+     * @return the future result, it fails with a {@link WebApplicationException} (wrapped in a
+     * {@link CompletionException}) if the pool is saturated or the execution times out.
+     */
+    public <T> CompletableFuture<T> execute(final String family, final String type, final Supplier<T> action) {
+        final Histogram duration = durations
+                .computeIfAbsent(family, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(type, k -> Metrics
+                        .registry()
+                        .histogram("talend_component_server_action_duration_ms", "family", family, "type", type));
+        final Supplier<T> task = () -> {
+            final long start = System.nanoTime();
+            try {
+                return action.get();
+            } finally {
+                duration.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        };
+        if (callerThread) {
+            return CompletableFuture.supplyAsync(task, Runnable::run);
+        }
+
+        final Bulkhead bulkhead = bulkheads.computeIfAbsent(perFamily ? family : "shared", Bulkhead::new);
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final Future<?> execution;
+        try {
+            execution = bulkhead.executor.submit(() -> {
+                final long start = System.nanoTime();
+                try {
+                    result.complete(task.get());
+                } catch (final Throwable t) { // submit() would swallow errors and the caller would wait forever
+                    result.completeExceptionally(new CompletionException(t));
+                } finally {
+                    bulkhead.executed.increment();
+                    bulkhead.executionTime.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                }
+            });
+        } catch (final RejectedExecutionException ree) {
+            bulkhead.rejected.increment();
+            log.warn("Action pool '{}' is saturated, rejecting action {}/{}", bulkhead.name, family, type);
+            result.completeExceptionally(new CompletionException(error(Response.Status.SERVICE_UNAVAILABLE,
+                    "Too many actions in progress for '" + bulkhead.name + "', retry later")));
+            return result;
+        }
+
+        final long timeout = timeouts.getOrDefault(type, configuration.getActionsTimeout());
+        if (timeout > 0) {
+            timer.schedule(() -> {
+                if (result.completeExceptionally(new CompletionException(error(Response.Status.GATEWAY_TIMEOUT,
+                        "Action " + family + "/" + type + " timed out after " + timeout + "ms")))) {
+                    bulkhead.timedOut.increment();
+                    execution.cancel(true);
+                }
+            }, timeout, TimeUnit.MILLISECONDS);
+        }
+        return result;
+    }
+
+    /**
+     * Executes an invocation sharing its result with the identical invocations running concurrently
+     * if the action type is configured to be coalesced.
+     *
+     * @param family the action family.
+     * @param type the action type.
+     * @param action the action name.
+     * @param tenant the tenant if any.
+     * @param parameters the deciphered action parameters.
+     * @param invocation the actual invocation.
+     * @return the invocation result, potentially computed by another caller.
+     */
+    public Object coalesce(final String family, final String type, final String action, final String tenant,
+            final Map<String, String> parameters, final Supplier<Object> invocation) {
+        if (!coalescedTypes.contains(type)) {
+            return invocation.get();
+        }
+        final String key = toKey(family, type, action, tenant, parameters);
+        final CompletableFuture<Object> flight = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (final CompletionException ce) {
+                if (RuntimeException.class.isInstance(ce.getCause())) {
+                    throw RuntimeException.class.cast(ce.getCause());
+                }
+                if (Error.class.isInstance(ce.getCause())) {
+                    throw Error.class.cast(ce.getCause());
+                }
+                throw ce;
+            }
+        }
+        try {
+            final Object result = invocation.get();
+            flight.complete(result);
+            return result;
+        } catch (final Throwable t) { // followers wait on the flight, it must always complete
+            flight.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private String toKey(final String family, final String type, final String action, final String tenant,
+            final Map<String, String> parameters) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        Stream.of(family, type, action, tenant).forEach(it -> update(digest, it));
+        new TreeMap<>(parameters).forEach((key, value) -> {
+            update(digest, key);
+            update(digest, value);
+        });
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    private void update(final MessageDigest digest, final String value) {
+        if (value == null) {
+            digest.update((byte) 0);
+        } else {
+            digest.update((byte) 1);
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+    }
+
+    private WebApplicationException error(final Response.Status status, final String message) {
+        final Response.ResponseBuilder response =
+                Response.status(status).entity(new ErrorPayload(ErrorDictionary.ACTION_ERROR, message));
+        if (status == Response.Status.SERVICE_UNAVAILABLE) {
+            response.header("Retry-After", "1");
+        }
+        return new WebApplicationException(response.build());
+    }
+
+    private static ThreadFactory newThreadFactory(final String prefix) {
+        final AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            final Thread thread = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * JMX view of an action pool, the same values are exported as metrics tagged with the pool name.
+     */
+    public interface BulkheadMBean {
+
+        String getName();
+
+        int getActiveCount();
+
+        int getQueueSize();
+
+        long getExecuted();
+
+        long getRejected();
+
+        long getTimedOut();
+
+        long getExecutionTime();
+    }
+
+    public class Bulkhead implements BulkheadMBean {
+
+        @Getter
+        private final String name;
+
+        private final ThreadPoolExecutor executor;
+
+        private final Counter executed;
+
+        private final Counter rejected;
+
+        private final Counter timedOut;
+
+        private final Counter executionTime;
+
+        private ObjectName objectName;
+
+        private Bulkhead(final String name) {
+            this.name = name;
+            final int threads = Math.max(1, configuration.getActionsThreads());
+            this.executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                    new ArrayBlockingQueue<>(Math.max(1, configuration.getActionsQueueSize())),
+                    newThreadFactory("talend-component-server-action-" + name));
+            this.executor.allowCoreThreadTimeOut(true);
+
+            final MetricsRegistry registry = Metrics.registry();
+            final String tasks = "talend_component_server_action_pool_tasks_total";
+            this.executed = registry.counter(tasks, "pool", name, "result", "executed");
+            this.rejected = registry.counter(tasks, "pool", name, "result", "rejected");
+            this.timedOut = registry.counter(tasks, "pool", name, "result", "timed_out");
+            this.executionTime =
+                    registry.counter("talend_component_server_action_pool_execution_ms_total", "pool", name);
+            registry.gauge("talend_component_server_action_pool_active", this::getActiveCount, "pool", name);
+            registry.gauge("talend_component_server_action_pool_queued", this::getQueueSize, "pool", name);
+            try {
+                objectName = new ObjectName("org.talend.sdk.component.server:type=actions,name="
+                        + ObjectName.quote(name));
+                ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            } catch (final Exception e) {
+                log.debug("Can't register action pool '{}' in JMX: {}", name, e.getMessage());
+                objectName = null;
+            }
+        }
+
+        @Override
+        public int getActiveCount() {
+            return executor.getActiveCount();
+        }
+
+        @Override
+        public int getQueueSize() {
+            return executor.getQueue().size();
+        }
+
+        @Override
+        public long getExecuted() {
+            return executed.getCount();
+        }
+
+        @Override
+        public long getRejected() {
+            return rejected.getCount();
+        }
+
+        @Override
+        public long getTimedOut() {
+            return timedOut.getCount();
+        }
+
+        @Override
+        public long getExecutionTime() {
+            return executionTime.getCount();
+        }
+
+        private void close() {
+            executor.shutdownNow();
+            Metrics.registry().remove("pool", name); // the gauges reference the executor
+            if (objectName != null) {
+                final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                try {
+                    server.unregisterMBean(objectName);
+                } catch (final Exception e) {
+                    log.debug(e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
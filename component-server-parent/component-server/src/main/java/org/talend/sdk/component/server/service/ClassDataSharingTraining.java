@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.list;
+import static java.util.stream.Collectors.toList;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Initialized;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.talend.sdk.component.container.Container;
+import org.talend.sdk.component.path.PathFactory;
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Training run for class data sharing: loads all the classes of the deployed plugins
+ * to let the JVM archive them (-XX:ArchiveClassesAtExit) and exits.
+ */
+@Slf4j
+@ApplicationScoped
+public class ClassDataSharingTraining {
+
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    @Inject
+    private ComponentManagerService componentManagerService;
+
+    public void onStart(@Observes @Initialized(ApplicationScoped.class) final Object start) {
+        if (!configuration.getCdsTrainingActive()) {
+            return;
+        }
+        if (ManagementFactory
+                .getRuntimeMXBean()
+                .getInputArguments()
+                .stream()
+                .noneMatch(it -> it.startsWith("-XX:ArchiveClassesAtExit="))) {
+            log.warn("CDS training is active but -XX:ArchiveClassesAtExit is not set, no archive will be created");
+        }
+
+        final long startTime = System.currentTimeMillis();
+        final List<String> classes = componentManagerService
+                .manager()
+                .getContainer()
+                .findAll()
+                .stream()
+                .flatMap(this::loadClasses)
+                .collect(toList());
+        log
+                .info("Loaded {} plugin classes for the CDS training in {}ms", classes.size(),
+                        System.currentTimeMillis() - startTime);
+
+        configuration.getCdsTrainingClassList().map(PathFactory::get).ifPresent(classList -> {
+            try {
+                if (classList.getParent() != null) {
+                    Files.createDirectories(classList.getParent());
+                }
+                Files.write(classList, classes, UTF_8);
+                log.info("Dumped CDS class list in '{}'", classList);
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        if (configuration.getCdsTrainingExit()) {
+            // don't block the container startup, exiting will let the JVM dump the archive
+            final Thread exit = new Thread(() -> System.exit(0), getClass().getName() + "-exit");
+            exit.setDaemon(false);
+            exit.start();
+        }
+    }
+
+    private Stream<String> loadClasses(final Container container) {
+        final ClassLoader loader = container.getLoader();
+        if (loader == null) {
+            return Stream.empty();
+        }
+        return container
+                .findExistingClasspathFiles()
+                .filter(it -> it.getFileName().toString().endsWith(".jar"))
+                .flatMap(this::listClasses)
+                .distinct()
+                .map(name -> {
+                    try {
+                        return Class.forName(name, false, loader).getName();
+                    } catch (final ClassNotFoundException | LinkageError e) {
+                        log.debug("Can't load '{}' from '{}': {}", name, container.getId(), e.getMessage());
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull);
+    }
+
+    private Stream<String> listClasses(final Path jar) {
+        try (final JarFile jarFile = new JarFile(jar.toFile())) {
+            final Collection<String> names = list(jarFile.entries())
+                    .stream()
+                    .map(JarEntry::getName)
+                    .filter(it -> it.endsWith(".class") && !it.startsWith("META-INF/")
+                            && !it.endsWith("module-info.class") && !it.endsWith("package-info.class"))
+                    .map(it -> it.substring(0, it.length() - ".class".length()).replace('/', '.'))
+                    .collect(toList());
+            return names.stream();
+        } catch (final IOException e) {
+            log.warn("Can't read '{}': {}", jar, e.getMessage());
+            return Stream.empty();
+        }
+    }
+}
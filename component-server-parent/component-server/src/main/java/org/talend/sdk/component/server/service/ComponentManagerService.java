@@ -17,8 +17,10 @@ package org.talend.sdk.component.server.service;
 
 import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
+import static java.util.function.Function.identity;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
 import static java.util.stream.Stream.empty;
 
@@ -28,11 +30,19 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
@@ -53,6 +63,7 @@ import javax.inject.Inject;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.UriInfo;
 
+import org.talend.sdk.component.classloader.SharedArchiveStore;
 import org.talend.sdk.component.container.Container;
 import org.talend.sdk.component.container.ContainerListener;
 import org.talend.sdk.component.dependencies.maven.Artifact;
@@ -63,6 +74,7 @@ import org.talend.sdk.component.path.PathFactory;
 import org.talend.sdk.component.runtime.manager.ComponentFamilyMeta;
 import org.talend.sdk.component.runtime.manager.ComponentManager;
 import org.talend.sdk.component.runtime.manager.ContainerComponentRegistry;
+import org.talend.sdk.component.runtime.manager.ServiceMeta;
 import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
 import org.talend.sdk.component.server.dao.ComponentActionDao;
 import org.talend.sdk.component.server.dao.ComponentDao;
@@ -118,6 +130,8 @@ public class ComponentManagerService {
 
     private volatile Date lastUpdated = new Date();
 
+    private final ThreadLocal<Locale> currentLocale = new ThreadLocal<>();
+
     private Connectors connectors;
 
     private boolean started;
@@ -128,6 +142,11 @@ public class ComponentManagerService {
 
     private ScheduledExecutorService scheduledExecutorService;
 
+    private SharedArchiveStore archiveStore;
+
+    // artifact digest per plugin (maven coordinates) for incremental reloading
+    private final Map<String, String> pluginDigests = new HashMap<>();
+
     public void startupLoad(@Observes @Initialized(ApplicationScoped.class) final Object start) {
         // no-op
     }
@@ -148,15 +167,25 @@ public class ComponentManagerService {
                 .filter(Files::exists)
                 .orElseGet(ComponentManager::findM2);
         log.info("Using maven repository: '{}'", m2);
+        archiveStore = configuration.getArchiveStore().map(PathFactory::get).map(SharedArchiveStore::new).orElse(null);
+        if (archiveStore != null) {
+            log.info("Using shared archive store: '{}'", archiveStore.getRoot());
+        }
         instance = new ComponentManager(m2) {
 
             @Override
             protected Supplier<Locale> getLocalSupplier() {
                 return ComponentManagerService.this::readCurrentLocale;
             }
+
+            @Override
+            protected Path getArchiveStore() {
+                return ComponentManagerService.this.archiveStore == null ? super.getArchiveStore()
+                        : ComponentManagerService.this.archiveStore.getRoot();
+            }
         };
         deploymentListener = new DeploymentListener(componentDao, componentFamilyDao, actionDao, configurationDao,
-                virtualDependenciesService);
+                virtualDependenciesService, archiveStore);
         instance.getContainer().registerListener(deploymentListener);
         // deploy plugins
         deployPlugins();
@@ -164,6 +193,11 @@ public class ComponentManagerService {
         synchronizeConnectors();
         // auto-reload plugins executor service
         if (configuration.getPluginsReloadActive()) {
+            if (configuration.getPluginsReloadIncremental()) {
+                synchronized (this) {
+                    findPluginCoordinates().forEach(gav -> pluginDigests.put(gav, digest(gav)));
+                }
+            }
             final boolean useTimestamp = "timestamp".equals(configuration.getPluginsReloadMethod());
             if (useTimestamp) {
                 latestPluginUpdate = readPluginsTimestamp();
@@ -197,7 +231,33 @@ public class ComponentManagerService {
         }
     }
 
+    /**
+     * Executes a task with an explicit current locale, it is used when the task is not executed in the request thread.
+     *
+     * @param locale the locale to use for the task.
+     * @param task the task to execute.
+     * @param <T> the task result type.
+     * @return the task result.
+     */
+    public <T> T withLocale(final Locale locale, final Supplier<T> task) {
+        final Locale old = currentLocale.get();
+        currentLocale.set(locale);
+        try {
+            return task.get();
+        } finally {
+            if (old == null) {
+                currentLocale.remove();
+            } else {
+                currentLocale.set(old);
+            }
+        }
+    }
+
     private Locale readCurrentLocale() {
+        final Locale forced = currentLocale.get();
+        if (forced != null) {
+            return forced;
+        }
         try {
             return ofNullable(uriInfo.getQueryParameters().getFirst("lang"))
                     .map(localeMapper::mapLocale)
@@ -231,6 +291,10 @@ public class ComponentManagerService {
         if (!reload) {
             return null;
         }
+        if (configuration.getPluginsReloadIncremental()) {
+            redeployChangedPlugins();
+            return null;
+        }
         // undeploy plugins
         log.info("Un-deploying plugins...");
         manager().getContainer().findAll().forEach(container -> container.close());
@@ -283,14 +347,126 @@ public class ComponentManagerService {
     }
 
     private synchronized void deployPlugins() {
+        findPluginCoordinates().forEach(this::deploy);
+    }
+
+    private synchronized void redeployChangedPlugins() {
+        final Map<String, String> expected = findPluginCoordinates()
+                .stream()
+                .collect(toMap(identity(), this::digest, (a, b) -> a, LinkedHashMap::new));
+        final Collection<String> removed =
+                pluginDigests.keySet().stream().filter(it -> !expected.containsKey(it)).collect(toList());
+        final Collection<String> changed = expected
+                .entrySet()
+                .stream()
+                .filter(it -> !it.getValue().equals(pluginDigests.get(it.getKey())))
+                .map(Map.Entry::getKey)
+                .collect(toList());
+        if (removed.isEmpty() && changed.isEmpty()) {
+            log.info("No plugin changed.");
+            return;
+        }
+        log.info("Re-deploying changed plugins (removed={}, added or updated={})...", removed, changed);
+
+        final Collection<String> identifiers = new HashSet<>();
+        Stream.concat(removed.stream(), changed.stream()).forEach(gav -> {
+            identifiers.add(gav);
+            findContainer(gav).ifPresent(container -> {
+                identifiers.addAll(findIdentifiers(container));
+                instance.removePlugin(container.getId());
+            });
+            pluginDigests.remove(gav);
+        });
+        changed.forEach(gav -> {
+            try {
+                final String plugin = instance
+                        .addWithLocationPlugin(gav, m2.resolve(toPluginPath(gav)).toAbsolutePath().toString());
+                instance.findPlugin(plugin).map(this::findIdentifiers).ifPresent(identifiers::addAll);
+                pluginDigests.put(gav, expected.get(gav));
+            } catch (final RuntimeException re) { // will be retried at next check
+                log.error("Can't deploy " + gav + ": " + re.getMessage(), re);
+            }
+        });
+
+        final Date updated = new Date();
+        synchronizeConnectors();
+        // observers account for this update before it is visible so the cache refresher never sees it as unknown
+        deployedComponentEvent.fire(new DeployedComponent(identifiers, updated.getTime()));
+        lastUpdated = updated;
+        log.info("Plugins re-deployed.");
+    }
+
+    private Optional<Container> findContainer(final String pluginGAV) {
+        return instance
+                .find(c -> pluginGAV.equals(c.get(ComponentManager.OriginalId.class).getValue()) ? Stream.of(c)
+                        : empty())
+                .findFirst();
+    }
+
+    private Collection<String> findIdentifiers(final Container container) {
+        final Collection<String> identifiers = new HashSet<>();
+        identifiers.add(container.getId());
+        ofNullable(container.get(ContainerComponentRegistry.class)).ifPresent(registry -> {
+            registry.getComponents().values().forEach(family -> {
+                identifiers.add(family.getId());
+                identifiers.add(family.getName());
+                Stream
+                        .of(family.getPartitionMappers().values().stream(), family.getProcessors().values().stream(),
+                                family.getDriverRunners().values().stream())
+                        .flatMap(t -> t)
+                        .map(ComponentFamilyMeta.BaseMeta::getId)
+                        .forEach(identifiers::add);
+            });
+            registry
+                    .getServices()
+                    .stream()
+                    .flatMap(c -> c.getActions().stream())
+                    .map(ServiceMeta.ActionMeta::getFamily)
+                    .forEach(identifiers::add);
+        });
+        ofNullable(container.get(RepositoryModel.class))
+                .ifPresent(model -> model
+                        .getFamilies()
+                        .stream()
+                        .flatMap(f -> DeploymentListener.configAsStream(f.getConfigs().get().stream()))
+                        .map(Config::getId)
+                        .forEach(identifiers::add));
+        return identifiers;
+    }
+
+    private String digest(final String pluginGAV) {
+        final Path file = m2.resolve(toPluginPath(pluginGAV));
+        if (!Files.exists(file)) {
+            return "missing";
+        }
+        try (final InputStream stream = Files.newInputStream(file)) {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+            }
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (final IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String toPluginPath(final String pluginGAV) {
+        return ofNullable(pluginGAV)
+                .map(gav -> mvnCoordinateToFileConverter.toArtifact(gav))
+                .map(Artifact::toPath)
+                .orElseThrow(() -> new IllegalArgumentException("Plugin GAV can't be empty"));
+    }
+
+    private List<String> findPluginCoordinates() {
         // note: we don't want to download anything from the manager, if we need to download any artifact we need
         // to ensure it is controlled (secured) and allowed so don't make it implicit but enforce a first phase
         // where it is cached locally (provisioning solution)
-        final List<String> coords = configuration
+        final List<String> coords = new ArrayList<>(configuration
                 .getComponentCoordinates()
                 .map(it -> Stream.of(it.split(",")).map(String::trim).filter(i -> !i.isEmpty()).collect(toList()))
-                .orElse(emptyList());
-        coords.forEach(this::deploy);
+                .orElse(emptyList()));
         configuration
                 .getComponentRegistry()
                 .map(Collection::stream)
@@ -308,22 +484,21 @@ public class ComponentManagerService {
                             .stream()
                             .map(properties::getProperty)
                             .filter(gav -> !coords.contains(gav))
-                            .forEach(this::deploy);
+                            .forEach(coords::add);
                 });
+        return coords;
     }
 
     public String deploy(final String pluginGAV) {
-        final String pluginPath = ofNullable(pluginGAV)
-                .map(gav -> mvnCoordinateToFileConverter.toArtifact(gav))
-                .map(Artifact::toPath)
-                .orElseThrow(() -> new IllegalArgumentException("Plugin GAV can't be empty"));
+        final String pluginPath = toPluginPath(pluginGAV);
 
         final String plugin =
                 instance.addWithLocationPlugin(pluginGAV, m2.resolve(pluginPath).toAbsolutePath().toString());
-        lastUpdated = new Date();
+        final Date updated = new Date();
+        lastUpdated = updated;
         synchronizeConnectors();
         if (started) {
-            deployedComponentEvent.fire(new DeployedComponent());
+            deployedComponentEvent.fire(new DeployedComponent(emptyList(), updated.getTime()));
         }
         return plugin;
     }
@@ -352,6 +527,10 @@ public class ComponentManagerService {
         return connectors;
     }
 
+    public Optional<SharedArchiveStore> getArchiveStore() {
+        return ofNullable(archiveStore);
+    }
+
     @AllArgsConstructor
     private static class DeploymentListener implements ContainerListener {
 
@@ -365,8 +544,19 @@ public class ComponentManagerService {
 
         private final VirtualDependenciesService virtualDependenciesService;
 
+        private final SharedArchiveStore archiveStore;
+
         @Override
         public void onCreate(final Container container) {
+            if (archiveStore != null) { // stored once there, the downloads only look them up
+                container.findExistingClasspathFiles().forEach(file -> {
+                    try {
+                        archiveStore.store(file);
+                    } catch (final IllegalStateException ise) { // downloads will use the file itself
+                        log.warn("Can't store '{}' in the archive store: {}", file, ise.getMessage());
+                    }
+                });
+            }
             container.set(CleanupTask.class, new CleanupTask(postDeploy(container)));
         }
 
@@ -429,7 +619,7 @@ public class ComponentManagerService {
             };
         }
 
-        private Stream<Config> configAsStream(final Stream<Config> stream) {
+        private static Stream<Config> configAsStream(final Stream<Config> stream) {
             return stream.flatMap(s -> Stream.concat(Stream.of(s), s.getChildConfigs().stream()));
         }
     }
@@ -25,18 +25,27 @@ import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Initialized;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
 import org.talend.sdk.component.container.Container;
+import org.talend.sdk.component.runtime.manager.ComponentFamilyMeta;
+import org.talend.sdk.component.runtime.manager.ComponentManager;
+import org.talend.sdk.component.runtime.manager.ContainerComponentRegistry;
 import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
+import org.talend.sdk.component.server.service.event.DeployedComponent;
 
 import lombok.Data;
 
@@ -46,10 +55,16 @@ public class IconResolver {
     @Inject
     private ComponentServerConfiguration componentServerConfiguration;
 
+    @Inject
+    private ComponentManager manager;
+
     private boolean supportsSvg;
 
     private List<String> patterns;
 
+    // content addressed view of all the resolved icons, hashes are stable so entries are never evicted
+    private final ConcurrentMap<String, Icon> iconsByHash = new ConcurrentHashMap<>();
+
     @PostConstruct
     protected void init() {
         supportsSvg = System.getProperty("talend.studio.version") == null
@@ -62,6 +77,32 @@ public class IconResolver {
                         .collect(toList());
     }
 
+    public void onStart(@Observes @Initialized(ApplicationScoped.class) final Object start) {
+        registerIcons(null);
+    }
+
+    public void onDeployment(@Observes final DeployedComponent deployedComponent) {
+        registerIcons(deployedComponent.isIncremental() ? deployedComponent.getIdentifiers() : null);
+    }
+
+    // the hash index must be filled before a client gets a link, not lazily on the first index request
+    private void registerIcons(final Collection<String> plugins) {
+        manager
+                .find(Stream::of)
+                .filter(container -> plugins == null || plugins.contains(container.getId()))
+                .forEach(container -> ofNullable(container.get(ContainerComponentRegistry.class))
+                        .ifPresent(registry -> registry.getComponents().values().forEach(family -> {
+                            resolve(container, family.getIcon());
+                            Stream
+                                    .of(family.getPartitionMappers().values().stream(),
+                                            family.getProcessors().values().stream(),
+                                            family.getDriverRunners().values().stream())
+                                    .flatMap(t -> t)
+                                    .map(ComponentFamilyMeta.BaseMeta::getIcon)
+                                    .forEach(icon -> resolve(container, icon));
+                        })));
+    }
+
     protected boolean isSupportsSvg() {
         return supportsSvg;
     }
@@ -108,10 +149,38 @@ public class IconResolver {
                 .computeIfAbsent(icon,
                         k -> ofNullable(getOverridenIcon(icon, appLoader)
                                 .orElseGet(() -> doLoad(container.getLoader(), icon)
-                                        .orElseGet(() -> doLoad(appLoader, icon).orElse(null)))))
+                                        .orElseGet(() -> doLoad(appLoader, icon).orElse(null))))
+                                .map(this::register))
                 .orElse(null);
     }
 
+    /**
+     * @param hash the icon content hash.
+     * @return the icon with this hash if it was already resolved.
+     */
+    public Optional<Icon> findByHash(final String hash) {
+        return ofNullable(hash).map(iconsByHash::get);
+    }
+
+    private Icon register(final Icon icon) {
+        icon.setHash(hash(icon.getBytes()));
+        return iconsByHash.computeIfAbsent(icon.getHash(), k -> icon);
+    }
+
+    private String hash(final byte[] bytes) {
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+            final char[] hexChars = "0123456789abcdef".toCharArray();
+            final StringBuilder out = new StringBuilder(hash.length * 2);
+            for (final byte b : hash) {
+                out.append(hexChars[b >> 4 & 15]).append(hexChars[b & 15]);
+            }
+            return out.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private Optional<Icon> getOverridenIcon(final String icon, final ClassLoader appLoader) {
         Icon result = null;
         if (isSupportsSvg()) {
@@ -159,6 +228,9 @@ public class IconResolver {
         private final String type;
 
         private final byte[] bytes;
+
+        // sha-256 of the bytes, set once the icon is resolved
+        private String hash;
     }
 
     private byte[] toBytes(final InputStream resource) {
@@ -16,14 +16,17 @@
 package org.talend.sdk.component.server.service;
 
 import static java.util.Locale.ENGLISH;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.Collection;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
@@ -31,6 +34,8 @@ import javax.inject.Inject;
 
 import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
 
+import lombok.Getter;
+
 @ApplicationScoped
 public class LocaleMapper {
 
@@ -39,6 +44,9 @@ public class LocaleMapper {
 
     private Map<Predicate<String>, String> mapping;
 
+    @Getter
+    private Collection<String> languages;
+
     @PostConstruct
     private void init() {
         final Properties properties = new Properties();
@@ -54,6 +62,10 @@ public class LocaleMapper {
             }
             return (Predicate<String>) s -> s.equals(it);
         }, properties::getProperty));
+        languages = Stream
+                .concat(Stream.of("en"), mapping.values().stream().map(String::trim))
+                .distinct()
+                .collect(toList());
     }
 
     // intended to limit and normalize the locales to avoid a tons when used with caching
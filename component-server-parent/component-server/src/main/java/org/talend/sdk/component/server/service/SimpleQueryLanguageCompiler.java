@@ -15,8 +15,12 @@
  */
 package org.talend.sdk.component.server.service;
 
+import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
 
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.BiPredicate;
@@ -43,6 +47,59 @@ public class SimpleQueryLanguageCompiler {
         return doCompile(query.toCharArray(), 0, evaluators, TokenType.END).predicate;
     }
 
+    /**
+     * Extracts the equality terms a query requires, i.e. the {@code key = value} terms only combined with AND
+     * up to the root of the query. They can be used to prune candidates before applying the compiled predicate.
+     *
+     * @param query the query, it must be valid (compiled without error).
+     * @return the required equalities, empty if the query can't be pruned.
+     */
+    public List<Map.Entry<String, String>> extractRequiredEqualities(final String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return emptyList();
+        }
+        final List<Map.Entry<String, String>> equalities = new ArrayList<>();
+        extractRequiredEqualities(query.toCharArray(), 0, equalities);
+        return equalities;
+    }
+
+    // returns the index after the (sub)expression, the equalities are only added if the expression has no OR
+    private int extractRequiredEqualities(final char[] buffer, final int from,
+            final List<Map.Entry<String, String>> required) {
+        final List<Map.Entry<String, String>> equalities = new ArrayList<>();
+        boolean or = false;
+        int index = from;
+        while (true) {
+            final Token token = nextToken(buffer, index);
+            if (token.type == TokenType.END || token.type == TokenType.SUB_EXPRESSION_END) {
+                if (!or) {
+                    required.addAll(equalities);
+                }
+                return token.end + 1;
+            }
+            switch (token.type) {
+            case SUB_EXPRESSION_START:
+                index = extractRequiredEqualities(buffer, token.end + 1, equalities);
+                break;
+            case COMBINER:
+                or = or || "OR".equals(token.value);
+                index = token.end + 1;
+                break;
+            case VALUE:
+                final Token operator = nextToken(buffer, token.end + 1);
+                final Token value = nextToken(buffer, operator.end + 1);
+                if (operator.type == TokenType.OPERATOR && "=".equals(operator.value)
+                        && value.type == TokenType.VALUE) {
+                    equalities.add(new AbstractMap.SimpleImmutableEntry<>(token.value, value.value));
+                }
+                index = value.end + 1;
+                break;
+            default:
+                index = token.end + 1;
+            }
+        }
+    }
+
     public <T> SubExpression<T> doCompile(final char[] buffer, final int from,
             final Map<String, Function<T, Object>> evaluators, final TokenType stopToken) {
         Predicate<T> predicate = null;
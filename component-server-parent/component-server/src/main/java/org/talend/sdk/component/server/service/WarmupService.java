@@ -0,0 +1,189 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service;
+
+import static java.util.Collections.singletonList;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Initialized;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
+import org.talend.sdk.component.server.front.ActionResourceImpl;
+import org.talend.sdk.component.server.front.ComponentResourceImpl;
+import org.talend.sdk.component.server.front.ConfigurationTypeResourceImpl;
+import org.talend.sdk.component.server.front.model.ComponentIndex;
+import org.talend.sdk.component.server.front.model.Readiness;
+import org.talend.sdk.component.server.service.event.DeployedComponent;
+import org.talend.sdk.component.server.service.jcache.FrontCacheKeyGenerator;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Precomputes the cached metadata (through the resources to populate their caches) for all the mapped languages
+ * at startup and after the deployments, the instance is ready once the startup warm-up is done.
+ */
+@Slf4j
+@ApplicationScoped
+public class WarmupService {
+
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    @Inject
+    private LocaleMapper localeMapper;
+
+    @Inject
+    private ComponentResourceImpl componentResource;
+
+    @Inject
+    private ConfigurationTypeResourceImpl configurationTypeResource;
+
+    @Inject
+    private ActionResourceImpl actionResource;
+
+    @Inject
+    private FrontCacheKeyGenerator keyGenerator;
+
+    private final AtomicInteger tasks = new AtomicInteger();
+
+    private final AtomicInteger completedTasks = new AtomicInteger();
+
+    private volatile CompletableFuture<Void> startup = CompletableFuture.completedFuture(null);
+
+    private ExecutorService executor;
+
+    public void onStart(@Observes @Initialized(ApplicationScoped.class) final Object start) {
+        if (configuration.getWarmupActive() == null || !configuration.getWarmupActive()) {
+            return;
+        }
+        final int threads = Math.max(1, configuration.getWarmupThreads());
+        final AtomicInteger counter = new AtomicInteger();
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(), r -> {
+                    final Thread thread = new Thread(r, "talend-component-server-warmup-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        executor = pool;
+        start(pool);
+    }
+
+    /**
+     * Runs a full warm-up, the instance is not ready until it is done.
+     *
+     * @param executor the executor running the warm-up tasks.
+     * @return the warm-up completion.
+     */
+    public CompletableFuture<Void> start(final Executor executor) {
+        final long begin = System.nanoTime();
+        log.info("Warming up metadata for languages {}", localeMapper.getLanguages());
+        final CompletableFuture<Void> warmup = warmup(executor).whenComplete((result, error) -> log
+                .info("Warm-up done in {}ms ({} tasks)", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin),
+                        completedTasks.get()));
+        startup = warmup;
+        return warmup;
+    }
+
+    public void onDeployment(@Observes final DeployedComponent deployedComponent) {
+        if (executor != null) { // deployments clear (some of) the caches, recompute them in background
+            warmup(executor);
+        }
+    }
+
+    @PreDestroy
+    private void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public Readiness getReadiness() {
+        return new Readiness(startup.isDone() ? Readiness.Status.UP : Readiness.Status.WARMING_UP, tasks.get(),
+                completedTasks.get());
+    }
+
+    // each call is cached as the matching GET request (only language and identifiers query parameters) would be
+    private CompletableFuture<Void> warmup(final Executor executor) {
+        return all(localeMapper.getLanguages().stream().flatMap(language -> Stream.of(
+                // index then the detail of each component
+                submit(executor, "component/index", language, null,
+                        () -> componentResource.getIndex(language, false, null))
+                                .thenCompose(index -> all(index
+                                        .getComponents()
+                                        .stream()
+                                        .map(ComponentIndex::getId)
+                                        .map(id -> submit(executor, "component/details", language, id.getId(),
+                                                () -> componentResource
+                                                        .getDetail(language, new String[] { id.getId() }))))),
+                // configuration types then the detail of each of them
+                submit(executor, "configurationtype/index", language, null,
+                        () -> configurationTypeResource.getRepositoryModel(language, true, null))
+                                .thenCompose(nodes -> all(nodes
+                                        .getNodes()
+                                        .keySet()
+                                        .stream()
+                                        .map(id -> submit(executor, "configurationtype/details", language, id,
+                                                () -> configurationTypeResource
+                                                        .getDetail(language, new String[] { id }))))),
+                submit(executor, "action/index", language, null,
+                        () -> actionResource.getIndex(new String[0], new String[0], language)))));
+    }
+
+    private <T> CompletableFuture<T> submit(final Executor executor, final String path, final String language,
+            final String identifier, final Supplier<T> task) {
+        final Map<String, List<String>> queryParameters = new HashMap<>();
+        queryParameters.put("language", singletonList(language));
+        if (identifier != null) {
+            queryParameters.put("identifiers", singletonList(identifier));
+        }
+        final FrontCacheKeyGenerator.RequestContext request = new FrontCacheKeyGenerator.RequestContext(path,
+                queryParameters, configuration.getWarmupAccept(), configuration.getWarmupAcceptEncoding().orElse(null));
+        tasks.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return keyGenerator.withRequest(request, task);
+            } catch (final RuntimeException re) {
+                log.warn("Warm-up task failed: {}", re.getMessage(), re);
+                throw re;
+            } finally {
+                completedTasks.incrementAndGet();
+            }
+        }, executor);
+    }
+
+    private static CompletableFuture<Void> all(final Stream<? extends CompletableFuture<?>> futures) {
+        return CompletableFuture
+                .allOf(futures.toArray(CompletableFuture<?>[]::new))
+                .<Void> handle((result, error) -> null); // failures are logged by the tasks, don't stop the warm-up
+    }
+}
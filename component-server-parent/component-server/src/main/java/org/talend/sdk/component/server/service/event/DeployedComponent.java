@@ -15,8 +15,27 @@
  */
 package org.talend.sdk.component.server.service.event;
 
+import static java.util.Collections.emptyList;
+
+import java.util.Collection;
+
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class DeployedComponent {
+
+    // plugins, families, components and configurations impacted by an incremental deployment,
+    // empty means the whole plugin set changed
+    private Collection<String> identifiers = emptyList();
+
+    // the deployment date (as published by the environment) this event is about, 0 if not provided
+    private long timestamp;
+
+    public boolean isIncremental() {
+        return !identifiers.isEmpty();
+    }
 }
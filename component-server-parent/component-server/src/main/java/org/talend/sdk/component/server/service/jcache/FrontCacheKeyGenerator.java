@@ -17,7 +17,11 @@ package org.talend.sdk.component.server.service.jcache;
 
 import java.lang.annotation.Annotation;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import javax.cache.annotation.CacheInvocationParameter;
@@ -31,6 +35,7 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.UriInfo;
 
+import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -49,6 +54,8 @@ public class FrontCacheKeyGenerator implements CacheKeyGenerator {
     @Context
     private HttpHeaders headers;
 
+    private final ThreadLocal<RequestContext> requestContext = new ThreadLocal<>();
+
     @Override
     public GeneratedCacheKey
             generateCacheKey(final CacheKeyInvocationContext<? extends Annotation> cacheKeyInvocationContext) {
@@ -58,11 +65,39 @@ public class FrontCacheKeyGenerator implements CacheKeyGenerator {
                 .toArray(Object[]::new));
     }
 
+    /**
+     * Executes a task outside of any HTTP request (warm-up) caching its results as the described request would.
+     *
+     * @param context the request the task is executed for.
+     * @param task the task to execute.
+     * @param <T> the task result type.
+     * @return the task result.
+     */
+    public <T> T withRequest(final RequestContext context, final Supplier<T> task) {
+        final RequestContext old = requestContext.get();
+        requestContext.set(context);
+        try {
+            return task.get();
+        } finally {
+            if (old == null) {
+                requestContext.remove();
+            } else {
+                requestContext.set(old);
+            }
+        }
+    }
+
     private Stream<Object> getContextualKeys() {
+        final RequestContext context = requestContext.get();
+        if (context != null) {
+            return Stream
+                    .of(normalize(context.getPath()), new TreeMap<>(context.getQueryParameters()), null,
+                            context.getAccept(), context.getAcceptEncoding());
+        }
         try {
             return Stream
-                    .of(uriInfo.getPath(), uriInfo.getQueryParameters(), headers.getLanguage(),
-                            headers.getHeaderString(HttpHeaders.ACCEPT),
+                    .of(normalize(uriInfo.getPath()), new TreeMap<>(uriInfo.getQueryParameters()),
+                            headers.getLanguage(), headers.getHeaderString(HttpHeaders.ACCEPT),
                             headers.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
         } catch (Exception e) {
             log.debug("[getContextualKeys] context not applicable: {}", e.getMessage());
@@ -70,7 +105,27 @@ public class FrontCacheKeyGenerator implements CacheKeyGenerator {
         }
     }
 
-    private static class GeneratedCacheKeyImpl implements GeneratedCacheKey {
+    // the same whatever the container representation of the path is
+    private static String normalize(final String path) {
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    /**
+     * The parts of a request the cached front results depend on.
+     */
+    @Data
+    public static class RequestContext {
+
+        private final String path;
+
+        private final Map<String, List<String>> queryParameters;
+
+        private final String accept;
+
+        private final String acceptEncoding;
+    }
+
+    static class GeneratedCacheKeyImpl implements GeneratedCacheKey {
 
         private final Object[] params;
 
@@ -81,6 +136,10 @@ public class FrontCacheKeyGenerator implements CacheKeyGenerator {
             hash = Arrays.deepHashCode(parameters);
         }
 
+        Object[] getParameters() {
+            return params;
+        }
+
         @Override
         public boolean equals(final Object o) {
             if (this == o) {
@@ -16,9 +16,29 @@
 package org.talend.sdk.component.server.service.jcache;
 
 import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toMap;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import javax.annotation.PostConstruct;
@@ -32,15 +52,18 @@ import javax.cache.annotation.CacheResolverFactory;
 import javax.cache.annotation.CacheResult;
 import javax.cache.configuration.Configuration;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
+import javax.ws.rs.core.Response;
 
 import org.apache.geronimo.jcache.simple.cdi.CacheResolverImpl;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.talend.sdk.component.api.meta.Documentation;
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
 import org.talend.sdk.component.server.front.EnvironmentResourceImpl;
 import org.talend.sdk.component.server.front.model.Environment;
+import org.talend.sdk.component.server.service.event.DeployedComponent;
 import org.talend.sdk.components.vault.jcache.CacheConfigurationFactory;
-import org.talend.sdk.components.vault.jcache.CacheSizeManager;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -62,7 +85,18 @@ public class FrontCacheResolver implements CacheResolverFactory {
     @Inject
     EnvironmentResourceImpl env;
 
-    private long lastUpdated;
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    private Map<String, Long> maxBytesPerMethod;
+
+    private final ConcurrentMap<String, WeightedCacheSizeManager<Object, Object>> sizeManagers =
+            new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, Collection<Field>> modelFields = new ConcurrentHashMap<>();
+
+    // latest deployment date the caches account for, deployment events and the refresher only move it forward
+    private final AtomicLong handled = new AtomicLong();
 
     private volatile boolean running = true;
 
@@ -70,7 +104,19 @@ public class FrontCacheResolver implements CacheResolverFactory {
 
     @PostConstruct
     private void startRefresh() {
-        lastUpdated = System.currentTimeMillis();
+        maxBytesPerMethod = configuration.getMaxCacheBytesPerCache().map(value -> {
+            final Properties properties = new Properties();
+            try (final StringReader reader = new StringReader(value)) {
+                properties.load(reader);
+            } catch (final IOException e) {
+                throw new IllegalArgumentException(e);
+            }
+            return properties
+                    .stringPropertyNames()
+                    .stream()
+                    .collect(toMap(it -> it, it -> Long.parseLong(properties.getProperty(it).trim())));
+        }).orElseGet(HashMap::new);
+        handled.set(System.currentTimeMillis());
         thread = new Thread(() -> refreshThread(refreshPeriod));
         thread.setName(getClass().getName() + "-refresher");
         thread.setPriority(Thread.NORM_PRIORITY);
@@ -108,15 +154,66 @@ public class FrontCacheResolver implements CacheResolverFactory {
         }
     }
 
-    private void updateIfNeeded() {
+    void updateIfNeeded() {
         final Environment environment = env.get();
         // assumes time are synch-ed but not a high assumption
-        if (lastUpdated < environment.getLastUpdated().getTime()) {
+        final long updated = environment.getLastUpdated().getTime();
+        if (handled.getAndAccumulate(updated, Math::max) < updated) {
             clearCaches();
-            lastUpdated = System.currentTimeMillis();
         }
     }
 
+    public void onDeployment(@Observes final DeployedComponent deployedComponent) {
+        updateIfNeeded(); // a previous update without event (undeployment) still needs a full clear
+        if (deployedComponent.isIncremental()) { // resources evicted the impacted entries, no need to clear all
+            handled.accumulateAndGet(deployedComponent.getTimestamp(), Math::max);
+        }
+    }
+
+    /**
+     * Evicts the entries of a cached front method.
+     *
+     * @param resource the resource class owning the cached method.
+     * @param method the cached method name.
+     * @param keyParameters a filter on the method parameters (as passed to the method) selecting entries to evict.
+     */
+    public void evict(final Class<?> resource, final String method, final Predicate<Object[]> keyParameters) {
+        final String prefix = resource.getName() + '.' + method + '(';
+        StreamSupport
+                .stream(cacheManager.getCacheNames().spliterator(), false)
+                .filter(name -> name.startsWith(prefix))
+                .map(name -> cacheManager.<Object, Object> getCache(name))
+                .filter(Objects::nonNull)
+                .forEach(cache -> {
+                    final Set<Object> keys = new HashSet<>();
+                    for (final Cache.Entry<Object, Object> entry : cache) {
+                        final Object key = entry.getKey();
+                        if (!FrontCacheKeyGenerator.GeneratedCacheKeyImpl.class.isInstance(key) || keyParameters
+                                .test(FrontCacheKeyGenerator.GeneratedCacheKeyImpl.class.cast(key).getParameters())) {
+                            keys.add(key);
+                        }
+                    }
+                    log.debug("[evict] {} entries of {}", keys.size(), cache.getName());
+                    cache.removeAll(keys);
+                });
+    }
+
+    /**
+     * @param identifiers the impacted identifiers.
+     * @return a filter matching cache keys using one of the identifiers as parameter (directly or in an array).
+     */
+    public static Predicate<Object[]> references(final Collection<String> identifiers) {
+        return parameters -> Stream.of(parameters).anyMatch(parameter -> {
+            if (String.class.isInstance(parameter)) {
+                return identifiers.contains(parameter);
+            }
+            if (String[].class.isInstance(parameter)) {
+                return Stream.of(String[].class.cast(parameter)).anyMatch(identifiers::contains);
+            }
+            return false;
+        });
+    }
+
     private void clearCaches() {
         StreamSupport
                 .stream(cacheManager.getCacheNames().spliterator(), false)
@@ -144,15 +241,113 @@ public class FrontCacheResolver implements CacheResolverFactory {
                 cache = cacheManager.getCache(exceptionCacheName);
             }
         }
-        return new CacheResolverImpl(cache);
+        final WeightedCacheSizeManager<Object, Object> sizeManager = sizeManagers.get(exceptionCacheName);
+        return new CacheResolverImpl(sizeManager == null ? cache : trackReads(cache, sizeManager));
+    }
+
+    // jcache listeners don't see the reads, the size manager needs them to evict the least recently used entries
+    private Cache<?, ?> trackReads(final Cache<?, ?> cache,
+            final WeightedCacheSizeManager<Object, Object> sizeManager) {
+        return Cache.class
+                .cast(Proxy
+                        .newProxyInstance(FrontCacheResolver.class.getClassLoader(), new Class<?>[] { Cache.class },
+                                (proxy, method, args) -> {
+                                    try {
+                                        final Object result = method.invoke(cache, args);
+                                        if (result != null && "get".equals(method.getName()) && args != null
+                                                && args.length == 1) {
+                                            sizeManager.touch(args[0]);
+                                        }
+                                        return result;
+                                    } catch (final InvocationTargetException ite) {
+                                        throw ite.getTargetException();
+                                    }
+                                }));
     }
 
     private Cache<?, ?> createCache(final String exceptionCacheName) {
         log.debug("[createCache] {}", exceptionCacheName);
-        final CacheSizeManager<Object, Object> listener = new CacheSizeManager<>(cacheConfiguration.maxSize());
+        final WeightedCacheSizeManager<Object, Object> listener = new WeightedCacheSizeManager<>(
+                cacheConfiguration.maxSize(), findMaxBytes(exceptionCacheName), this::weigh);
         final Configuration<Object, Object> configuration = cacheConfiguration.createConfiguration(listener);
         final Cache<Object, Object> instance = cacheManager.createCache(exceptionCacheName, configuration);
         listener.accept(instance);
+        sizeManagers.put(exceptionCacheName, listener);
         return instance;
     }
+
+    private long findMaxBytes(final String cacheName) { // cache names are "<resource class>.<method>(<params>)"
+        final int paramsStart = cacheName.indexOf('(');
+        final String methodRef = paramsStart > 0 ? cacheName.substring(0, paramsStart) : cacheName;
+        final String method = methodRef.substring(methodRef.lastIndexOf('.') + 1);
+        return maxBytesPerMethod.getOrDefault(method, configuration.getMaxCacheBytes());
+    }
+
+    private long weigh(final Object value) {
+        return estimate(value, 0);
+    }
+
+    // structural estimate (headers, references and string/array payloads), serializing on each put is too costly
+    private long estimate(final Object value, final int depth) {
+        if (value == null || Enum.class.isInstance(value)) {
+            return 0;
+        }
+        if (byte[].class.isInstance(value)) {
+            return 16 + byte[].class.cast(value).length;
+        }
+        if (CharSequence.class.isInstance(value)) {
+            return 40 + CharSequence.class.cast(value).length() * 2L;
+        }
+        if (Number.class.isInstance(value) || Boolean.class.isInstance(value) || Character.class.isInstance(value)) {
+            return 16;
+        }
+        if (depth > 32) { // models are trees, it is only a guard
+            return 16;
+        }
+        if (Response.class.isInstance(value)) {
+            final Object entity = Response.class.cast(value).getEntity();
+            return Response.class.isInstance(entity) ? 0 : estimate(entity, depth + 1);
+        }
+        if (Collection.class.isInstance(value)) {
+            final Collection<?> collection = Collection.class.cast(value);
+            return collection.stream().mapToLong(it -> 8 + estimate(it, depth + 1)).reduce(32, Long::sum);
+        }
+        if (Map.class.isInstance(value)) {
+            final Map<?, ?> map = Map.class.cast(value);
+            return map
+                    .entrySet()
+                    .stream()
+                    .mapToLong(it -> 32 + estimate(it.getKey(), depth + 1) + estimate(it.getValue(), depth + 1))
+                    .reduce(48, Long::sum);
+        }
+        if (!isModel(value.getClass())) { // streams and lazy outputs, only the reference is held
+            return 0;
+        }
+        long weight = 16;
+        for (final Field field : modelFields.computeIfAbsent(value.getClass(), this::findModelFields)) {
+            try {
+                weight += field.getType().isPrimitive() ? 8 : 8 + estimate(field.get(value), depth + 1);
+            } catch (final IllegalAccessException e) {
+                weight += 8;
+            }
+        }
+        return weight;
+    }
+
+    private boolean isModel(final Class<?> type) {
+        return type.getName().startsWith("org.talend.sdk.component.server.front.model.");
+    }
+
+    private Collection<Field> findModelFields(final Class<?> type) {
+        final Collection<Field> fields = new ArrayList<>();
+        for (Class<?> current = type; current != null && isModel(current); current = current.getSuperclass()) {
+            for (final Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        }
+        return fields;
+    }
 }
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service.jcache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+import javax.cache.Cache;
+import javax.cache.event.CacheEntryCreatedListener;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryExpiredListener;
+import javax.cache.event.CacheEntryListenerException;
+import javax.cache.event.CacheEntryRemovedListener;
+import javax.cache.event.CacheEntryUpdatedListener;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Bounds a cache by its number of entries and by the estimated weight (bytes) of its values,
+ * the least recently used entries are evicted first (the most recent one is always kept even if heavier than
+ * the budget). JCache listeners don't see the reads so cache hits must be reported with {@link #touch(Object)}.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+@RequiredArgsConstructor
+public class WeightedCacheSizeManager<K, V> implements CacheEntryCreatedListener<K, V>,
+        CacheEntryUpdatedListener<K, V>, CacheEntryExpiredListener<K, V>, CacheEntryRemovedListener<K, V>,
+        Consumer<Cache<K, V>> {
+
+    private final int maxEntries;
+
+    private final long maxWeight;
+
+    private final ToLongFunction<Object> weigher;
+
+    private final Map<K, Long> weights = new LinkedHashMap<>(16, .75f, true);
+
+    private long weight;
+
+    private Cache<K, V> cache;
+
+    @Override
+    public void onCreated(final Iterable<CacheEntryEvent<? extends K, ? extends V>> cacheEntryEvents)
+            throws CacheEntryListenerException {
+        onUpdated(cacheEntryEvents);
+    }
+
+    @Override
+    public void onUpdated(final Iterable<CacheEntryEvent<? extends K, ? extends V>> cacheEntryEvents)
+            throws CacheEntryListenerException {
+        final Collection<K> evicted = new ArrayList<>();
+        synchronized (this) {
+            cacheEntryEvents.forEach(it -> {
+                final long entryWeight = it.getValue() == null ? 0 : weigher.applyAsLong(it.getValue());
+                final Long previous = weights.remove(it.getKey());
+                weight += entryWeight - (previous == null ? 0 : previous);
+                weights.put(it.getKey(), entryWeight);
+            });
+            final Iterator<Map.Entry<K, Long>> iterator = weights.entrySet().iterator();
+            while ((weights.size() > maxEntries || weight > maxWeight) && weights.size() > 1 && iterator.hasNext()) {
+                final Map.Entry<K, Long> eldest = iterator.next();
+                weight -= eldest.getValue();
+                evicted.add(eldest.getKey());
+                iterator.remove();
+            }
+        }
+        if (!evicted.isEmpty() && cache != null) { // outside the lock since it triggers onRemoved
+            evicted.forEach(cache::remove);
+        }
+    }
+
+    @Override
+    public void onExpired(final Iterable<CacheEntryEvent<? extends K, ? extends V>> cacheEntryEvents)
+            throws CacheEntryListenerException {
+        onRemoved(cacheEntryEvents);
+    }
+
+    @Override
+    public synchronized void onRemoved(final Iterable<CacheEntryEvent<? extends K, ? extends V>> cacheEntryEvents)
+            throws CacheEntryListenerException {
+        cacheEntryEvents.forEach(it -> {
+            final Long previous = weights.remove(it.getKey());
+            if (previous != null) {
+                weight -= previous;
+            }
+        });
+    }
+
+    /**
+     * Marks an entry as recently used.
+     *
+     * @param key the key of the entry read from the cache.
+     */
+    public synchronized void touch(final K key) {
+        weights.get(key); // access ordered map
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    @Override
+    public void accept(final Cache<K, V> cache) {
+        this.cache = cache;
+    }
+}
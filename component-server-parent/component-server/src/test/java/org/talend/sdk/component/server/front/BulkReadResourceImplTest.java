@@ -16,9 +16,11 @@
 package org.talend.sdk.component.server.front;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.client.Entity.entity;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
@@ -124,6 +126,41 @@ class BulkReadResourceImplTest {
                 new String(results.get(2).getResponse(), StandardCharsets.UTF_8));
     }
 
+    @Test
+    void concurrentRequestsKeepOrder() {
+        final List<String> ids = Stream
+                .of(client.getJdbcId(), client.getComponentId("chain", "list"))
+                .flatMap(id -> IntStream.range(0, 10).mapToObj(i -> id))
+                .collect(toList());
+        final BulkResponses responses = base
+                .path("bulk")
+                .request(APPLICATION_JSON_TYPE)
+                .post(entity(new BulkRequests(ids
+                        .stream()
+                        .map(id -> new BulkRequests.Request(HttpMethod.GET, null,
+                                singletonMap(HttpHeaders.CONTENT_TYPE, singletonList(APPLICATION_JSON)),
+                                "/api/v1/documentation/component/" + id, emptyMap()))
+                        .collect(toList())), APPLICATION_JSON_TYPE), BulkResponses.class);
+        assertEquals(ids.size(), responses.getResponses().size());
+        IntStream.range(0, ids.size()).forEach(i -> {
+            final BulkResponses.Result result = responses.getResponses().get(i);
+            if (i < 10) {
+                assertEquals(HttpServletResponse.SC_OK, result.getStatus());
+                assertTrue(new String(result.getResponse(), StandardCharsets.UTF_8).contains("== input"));
+            } else {
+                assertEquals(HttpServletResponse.SC_NOT_FOUND, result.getStatus());
+            }
+        });
+    }
+
+    @Test
+    void empty() {
+        assertEquals("{\"responses\":[]}", base
+                .path("bulk")
+                .request(APPLICATION_JSON_TYPE)
+                .post(entity(new BulkRequests(emptyList()), APPLICATION_JSON_TYPE), String.class));
+    }
+
     @Test
     void forbidden() {
         final BulkResponses responses =
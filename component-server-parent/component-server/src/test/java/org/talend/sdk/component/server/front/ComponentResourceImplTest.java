@@ -25,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -44,11 +45,16 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.jar.JarFile;
 import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
 import javax.inject.Inject;
+import javax.json.bind.Jsonb;
+import javax.json.bind.spi.JsonbProvider;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
 import org.apache.meecrowave.junit5.MonoMeecrowaveConfig;
 import org.apache.ziplock.IO;
@@ -57,6 +63,7 @@ import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.io.TempDir;
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
 import org.talend.sdk.component.server.front.model.ActionReference;
 import org.talend.sdk.component.server.front.model.ComponentDetail;
 import org.talend.sdk.component.server.front.model.ComponentDetailList;
@@ -69,6 +76,7 @@ import org.talend.sdk.component.server.front.model.Link;
 import org.talend.sdk.component.server.front.model.PropertyValidation;
 import org.talend.sdk.component.server.front.model.SimplePropertyDefinition;
 import org.talend.sdk.component.server.test.ComponentClient;
+import org.talend.sdk.component.server.test.websocket.SlowResource;
 import org.talend.sdk.component.server.test.websocket.WebsocketClient;
 
 @MonoMeecrowaveConfig
@@ -83,11 +91,58 @@ class ComponentResourceImplTest {
     @Inject
     private WebsocketClient ws;
 
+    @Inject
+    private SlowResource slowResource;
+
+    @Inject
+    private ComponentServerConfiguration configuration;
+
     @Test
     void webSocketGetIndex() {
         assertIndex(ws.read(ComponentIndices.class, "get", "/component/index?includeIconContent=true", ""));
     }
 
+    @Test
+    void webSocketMultiplexing() throws Exception {
+        final Map<String, String> uris = new HashMap<>();
+        uris.put("index", "/component/index?includeIconContent=true");
+        uris.put("missing", "/component/details?identifiers=missing");
+        final Map<String, byte[]> responses = ws.multiplex(uris, true);
+        assertEquals(uris.keySet(), responses.keySet());
+
+        final String missing = new String(responses.get("missing"), StandardCharsets.UTF_8);
+        assertTrue(missing.startsWith("MESSAGE\r\nrequestId: missing\r\nstatus: 400\r\n"), missing);
+        assertTrue(missing.endsWith("^@"), missing);
+
+        final byte[] index = responses.get("index");
+        final String head = new String(index, StandardCharsets.ISO_8859_1);
+        assertTrue(head.startsWith("MESSAGE\r\nrequestId: index\r\nstatus: 200\r\ncompression: gzip\r\n"), head);
+        final int start = head.indexOf("\r\n\r\n") + 4;
+        try (final Jsonb jsonb = JsonbProvider.provider().create().build();
+                final InputStream json =
+                        new GZIPInputStream(new ByteArrayInputStream(index, start, index.length - start - 2))) {
+            assertIndex(jsonb.fromJson(json, ComponentIndices.class));
+        }
+    }
+
+    @Test
+    void webSocketMultiplexingBound() {
+        final int concurrency = configuration.getWebSocketMultiplexingConcurrency();
+        final Map<String, String> uris = new HashMap<>();
+        IntStream.range(0, concurrency * 3).forEach(i -> uris.put("slow" + i, "/test/slow"));
+        slowResource.getMaxInFlight().set(0);
+
+        // asynchronous responses keep their permit until they are sent
+        final Map<String, byte[]> responses = ws.multiplex(uris, false);
+        assertEquals(uris.keySet(), responses.keySet());
+        responses.forEach((id, frame) -> {
+            final String response = new String(frame, StandardCharsets.UTF_8);
+            assertTrue(response.startsWith("MESSAGE\r\nrequestId: " + id + "\r\nstatus: 200\r\n"), response);
+        });
+        final int maxInFlight = slowResource.getMaxInFlight().get();
+        assertTrue(maxInFlight > 0 && maxInFlight <= concurrency, Integer.toString(maxInFlight));
+    }
+
     @RepeatedTest(2) // this also checks the cache and queries usage
     void getDependencies() {
         final String compId = client.getJdbcId();
@@ -159,6 +214,75 @@ class ComponentResourceImplTest {
         assertEquals("jdbc#input", id.getFamily() + "#" + id.getName());
     }
 
+    @Test
+    void getIndexConditionalRequest() {
+        final Response first = base.path("component/index").request(APPLICATION_JSON_TYPE).get();
+        assertEquals(200, first.getStatus());
+        final String etag = first.getHeaderString(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        first.close();
+
+        // served from the bytes cache
+        final Response cached = base.path("component/index").request(APPLICATION_JSON_TYPE).get();
+        assertEquals(200, cached.getStatus());
+        assertEquals(etag, cached.getHeaderString(HttpHeaders.ETAG));
+        assertEquals(10, cached.readEntity(ComponentIndices.class).getComponents().size());
+
+        final Response notModified = base
+                .path("component/index")
+                .request(APPLICATION_JSON_TYPE)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .get();
+        assertEquals(304, notModified.getStatus());
+        assertEquals(etag, notModified.getHeaderString(HttpHeaders.ETAG));
+        notModified.close();
+    }
+
+    @Test
+    void getIndexIfNoneMatchAny() {
+        final WebTarget target = base
+                .path("component/index")
+                .queryParam("q", "(plugin = the-test-component) AND (name = list)");
+        final Response notCached =
+                target.request(APPLICATION_JSON_TYPE).header(HttpHeaders.IF_NONE_MATCH, "*").get();
+        assertEquals(200, notCached.getStatus());
+        final String etag = notCached.getHeaderString(HttpHeaders.ETAG);
+        notCached.close();
+
+        final Response notModified =
+                target.request(APPLICATION_JSON_TYPE).header(HttpHeaders.IF_NONE_MATCH, "*").get();
+        assertEquals(304, notModified.getStatus());
+        assertEquals(etag, notModified.getHeaderString(HttpHeaders.ETAG));
+        notModified.close();
+    }
+
+    @Test
+    void iconByHash() {
+        final ComponentIndex jdbcInput = base
+                .path("component/index")
+                .queryParam("q", "(plugin = jdbc-component) AND (name = input)")
+                .request(APPLICATION_JSON_TYPE)
+                .get(ComponentIndices.class)
+                .getComponents()
+                .iterator()
+                .next();
+        final Link iconLink = jdbcInput
+                .getLinks()
+                .stream()
+                .filter(it -> "Icon".equals(it.getName()))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        assertEquals("image/png", iconLink.getContentType());
+
+        final Response icon = base.path(iconLink.getPath().substring(1)).request(APPLICATION_OCTET_STREAM_TYPE).get();
+        assertEquals(200, icon.getStatus());
+        assertEquals("image/png", icon.getMediaType().toString());
+        assertTrue(icon.getHeaderString(HttpHeaders.CACHE_CONTROL).contains("immutable"));
+        assertTrue(icon.readEntity(byte[].class).length > 0);
+
+        assertEquals(404, base.path("icon/missing").request(APPLICATION_OCTET_STREAM_TYPE).get().getStatus());
+    }
+
     @Test
     void migrate() {
         final Map<String, String> migrated = base
@@ -349,8 +473,13 @@ class ComponentResourceImplTest {
         assertEquals(plugin, data.getId().getPlugin());
         assertEquals(displayName, data.getDisplayName());
         assertEquals(version, data.getVersion());
-        assertEquals(1, data.getLinks().size());
         final Link link = data.getLinks().iterator().next();
+        assertTrue(data
+                .getLinks()
+                .stream()
+                .skip(1)
+                .allMatch(it -> ("Icon".equals(it.getName()) || "Family Icon".equals(it.getName()))
+                        && it.getPath().startsWith("/icon/")));
         assertEquals("Detail", link.getName());
         assertEquals(
                 "/component/details?identifiers=" + Base64
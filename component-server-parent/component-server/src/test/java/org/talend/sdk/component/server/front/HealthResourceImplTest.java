@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.inject.Inject;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Response;
+
+import org.apache.meecrowave.junit5.MonoMeecrowaveConfig;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.server.front.model.Readiness;
+import org.talend.sdk.component.server.service.WarmupService;
+
+@MonoMeecrowaveConfig
+class HealthResourceImplTest {
+
+    @Inject
+    private WebTarget base;
+
+    @Inject
+    private WarmupService warmupService;
+
+    @Test
+    void readiness() {
+        final Response response = base.path("health/readiness").request(APPLICATION_JSON_TYPE).get();
+        assertEquals(200, response.getStatus());
+        assertEquals("no-store", response.getHeaderString("Cache-Control"));
+        // warm-up is not active by default so the instance is ready right after the startup
+        assertEquals(Readiness.Status.UP, response.readEntity(Readiness.class).getStatus());
+    }
+
+    @Test
+    void readinessDuringWarmup() {
+        // the warm-up tasks only run when the test executes them
+        final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+        final CompletableFuture<Void> warmup = warmupService.start(pending::add);
+
+        final Response warmingUp = base.path("health/readiness").request(APPLICATION_JSON_TYPE).get();
+        assertEquals(503, warmingUp.getStatus());
+        assertEquals(Readiness.Status.WARMING_UP, warmingUp.readEntity(Readiness.class).getStatus());
+
+        Runnable task;
+        while ((task = pending.poll()) != null) { // tasks submit their dependent tasks
+            task.run();
+        }
+        assertTrue(warmup.isDone());
+
+        final Response ready = base.path("health/readiness").request(APPLICATION_JSON_TYPE).get();
+        assertEquals(200, ready.getStatus());
+        final Readiness readiness = ready.readEntity(Readiness.class);
+        assertEquals(Readiness.Status.UP, readiness.getStatus());
+        assertEquals(readiness.getWarmupTasks(), readiness.getWarmupCompletedTasks());
+    }
+}
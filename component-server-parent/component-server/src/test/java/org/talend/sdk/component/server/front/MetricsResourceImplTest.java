@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static javax.ws.rs.core.MediaType.TEXT_PLAIN_TYPE;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.inject.Inject;
+import javax.ws.rs.client.WebTarget;
+
+import org.apache.meecrowave.junit5.MonoMeecrowaveConfig;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.runtime.metrics.Metrics;
+import org.talend.sdk.component.server.front.model.Environment;
+
+@MonoMeecrowaveConfig
+class MetricsResourceImplTest {
+
+    @Inject
+    private WebTarget base;
+
+    @Test
+    void prometheus() {
+        base.path("environment").request(APPLICATION_JSON_TYPE).get(Environment.class);
+
+        final String metrics = base.path("metrics").request(TEXT_PLAIN_TYPE).get(String.class);
+        assertTrue(metrics.contains("# TYPE talend_component_server_request_duration_ms summary\n"), metrics);
+        assertTrue(metrics
+                .contains("talend_component_server_request_duration_ms{endpoint=\"EnvironmentResourceImpl.get\","
+                        + "quantile=\"0.5\"}"),
+                metrics);
+        assertTrue(metrics.contains("talend_component_server_requests_total{endpoint=\"EnvironmentResourceImpl.get\","
+                + "status=\"200\"}"), metrics);
+        assertTrue(metrics.contains("# TYPE talend_component_plugin_deploy_duration_ms summary\n"), metrics);
+    }
+
+    @Test
+    void gauge() {
+        Metrics.registry().gauge("talend_component_server_test_gauge", () -> 3, "pool", "test");
+        final String metrics = base.path("metrics").request(TEXT_PLAIN_TYPE).get(String.class);
+        assertTrue(metrics.contains("# TYPE talend_component_server_test_gauge gauge\n"), metrics);
+        assertTrue(metrics.contains("talend_component_server_test_gauge{pool=\"test\"} 3\n"), metrics);
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front.filter.cache;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+
+import org.junit.jupiter.api.Test;
+
+class ResponseBytesCacheTest {
+
+    @Test
+    void isImpacted() {
+        final Collection<String> identifiers = asList("Y2hhaW4jbGlzdA", "chain");
+        assertTrue(ResponseBytesCache.isImpacted("component/details?identifiers=[Y2hhaW4jbGlzdA]", identifiers));
+        assertTrue(ResponseBytesCache
+                .isImpacted("component/details?identifiers=[amRiYyNpbnB1dA, Y2hhaW4jbGlzdA]&language=[fr]",
+                        identifiers));
+        assertTrue(ResponseBytesCache.isImpacted("documentation/component/Y2hhaW4jbGlzdA?", identifiers));
+        assertTrue(ResponseBytesCache.isImpacted("action/index?family=[jdbc, chain]", identifiers));
+
+        // indices aggregate all the families
+        assertTrue(ResponseBytesCache.isImpacted("component/index?", identifiers));
+        assertTrue(ResponseBytesCache.isImpacted("/configurationtype/index?language=[en]", identifiers));
+        assertTrue(ResponseBytesCache.isImpacted("action/index?type=[healthcheck]", identifiers));
+        assertTrue(ResponseBytesCache.isImpacted("action/index?family=[]", identifiers));
+
+        assertFalse(ResponseBytesCache.isImpacted("component/details?identifiers=[amRiYyNpbnB1dA]", identifiers));
+        assertFalse(ResponseBytesCache.isImpacted("configurationtype/details?identifiers=[amRiYw]", identifiers));
+        assertFalse(ResponseBytesCache.isImpacted("action/index?family=[jdbc]&language=[en]", identifiers));
+        assertFalse(ResponseBytesCache.isImpacted("documentation/component/amRiYyNpbnB1dA?", identifiers));
+    }
+}
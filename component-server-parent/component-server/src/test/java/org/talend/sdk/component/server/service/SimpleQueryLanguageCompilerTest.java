@@ -15,6 +15,7 @@
  */
 package org.talend.sdk.component.server.service;
 
+import static java.util.stream.Collectors.joining;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -50,6 +51,19 @@ class SimpleQueryLanguageCompilerTest {
         }).test(null));
     }
 
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = { "id = 5|id=5", "(id = 5) AND (map[foo] = bar)|id=5,map[foo]=bar",
+            "(id = 5) OR (map[foo] = bar)|", "id != 5|", "id = 5 AND ((a = 1) OR (b = 2))|id=5",
+            "(id = 5 AND (a = 1)) AND b = 2|id=5,a=1,b=2" })
+    void requiredEqualities(final String input, final String expected) {
+        assertEquals(expected == null ? "" : expected,
+                compiler
+                        .extractRequiredEqualities(input)
+                        .stream()
+                        .map(it -> it.getKey() + '=' + it.getValue())
+                        .collect(joining(",")));
+    }
+
     @ParameterizedTest
     @ValueSource(strings = { "id", "id =", "(id = 5", "(id != 5", "id = 5)", "missing = 5",
             "(id = 5) AND (missing = foo::bar)" })
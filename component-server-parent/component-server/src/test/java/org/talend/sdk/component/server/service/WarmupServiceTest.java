@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.StreamSupport;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.inject.Inject;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Response;
+
+import org.apache.meecrowave.junit5.MonoMeecrowaveConfig;
+import org.junit.jupiter.api.Test;
+
+@MonoMeecrowaveConfig
+class WarmupServiceTest {
+
+    @Inject
+    private WebTarget base;
+
+    @Inject
+    private WarmupService warmupService;
+
+    @Inject
+    private CacheManager cacheManager;
+
+    @Test
+    void requestsUseWarmedEntries() {
+        warmup(); // ensures the cache exists
+        final Cache<Object, Object> index = StreamSupport
+                .stream(cacheManager.getCacheNames().spliterator(), false)
+                .filter(name -> name
+                        .startsWith("org.talend.sdk.component.server.front.ComponentResourceImpl.getIndex("))
+                .map(name -> cacheManager.getCache(name))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        index.clear();
+        warmup();
+        final long warmed = count(index);
+        assertTrue(warmed > 0);
+
+        // no gzip feature so the request sends the same headers than the default warm-up ones
+        final Client client = ClientBuilder.newClient();
+        try {
+            final Response response = client
+                    .target(base.getUri())
+                    .path("component/index")
+                    .queryParam("language", "en")
+                    .request(APPLICATION_JSON_TYPE)
+                    .get();
+            assertEquals(200, response.getStatus());
+        } finally {
+            client.close();
+        }
+        assertEquals(warmed, count(index)); // served from the warmed entry, no new one
+    }
+
+    private void warmup() {
+        final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+        final CompletableFuture<Void> done = warmupService.start(pending::add);
+        Runnable task;
+        while ((task = pending.poll()) != null) {
+            task.run();
+        }
+        assertTrue(done.isDone());
+    }
+
+    private long count(final Cache<Object, Object> cache) {
+        return StreamSupport.stream(cache.spliterator(), false).count();
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service.jcache;
+
+import static java.util.Arrays.asList;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+import javax.ws.rs.client.WebTarget;
+
+import org.apache.meecrowave.junit5.MonoMeecrowaveConfig;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.server.front.ActionResourceImpl;
+import org.talend.sdk.component.server.front.ComponentResourceImpl;
+import org.talend.sdk.component.server.service.event.DeployedComponent;
+import org.talend.sdk.component.server.test.ComponentClient;
+
+@MonoMeecrowaveConfig
+class FrontCacheResolverTest {
+
+    @Inject
+    private WebTarget base;
+
+    @Inject
+    private ComponentClient client;
+
+    @Inject
+    private CacheManager cacheManager;
+
+    @Inject
+    private FrontCacheResolver resolver;
+
+    @Inject
+    private Event<DeployedComponent> deployedComponentEvent;
+
+    @Test
+    void references() {
+        final Predicate<Object[]> impacted = FrontCacheResolver.references(asList("comp1", "family1"));
+        assertTrue(impacted.test(new Object[] { "comp1" }));
+        assertTrue(impacted.test(new Object[] { "en", new String[] { "other", "family1" } }));
+        assertFalse(impacted.test(new Object[] { "en", new String[] { "other" } }));
+        assertFalse(impacted.test(new Object[] { "comp2", true, null }));
+    }
+
+    @Test
+    void incrementalDeploymentKeepsUnimpactedEntries() {
+        final String kept = client.getJdbcId();
+        final String reloaded = client.getComponentId("chain", "list");
+        Stream.of(kept, reloaded).forEach(id -> fetch(base.path("component/details").queryParam("identifiers", id)));
+        fetch(base.path("component/index"));
+        fetch(base.path("action/index").queryParam("family", "jdbc"));
+        assertTrue(isCached(ComponentResourceImpl.class, "getDetail", references(kept)));
+        assertTrue(isCached(ComponentResourceImpl.class, "getDetail", references(reloaded)));
+        assertTrue(isCached(ComponentResourceImpl.class, "getIndex", parameters -> true));
+
+        deployedComponentEvent.fire(new DeployedComponent(asList(reloaded, "chain"), System.currentTimeMillis()));
+        resolver.updateIfNeeded(); // what the refresher does, the event date is already handled
+
+        assertTrue(isCached(ComponentResourceImpl.class, "getDetail", references(kept)));
+        assertTrue(isCached(ActionResourceImpl.class, "getIndex", references("jdbc")));
+        assertFalse(isCached(ComponentResourceImpl.class, "getDetail", references(reloaded)));
+        assertFalse(isCached(ComponentResourceImpl.class, "getIndex", parameters -> true));
+    }
+
+    private void fetch(final WebTarget target) {
+        assertEquals(200, target.request(APPLICATION_JSON_TYPE).get().getStatus());
+    }
+
+    private Predicate<Object[]> references(final String... identifiers) {
+        return FrontCacheResolver.references(asList(identifiers));
+    }
+
+    private boolean isCached(final Class<?> resource, final String method, final Predicate<Object[]> parameters) {
+        final String prefix = resource.getName() + '.' + method + '(';
+        return StreamSupport
+                .stream(cacheManager.getCacheNames().spliterator(), false)
+                .filter(name -> name.startsWith(prefix))
+                .map(name -> cacheManager.<Object, Object> getCache(name))
+                .flatMap(cache -> StreamSupport.stream(cache.spliterator(), false))
+                .map(Cache.Entry::getKey)
+                .filter(FrontCacheKeyGenerator.GeneratedCacheKeyImpl.class::isInstance)
+                .map(FrontCacheKeyGenerator.GeneratedCacheKeyImpl.class::cast)
+                .anyMatch(key -> parameters.test(key.getParameters()));
+    }
+}
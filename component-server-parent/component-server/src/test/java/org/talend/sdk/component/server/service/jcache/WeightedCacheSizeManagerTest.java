@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service.jcache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.configuration.MutableConfiguration;
+
+import org.junit.jupiter.api.Test;
+
+class WeightedCacheSizeManagerTest {
+
+    @Test
+    void evictByWeight() {
+        final CacheManager manager = Caching.getCachingProvider().getCacheManager();
+        final WeightedCacheSizeManager<String, byte[]> listener =
+                new WeightedCacheSizeManager<>(100, 10, it -> byte[].class.cast(it).length);
+        final Cache<String, byte[]> cache = manager
+                .createCache(getClass().getName() + ".evictByWeight",
+                        new MutableConfiguration<String, byte[]>()
+                                .setStoreByValue(false)
+                                .addCacheEntryListenerConfiguration(new MutableCacheEntryListenerConfiguration<>(
+                                        new FactoryBuilder.SingletonFactory<>(listener), null, false, true)));
+        listener.accept(cache);
+        try {
+            cache.put("a", new byte[4]);
+            cache.put("b", new byte[4]);
+            assertEquals(8, listener.getWeight());
+
+            cache.put("c", new byte[4]);
+            assertFalse(cache.containsKey("a"));
+            assertTrue(cache.containsKey("b"));
+            assertTrue(cache.containsKey("c"));
+            assertEquals(8, listener.getWeight());
+
+            cache.put("b", new byte[1]);
+            assertEquals(5, listener.getWeight());
+
+            cache.remove("c");
+            assertEquals(1, listener.getWeight());
+
+            // heavier than the budget but the most recent entry is kept
+            cache.put("d", new byte[20]);
+            assertFalse(cache.containsKey("b"));
+            assertTrue(cache.containsKey("d"));
+            assertEquals(20, listener.getWeight());
+        } finally {
+            manager.destroyCache(cache.getName());
+        }
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        final CacheManager manager = Caching.getCachingProvider().getCacheManager();
+        final WeightedCacheSizeManager<String, byte[]> listener =
+                new WeightedCacheSizeManager<>(2, Long.MAX_VALUE, it -> byte[].class.cast(it).length);
+        final Cache<String, byte[]> cache = manager
+                .createCache(getClass().getName() + ".evictLeastRecentlyUsed",
+                        new MutableConfiguration<String, byte[]>()
+                                .setStoreByValue(false)
+                                .addCacheEntryListenerConfiguration(new MutableCacheEntryListenerConfiguration<>(
+                                        new FactoryBuilder.SingletonFactory<>(listener), null, false, true)));
+        listener.accept(cache);
+        try {
+            cache.put("a", new byte[1]);
+            cache.put("b", new byte[1]);
+            listener.touch("a");
+
+            cache.put("c", new byte[1]);
+            assertTrue(cache.containsKey("a"));
+            assertFalse(cache.containsKey("b"));
+            assertTrue(cache.containsKey("c"));
+        } finally {
+            manager.destroyCache(cache.getName());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.test.websocket;
+
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import lombok.Getter;
+
+// asynchronous endpoint tracking how many requests are in progress
+@Path("test/slow")
+@ApplicationScoped
+@Produces(MediaType.APPLICATION_JSON)
+public class SlowResource {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Getter
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @GET
+    public CompletionStage<Map<String, String>> get() {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        final CompletableFuture<Map<String, String>> result = new CompletableFuture<>();
+        scheduler.schedule(() -> {
+            inFlight.decrementAndGet();
+            result.complete(singletonMap("status", "done"));
+        }, 100, MILLISECONDS);
+        return result;
+    }
+
+    @PreDestroy
+    private void destroy() {
+        scheduler.shutdownNow();
+    }
+}
@@ -20,10 +20,13 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -50,6 +53,80 @@ public class WebsocketClient {
     @Inject
     private Meecrowave.Builder config;
 
+    /**
+     * Sends GET requests on a single session using the multiplexed mode.
+     *
+     * @param uris the uri per request id.
+     * @param acceptCompression should responses be compressed.
+     * @return the raw response frame per request id in reception order.
+     */
+    public Map<String, byte[]> multiplex(final Map<String, String> uris, final boolean acceptCompression) {
+        final WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        final CountDownLatch latch = new CountDownLatch(uris.size());
+        final Map<String, byte[]> responses = new LinkedHashMap<>();
+        final ClientEndpointConfig clientEndpointConfig = ClientEndpointConfig.Builder.create().build();
+        clientEndpointConfig.getUserProperties().put("org.apache.tomcat.websocket.IO_TIMEOUT_MS", "60000");
+
+        final Session session;
+        try {
+            session = container.connectToServer(new Endpoint() {
+
+                @Override
+                public void onOpen(final Session session, final EndpointConfig endpointConfig) {
+                    final ByteArrayOutputStream current = new ByteArrayOutputStream();
+                    session.addMessageHandler(ByteBuffer.class, new MessageHandler.Partial<ByteBuffer>() {
+
+                        @Override
+                        public synchronized void onMessage(final ByteBuffer part, final boolean last) {
+                            final byte[] bytes = new byte[part.remaining()];
+                            part.get(bytes);
+                            current.write(bytes, 0, bytes.length);
+                            if (last) {
+                                final byte[] frame = current.toByteArray();
+                                current.reset();
+                                final String head = new String(frame, StandardCharsets.ISO_8859_1);
+                                final int start = head.indexOf("requestId: ") + "requestId: ".length();
+                                synchronized (responses) {
+                                    responses.put(head.substring(start, head.indexOf('\r', start)), frame);
+                                }
+                                latch.countDown();
+                            }
+                        }
+                    });
+                }
+            }, clientEndpointConfig, URI.create("ws://localhost:" + config.getHttpPort() + "/websocket/v1/bus"));
+        } catch (final DeploymentException | IOException e) {
+            fail(e.getMessage());
+            throw new IllegalStateException(e);
+        }
+
+        try {
+            uris.forEach((id, uri) -> {
+                final String payload = "SEND\r\ndestination:" + uri + "\r\ndestinationMethod:GET\r\nrequestId:" + id
+                        + "\r\nAccept: application/json\r\n"
+                        + (acceptCompression ? "accept-compression: gzip\r\n" : "") + "\r\n^@";
+                try {
+                    session.getBasicRemote().sendBinary(ByteBuffer.wrap(payload.getBytes(StandardCharsets.UTF_8)));
+                } catch (final IOException e) {
+                    fail(e.getMessage());
+                }
+            });
+            assertTrue(latch.await(1, MINUTES), "Missing responses: " + responses.keySet());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e.getMessage());
+        } finally {
+            try {
+                session.close(new CloseReason(CloseReason.CloseCodes.GOING_AWAY, "bye bye"));
+            } catch (final IOException e) {
+                fail(e.getMessage());
+            }
+        }
+        synchronized (responses) {
+            return responses;
+        }
+    }
+
     public <T> T read(final Class<T> response, final String method, final String uri, final String body) {
         return read(response, method, uri, body, "application/json");
     }
@@ -142,7 +142,7 @@ public class StaticResourceGenerator implements Runnable {
      * GET /api/v1/action/index -> // types and families params ignored
      * POST /api/v1/action/execute -> CompletionStage<Response> execute(String, String, String, String, Map)
      * Service URI: /api/v1/bulk -> o.t.s.c.server.front.BulkReadResourceImpl
-     * POST /api/v1/bulk -> CompletionStage<BulkResponses> bulk(BulkRequests)
+     * POST /api/v1/bulk -> CompletionStage<StreamingOutput> bulk(BulkRequests)
      * Service URI: /api/v1/component -> o.t.s.c.server.front.ComponentResourceImpl
      * GET /api/v1/component/dependency/{id} -> StreamingOutput getDependency(String)
      * GET /api/v1/component/details -> ComponentDetailList getDetail(String, String[])
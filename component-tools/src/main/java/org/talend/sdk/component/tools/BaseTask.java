@@ -19,18 +19,21 @@ import static java.util.Optional.ofNullable;
 
 import java.io.File;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.net.MalformedURLException;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.apache.xbean.finder.AnnotationFinder;
+import org.apache.xbean.finder.Parameter;
 import org.apache.xbean.finder.archive.Archive;
 import org.apache.xbean.finder.archive.ClasspathArchive;
 import org.apache.xbean.finder.archive.CompositeArchive;
@@ -52,18 +55,52 @@ abstract class BaseTask implements Runnable {
             }
         }).toArray(Archive[]::new))) {
 
-            private final Map<Class<?>, List<Field>> fieldCache = new HashMap<>();
+            // the finder is shared by validators running concurrently so lookups are memoized
+            // and the underlying (lazy, not thread safe) index is only accessed by one thread at a time
+            private final Map<Class<?>, List<Field>> fieldCache = new ConcurrentHashMap<>();
 
-            private final Map<Class<?>, List<Class<?>>> classCache = new HashMap<>();
+            private final Map<Class<?>, List<Class<?>>> classCache = new ConcurrentHashMap<>();
+
+            private final Map<Class<?>, List<Method>> methodCache = new ConcurrentHashMap<>();
+
+            private final Map<Class<?>, List<Parameter<Constructor<?>>>> constructorParameterCache =
+                    new ConcurrentHashMap<>();
 
             @Override
             public List<Field> findAnnotatedFields(final Class<? extends Annotation> annotation) {
-                return fieldCache.computeIfAbsent(annotation, a -> super.findAnnotatedFields(annotation));
+                return fieldCache.computeIfAbsent(annotation, a -> {
+                    synchronized (this) {
+                        return super.findAnnotatedFields(annotation);
+                    }
+                });
             }
 
             @Override
             public List<Class<?>> findAnnotatedClasses(final Class<? extends Annotation> annotation) {
-                return classCache.computeIfAbsent(annotation, a -> super.findAnnotatedClasses(annotation));
+                return classCache.computeIfAbsent(annotation, a -> {
+                    synchronized (this) {
+                        return super.findAnnotatedClasses(annotation);
+                    }
+                });
+            }
+
+            @Override
+            public List<Method> findAnnotatedMethods(final Class<? extends Annotation> annotation) {
+                return methodCache.computeIfAbsent(annotation, a -> {
+                    synchronized (this) {
+                        return super.findAnnotatedMethods(annotation);
+                    }
+                });
+            }
+
+            @Override
+            public List<Parameter<Constructor<?>>>
+                    findAnnotatedConstructorParameters(final Class<? extends Annotation> annotation) {
+                return constructorParameterCache.computeIfAbsent(annotation, a -> {
+                    synchronized (this) {
+                        return super.findAnnotatedConstructorParameters(annotation);
+                    }
+                });
             }
         };
     }
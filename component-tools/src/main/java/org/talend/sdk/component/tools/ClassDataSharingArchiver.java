@@ -0,0 +1,131 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.tools;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a component-server training JVM on a set of plugins to produce a dynamic AppCDS archive
+ * (requires a Java 13+ JVM for the training).
+ */
+public class ClassDataSharingArchiver implements Runnable {
+
+    private final String java;
+
+    private final Collection<File> serverClasspath;
+
+    private final String m2;
+
+    private final Collection<String> coordinates;
+
+    private final Path archive;
+
+    private final Path classList;
+
+    private final Collection<String> jvmOptions;
+
+    private final long timeout;
+
+    private final Log log;
+
+    public ClassDataSharingArchiver(final String java, final Collection<File> serverClasspath, final String m2,
+            final Collection<String> coordinates, final Path archive, final Path classList,
+            final Collection<String> jvmOptions, final long timeout, final Object log) {
+        this.java = java;
+        this.serverClasspath = serverClasspath;
+        this.m2 = m2;
+        this.coordinates = coordinates;
+        this.archive = archive;
+        this.classList = classList;
+        this.jvmOptions = jvmOptions;
+        this.timeout = timeout;
+        try {
+            this.log = Log.class.isInstance(log) ? Log.class.cast(log) : new ReflectiveLog(log);
+        } catch (final NoSuchMethodException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (archive.getParent() != null) {
+                Files.createDirectories(archive.getParent());
+            }
+            Files.deleteIfExists(archive);
+
+            final List<String> command = buildCommand(findPort());
+            log.info("Running CDS training for " + coordinates);
+            log.debug("Training command: " + command);
+            final Process process = new ProcessBuilder(command).inheritIO().start();
+            if (!process.waitFor(timeout, TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+                throw new IllegalStateException("CDS training didn't complete in " + timeout + "ms");
+            }
+            if (process.exitValue() != 0) {
+                throw new IllegalStateException("CDS training failed with status " + process.exitValue());
+            }
+            if (!Files.exists(archive)) {
+                throw new IllegalStateException(
+                        "No archive created at " + archive + ", ensure the training JVM supports it (Java >= 13)");
+            }
+            log.info("Created CDS archive " + archive + " (" + Files.size(archive) + " bytes)");
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    List<String> buildCommand(final int port) {
+        final List<String> command = new ArrayList<>();
+        command.add(java);
+        command.add("-XX:ArchiveClassesAtExit=" + archive.toAbsolutePath());
+        if (jvmOptions != null) {
+            command.addAll(jvmOptions);
+        }
+        command.add("-Dtalend.component.server.cds.training.active=true");
+        command.add("-Dtalend.component.server.cds.training.exit=true");
+        if (classList != null) {
+            command.add("-Dtalend.component.server.cds.training.classlist=" + classList.toAbsolutePath());
+        }
+        command.add("-Dtalend.component.server.maven.repository=" + m2);
+        command.add("-Dtalend.component.server.component.coordinates=" + String.join(",", coordinates));
+        command.add("-cp");
+        command.add(serverClasspath.stream().map(File::getAbsolutePath).collect(joining(File.pathSeparator)));
+        command.add("org.apache.meecrowave.runner.Cli");
+        command.add("--http");
+        command.add(Integer.toString(port));
+        return command;
+    }
+
+    private int findPort() throws IOException {
+        try (final ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package org.talend.sdk.component.tools;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.joining;
@@ -26,7 +27,6 @@ import static org.talend.sdk.component.runtime.manager.reflect.Constructors.find
 import java.io.File;
 import java.lang.reflect.Parameter;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +34,10 @@ import java.util.ResourceBundle;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -64,7 +68,7 @@ public class ComponentValidator extends BaseTask {
 
     private final SvgValidator validator = new SvgValidator();
 
-    private final Map<Class<?>, List<ParameterMeta>> parametersCache = new HashMap<>();
+    private final Map<Class<?>, List<ParameterMeta>> parametersCache = new ConcurrentHashMap<>();
 
     private final List<ValidationExtension> extensions;
 
@@ -84,6 +88,19 @@ public class ComponentValidator extends BaseTask {
 
     @Override
     public void run() {
+        final InputsDigest digest = configuration.getCache() == null ? null : new InputsDigest(configuration.getCache());
+        final String inputsDigest = digest == null ? null
+                : digest
+                        .compute(classes == null ? emptyList() : asList(classes), emptyList(),
+                                configuration.toString(), String.valueOf(getLocale()),
+                                InputsDigest
+                                        .environment(ComponentValidator.class,
+                                                Thread.currentThread().getContextClassLoader()));
+        if (digest != null && digest.isUpToDate(inputsDigest)) {
+            log.info("Components didn't change since the last validation, skipping it");
+            return;
+        }
+
         final AnnotationFinder finder = newFinder();
         final List<Class<?>> components = ComponentHelper
                 .componentMarkers()
@@ -135,7 +152,7 @@ public class ComponentValidator extends BaseTask {
         };
 
         final Validators validators = Validators.build(configuration, helper, extensions);
-        final Set<String> errorsFromValidator = validators.validate(finder, components);
+        final Set<String> errorsFromValidator = doValidate(validators, finder, components);
         errors.addAll(errorsFromValidator);
 
         if (!errors.isEmpty()) {
@@ -147,6 +164,29 @@ public class ComponentValidator extends BaseTask {
         }
 
         log.info("Validated components: " + components.stream().map(Class::getSimpleName).collect(joining(", ")));
+        if (digest != null) {
+            digest.save(inputsDigest);
+        }
+    }
+
+    private Set<String> doValidate(final Validators validators, final AnnotationFinder finder,
+            final List<Class<?>> components) {
+        final int threads = configuration.getThreads() > 0 ? configuration.getThreads()
+                : Runtime.getRuntime().availableProcessors();
+        if (threads <= 1) {
+            return validators.validate(finder, components);
+        }
+        final AtomicInteger counter = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            final Thread thread = new Thread(r, getClass().getName() + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            return validators.validate(finder, components, executor);
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     private String validateIcon(final Icon annotation, final Collection<String> errors) {
@@ -174,7 +214,9 @@ public class ComponentValidator extends BaseTask {
     }
 
     private Stream<String> validateSvg(final File file) {
-        return validator.validate(file.toPath());
+        synchronized (validator) { // batik factory is not thread safe
+            return validator.validate(file.toPath()).collect(toList()).stream();
+        }
     }
 
     private List<ParameterMeta> buildOrGetParameters(final Class<?> c) {
@@ -258,5 +300,16 @@ public class ComponentValidator extends BaseTask {
         private boolean validateExceptions;
 
         private boolean failOnValidateExceptions;
+
+        /**
+         * Number of threads used to run the validators, if not positive the number of processors is used.
+         */
+        private int threads;
+
+        /**
+         * If set, the digest of the validated classes, the classpath and the validator version is stored in this file
+         * after a successful validation and the validation is skipped while they don't change.
+         */
+        private File cache;
     }
 }
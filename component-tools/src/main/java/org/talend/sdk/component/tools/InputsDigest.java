@@ -0,0 +1,143 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.tools;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Digest of the classes (folders or jars) a task works on, it enables to skip the task
+ * when nothing changed since its last successful execution.
+ */
+@RequiredArgsConstructor
+class InputsDigest {
+
+    private final File cache;
+
+    String compute(final Collection<File> inputs, final Collection<File> ignored, final String... extras) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        final List<Path> excluded = Stream
+                .concat(ignored.stream(), Stream.of(cache))
+                .filter(Objects::nonNull)
+                .map(it -> it.toPath().toAbsolutePath().normalize())
+                .collect(toList());
+        Stream.of(extras).filter(Objects::nonNull).forEach(it -> digest.update(it.getBytes(UTF_8)));
+        inputs.stream().map(it -> it.toPath().toAbsolutePath().normalize()).sorted().forEach(input -> {
+            if (!Files.exists(input)) {
+                return;
+            }
+            try (final Stream<Path> files = Files.isDirectory(input) ? Files.walk(input) : Stream.of(input)) {
+                files.filter(Files::isRegularFile).filter(it -> !excluded.contains(it)).sorted().forEach(file -> {
+                    digest.update(input.relativize(file).toString().replace(File.separatorChar, '/').getBytes(UTF_8));
+                    try {
+                        digest.update(Files.readAllBytes(file));
+                    } catch (final IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        final byte[] hash = digest.digest();
+        final char[] hexChars = "0123456789abcdef".toCharArray();
+        final StringBuilder out = new StringBuilder(hash.length * 2);
+        for (final byte b : hash) {
+            out.append(hexChars[b >> 4 & 15]).append(hexChars[b & 15]);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Fingerprint of what runs the task: the tool itself and the jars visible from the loader
+     * (name, size and last modification), a change there can change the outcome with the same inputs.
+     */
+    static String environment(final Class<?> tool, final ClassLoader loader) {
+        final List<String> entries = new ArrayList<>();
+        entries.add(String.valueOf(tool.getPackage() == null ? null : tool.getPackage().getImplementationVersion()));
+        final CodeSource codeSource = tool.getProtectionDomain().getCodeSource();
+        if (codeSource != null && codeSource.getLocation() != null) {
+            entries.add(fingerprint(codeSource.getLocation()));
+        }
+        ClassLoader current = loader;
+        while (current != null) {
+            if (URLClassLoader.class.isInstance(current)) {
+                Stream
+                        .of(URLClassLoader.class.cast(current).getURLs())
+                        .map(InputsDigest::fingerprint)
+                        .forEach(entries::add);
+            }
+            current = current.getParent();
+        }
+        return entries.stream().collect(joining("\n"));
+    }
+
+    private static String fingerprint(final URL url) {
+        try {
+            final File file = new File(url.toURI());
+            return file.isFile() ? file.getName() + ':' + file.length() + ':' + file.lastModified()
+                    : file.getAbsolutePath();
+        } catch (final URISyntaxException | IllegalArgumentException e) {
+            return url.toExternalForm();
+        }
+    }
+
+    boolean isUpToDate(final String digest) {
+        if (!cache.exists()) {
+            return false;
+        }
+        try {
+            return digest.equals(new String(Files.readAllBytes(cache.toPath()), UTF_8).trim());
+        } catch (final IOException e) {
+            return false;
+        }
+    }
+
+    void save(final String digest) {
+        try {
+            if (cache.getParentFile() != null) {
+                Files.createDirectories(cache.getParentFile().toPath());
+            }
+            Files.write(cache.toPath(), digest.getBytes(UTF_8));
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
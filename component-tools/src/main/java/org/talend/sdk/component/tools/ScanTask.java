@@ -15,8 +15,10 @@
  */
 package org.talend.sdk.component.tools;
 
+import static java.util.Collections.singletonList;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toSet;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -28,12 +30,11 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Properties;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.apache.xbean.finder.AnnotationFinder;
-import org.apache.xbean.finder.archive.Archive;
 import org.apache.xbean.finder.archive.ClasspathArchive;
-import org.apache.xbean.finder.archive.CompositeArchive;
 import org.apache.xbean.finder.filter.ExcludeIncludeFilter;
 import org.apache.xbean.finder.filter.Filter;
 import org.apache.xbean.finder.filter.Filters;
@@ -46,9 +47,9 @@ import org.talend.sdk.component.api.service.Service;
 import org.talend.sdk.component.api.service.http.Request;
 import org.talend.sdk.component.api.standalone.DriverRunner;
 
-import lombok.RequiredArgsConstructor;
+import lombok.AllArgsConstructor;
 
-@RequiredArgsConstructor
+@AllArgsConstructor
 public class ScanTask implements Runnable {
 
     private final Collection<File> scannedFiles;
@@ -61,8 +62,27 @@ public class ScanTask implements Runnable {
 
     private final File output;
 
+    /**
+     * If set, the digest of the scanned files is stored there and the scanning is skipped while they don't change.
+     */
+    private final File cache;
+
+    public ScanTask(final Collection<File> scannedFiles, final List<String> excludes, final List<String> includes,
+            final String filterStrategy, final File output) {
+        this(scannedFiles, excludes, includes, filterStrategy, output, null);
+    }
+
     @Override
     public void run() {
+        final InputsDigest digest = cache == null ? null : new InputsDigest(cache);
+        final String inputsDigest = digest == null ? null
+                : digest
+                        .compute(scannedFiles, singletonList(output), String.valueOf(excludes),
+                                String.valueOf(includes), filterStrategy);
+        if (digest != null && output.exists() && digest.isUpToDate(inputsDigest)) {
+            return;
+        }
+
         output.getParentFile().mkdirs();
         try (final OutputStream stream = new FileOutputStream(output)) {
             final Properties properties = new Properties();
@@ -71,11 +91,25 @@ public class ScanTask implements Runnable {
         } catch (final IOException e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
+        if (digest != null) {
+            digest.save(inputsDigest);
+        }
     }
 
     private Stream<String> scanList() {
-        final AnnotationFinder finder = newFinder();
         final Filter filter = newFilter();
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        // each scanned file is independent so they are indexed concurrently
+        return scannedFiles
+                .parallelStream()
+                .map(file -> withLoader(loader, () -> scan(newFinder(loader, file))))
+                .flatMap(Collection::stream)
+                .distinct()
+                .sorted()
+                .filter(filter::accept);
+    }
+
+    private Collection<String> scan(final AnnotationFinder finder) {
         return Stream
                 .concat(Stream
                         .of(PartitionMapper.class, Processor.class, Emitter.class, DriverRunner.class, Service.class,
@@ -85,10 +119,19 @@ public class ScanTask implements Runnable {
                                 .of(Request.class)
                                 .flatMap(it -> finder.findAnnotatedMethods(it).stream())
                                 .map(Method::getDeclaringClass))
-                .distinct()
                 .map(Class::getName)
-                .sorted()
-                .filter(filter::accept);
+                .collect(toSet());
+    }
+
+    private <T> T withLoader(final ClassLoader loader, final Supplier<T> task) {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader old = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try {
+            return task.get();
+        } finally {
+            thread.setContextClassLoader(old);
+        }
     }
 
     private Filter newFilter() {
@@ -108,13 +151,11 @@ public class ScanTask implements Runnable {
         return new ExcludeIncludeFilter(accept, reject);
     }
 
-    private AnnotationFinder newFinder() {
-        return new AnnotationFinder(new CompositeArchive(scannedFiles.stream().map(c -> {
-            try {
-                return ClasspathArchive.archive(Thread.currentThread().getContextClassLoader(), c.toURI().toURL());
-            } catch (final MalformedURLException e) {
-                throw new IllegalArgumentException(e);
-            }
-        }).toArray(Archive[]::new)));
+    private AnnotationFinder newFinder(final ClassLoader loader, final File file) {
+        try {
+            return new AnnotationFinder(ClasspathArchive.archive(loader, file.toURI().toURL()));
+        } catch (final MalformedURLException e) {
+            throw new IllegalArgumentException(e);
+        }
     }
 }
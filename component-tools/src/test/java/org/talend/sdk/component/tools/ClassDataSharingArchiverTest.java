@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.tools;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class ClassDataSharingArchiverTest {
+
+    @Test
+    void command(@TempDir final Path work) {
+        final Path archive = work.resolve("server.jsa");
+        final Path classList = work.resolve("server.classlist");
+        final List<String> command = new ClassDataSharingArchiver("java",
+                asList(new File(work.toFile(), "a.jar"), new File(work.toFile(), "b.jar")), "/m2",
+                asList("g:a1:1", "g:a2:1"), archive, classList, singletonList("-Xmx1g"), 1000, log)
+                        .buildCommand(1234);
+        assertEquals("java", command.get(0));
+        assertEquals("-XX:ArchiveClassesAtExit=" + archive.toAbsolutePath(), command.get(1));
+        assertEquals("-Xmx1g", command.get(2));
+        assertTrue(command.contains("-Dtalend.component.server.cds.training.active=true"));
+        assertTrue(command.contains("-Dtalend.component.server.cds.training.classlist=" + classList.toAbsolutePath()));
+        assertTrue(command.contains("-Dtalend.component.server.maven.repository=/m2"));
+        assertTrue(command.contains("-Dtalend.component.server.component.coordinates=g:a1:1,g:a2:1"));
+        assertEquals(new File(work.toFile(), "a.jar").getAbsolutePath() + File.pathSeparator
+                + new File(work.toFile(), "b.jar").getAbsolutePath(), command.get(command.indexOf("-cp") + 1));
+        assertEquals(asList("org.apache.meecrowave.runner.Cli", "--http", "1234"),
+                command.subList(command.size() - 3, command.size()));
+    }
+}
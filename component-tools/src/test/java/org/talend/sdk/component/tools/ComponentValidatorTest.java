@@ -17,6 +17,7 @@ package org.talend.sdk.component.tools;
 
 import static java.lang.annotation.ElementType.METHOD;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static java.util.Collections.synchronizedList;
 import static java.util.Optional.ofNullable;
 import static org.apache.ziplock.JarLocation.jarLocation;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -91,7 +92,7 @@ class ComponentValidatorTest {
     @Slf4j
     public static class TestLog implements Log {
 
-        private final Collection<String> messages = new ArrayList<>();
+        private final Collection<String> messages = synchronizedList(new ArrayList<>());
 
         @Override
         public void debug(final String s) {
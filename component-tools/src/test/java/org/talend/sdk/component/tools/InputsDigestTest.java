@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.tools;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InputsDigestTest {
+
+    @Test
+    void upToDate(@TempDir final File work) throws IOException {
+        final File classes = new File(work, "classes");
+        final File clazz = new File(classes, "org/test/Foo.class");
+        final File generated = new File(classes, "TALEND-INF/scanning.properties");
+        Files.createDirectories(clazz.getParentFile().toPath());
+        Files.createDirectories(generated.getParentFile().toPath());
+        Files.write(clazz.toPath(), "v1".getBytes(UTF_8));
+
+        final InputsDigest digest = new InputsDigest(new File(work, "cache/digest"));
+        final String first = digest.compute(singletonList(classes), singletonList(generated), "config");
+        assertFalse(digest.isUpToDate(first));
+        digest.save(first);
+        assertTrue(digest.isUpToDate(first));
+
+        // ignored files and the cache don't impact the digest
+        Files.write(generated.toPath(), "classes.list=org.test.Foo".getBytes(UTF_8));
+        assertEquals(first, digest.compute(singletonList(classes), singletonList(generated), "config"));
+
+        // configuration and classes do
+        assertNotEquals(first, digest.compute(singletonList(classes), singletonList(generated), "other"));
+        Files.write(clazz.toPath(), "v2".getBytes(UTF_8));
+        final String changed = digest.compute(singletonList(classes), singletonList(generated), "config");
+        assertNotEquals(first, changed);
+        assertFalse(digest.isUpToDate(changed));
+    }
+
+    @Test
+    void environment(@TempDir final File work) throws IOException {
+        final File dependency = new File(work, "dependency.jar");
+        Files.write(dependency.toPath(), "v1".getBytes(UTF_8));
+        final String first;
+        try (final URLClassLoader loader = new URLClassLoader(new URL[] { dependency.toURI().toURL() }, null)) {
+            first = InputsDigest.environment(InputsDigest.class, loader);
+            assertEquals(first, InputsDigest.environment(InputsDigest.class, loader));
+        }
+
+        // a changed dependency changes the environment
+        Files.write(dependency.toPath(), "v2.0".getBytes(UTF_8));
+        try (final URLClassLoader loader = new URLClassLoader(new URL[] { dependency.toURI().toURL() }, null)) {
+            assertNotEquals(first, InputsDigest.environment(InputsDigest.class, loader));
+        }
+    }
+}
@@ -108,10 +108,24 @@ public class ConfigurableClassLoader extends URLClassLoader {
 
     private final URLClassLoader classLoaderFromClasspath;
 
+    private final SharedArchiveStore archiveStore;
+
+    private final Collection<JarFile> archives = new ArrayList<>();
+
     public ConfigurableClassLoader(final String id, final URL[] urls, final ClassLoader parent,
             final Predicate<String> parentFilter, final Predicate<String> childFirstFilter,
             final String[] nestedDependencies, final String[] jvmPrefixes) {
-        this(id, urls, parent, parentFilter, childFirstFilter, emptyMap(), jvmPrefixes);
+        this(id, urls, parent, parentFilter, childFirstFilter, nestedDependencies, jvmPrefixes, null);
+    }
+
+    /**
+     * @param archiveStore if not null, nested dependencies are extracted in this store and read from there
+     * instead of being loaded in memory.
+     */
+    public ConfigurableClassLoader(final String id, final URL[] urls, final ClassLoader parent,
+            final Predicate<String> parentFilter, final Predicate<String> childFirstFilter,
+            final String[] nestedDependencies, final String[] jvmPrefixes, final SharedArchiveStore archiveStore) {
+        this(id, urls, parent, parentFilter, childFirstFilter, emptyMap(), jvmPrefixes, archiveStore);
         if (nestedDependencies != null) {
             loadNestedDependencies(parent, nestedDependencies);
         }
@@ -119,9 +133,11 @@ public class ConfigurableClassLoader extends URLClassLoader {
 
     private ConfigurableClassLoader(final String id, final URL[] urls, final ClassLoader parent,
             final Predicate<String> parentFilter, final Predicate<String> childFirstFilter,
-            final Map<String, Collection<Resource>> resources, final String[] jvmPrefixes) {
+            final Map<String, Collection<Resource>> resources, final String[] jvmPrefixes,
+            final SharedArchiveStore archiveStore) {
         super(urls, parent);
         this.id = id;
+        this.archiveStore = archiveStore;
         this.creationUrls = urls;
         this.parentFilter = parentFilter;
         this.childFirstFilter = childFirstFilter;
@@ -136,7 +152,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
         classLoaderFromClasspath = createClassLoaderFromClasspath();
     }
 
-    // load all in memory to avoid perf issues - should we try offheap?
+    // load all in memory to avoid perf issues, or use the shared store if configured
     private void loadNestedDependencies(final ClassLoader parent, final String[] nestedDependencies) {
         final byte[] buffer = new byte[8192]; // should be good for most cases
         final ByteArrayOutputStream out = new ByteArrayOutputStream(buffer.length);
@@ -164,6 +180,10 @@ public class ConfigurableClassLoader extends URLClassLoader {
             } catch (final IOException e) {
                 throw new IllegalStateException(e);
             }
+            if (archiveStore != null) {
+                indexStoredDependency(resource, url, urlConnection, manifest, codeSource);
+                return;
+            }
             try (final JarInputStream jarInputStream = new JarInputStream(urlConnection.getInputStream())) {
                 ZipEntry entry;
                 while ((entry = jarInputStream.getNextEntry()) != null) {
@@ -179,7 +199,9 @@ public class ConfigurableClassLoader extends URLClassLoader {
                             out.write(buffer, 0, read);
                         }
 
-                        resources.put(entry.getName(), new Resource(resource, out.toByteArray(), manifest, codeSource));
+                        resources
+                                .put(entry.getName(),
+                                        new Resource(resource, out.toByteArray(), null, manifest, codeSource));
                     }
                 }
             } catch (final IOException e) {
@@ -189,6 +211,28 @@ public class ConfigurableClassLoader extends URLClassLoader {
         });
     }
 
+    private void indexStoredDependency(final String resource, final URL url, final URLConnection urlConnection,
+            final Manifest manifest, final CodeSource codeSource) {
+        final JarFile archive;
+        try (final InputStream stream = urlConnection.getInputStream()) {
+            archive = new JarFile(archiveStore.store(stream).toFile());
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        synchronized (archives) {
+            archives.add(archive);
+        }
+        final Map<String, Resource> resources = new HashMap<>();
+        list(archive.entries()).stream().filter(it -> !it.isDirectory()).forEach(entry -> {
+            if (isBlacklisted(entry.getName())) {
+                logUnexpectedDependency(url, entry.getName());
+                return;
+            }
+            resources.put(entry.getName(), new Resource(resource, null, archive, manifest, codeSource));
+        });
+        resources.forEach((k, v) -> this.resources.computeIfAbsent(k, i -> new ArrayList<>()).add(v));
+    }
+
     public Class<?> registerBytecode(final String name, final byte[] bytes) {
         final Class<?> value = super.defineClass(name, bytes, 0, bytes.length);
         resolveClass(value);
@@ -219,7 +263,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
     public synchronized URLClassLoader createTemporaryCopy() {
         final ConfigurableClassLoader self = this;
         return temporaryCopy == null ? temporaryCopy = new ConfigurableClassLoader(id, creationUrls, getParent(),
-                parentFilter, childFirstFilter, resources, fullPathJvmPrefixes) {
+                parentFilter, childFirstFilter, resources, fullPathJvmPrefixes, archiveStore) {
 
             @Override
             public synchronized void close() throws IOException {
@@ -251,6 +295,16 @@ public class ConfigurableClassLoader extends URLClassLoader {
             });
             closeables.clear();
         }
+        synchronized (archives) {
+            archives.forEach(archive -> {
+                try {
+                    archive.close();
+                } catch (final IOException ex) {
+                    log.warn(ex.getMessage(), ex);
+                }
+            });
+            archives.clear();
+        }
         super.close();
     }
 
@@ -370,8 +424,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
         return ofNullable(doGetResourceAsStream(name))
                 .orElseGet(() -> ofNullable(resources.get(name))
                         .filter(s -> s.size() > 0)
-                        .map(s -> s.iterator().next().resource)
-                        .map(ByteArrayInputStream::new)
+                        .map(s -> s.iterator().next().openStream(name))
                         .orElse(null));
     }
 
@@ -464,9 +517,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
                     ofNullable(resources.get(name))
                             .map(s -> s
                                     .stream()
-                                    .map(it -> it.resource)
-                                    .map(ByteArrayInputStream::new)
-                                    .map(InputStream.class::cast))
+                                    .map(it -> it.openStream(name)))
                             .orElseGet(Stream::empty))
                     .collect(toList());
         } catch (final IOException e) {
@@ -476,7 +527,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
 
     private URL nestedResourceToURL(final String name, final Resource nestedResource) {
         try {
-            return new URL("nested", null, -1, nestedResource.entry + "!/" + name, new Handler(nestedResource));
+            return new URL("nested", null, -1, nestedResource.entry + "!/" + name, new Handler(name, nestedResource));
         } catch (final MalformedURLException e) {
             throw new IllegalArgumentException(e);
         }
@@ -767,11 +818,15 @@ public class ConfigurableClassLoader extends URLClassLoader {
                     }
                     bytes = outputStream.toByteArray();
                 }
-                final Certificate[] certificates = JarURLConnection.class.isInstance(connection)
-                        ? JarURLConnection.class.cast(connection).getCertificates()
-                        : NO_CERTIFICATES;
+                final boolean isJar = JarURLConnection.class.isInstance(connection);
+                final Certificate[] certificates =
+                        isJar ? JarURLConnection.class.cast(connection).getCertificates() : NO_CERTIFICATES;
+                // use the jar as code source (as URLClassLoader does), it is what enables the JVM to
+                // archive and share the class when running with a dynamic AppCDS archive
+                final URL codeSourceLocation = isJar ? JarURLConnection.class.cast(connection).getJarFileURL() : url;
                 bytes = doTransform(resourceName, bytes);
-                clazz = super.defineClass(name, bytes, 0, bytes.length, new CodeSource(url, certificates));
+                clazz = super.defineClass(name, bytes, 0, bytes.length,
+                        new CodeSource(codeSourceLocation, certificates));
             } catch (final IOException e) {
                 log.warn(e.getMessage(), e);
                 return null;
@@ -786,7 +841,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
                     doDefinePackage(resource.manifest, null, name.substring(0, i));
                 }
 
-                final byte[] bytes = doTransform(resourceName, resource.resource);
+                final byte[] bytes = doTransform(resourceName, resource.bytes(path));
                 clazz = defineClass(name, bytes, 0, bytes.length, resource.codeSource);
             }
         }
@@ -856,28 +911,72 @@ public class ConfigurableClassLoader extends URLClassLoader {
 
         private final byte[] resource;
 
+        // when using the archive store the content is read from the stored archive instead of the heap
+        private final JarFile archive;
+
         private final Manifest manifest;
 
         private final CodeSource codeSource;
+
+        private InputStream stream(final String name) throws IOException {
+            if (archive == null) {
+                return new ByteArrayInputStream(resource);
+            }
+            final ZipEntry zipEntry = archive.getEntry(name);
+            if (zipEntry == null) {
+                throw new IOException("No entry " + name + " in " + archive.getName());
+            }
+            return archive.getInputStream(zipEntry);
+        }
+
+        private InputStream openStream(final String name) {
+            try {
+                return stream(name);
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private byte[] bytes(final String name) {
+            if (archive == null) {
+                return resource;
+            }
+            try (final InputStream stream = stream(name)) {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[8192];
+                int read;
+                while ((read = stream.read(buffer)) >= 0) {
+                    out.write(buffer, 0, read);
+                }
+                return out.toByteArray();
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
     }
 
     @RequiredArgsConstructor(access = PRIVATE)
     private static class Handler extends URLStreamHandler {
 
+        private final String name;
+
         private final Resource resource;
 
         @Override
         protected URLConnection openConnection(final URL url) {
-            return new Connection(url, resource);
+            return new Connection(url, name, resource);
         }
     }
 
     private static class Connection extends URLConnection {
 
+        private final String name;
+
         private final Resource resource;
 
-        private Connection(final URL url, final Resource resource) {
+        private Connection(final URL url, final String name, final Resource resource) {
             super(url);
+            this.name = name;
             this.resource = resource;
         }
 
@@ -887,8 +986,8 @@ public class ConfigurableClassLoader extends URLClassLoader {
         }
 
         @Override
-        public InputStream getInputStream() {
-            return new ByteArrayInputStream(resource.resource);
+        public InputStream getInputStream() throws IOException {
+            return resource.stream(name);
         }
     }
 
@@ -0,0 +1,176 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.classloader;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A local directory where archives are stored by content (sha-256), it is intended to be shared
+ * between several JVM (component-server instances) running the same plugins on a host:
+ * each archive is stored once and read from the files (OS page cache) instead of being copied
+ * in the heap of each JVM.
+ *
+ * Files are written in a temporary file and atomically renamed so concurrent writers - even from other
+ * processes - are safe, stored files are never modified once created.
+ */
+@Slf4j
+public class SharedArchiveStore {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    @Getter
+    private final Path root;
+
+    // avoids to re-hash a local file for each request when it did not change
+    private final ConcurrentMap<Path, Stored> storedFiles = new ConcurrentHashMap<>();
+
+    public SharedArchiveStore(final Path root) {
+        this.root = root;
+        try {
+            Files.createDirectories(root);
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Can't create archive store " + root, e);
+        }
+    }
+
+    /**
+     * @param file the local file to store.
+     * @return the path of the file in the store, the file is only copied if its content is not yet stored.
+     */
+    public Path store(final Path file) {
+        final Path key = file.toAbsolutePath().normalize();
+        try {
+            final long size = Files.size(key);
+            final long lastModified = Files.getLastModifiedTime(key).toMillis();
+            final Stored existing = storedFiles.get(key);
+            if (existing != null && existing.size == size && existing.lastModified == lastModified
+                    && Files.exists(existing.path)) {
+                return existing.path;
+            }
+            final Path stored;
+            try (final InputStream stream = Files.newInputStream(key)) {
+                stored = store(stream);
+            }
+            storedFiles.put(key, new Stored(size, lastModified, stored));
+            return stored;
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param file a local file previously stored.
+     * @return the path of the file in the store if it was stored and did not change since, it never copies the file.
+     */
+    public Optional<Path> find(final Path file) {
+        final Path key = file.toAbsolutePath().normalize();
+        final Stored existing = storedFiles.get(key);
+        if (existing == null) {
+            return Optional.empty();
+        }
+        try {
+            if (existing.size == Files.size(key) && existing.lastModified == Files.getLastModifiedTime(key).toMillis()
+                    && Files.exists(existing.path)) {
+                return Optional.of(existing.path);
+            }
+        } catch (final IOException e) {
+            // no more readable, use the file itself
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @param stream the content to store, it is not closed by this method.
+     * @return the path of the content in the store.
+     */
+    public Path store(final InputStream stream) {
+        try {
+            final Path tmp = Files.createTempFile(root, "archive-", ".tmp");
+            try {
+                final MessageDigest digest = newDigest();
+                try (final OutputStream out = new DigestOutputStream(Files.newOutputStream(tmp), digest)) {
+                    final byte[] buffer = new byte[8192];
+                    int read;
+                    while ((read = stream.read(buffer)) >= 0) {
+                        out.write(buffer, 0, read);
+                    }
+                }
+                final Path target = root.resolve(toHex(digest.digest()) + ".jar");
+                if (!Files.exists(target)) {
+                    try {
+                        Files.move(tmp, target, ATOMIC_MOVE);
+                    } catch (final AtomicMoveNotSupportedException e) {
+                        Files.move(tmp, target, REPLACE_EXISTING);
+                    } catch (final IOException e) {
+                        if (!Files.exists(target)) { // else another instance stored the same content
+                            throw e;
+                        }
+                    }
+                    log.debug("Stored {}", target);
+                }
+                return target;
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(final byte[] data) {
+        final StringBuilder out = new StringBuilder(data.length * 2);
+        for (final byte b : data) {
+            out.append(HEX[b >> 4 & 15]).append(HEX[b & 15]);
+        }
+        return out.toString();
+    }
+
+    @RequiredArgsConstructor
+    private static class Stored {
+
+        private final long size;
+
+        private final long lastModified;
+
+        private final Path path;
+    }
+}
@@ -55,6 +55,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.talend.sdk.component.classloader.ConfigurableClassLoader;
+import org.talend.sdk.component.classloader.SharedArchiveStore;
 import org.talend.sdk.component.dependencies.Resolver;
 import org.talend.sdk.component.dependencies.maven.Artifact;
 import org.talend.sdk.component.jar.Jars;
@@ -119,7 +120,8 @@ public class ContainerManager implements Lifecycle {
                 ofNullable(classLoaderConfiguration.getParent()).orElseGet(ContainerManager.class::getClassLoader),
                 ofNullable(classLoaderConfiguration.getClassesFilter()).orElseGet(() -> name -> true),
                 ofNullable(classLoaderConfiguration.getParentClassesFilter()).orElseGet(() -> name -> true),
-                classLoaderConfiguration.isSupportsResourceDependencies(), nestedPluginMappingResource);
+                classLoaderConfiguration.isSupportsResourceDependencies(), nestedPluginMappingResource,
+                classLoaderConfiguration.getArchiveStore());
         if (classLoaderConfiguration.isSupportsResourceDependencies()) {
             try (final InputStream mappingStream =
                     classLoaderConfiguration.getParent().getResourceAsStream(nestedPluginMappingResource)) {
@@ -418,6 +420,9 @@ public class ContainerManager implements Lifecycle {
 
         private final String nestedPluginMappingResource;
 
+        // if set nested dependencies are read from this store instead of being loaded in memory
+        private final SharedArchiveStore archiveStore;
+
         // note: we can add if needed resource filters too (to filter META-INF/services
         // for instance)
     }
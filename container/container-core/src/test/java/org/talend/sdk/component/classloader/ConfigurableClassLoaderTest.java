@@ -37,6 +37,7 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.spi.FileSystemProvider;
 import java.util.Enumeration;
 import java.util.List;
@@ -218,6 +219,43 @@ class ConfigurableClassLoaderTest {
         }
     }
 
+    @Test
+    void nestedJarsFromArchiveStore(@TempDir final File temporaryFolder) throws Exception {
+        final File nestedJar = createNestedJar(temporaryFolder, "org.apache.tomee:ziplock:jar:7.0.5");
+        final SharedArchiveStore store = new SharedArchiveStore(new File(temporaryFolder, "store").toPath());
+        try (final URLClassLoader parent = new URLClassLoader(new URL[] { nestedJar.toURI().toURL() },
+                Thread.currentThread().getContextClassLoader());
+                final ConfigurableClassLoader loader = new ConfigurableClassLoader("", new URL[0], parent,
+                        name -> true, name -> true,
+                        new String[] { "org/apache/tomee/ziplock/7.0.5/ziplock-7.0.5.jar" }, new String[0], store)) {
+            final Class<?> aClass = loader.loadClass("org.apache.ziplock.JarLocation");
+            assertEquals(loader, aClass.getClassLoader());
+
+            final String resource = "org/apache/ziplock/JarLocation.class";
+            final URL url = loader.getResource(resource);
+            assertNotNull(url);
+            assertEquals("nested", url.getProtocol());
+            assertEquals(4666, slurp(url.openStream()).length, 256);
+            assertNull(loader.getResource(resource + ".missing"));
+
+            // read from the stored archive too
+            assertEquals(4666, slurp(loader.getResourceAsStream(resource)).length, 256);
+            assertNull(loader.getResourceAsStream(resource + ".missing"));
+            final List<InputStream> containedResources = loader.findContainedResources(resource);
+            assertEquals(1, containedResources.size());
+            assertEquals(4666, slurp(containedResources.get(0)).length, 256);
+            assertTrue(loader.findContainedResources(resource + ".missing").isEmpty());
+
+            try (final Stream<Path> stored = Files.list(store.getRoot())) {
+                assertEquals(1, stored.count());
+            }
+        } finally {
+            if (!nestedJar.delete()) {
+                nestedJar.deleteOnExit();
+            }
+        }
+    }
+
     @Test
     void noNestedJarsMissingResources() throws IOException {
         try (final URLClassLoader parent =
@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.classloader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SharedArchiveStoreTest {
+
+    @Test
+    void contentAddressed(@TempDir final Path work) throws IOException {
+        final SharedArchiveStore store = new SharedArchiveStore(work.resolve("store"));
+        final Path first = store.store(new ByteArrayInputStream("content".getBytes(UTF_8)));
+        final Path second = store.store(new ByteArrayInputStream("content".getBytes(UTF_8)));
+        final Path other = store.store(new ByteArrayInputStream("other".getBytes(UTF_8)));
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertArrayEquals("content".getBytes(UTF_8), Files.readAllBytes(first));
+        try (final Stream<Path> files = Files.list(store.getRoot())) {
+            assertEquals(2, files.count()); // no temporary file left
+        }
+    }
+
+    @Test
+    void localFileUpdate(@TempDir final Path work) throws IOException {
+        final SharedArchiveStore store = new SharedArchiveStore(work.resolve("store"));
+        final Path file = Files.write(work.resolve("plugin.jar"), "v1".getBytes(UTF_8));
+        final Path v1 = store.store(file);
+        assertEquals(v1, store.store(file));
+
+        Files.write(file, "v2".getBytes(UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        final Path v2 = store.store(file);
+        assertNotEquals(v1, v2);
+        assertArrayEquals("v2".getBytes(UTF_8), Files.readAllBytes(v2));
+    }
+
+    @Test
+    void find(@TempDir final Path work) throws IOException {
+        final SharedArchiveStore store = new SharedArchiveStore(work.resolve("store"));
+        final Path file = Files.write(work.resolve("plugin.jar"), "v1".getBytes(UTF_8));
+        assertFalse(store.find(file).isPresent()); // never stored
+        try (final Stream<Path> files = Files.list(store.getRoot())) {
+            assertEquals(0, files.count()); // and a lookup does not store it
+        }
+
+        final Path stored = store.store(file);
+        assertEquals(stored, store.find(file).orElse(null));
+
+        Files.write(file, "v2".getBytes(UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        assertFalse(store.find(file).isPresent()); // stale
+    }
+}
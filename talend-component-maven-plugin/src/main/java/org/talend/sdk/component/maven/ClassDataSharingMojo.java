@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.maven;
+
+import static java.util.Collections.singletonList;
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toList;
+import static org.talend.sdk.component.maven.api.Audience.Type.PUBLIC;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.talend.sdk.component.maven.api.Audience;
+import org.talend.sdk.component.tools.ClassDataSharingArchiver;
+
+/**
+ * Runs a component-server training on the component (it must be installed in the local repository)
+ * to create a dynamic class data sharing archive (AppCDS) reducing the startup time.
+ * The training uses the libraries of the component-server distribution the archive is created for,
+ * the training JVM must be a Java 13 or later and the archive can only be used by the same JVM with the same
+ * server classpath.
+ */
+@Audience(PUBLIC)
+@Mojo(name = "cds", threadSafe = true)
+public class ClassDataSharingMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "false", property = "talend.skip")
+    private boolean skip;
+
+    /**
+     * Java executable used for the training, the archive is only usable with this same JVM.
+     */
+    @Parameter(defaultValue = "${java.home}/bin/java", property = "talend.cds.java")
+    private String java;
+
+    /**
+     * Component coordinates to deploy for the training, defaults to the current module.
+     */
+    @Parameter
+    private List<String> coordinates;
+
+    @Parameter(defaultValue = "${project.groupId}:${project.artifactId}:${project.version}", readonly = true)
+    private String gav;
+
+    @Parameter(defaultValue = "${settings.localRepository}", property = "talend.cds.repository")
+    private String repository;
+
+    @Parameter(defaultValue = "${project.build.directory}/talend-component-kit/component-server.jsa",
+            property = "talend.cds.archive")
+    private File archive;
+
+    @Parameter(defaultValue = "${project.build.directory}/talend-component-kit/component-server.classlist",
+            property = "talend.cds.classlist")
+    private File classList;
+
+    @Parameter
+    private List<String> jvmOptions;
+
+    @Parameter(defaultValue = "600000", property = "talend.cds.timeout")
+    private long timeout;
+
+    /**
+     * Component-server distribution the archive is created for (its root or its lib directory),
+     * all its jars are used as training classpath.
+     */
+    @Parameter(property = "talend.cds.server", required = true)
+    private File server;
+
+    @Override
+    public void execute() {
+        if (skip) {
+            getLog().info("Skipping as requested");
+            return;
+        }
+        new ClassDataSharingArchiver(java, findServerClasspath(), repository,
+                coordinates == null || coordinates.isEmpty() ? singletonList(gav) : coordinates,
+                archive.toPath(), classList == null ? null : classList.toPath(), jvmOptions, timeout, getLog())
+                        .run();
+    }
+
+    private Collection<File> findServerClasspath() {
+        final File lib = new File(server, "lib");
+        final File root = lib.isDirectory() ? lib : server;
+        final List<File> jars = ofNullable(root.listFiles((dir, name) -> name.endsWith(".jar")))
+                .map(Stream::of)
+                .orElseGet(Stream::empty)
+                .sorted()
+                .collect(toList());
+        if (jars.isEmpty()) {
+            throw new IllegalArgumentException("No component-server library found in " + root
+                    + ", ensure to set <server /> to a component-server distribution");
+        }
+        return jars;
+    }
+}
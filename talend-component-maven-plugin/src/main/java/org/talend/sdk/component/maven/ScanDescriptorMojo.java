@@ -60,10 +60,21 @@ public class ScanDescriptorMojo extends ClasspathMojoBase {
     @Parameter(property = "talend.scan.filter.strategy", defaultValue = "exclude-include")
     private String filterStrategy;
 
+    /**
+     * Where to store the digest of the scanned files, if they don't change the scanning is skipped.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/talend-component-kit/scanning.digest",
+            property = "talend.scan.cache")
+    private File cache;
+
+    @Parameter(defaultValue = "true", property = "talend.scan.cache.active")
+    private boolean useCache;
+
     @Override
     public void doExecute() {
         new ScanTask(Stream.concat(getDirectoriesToScan(), getJarToScan(scannedDependencies)).collect(toList()),
-                getExcludes(excludes, sharedExcludes), includes, filterStrategy, output).run();
+                getExcludes(excludes, sharedExcludes), includes, filterStrategy, output, useCache ? cache : null)
+                        .run();
     }
 
     private Stream<File> getDirectoriesToScan() {
@@ -173,6 +173,26 @@ public class ValidateComponentMojo extends ClasspathMojoBase {
     @Parameter(defaultValue = "${project.artifactId}", property = "talend.validation.locale")
     private String locale;
 
+    /**
+     * Number of threads used to run the validations, if not positive the number of processors is used.
+     */
+    @Parameter(defaultValue = "-1", property = "talend.validation.threads")
+    private int threads;
+
+    /**
+     * Where to store the digest of the validated classes, the dependencies and the validator version,
+     * if none of them changes the validation is skipped.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/talend-component-kit/validation.digest",
+            property = "talend.validation.cache")
+    private File cache;
+
+    /**
+     * Should the validation be skipped when the classes didn't change since last successful validation.
+     */
+    @Parameter(defaultValue = "true", property = "talend.validation.cache.active")
+    private boolean useCache;
+
     @Override
     public void doExecute() {
         if (!validatePlaceholder) {
@@ -204,6 +224,10 @@ public class ValidateComponentMojo extends ClasspathMojoBase {
         configuration.setPluginId(pluginId);
         configuration.setValidateExceptions(validateExceptions);
         configuration.setFailOnValidateExceptions(failOnValidateExceptions);
+        configuration.setThreads(threads);
+        if (useCache) {
+            configuration.setCache(cache);
+        }
 
         final Locale locale = this.locale == null || "root".equals(this.locale) ? Locale.ROOT : new Locale(this.locale);
         new ComponentValidator(configuration, new File[] { classes }, getLog()) {
@@ -0,0 +1,165 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.components.vault.client;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BiFunction;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Coalesces the items requested concurrently for the same key (tenant and endpoint) in a single remote call.
+ * A batch is sent when it reaches its maximum size or when its delay elapsed, an item already being resolved
+ * is not requested again, the caller shares the pending result (single flight).
+ *
+ * @param <C> the context of a batch (what is needed to send it), the one of the first caller is used.
+ * @param <R> the result of an item.
+ */
+@RequiredArgsConstructor
+class MicroBatcher<C, R> {
+
+    private final int maxSize;
+
+    private final long maxDelay;
+
+    private final ScheduledExecutorService scheduler;
+
+    // sends the items and returns their results in the same order, the items stay in flight until the returned
+    // stage completes so it is where to cache the results
+    private final BiFunction<C, List<String>, CompletionStage<List<R>>> sender;
+
+    private final Map<String, Batch<C, R>> pending = new HashMap<>();
+
+    private final Map<String, CompletableFuture<R>> inFlight = new HashMap<>();
+
+    /**
+     * @param key the batch key, items of different keys are never sent together.
+     * @param context the context used to send the batch if this call creates it.
+     * @param items the items to resolve.
+     * @return the results per item.
+     */
+    CompletableFuture<Map<String, R>> submit(final String key, final C context, final Collection<String> items) {
+        final Map<String, CompletableFuture<R>> results = new LinkedHashMap<>();
+        final Collection<Batch<C, R>> full = new ArrayList<>();
+        final Collection<Batch<C, R>> created = new ArrayList<>();
+        synchronized (this) {
+            for (final String item : items) {
+                final String flightKey = key + '\n' + item;
+                CompletableFuture<R> result = inFlight.get(flightKey);
+                if (result == null) {
+                    result = new CompletableFuture<>();
+                    inFlight.put(flightKey, result);
+                    Batch<C, R> batch = pending.get(key);
+                    if (batch == null) {
+                        batch = new Batch<>(key, context);
+                        pending.put(key, batch);
+                        created.add(batch);
+                    }
+                    batch.items.add(item);
+                    batch.results.add(result);
+                    if (batch.items.size() >= maxSize) {
+                        pending.remove(key);
+                        full.add(batch);
+                    }
+                }
+                results.put(item, result);
+            }
+        }
+        full.forEach(this::send);
+        created.stream().filter(it -> !full.contains(it)).forEach(batch -> {
+            if (maxDelay <= 0 || scheduler == null || scheduler.isShutdown()) {
+                flush(batch);
+            } else {
+                try {
+                    scheduler.schedule(() -> flush(batch), maxDelay, MILLISECONDS);
+                } catch (final RejectedExecutionException ree) {
+                    flush(batch);
+                }
+            }
+        });
+        return CompletableFuture.allOf(results.values().toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            final Map<String, R> values = new HashMap<>(results.size());
+            results.forEach((item, result) -> values.put(item, result.join()));
+            return values;
+        });
+    }
+
+    private void flush(final Batch<C, R> batch) {
+        synchronized (this) {
+            if (pending.get(batch.key) != batch) { // already sent because full
+                return;
+            }
+            pending.remove(batch.key);
+        }
+        send(batch);
+    }
+
+    private void send(final Batch<C, R> batch) {
+        CompletionStage<List<R>> response;
+        try {
+            response = sender.apply(batch.context, batch.items);
+        } catch (final RuntimeException re) {
+            final CompletableFuture<List<R>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(re);
+            response = failed;
+        }
+        response.whenComplete((values, error) -> {
+            synchronized (this) {
+                for (int i = 0; i < batch.items.size(); i++) {
+                    inFlight.remove(batch.key + '\n' + batch.items.get(i), batch.results.get(i));
+                }
+            }
+            final Throwable cause = CompletionException.class.isInstance(error) && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            for (int i = 0; i < batch.items.size(); i++) {
+                final CompletableFuture<R> result = batch.results.get(i);
+                if (cause != null) {
+                    result.completeExceptionally(cause);
+                } else if (values == null || values.size() != batch.items.size()) {
+                    result.completeExceptionally(new IllegalStateException("Expected " + batch.items.size()
+                            + " results, got " + (values == null ? 0 : values.size())));
+                } else {
+                    result.complete(values.get(i));
+                }
+            }
+        });
+    }
+
+    @RequiredArgsConstructor
+    private static class Batch<C, R> {
+
+        private final String key;
+
+        private final C context;
+
+        private final List<String> items = new ArrayList<>();
+
+        private final List<CompletableFuture<R>> results = new ArrayList<>();
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.components.vault.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Counts the accesses to the cached values to refresh the hot ones before they expire.
+ * Counters are reset at each collection so only the values used since the previous one are considered hot,
+ * the values without any access are forgotten.
+ */
+@RequiredArgsConstructor
+class RefreshAheadTracker {
+
+    private final int maxTracked;
+
+    private final ConcurrentMap<String, Usage> usages = new ConcurrentHashMap<>();
+
+    /**
+     * @param key the cache key.
+     * @param tenant the tenant the value belongs to (needed to refresh it), can be null.
+     */
+    void onAccess(final String key, final String tenant) {
+        Usage usage = usages.get(key);
+        if (usage == null) {
+            if (usages.size() >= maxTracked) {
+                return;
+            }
+            usage = usages.computeIfAbsent(key, k -> new Usage());
+        }
+        usage.tenant = tenant;
+        usage.accesses.incrementAndGet();
+    }
+
+    /**
+     * @param now the current time.
+     * @param refreshAge the age from which a value is refreshed.
+     * @param minAccesses the minimum number of accesses since the previous collection to refresh a value.
+     * @param created the creation timestamp of a cached value, negative if no more cached.
+     * @return the keys to refresh per tenant.
+     */
+    Map<String, Collection<String>> collect(final long now, final long refreshAge, final int minAccesses,
+            final ToLongFunction<String> created) {
+        final Map<String, Collection<String>> toRefresh = new HashMap<>();
+        usages.forEach((key, usage) -> {
+            final int accesses = usage.accesses.getAndSet(0);
+            final long creation = accesses == 0 ? -1 : created.applyAsLong(key);
+            if (creation < 0) {
+                usages.remove(key, usage);
+            } else if (accesses >= minAccesses && now - creation >= refreshAge) {
+                toRefresh.computeIfAbsent(usage.tenant, k -> new ArrayList<>()).add(key);
+            }
+        });
+        return toRefresh;
+    }
+
+    private static class Usage {
+
+        private final AtomicInteger accesses = new AtomicInteger();
+
+        private volatile String tenant;
+    }
+}
@@ -31,13 +31,13 @@ import java.time.Clock;
 import java.util.Base64;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
@@ -67,6 +67,7 @@ import javax.ws.rs.core.Response.Status;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.talend.sdk.components.vault.configuration.Documentation;
+import org.talend.sdk.components.vault.jcache.CacheConfigurationFactory;
 import org.talend.sdk.components.vault.server.error.ErrorPayload;
 import org.talend.sdk.components.vault.server.error.ErrorPayload.ErrorDictionary;
 
@@ -140,6 +141,42 @@ public class VaultClient {
     @ConfigProperty(name = "talend.vault.cache.service.decipher.skip.regex", defaultValue = "vault\\:v[0-9]+\\:.*")
     private String passthroughRegex;
 
+    @Inject
+    @Documentation("Maximum number of values sent to vault in a single decrypt call, "
+            + "values missing in the cache for concurrent requests of the same tenant are deciphered together.")
+    @ConfigProperty(name = "talend.vault.cache.service.decipher.batch.maxSize", defaultValue = "128")
+    private Integer decipherBatchMaxSize;
+
+    @Inject
+    @Documentation("How long (in ms) to wait for other requests to join a decrypt call before sending it, "
+            + "`0` sends it immediately but still shares the values being deciphered between the requests.")
+    @ConfigProperty(name = "talend.vault.cache.service.decipher.batch.maxDelay", defaultValue = "2")
+    private Long decipherBatchMaxDelay;
+
+    @Inject
+    @Documentation("Should the frequently used values be deciphered again before they expire from the cache.")
+    @ConfigProperty(name = "talend.vault.cache.service.refreshAhead.active", defaultValue = "true")
+    private Boolean refreshAheadActive;
+
+    @Inject
+    @Documentation("How often (in ms) the cached values close to their expiry are refreshed.")
+    @ConfigProperty(name = "talend.vault.cache.service.refreshAhead.period", defaultValue = "30000")
+    private Long refreshAheadPeriod;
+
+    @Inject
+    @Documentation("The fraction of the cache expiry after which a frequently used value is refreshed.")
+    @ConfigProperty(name = "talend.vault.cache.service.refreshAhead.ratio", defaultValue = "0.8")
+    private Double refreshAheadRatio;
+
+    @Inject
+    @Documentation("Minimum number of accesses to a cached value since the previous refresh check "
+            + "for it to be refreshed.")
+    @ConfigProperty(name = "talend.vault.cache.service.refreshAhead.minAccesses", defaultValue = "2")
+    private Integer refreshAheadMinAccesses;
+
+    @Inject
+    private CacheConfigurationFactory cacheConfiguration;
+
     @Inject
     private Cache<String, DecryptedValue> cache;
 
@@ -148,10 +185,16 @@ public class VaultClient {
 
     private final AtomicReference<Authentication> authToken = new AtomicReference<>();
 
+    private final AtomicReference<CompletableFuture<Authentication>> pendingAuth = new AtomicReference<>();
+
     private ScheduledExecutorService scheduledExecutorService;
 
     private Pattern compiledPassthroughRegex;
 
+    private MicroBatcher<DecryptBatch, DecryptResult> batcher;
+
+    private RefreshAheadTracker refreshAhead;
+
     private final Predicate<Throwable> shouldRetry = cause -> {
         if (WebApplicationException.class.isInstance(cause)) {
             final WebApplicationException wae = WebApplicationException.class.cast(cause);
@@ -197,6 +240,13 @@ public class VaultClient {
                 return t;
             }
         });
+        batcher = new MicroBatcher<>(Math.max(1, decipherBatchMaxSize), decipherBatchMaxDelay,
+                scheduledExecutorService, this::sendDecryptBatch);
+        if (refreshAheadActive && refreshAheadPeriod > 0) {
+            refreshAhead = new RefreshAheadTracker(cacheConfiguration.maxSize());
+            scheduledExecutorService
+                    .scheduleAtFixedRate(this::refreshAhead, refreshAheadPeriod, refreshAheadPeriod, MILLISECONDS);
+        }
     }
 
     @SneakyThrows
@@ -262,6 +312,9 @@ public class VaultClient {
             final String tenantId) {
         final Map<String, Optional<DecryptedValue>> alreadyCached =
                 new HashSet<>(values).stream().collect(toMap(identity(), it -> ofNullable(cache.get(it))));
+        if (refreshAhead != null) {
+            alreadyCached.keySet().forEach(it -> refreshAhead.onAccess(it, tenantId));
+        }
         final Collection<String> missing = alreadyCached
                 .entrySet()
                 .stream()
@@ -275,88 +328,31 @@ public class VaultClient {
         return getOrRequestAuth()
                 // prepare decrypt request to vault
                 .thenCompose(auth -> ofNullable(auth.getAuth()).map(Auth::getClientToken).map(clientToken -> {
-                    WebTarget path = vault.path(decryptEndpoint);
-                    if (decryptEndpoint.contains("x-talend-tenant-id")) {
-                        path = path
-                                .resolveTemplate("x-talend-tenant-id",
-                                        ofNullable(tenantId)
-                                                .orElseThrow(() -> new WebApplicationException(Response
-                                                        .status(Status.NOT_FOUND)
-                                                        .entity(new ErrorPayload(ErrorDictionary.BAD_FORMAT,
-                                                                "No header x-talend-tenant-id"))
-                                                        .build())));
-                    }
-                    return path
-                            .request(APPLICATION_JSON_TYPE)
-                            .header("X-Vault-Token", clientToken)
-                            .rx()
-                            .post(entity(new DecryptRequest(
-                                    missing.stream().map(it -> new DecryptInput(it, null, null)).collect(toList())),
-                                    APPLICATION_JSON_TYPE), DecryptResponse.class)
-                            .toCompletableFuture()
+                    final WebTarget path = findDecryptPath(tenantId);
+                    return batcher
+                            .submit(path.getUri().toString(), new DecryptBatch(path, clientToken, currentTime), missing)
                             // fetch decrypted values
                             .thenApply(decrypted -> {
-                                final Collection<DecryptResult> results = decrypted.getData().getBatchResults();
-                                if (results.isEmpty()) {
-                                    throwError(cantDecipherStatusCode, "Decrypted values are empty");
-                                }
-                                final List<String> errors = results
+                                final List<String> errors = missing
                                         .stream()
+                                        .map(decrypted::get)
                                         .map(DecryptResult::getError)
                                         .filter(Objects::nonNull)
                                         .collect(toList());
                                 if (!errors.isEmpty()) {
                                     throwError(cantDecipherStatusCode, "Can't decipher properties: " + errors);
                                 }
-                                final Iterator<String> keyIterator = missing.iterator();
-                                final Map<String, DecryptedValue> decryptedResults = results
+                                // already cached by the batch, see sendDecryptBatch
+                                final Map<String, DecryptedValue> decryptedResults = missing
                                         .stream()
-                                        .map(it -> new String(Base64.getDecoder().decode(it.getPlaintext()),
-                                                StandardCharsets.UTF_8))
-                                        .collect(toMap(it -> keyIterator.next(),
-                                                it -> new DecryptedValue(it, currentTime)));
-                                cache.putAll(decryptedResults);
-                                //
+                                        .collect(toMap(identity(), it -> toValue(decrypted.get(it), currentTime)));
                                 return values
                                         .stream()
                                         .map(it -> decryptedResults
                                                 .getOrDefault(it, alreadyCached.get(it).orElse(null)))
                                         .collect(toList());
                             })
-                            // oops, smtg went wrong
-                            .exceptionally(e -> {
-                                final Throwable cause = e.getCause();
-                                String message = "";
-                                int status = cantDecipherStatusCode;
-                                if (WebApplicationException.class.isInstance(cause)) {
-                                    final WebApplicationException wae = WebApplicationException.class.cast(cause);
-                                    final Response response = wae.getResponse();
-                                    if (response != null) {
-                                        if (ErrorPayload.class.isInstance(response.getEntity())) { // internal error
-                                            throw wae;
-                                        } else {
-                                            try {
-                                                message = response.readEntity(String.class);
-                                            } catch (final Exception ignored) {
-                                                // no-op
-                                            }
-                                        }
-                                        status = response.getStatus();
-                                        if (status == Status.NOT_FOUND.getStatusCode() && message.isEmpty()) {
-                                            message = "Decryption failed: Endpoint not found, check your setup.";
-                                        }
-                                    }
-                                }
-                                if (message.isEmpty()) {
-                                    message = String.format("Decryption failed: %s", cause.getMessage());
-                                }
-                                log.error("{} ({}).", message, status);
-                                throw new WebApplicationException(message,
-                                        Response
-                                                .status(status)
-                                                .entity(new ErrorPayload(ErrorDictionary.UNEXPECTED, message))
-                                                .build());
-                            });
+                            .exceptionally(this::onDecryptError);
                 })
                         .orElseThrow(() -> new WebApplicationException(Response
                                 .status(Response.Status.FORBIDDEN)
@@ -364,23 +360,170 @@ public class VaultClient {
                                 .build())));
     }
 
+    private WebTarget findDecryptPath(final String tenantId) {
+        final WebTarget path = vault.path(decryptEndpoint);
+        if (!decryptEndpoint.contains("x-talend-tenant-id")) {
+            return path;
+        }
+        return path
+                .resolveTemplate("x-talend-tenant-id",
+                        ofNullable(tenantId)
+                                .orElseThrow(() -> new WebApplicationException(Response
+                                        .status(Status.NOT_FOUND)
+                                        .entity(new ErrorPayload(ErrorDictionary.BAD_FORMAT,
+                                                "No header x-talend-tenant-id"))
+                                        .build())));
+    }
+
+    // deciphers again the hot values close to their expiry so the requests using them never wait for vault
+    private void refreshAhead() {
+        final long now = clock.millis();
+        final long refreshAge = (long) (cacheConfiguration.expiry() * refreshAheadRatio);
+        refreshAhead
+                .collect(now, refreshAge, refreshAheadMinAccesses,
+                        key -> ofNullable(cache.get(key)).map(DecryptedValue::getCreated).orElse(-1L))
+                .forEach((tenantId, ciphers) -> refresh(tenantId, ciphers, now));
+    }
+
+    private void refresh(final String tenantId, final Collection<String> ciphers, final long currentTime) {
+        log.debug("[refresh] {} values to decipher again", ciphers.size());
+        final CompletionStage<Map<String, DecryptResult>> decrypted;
+        try {
+            decrypted = getOrRequestAuth().thenCompose(auth -> {
+                final WebTarget path = findDecryptPath(tenantId);
+                return batcher
+                        .submit(path.getUri().toString(), new DecryptBatch(path, auth.getAuth().getClientToken(),
+                                currentTime), ciphers);
+            });
+        } catch (final RuntimeException re) {
+            log.warn("Can't refresh cached values: {}", re.getMessage());
+            return;
+        }
+        // the batch updates the cached values in place (restarting their expiry), the failed ones are kept until
+        // they expire
+        decrypted.exceptionally(e -> {
+            log.warn("Can't refresh cached values: {}", e.getMessage());
+            return null;
+        });
+    }
+
+    // sends the ciphers missing in the cache of concurrent requests at once, see MicroBatcher
+    private CompletionStage<List<DecryptResult>> sendDecryptBatch(final DecryptBatch batch,
+            final List<String> ciphers) {
+        log.debug("[sendDecryptBatch] {} values to decipher", ciphers.size());
+        return batch.path
+                .request(APPLICATION_JSON_TYPE)
+                .header("X-Vault-Token", batch.clientToken)
+                .rx()
+                .post(entity(
+                        new DecryptRequest(ciphers.stream().map(it -> new DecryptInput(it, null, null)).collect(toList())),
+                        APPLICATION_JSON_TYPE), DecryptResponse.class)
+                .toCompletableFuture()
+                .thenApply(decrypted -> {
+                    // same order than the inputs
+                    final List<DecryptResult> results = decrypted.getData().getBatchResults();
+                    if (results.isEmpty()) {
+                        throwError(cantDecipherStatusCode, "Decrypted values are empty");
+                    }
+                    // cached before the batch completes and leaves the in-flight ones so a concurrent request
+                    // either joins the batch or finds the values in the cache
+                    for (int i = 0; i < Math.min(ciphers.size(), results.size()); i++) {
+                        final DecryptResult result = results.get(i);
+                        if (result.getError() == null && result.getPlaintext() != null) {
+                            cache.put(ciphers.get(i), toValue(result, batch.currentTime));
+                        }
+                    }
+                    return results;
+                })
+                // converted once for all the requests sharing this batch since the response can only be read once
+                .exceptionally(this::onDecryptError);
+    }
+
+    private DecryptedValue toValue(final DecryptResult result, final long currentTime) {
+        return new DecryptedValue(new String(Base64.getDecoder().decode(result.getPlaintext()), StandardCharsets.UTF_8),
+                currentTime);
+    }
+
+    // oops, smtg went wrong
+    private <T> T onDecryptError(final Throwable e) {
+        final Throwable cause = CompletionException.class.isInstance(e) && e.getCause() != null ? e.getCause() : e;
+        String message = "";
+        int status = cantDecipherStatusCode;
+        if (WebApplicationException.class.isInstance(cause)) {
+            final WebApplicationException wae = WebApplicationException.class.cast(cause);
+            final Response response = wae.getResponse();
+            if (response != null) {
+                if (ErrorPayload.class.isInstance(response.getEntity())) { // internal error
+                    throw wae;
+                } else {
+                    try {
+                        message = response.readEntity(String.class);
+                    } catch (final Exception ignored) {
+                        // no-op
+                    }
+                }
+                status = response.getStatus();
+                if (status == Status.NOT_FOUND.getStatusCode() && message.isEmpty()) {
+                    message = "Decryption failed: Endpoint not found, check your setup.";
+                }
+            }
+        }
+        if (message.isEmpty()) {
+            message = String.format("Decryption failed: %s", cause.getMessage());
+        }
+        log.error("{} ({}).", message, status);
+        throw new WebApplicationException(message,
+                Response.status(status).entity(new ErrorPayload(ErrorDictionary.UNEXPECTED, message)).build());
+    }
+
     private CompletionStage<Authentication> getOrRequestAuth() {
         return of(token.get()).filter(this::isReloadableConfigSet).map(value -> {
             final Auth authInfo = new Auth();
             authInfo.setClientToken(value);
             authInfo.setLeaseDuration(Long.MAX_VALUE);
             authInfo.setRenewable(false);
-            return completedFuture(new Authentication(authInfo, Long.MAX_VALUE));
+            return completedFuture(new Authentication(authInfo, Long.MAX_VALUE, Long.MAX_VALUE));
         }).orElseGet(() -> {
             final String role = of(this.role.get()).filter(this::isReloadableConfigSet).orElse(null);
             final String secret = of(this.secret.get()).filter(this::isReloadableConfigSet).orElse(null);
-            return ofNullable(authToken.get())
-                    .filter(auth -> (auth.getExpiresAt() - clock.millis()) <= refreshDelayMargin) // is expired
-                    .map(CompletableFuture::completedFuture)
-                    .orElseGet(() -> doAuth(role, secret).toCompletableFuture());
+            final Authentication current = authToken.get();
+            final long now = clock.millis();
+            if (current == null || current.getExpiresAt() <= now) {
+                return refreshAuth(role, secret);
+            }
+            if (current.getRefreshAt() <= now) { // background refresh missed, renew but keep using the valid token
+                refreshAuth(role, secret);
+            }
+            return completedFuture(current);
         });
     }
 
+    // a single authentication at a time, concurrent callers share it
+    private CompletableFuture<Authentication> refreshAuth(final String role, final String secret) {
+        final CompletableFuture<Authentication> pending = new CompletableFuture<>();
+        final CompletableFuture<Authentication> existing = pendingAuth.get();
+        if (existing != null) {
+            return existing;
+        }
+        if (!pendingAuth.compareAndSet(null, pending)) {
+            return ofNullable(pendingAuth.get()).orElseGet(() -> refreshAuth(role, secret));
+        }
+        try {
+            doAuth(role, secret).whenComplete((authentication, error) -> {
+                pendingAuth.compareAndSet(pending, null);
+                if (error != null) {
+                    pending.completeExceptionally(error);
+                } else {
+                    pending.complete(authentication);
+                }
+            });
+        } catch (final RuntimeException re) {
+            pendingAuth.compareAndSet(pending, null);
+            pending.completeExceptionally(re);
+        }
+        return pending;
+    }
+
     private CompletionStage<Authentication> doAuth(final String role, final String secret) {
         log.info("Authenticating to vault");
         return vault
@@ -396,12 +539,15 @@ public class VaultClient {
                     } else {
                         log.info("Authenticated to vault");
                     }
-                    final long validityMargin = TimeUnit.SECONDS.toMillis(token.getAuth().getLeaseDuration());
-                    final long nextRefresh = clock.millis() + validityMargin - refreshDelayMargin;
-                    final Authentication authentication = new Authentication(token.getAuth(), nextRefresh);
+                    final long validity = TimeUnit.SECONDS.toMillis(token.getAuth().getLeaseDuration());
+                    // renew before the expiry, if the lease is shorter than the margin renew at half of it
+                    final long refreshIn = validity > refreshDelayMargin ? validity - refreshDelayMargin : validity / 2;
+                    final long now = clock.millis();
+                    final Authentication authentication =
+                            new Authentication(token.getAuth(), now + refreshIn, now + validity);
                     authToken.set(authentication);
                     if (!scheduledExecutorService.isShutdown() && token.getAuth().isRenewable()) {
-                        scheduledExecutorService.schedule(() -> doAuth(role, secret), nextRefresh, MILLISECONDS);
+                        scheduledExecutorService.schedule(() -> refreshAuth(role, secret), refreshIn, MILLISECONDS);
                     }
                     return authentication;
                 })
@@ -539,7 +685,7 @@ public class VaultClient {
     public static class DecryptData {
 
         @JsonbProperty("batch_results")
-        private Collection<DecryptResult> batchResults;
+        private List<DecryptResult> batchResults;
     }
 
     @Data
@@ -577,9 +723,21 @@ public class VaultClient {
 
         private final Auth auth;
 
+        private final long refreshAt;
+
         private final long expiresAt;
     }
 
+    @RequiredArgsConstructor
+    private static class DecryptBatch {
+
+        private final WebTarget path;
+
+        private final String clientToken;
+
+        private final long currentTime;
+    }
+
     @RequiredArgsConstructor
     private static class EntryWithIndex<T> {
 
@@ -21,6 +21,7 @@ import javax.cache.configuration.Configuration;
 import javax.cache.configuration.FactoryBuilder;
 import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
 import javax.cache.configuration.MutableConfiguration;
+import javax.cache.event.CacheEntryListener;
 import javax.cache.expiry.CreatedExpiryPolicy;
 import javax.cache.expiry.Duration;
 import javax.enterprise.context.ApplicationScoped;
@@ -53,6 +54,16 @@ public class CacheConfigurationFactory {
     private Integer maxCacheSize; // not strict constraint - for perf - but we ensure it is bound to avoid issues
 
     public <K, T> Configuration<K, T> createConfiguration(final CacheSizeManager<K, T> listener) {
+        return createConfiguration((CacheEntryListener<K, T>) listener);
+    }
+
+    /**
+     * @param listener the listener handling the cache bounds.
+     * @param <K> the key type.
+     * @param <T> the value type.
+     * @return the cache configuration for this factory settings.
+     */
+    public <K, T> Configuration<K, T> createConfiguration(final CacheEntryListener<K, T> listener) {
         return new MutableConfiguration<K, T>()
                 .setStoreByValue(false)
                 .setExpiryPolicyFactory(CreatedExpiryPolicy.factoryOf(new Duration(SECONDS, cacheExpiry)))
@@ -65,4 +76,11 @@ public class CacheConfigurationFactory {
     public int maxSize() {
         return maxCacheSize;
     }
+
+    /**
+     * @return the time to live of the cached values in milliseconds.
+     */
+    public long expiry() {
+        return SECONDS.toMillis(cacheExpiry);
+    }
 }
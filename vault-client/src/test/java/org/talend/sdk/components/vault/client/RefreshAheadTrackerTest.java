@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.components.vault.client;
+
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class RefreshAheadTrackerTest {
+
+    @Test
+    void refreshHotAndOldValues() {
+        final RefreshAheadTracker tracker = new RefreshAheadTracker(10);
+        final Map<String, Long> created = new HashMap<>();
+        created.put("hot-old", 0L);
+        created.put("hot-recent", 900L);
+        created.put("cold-old", 0L);
+        tracker.onAccess("hot-old", "t1");
+        tracker.onAccess("hot-old", "t1");
+        tracker.onAccess("hot-recent", "t1");
+        tracker.onAccess("hot-recent", "t1");
+        tracker.onAccess("cold-old", "t2");
+
+        final Map<String, Collection<String>> toRefresh =
+                tracker.collect(1000, 800, 2, key -> created.getOrDefault(key, -1L));
+        assertEquals(1, toRefresh.size());
+        assertEquals(singletonList("hot-old"), toRefresh.get("t1"));
+
+        // counters are reset so without new accesses nothing is refreshed
+        assertTrue(tracker.collect(2000, 800, 1, key -> created.getOrDefault(key, -1L)).isEmpty());
+    }
+
+    @Test
+    void forgetExpiredValues() {
+        final RefreshAheadTracker tracker = new RefreshAheadTracker(1);
+        tracker.onAccess("expired", null);
+        tracker.onAccess("ignored", null); // over the tracking capacity
+        assertTrue(tracker.collect(1000, 0, 1, key -> -1L).isEmpty());
+
+        // the slot is free again
+        tracker.onAccess("value", null);
+        final Map<String, Collection<String>> toRefresh = tracker.collect(1000, 0, 1, key -> 0L);
+        assertEquals(singletonList("value"), toRefresh.get(null));
+    }
+}